@@ -5,8 +5,10 @@ REST API for interacting with GPT4All models.
 
 from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.responses import StreamingResponse
 from pydantic import BaseModel, Field
-from typing import Optional
+from typing import List, Optional
+import json
 import logging
 import time
 
@@ -34,6 +36,12 @@ app.add_middleware(
 
 
 # Request/Response models
+class HistoryTurn(BaseModel):
+    """A previous message of the conversation."""
+    role: str = Field(..., pattern="^(user|assistant)$")
+    content: str
+
+
 class ChatRequest(BaseModel):
     """Chat request model."""
     message: str = Field(..., description="User's message", min_length=1)
@@ -44,6 +52,10 @@ class ChatRequest(BaseModel):
                 "orçamento, investimentos e economia.",
         description="System prompt for context"
     )
+    history: Optional[List[HistoryTurn]] = Field(
+        default=None,
+        description="Previous messages of the conversation, oldest first"
+    )
     max_tokens: Optional[int] = Field(default=500, ge=50, le=2000)
     temperature: Optional[float] = Field(default=0.7, ge=0.0, le=1.0)
 
@@ -80,13 +92,16 @@ async def health_check():
     return model_manager.health_check()
 
 
+# Plain def: FastAPI runs it in a worker thread, so waiting for the
+# generation lock never blocks the event loop
 @app.post("/chat", response_model=ChatResponse)
-async def chat(request: ChatRequest):
+def chat(request: ChatRequest):
     """
     Send a message to GPT4All and get a response.
     
     - **message**: The user's message/question
     - **system_prompt**: Optional system context
+    - **history**: Optional previous messages, oldest first
     - **max_tokens**: Maximum response length (50-2000)
     - **temperature**: Creativity (0.0-1.0)
     """
@@ -96,6 +111,7 @@ async def chat(request: ChatRequest):
         response = model_manager.generate_response(
             prompt=request.message,
             system_prompt=request.system_prompt or "",
+            history=[(t.role, t.content) for t in request.history or []],
             max_tokens=request.max_tokens or 500,
             temperature=request.temperature or 0.7
         )
@@ -116,6 +132,34 @@ async def chat(request: ChatRequest):
         )
 
 
+@app.post("/chat/stream")
+def chat_stream(request: ChatRequest):
+    """
+    Send a message to GPT4All and receive the response as it is generated.
+    
+    Returns one JSON object per line (application/x-ndjson):
+    {"token": "..."} for each generated token, then {"done": true}.
+    If generation fails midway, the last line is {"error": "..."}.
+    """
+    def events():
+        try:
+            for token in model_manager.generate_stream(
+                prompt=request.message,
+                system_prompt=request.system_prompt or "",
+                history=[(t.role, t.content) for t in request.history or []],
+                max_tokens=request.max_tokens or 500,
+                temperature=request.temperature or 0.7
+            ):
+                yield json.dumps({"token": token}, ensure_ascii=False) + "\n"
+            yield json.dumps({"done": True}) + "\n"
+        except Exception as e:
+            logger.error(f"Error streaming response: {e}")
+            yield json.dumps({"error": str(e)}, ensure_ascii=False) + "\n"
+    
+    # Sync generator: Starlette iterates it in a worker thread
+    return StreamingResponse(events(), media_type="application/x-ndjson")
+
+
 @app.get("/")
 async def root():
     """Root endpoint with API information."""
@@ -124,6 +168,7 @@ async def root():
         "version": "1.0.0",
         "endpoints": {
             "chat": "POST /chat",
+            "chat_stream": "POST /chat/stream",
             "health": "GET /health"
         }
     }
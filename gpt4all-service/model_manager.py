@@ -5,7 +5,8 @@ Handles loading and inference with GPT4All models.
 
 from gpt4all import GPT4All
 import os
-from typing import Optional
+import threading
+from typing import Iterator, List, Optional, Tuple
 import logging
 
 logging.basicConfig(level=logging.INFO)
@@ -16,6 +17,8 @@ class ModelManager:
     
     _instance: Optional['ModelManager'] = None
     _model: Optional[GPT4All] = None
+    # The model holds a single context: generations must not overlap
+    _generation_lock = threading.Lock()
     
     MODEL_NAME = os.getenv("GPT4ALL_MODEL", "orca-mini-3b-gguf2-q4_0.gguf")
     MODELS_DIR = os.getenv("GPT4ALL_MODELS_DIR", "/app/models")
@@ -46,6 +49,7 @@ class ModelManager:
         self, 
         prompt: str, 
         system_prompt: str = "",
+        history: Optional[List[Tuple[str, str]]] = None,
         max_tokens: int = 500,
         temperature: float = 0.7
     ) -> str:
@@ -55,6 +59,7 @@ class ModelManager:
         Args:
             prompt: User's message
             system_prompt: System context (optional)
+            history: Previous (role, content) messages, oldest first (optional)
             max_tokens: Maximum tokens to generate
             temperature: Creativity of responses (0.0-1.0)
             
@@ -63,11 +68,9 @@ class ModelManager:
         """
         model = self.load_model()
         
-        full_prompt = prompt
-        if system_prompt:
-            full_prompt = f"System: {system_prompt}\n\nUser: {prompt}\n\nAssistant:"
+        full_prompt = self._build_prompt(prompt, system_prompt, history or [])
         
-        with model.chat_session():
+        with self._generation_lock, model.chat_session():
             response = model.generate(
                 full_prompt,
                 max_tokens=max_tokens,
@@ -76,6 +79,42 @@ class ModelManager:
         
         return response.strip()
     
+    def generate_stream(
+        self,
+        prompt: str,
+        system_prompt: str = "",
+        history: Optional[List[Tuple[str, str]]] = None,
+        max_tokens: int = 500,
+        temperature: float = 0.7
+    ) -> Iterator[str]:
+        """
+        Generate a response from the model, yielding each token as it is
+        produced. Same arguments as generate_response.
+        """
+        model = self.load_model()
+        
+        full_prompt = self._build_prompt(prompt, system_prompt, history or [])
+        
+        with self._generation_lock, model.chat_session():
+            for token in model.generate(
+                full_prompt,
+                max_tokens=max_tokens,
+                temp=temperature,
+                streaming=True
+            ):
+                yield token
+    
+    @staticmethod
+    def _build_prompt(prompt: str, system_prompt: str, history: List[Tuple[str, str]]) -> str:
+        if not system_prompt and not history:
+            return prompt
+        parts = [f"System: {system_prompt}"] if system_prompt else []
+        for role, content in history:
+            speaker = "User" if role == "user" else "Assistant"
+            parts.append(f"{speaker}: {content}")
+        parts.append(f"User: {prompt}")
+        return "\n\n".join(parts) + "\n\nAssistant:"
+    
     def health_check(self) -> dict:
         """Check if model is loaded and ready."""
         return {
@@ -1,12 +1,16 @@
 package br.com.gestao.financeira.aplicacao.controllers;
 
 import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto;
-import br.com.gestao.financeira.dominio.services.AnaliseDespesasService;
+import br.com.gestao.financeira.infraestrutura.components.AnaliseDespesasCache;
+import br.com.gestao.financeira.infraestrutura.components.ControleAcesso;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 
@@ -18,10 +22,12 @@ import java.time.LocalDateTime;
 @Tag(name = "Análise", description = "Operações de análise de despesas")
 public class AnaliseController {
 
-    private final AnaliseDespesasService analiseDespesasServico;
+    private final AnaliseDespesasCache analiseDespesasCache;
+    private final ControleAcesso controleAcesso;
 
-    public AnaliseController(AnaliseDespesasService analiseDespesasServico) {
-        this.analiseDespesasServico = analiseDespesasServico;
+    public AnaliseController(AnaliseDespesasCache analiseDespesasCache, ControleAcesso controleAcesso) {
+        this.analiseDespesasCache = analiseDespesasCache;
+        this.controleAcesso = controleAcesso;
     }
 
     @GetMapping("/despesas")
@@ -30,14 +36,17 @@ public class AnaliseController {
             @RequestParam Long usuarioId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
-            @RequestParam(defaultValue = "BRL") String moedaPadrao) {
-
-        AnaliseDespesasDto analise = analiseDespesasServico.analisar(usuarioId, inicio, fim, moedaPadrao);
-        return ResponseEntity.ok(analise);
+            @RequestParam(defaultValue = "BRL") String moedaPadrao,
+            WebRequest webRequest,
+            @AuthenticationPrincipal UsuarioAutenticado solicitante) {
+
+        controleAcesso.validar(usuarioId, solicitante,
+                "Acesso negado: Você não tem permissão para analisar as despesas deste usuário.");
+        AnaliseDespesasCache.AnaliseVersionada analise = analiseDespesasCache.analisar(usuarioId, inicio, fim,
+                moedaPadrao);
+        if (webRequest.checkNotModified(analise.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(analise.etag()).body(analise.analise());
     }
 }
-
-
-
-
-
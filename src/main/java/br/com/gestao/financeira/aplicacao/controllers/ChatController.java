@@ -2,51 +2,128 @@ package br.com.gestao.financeira.aplicacao.controllers;
 
 import br.com.gestao.financeira.dominio.entity.ChatMessage;
 import br.com.gestao.financeira.dominio.services.ChatService;
-import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.dominio.services.ChatService.PreparedMessage;
+import br.com.gestao.financeira.infraestrutura.components.FilaInferencias;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.security.Principal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/chat")
 public class ChatController {
 
+        private static final Logger log = LoggerFactory.getLogger(ChatController.class);
+
         private final ChatService chatService;
-        private final UsuarioService usuarioService;
+        private final FilaInferencias filaInferencias;
 
-        public ChatController(ChatService chatService, UsuarioService usuarioService) {
+        public ChatController(ChatService chatService, FilaInferencias filaInferencias) {
                 this.chatService = chatService;
-                this.usuarioService = usuarioService;
+                this.filaInferencias = filaInferencias;
         }
 
         /**
          * Send a message to the chatbot and receive a response.
+         * Numeric questions answered from the user's data and answers found
+         * in the response cache skip the inference queue.
+         * Otherwise the request thread is released while the message waits
+         * in the queue and while the model generates the answer.
          */
         @PostMapping
-        public ResponseEntity<ChatResponseDto> chat(
-                        Principal principal,
+        public CompletableFuture<ResponseEntity<ChatResponseDto>> chat(
+                        @AuthenticationPrincipal UsuarioAutenticado usuario,
                         @Valid @RequestBody ChatRequestDto request) {
-                Long usuarioId = getUsuarioId(principal);
+                Long usuarioId = usuario.getId();
                 String sessionId = request.sessionId != null ? request.sessionId : UUID.randomUUID().toString();
 
-                String response = chatService.processMessage(usuarioId, request.mensagem, sessionId);
+                PreparedMessage mensagem = chatService.prepareMessage(usuarioId, request.mensagem, sessionId);
+                if (mensagem.answer().isPresent()) {
+                        return CompletableFuture.completedFuture(
+                                        ResponseEntity.ok(new ChatResponseDto(mensagem.answer().get(), sessionId)));
+                }
+
+                return filaInferencias
+                                .solicitar(() -> chatService.processMessage(mensagem),
+                                                posicao -> {
+                                                })
+                                .thenApply(response -> ResponseEntity.ok(new ChatResponseDto(response, sessionId)));
+        }
 
-                return ResponseEntity.ok(new ChatResponseDto(response, sessionId));
+        /**
+         * Send a message to the chatbot and receive the response as
+         * Server-Sent Events:
+         * <ul>
+         * <li>{@code posicao}: position in the inference queue, while
+         * waiting;</li>
+         * <li>{@code trecho}: each part of the answer, as the model generates
+         * it;</li>
+         * <li>{@code fim}: the full answer and the session ID;</li>
+         * <li>{@code erro}: the message, if processing fails.</li>
+         * </ul>
+         * An answer that does not need the model (see
+         * {@link ChatService#prepareMessage}) is sent as a single
+         * {@code trecho}, without going through the queue.
+         */
+        @PostMapping("/stream")
+        public SseEmitter chatStream(
+                        @AuthenticationPrincipal UsuarioAutenticado usuario,
+                        @Valid @RequestBody ChatRequestDto request) {
+                Long usuarioId = usuario.getId();
+                String sessionId = request.sessionId != null ? request.sessionId : UUID.randomUUID().toString();
+                SseEmitter emitter = new SseEmitter();
+
+                PreparedMessage mensagem = chatService.prepareMessage(usuarioId, request.mensagem, sessionId);
+                Optional<String> semModelo = mensagem.answer();
+                semModelo.ifPresent(texto -> enviar(emitter, "trecho", new ChatTrechoDto(texto)));
+                CompletableFuture<String> resposta = semModelo.map(CompletableFuture::completedFuture)
+                                .orElseGet(() -> filaInferencias.solicitar(
+                                                () -> chatService.processMessageStreaming(mensagem,
+                                                                trecho -> enviar(emitter, "trecho",
+                                                                                new ChatTrechoDto(trecho))),
+                                                posicao -> enviar(emitter, "posicao", new ChatPosicaoDto(posicao))));
+
+                resposta.whenComplete((texto, erro) -> {
+                        try {
+                                if (erro == null) {
+                                        enviar(emitter, "fim", new ChatResponseDto(texto, sessionId));
+                                } else {
+                                        log.error("Erro no chat em streaming: {}", erro.getMessage(), erro);
+                                        enviar(emitter, "erro", new ChatErroDto("Erro ao processar a mensagem"));
+                                }
+                                emitter.complete();
+                        } catch (UncheckedIOException | IllegalStateException e) {
+                                // Cliente desconectado ou emitter já encerrado por timeout
+                        }
+                });
+                // Cliente desconectado ou timeout: retira o pedido da fila
+                emitter.onCompletion(() -> resposta.cancel(false));
+                emitter.onTimeout(() -> resposta.cancel(false));
+                emitter.onError(e -> resposta.cancel(false));
+
+                return emitter;
         }
 
         /**
          * Get chat history for the current user.
          */
         @GetMapping("/historico")
-        public ResponseEntity<List<ChatMessageDto>> getHistory(Principal principal) {
-                Long usuarioId = getUsuarioId(principal);
+        public ResponseEntity<List<ChatMessageDto>> getHistory(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+                Long usuarioId = usuario.getId();
                 List<ChatMessage> messages = chatService.getHistory(usuarioId);
 
                 List<ChatMessageDto> dtos = messages.stream()
@@ -75,14 +152,18 @@ public class ChatController {
          * Clear chat history for the current user.
          */
         @DeleteMapping("/historico")
-        public ResponseEntity<Void> clearHistory(Principal principal) {
-                Long usuarioId = getUsuarioId(principal);
+        public ResponseEntity<Void> clearHistory(@AuthenticationPrincipal UsuarioAutenticado usuario) {
+                Long usuarioId = usuario.getId();
                 chatService.clearHistory(usuarioId);
                 return ResponseEntity.noContent().build();
         }
 
-        private Long getUsuarioId(Principal principal) {
-                return usuarioService.buscarPorEmail(principal.getName()).getId();
+        private static void enviar(SseEmitter emitter, String evento, Object dados) {
+                try {
+                        emitter.send(SseEmitter.event().name(evento).data(dados));
+                } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                }
         }
 
         private ChatMessageDto toDto(ChatMessage message) {
@@ -105,6 +186,15 @@ public class ChatController {
                         String sessionId) {
         }
 
+        public record ChatTrechoDto(String texto) {
+        }
+
+        public record ChatPosicaoDto(int posicao) {
+        }
+
+        public record ChatErroDto(String mensagem) {
+        }
+
         public record ChatMessageDto(
                         Long id,
                         String role,
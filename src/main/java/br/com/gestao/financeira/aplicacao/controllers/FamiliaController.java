@@ -7,6 +7,7 @@ import br.com.gestao.financeira.aplicacao.dto.UsuarioDto;
 import br.com.gestao.financeira.dominio.entity.Usuario;
 import br.com.gestao.financeira.dominio.services.FamiliaService;
 import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +15,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
@@ -37,8 +39,8 @@ public class FamiliaController {
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ROLE_USUARIO', 'ROLE_GESTOR', 'ROLE_MASTER')")
     @Operation(summary = "Criar família", description = "Cria uma nova família e define o usuário atual como gestor")
-    public ResponseEntity<Void> criarFamilia(@Valid @RequestBody FamiliaCriacaoDto dto, Principal principal) {
-        Usuario usuarioLogado = usuarioService.buscarPorEmail(principal.getName());
+    public ResponseEntity<Void> criarFamilia(@Valid @RequestBody FamiliaCriacaoDto dto,
+            @AuthenticationPrincipal UsuarioAutenticado usuarioLogado) {
         familiaService.criarFamilia(dto.getNome(), usuarioLogado.getId());
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
@@ -55,14 +57,13 @@ public class FamiliaController {
     @GetMapping("/meus-membros")
     @PreAuthorize("hasAnyAuthority('ROLE_USUARIO', 'ROLE_GESTOR', 'ROLE_MASTER')")
     @Operation(summary = "Listar membros da minha família", description = "Retorna os usuários da família do usuário atual")
-    public ResponseEntity<List<UsuarioDto>> listarMeusMembros(Principal principal) {
-        Usuario usuarioLogado = usuarioService.buscarPorEmail(principal.getName());
-
-        if (usuarioLogado.getFamilia() == null) {
+    public ResponseEntity<List<UsuarioDto>> listarMeusMembros(
+            @AuthenticationPrincipal UsuarioAutenticado usuarioLogado) {
+        if (usuarioLogado.getFamiliaId() == null) {
             return ResponseEntity.noContent().build();
         }
 
-        List<UsuarioDto> usuarios = usuarioService.listarPorFamilia(usuarioLogado.getFamilia().getId()).stream()
+        List<UsuarioDto> usuarios = usuarioService.listarPorFamilia(usuarioLogado.getFamiliaId()).stream()
                 .map(this::paraDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(usuarios);
@@ -1,18 +1,29 @@
 package br.com.gestao.financeira.aplicacao.controllers;
 
+import br.com.gestao.financeira.aplicacao.dto.JobRelatorioDto;
 import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
-import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
-import br.com.gestao.financeira.dominio.repository.RelatorioRepository;
-import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.dominio.enums.FormatoRelatorio;
+import br.com.gestao.financeira.dominio.enums.StatusRelatorio;
+import br.com.gestao.financeira.dominio.modelo.JobRelatorio;
+import br.com.gestao.financeira.infraestrutura.components.ControleAcesso;
+import br.com.gestao.financeira.infraestrutura.components.FilaRelatorios;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 
 /**
@@ -24,25 +35,26 @@ import java.time.LocalDate;
 @SuppressWarnings("null")
 public class RelatoriosController {
 
-        private final RelatorioRepository relatorioPort;
-        private final UsuarioService usuarioService;
+        private final ControleAcesso controleAcesso;
+        private final FilaRelatorios filaRelatorios;
 
-        public RelatoriosController(RelatorioRepository relatorioPort,
-                        UsuarioService usuarioService) {
-                this.relatorioPort = relatorioPort;
-                this.usuarioService = usuarioService;
+        public RelatoriosController(ControleAcesso controleAcesso,
+                        FilaRelatorios filaRelatorios) {
+                this.controleAcesso = controleAcesso;
+                this.filaRelatorios = filaRelatorios;
         }
 
         @GetMapping("/transacoes.pdf")
         @Operation(summary = "Download PDF", description = "Gera e baixa relatório de transações em PDF")
-        public ResponseEntity<byte[]> downloadPdf(
+        public ResponseEntity<StreamingResponseBody> downloadPdf(
                         @RequestParam Long usuarioId,
                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
                         @RequestParam(required = false) String moeda,
-                        java.security.Principal principal) {
+                        @AuthenticationPrincipal UsuarioAutenticado solicitante,
+                        WebRequest webRequest) {
 
-                validarAcesso(usuarioId, principal);
+                validarAcesso(usuarioId, solicitante);
 
                 ParametrosRelatorio params = new ParametrosRelatorio(
                                 usuarioId,
@@ -50,24 +62,20 @@ public class RelatoriosController {
                                 fim != null ? fim.atTime(23, 59, 59) : null,
                                 moeda,
                                 null);
-                byte[] pdf = relatorioPort.gerarRelatorioPDF(params);
-
-                return ResponseEntity.ok()
-                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transacoes.pdf")
-                                .contentType(MediaType.APPLICATION_PDF)
-                                .body(pdf);
+                return baixar(params, FormatoRelatorio.PDF, webRequest);
         }
 
         @GetMapping("/transacoes.xlsx")
         @Operation(summary = "Download Excel", description = "Gera e baixa relatório de transações em Excel")
-        public ResponseEntity<byte[]> downloadExcel(
+        public ResponseEntity<StreamingResponseBody> downloadExcel(
                         @RequestParam Long usuarioId,
                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
                         @RequestParam(required = false) String moeda,
-                        java.security.Principal principal) {
+                        @AuthenticationPrincipal UsuarioAutenticado solicitante,
+                        WebRequest webRequest) {
 
-                validarAcesso(usuarioId, principal);
+                validarAcesso(usuarioId, solicitante);
 
                 ParametrosRelatorio params = new ParametrosRelatorio(
                                 usuarioId,
@@ -75,40 +83,96 @@ public class RelatoriosController {
                                 fim != null ? fim.atTime(23, 59, 59) : null,
                                 moeda,
                                 null);
-                byte[] excel = relatorioPort.gerarRelatorioExcel(params);
+                return baixar(params, FormatoRelatorio.XLSX, webRequest);
+        }
+
+        /**
+         * Responde 304 se o cliente já tem a versão atual do relatório; senão,
+         * envia o arquivo em cache ou o gera direto na resposta.
+         */
+        private ResponseEntity<StreamingResponseBody> baixar(ParametrosRelatorio params,
+                        FormatoRelatorio formato, WebRequest webRequest) {
+                String chave = filaRelatorios.chave(params, formato);
+                String etag = filaRelatorios.etag(chave);
+                if (webRequest.checkNotModified(etag)) {
+                        return null;
+                }
+
+                StreamingResponseBody corpo = saida -> filaRelatorios.escrever(params, formato, chave, saida);
 
                 return ResponseEntity.ok()
-                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transacoes.xlsx")
-                                .contentType(
-                                                MediaType.parseMediaType(
-                                                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                                .body(excel);
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=transacoes." + formato.getExtensao())
+                                .contentType(MediaType.parseMediaType(formato.getTipoConteudo()))
+                                .eTag(etag)
+                                .body(corpo);
         }
 
-        private void validarAcesso(Long usuarioAlvoId, Principal principal) {
-                br.com.gestao.financeira.dominio.entity.Usuario solicitante = usuarioService
-                                .buscarPorEmail(principal.getName());
-                br.com.gestao.financeira.dominio.entity.Usuario alvo = usuarioService.detalharUsuario(usuarioAlvoId);
+        @PostMapping("/jobs")
+        @Operation(summary = "Solicitar relatório", description = "Agenda a geração assíncrona de um relatório de transações em PDF ou Excel")
+        public ResponseEntity<JobRelatorioDto> solicitar(
+                        @RequestParam Long usuarioId,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+                        @RequestParam(required = false) String moeda,
+                        @RequestParam(defaultValue = "PDF") FormatoRelatorio formato,
+                        @AuthenticationPrincipal UsuarioAutenticado solicitante) {
 
-                // 1. O próprio usuário
-                if (solicitante.getId().equals(alvo.getId())) {
-                        return;
-                }
+                validarAcesso(usuarioId, solicitante);
 
-                // 2. Administrador (MASTER)
-                if (solicitante.getPerfil() == PerfilUsuario.MASTER) {
-                        return;
-                }
+                ParametrosRelatorio params = new ParametrosRelatorio(
+                                usuarioId,
+                                inicio != null ? inicio.atStartOfDay() : null,
+                                fim != null ? fim.atTime(23, 59, 59) : null,
+                                moeda,
+                                null);
+                JobRelatorio job = filaRelatorios.solicitar(params, formato);
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(paraDto(job));
+        }
+
+        @GetMapping("/jobs/{id}")
+        @Operation(summary = "Consultar relatório", description = "Retorna o status de um relatório solicitado")
+        public ResponseEntity<JobRelatorioDto> consultar(@PathVariable String id,
+                        @AuthenticationPrincipal UsuarioAutenticado solicitante) {
+                JobRelatorio job = filaRelatorios.buscar(id);
+                validarAcesso(job.getUsuarioId(), solicitante);
+                return ResponseEntity.ok(paraDto(job));
+        }
 
-                // 3. Gestor da familia do usuario alvo
-                if (solicitante.getPerfil() == PerfilUsuario.GESTOR &&
-                                solicitante.getFamilia() != null &&
-                                alvo.getFamilia() != null &&
-                                solicitante.getFamilia().getId().equals(alvo.getFamilia().getId())) {
-                        return;
+        @GetMapping("/jobs/{id}/arquivo")
+        @Operation(summary = "Baixar relatório", description = "Baixa o arquivo de um relatório concluído")
+        public void baixar(@PathVariable String id,
+                        @AuthenticationPrincipal UsuarioAutenticado solicitante,
+                        HttpServletResponse response) throws IOException {
+                JobRelatorio job = filaRelatorios.buscar(id);
+                validarAcesso(job.getUsuarioId(), solicitante);
+                Path arquivo = filaRelatorios.arquivo(job);
+
+                response.setContentType(job.getFormato().getTipoConteudo());
+                response.setContentLengthLong(Files.size(arquivo));
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=transacoes." + job.getFormato().getExtensao());
+                filaRelatorios.enviar(arquivo, response.getOutputStream());
+        }
+
+        private JobRelatorioDto paraDto(JobRelatorio job) {
+                JobRelatorioDto dto = new JobRelatorioDto();
+                dto.setId(job.getId());
+                dto.setUsuarioId(job.getUsuarioId());
+                dto.setFormato(job.getFormato());
+                dto.setStatus(job.getStatus());
+                dto.setCriadoEm(job.getCriadoEm());
+                dto.setConcluidoEm(job.getConcluidoEm());
+                dto.setMensagemErro(job.getMensagemErro());
+                if (job.getStatus() == StatusRelatorio.CONCLUIDO) {
+                        dto.setUrlDownload("/relatorios/jobs/" + job.getId() + "/arquivo");
                 }
+                return dto;
+        }
 
-                throw new RuntimeException(
+        private void validarAcesso(Long usuarioAlvoId, UsuarioAutenticado solicitante) {
+                controleAcesso.validar(usuarioAlvoId, solicitante,
                                 "Acesso negado: Você não tem permissão para visualizar o relatório deste usuário.");
         }
 }
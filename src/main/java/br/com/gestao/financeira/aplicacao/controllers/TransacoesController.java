@@ -1,27 +1,42 @@
 package br.com.gestao.financeira.aplicacao.controllers;
 
+import br.com.gestao.financeira.aplicacao.dto.PaginaCursorDto;
+import br.com.gestao.financeira.aplicacao.dto.ResultadoImportacaoDto;
+import br.com.gestao.financeira.aplicacao.dto.ResultadoLoteDto;
 import br.com.gestao.financeira.aplicacao.dto.TransacaoCriacaoDto;
 import br.com.gestao.financeira.aplicacao.dto.TransacaoDto;
-import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.aplicacao.dto.TransacaoLoteDto;
 import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
 import br.com.gestao.financeira.dominio.entity.Transacao;
-import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.dominio.modelo.CursorTransacao;
 import br.com.gestao.financeira.dominio.services.CambioService;
 import br.com.gestao.financeira.dominio.services.TransacaoService;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
-import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.infraestrutura.components.ControleAcesso;
+import br.com.gestao.financeira.infraestrutura.components.ImportacaoExcelServico;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.security.Principal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Controller REST para gestão de transações.
@@ -32,37 +47,85 @@ import java.time.LocalDateTime;
 @SuppressWarnings("null")
 public class TransacoesController {
 
+    private static final int TAMANHO_MAXIMO_CURSOR = 200;
+
     private final TransacaoService transacoesServico;
     private final CambioService cambioServico;
     private final UsuarioRepository usuarioRepositorio;
 
-    private final UsuarioService usuarioService;
+    private final ControleAcesso controleAcesso;
+    private final Validator validador;
+    private final ImportacaoExcelServico importacaoServico;
 
     public TransacoesController(TransacaoService transacoesServico,
             CambioService cambioServico,
             UsuarioRepository usuarioRepositorio,
-            UsuarioService usuarioService) {
+            ControleAcesso controleAcesso,
+            Validator validador,
+            ImportacaoExcelServico importacaoServico) {
         this.transacoesServico = transacoesServico;
         this.cambioServico = cambioServico;
         this.usuarioRepositorio = usuarioRepositorio;
-        this.usuarioService = usuarioService;
+        this.controleAcesso = controleAcesso;
+        this.validador = validador;
+        this.importacaoServico = importacaoServico;
     }
 
     @PostMapping
     @Operation(summary = "Registrar transação", description = "Registra uma nova transação financeira")
     public ResponseEntity<TransacaoDto> registrar(@Valid @RequestBody TransacaoCriacaoDto dto) {
-        Transacao transacao = new Transacao();
-        transacao.setUsuarioId(dto.getUsuarioId());
-        transacao.setTipo(dto.getTipo());
-        transacao.setValorOriginal(dto.getValor());
-        transacao.setMoedaOriginal(dto.getMoeda());
-        transacao.setCategoria(dto.getCategoria());
-        transacao.setDescricao(dto.getDescricao());
-
-        Transacao registrada = transacoesServico.registrarTransacao(transacao);
+        Transacao registrada = transacoesServico.registrarTransacao(paraEntidade(dto));
         return ResponseEntity.status(HttpStatus.CREATED).body(paraDto(registrada));
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Registrar transações em lote", description = "Registra até 10000 transações de um usuário em uma única requisição, informando o resultado de cada item")
+    public ResponseEntity<ResultadoLoteDto> registrarLote(@Valid @RequestBody TransacaoLoteDto dto,
+            @AuthenticationPrincipal UsuarioAutenticado solicitante) {
+
+        validarAcesso(dto.getUsuarioId(), solicitante);
+
+        // Itens inválidos são recusados individualmente; os demais seguem juntos
+        List<ResultadoLoteDto.ResultadoItem> resultados = new ArrayList<>();
+        List<Integer> indicesValidos = new ArrayList<>();
+        List<Transacao> validas = new ArrayList<>();
+        for (int i = 0; i < dto.getTransacoes().size(); i++) {
+            TransacaoCriacaoDto item = dto.getTransacoes().get(i);
+            String erro = validarItem(item, dto.getUsuarioId());
+            if (erro != null) {
+                resultados.add(new ResultadoLoteDto.ResultadoItem(i, null, erro));
+                continue;
+            }
+            indicesValidos.add(i);
+            validas.add(paraEntidade(item));
+        }
+
+        if (!validas.isEmpty()) {
+            List<Transacao> registradas = transacoesServico.registrarLote(dto.getUsuarioId(), validas);
+            for (int i = 0; i < registradas.size(); i++) {
+                resultados.add(new ResultadoLoteDto.ResultadoItem(indicesValidos.get(i),
+                        registradas.get(i).getId(), null));
+            }
+        }
+        resultados.sort(Comparator.comparingInt(ResultadoLoteDto.ResultadoItem::getIndice));
+
+        ResultadoLoteDto resultado = new ResultadoLoteDto(resultados);
+        HttpStatus status = resultado.getSucessos() > 0 ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(resultado);
+    }
+
+    @PostMapping("/importar")
+    @Operation(summary = "Importar transações via planilha", description = "Importa transações de um usuário a partir de planilha Excel (.xlsx) ou CSV com as colunas Data | Tipo | Categoria | Moeda | Valor | Descrição")
+    public ResponseEntity<ResultadoImportacaoDto> importar(@RequestParam Long usuarioId,
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @AuthenticationPrincipal UsuarioAutenticado solicitante) {
+
+        validarAcesso(usuarioId, solicitante);
+
+        ResultadoImportacaoDto resultado = importacaoServico.importarTransacoes(usuarioId, arquivo);
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping
     @Operation(summary = "Listar transações", description = "Lista transações com filtros opcionais e paginação")
     public ResponseEntity<Page<TransacaoDto>> listar(
@@ -72,10 +135,10 @@ public class TransacoesController {
             @RequestParam(required = false) CategoriaTransacao categoria,
             @RequestParam(required = false) String moeda,
             Pageable pageable,
-            java.security.Principal principal) {
+            @AuthenticationPrincipal UsuarioAutenticado solicitante) {
 
         if (usuarioId != null) {
-            validarAcesso(usuarioId, principal);
+            validarAcesso(usuarioId, solicitante);
         }
 
         Page<Transacao> transacoes = transacoesServico.listarTransacoes(usuarioId, inicio, fim, categoria, moeda,
@@ -84,6 +147,36 @@ public class TransacoesController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar transações por cursor", description = "Lista transações do usuário em ordem decrescente de data usando paginação por cursor, sem contagem total")
+    public ResponseEntity<PaginaCursorDto<TransacaoDto>> listarPorCursor(
+            @RequestParam Long usuarioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) CategoriaTransacao categoria,
+            @RequestParam(required = false) String moeda,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamanho,
+            @AuthenticationPrincipal UsuarioAutenticado solicitante) {
+
+        validarAcesso(usuarioId, solicitante);
+
+        int tamanhoPagina = Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_CURSOR));
+        Slice<Transacao> fatia = transacoesServico.listarTransacoesPorCursor(usuarioId, inicio, fim,
+                categoria, moeda, CursorTransacao.decodificar(cursor), tamanhoPagina);
+
+        String proximoCursor = null;
+        if (fatia.hasNext() && fatia.hasContent()) {
+            Transacao ultima = fatia.getContent().get(fatia.getNumberOfElements() - 1);
+            proximoCursor = new CursorTransacao(ultima.getData(), ultima.getId()).codificar();
+        }
+
+        return ResponseEntity.ok(new PaginaCursorDto<>(
+                fatia.getContent().stream().map(this::paraDto).toList(),
+                proximoCursor,
+                fatia.hasNext()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Detalhar transação", description = "Retorna os detalhes de uma transação")
     public ResponseEntity<TransacaoDto> detalhar(@PathVariable Long id) {
@@ -113,31 +206,37 @@ public class TransacoesController {
         return ResponseEntity.noContent().build();
     }
 
-    private void validarAcesso(Long usuarioAlvoId, Principal principal) {
-        Usuario solicitante = usuarioService
-                .buscarPorEmail(principal.getName());
-        Usuario alvo = usuarioService.detalharUsuario(usuarioAlvoId);
-
-        // 1. O próprio usuário
-        if (solicitante.getId().equals(alvo.getId())) {
-            return;
-        }
+    private void validarAcesso(Long usuarioAlvoId, UsuarioAutenticado solicitante) {
+        controleAcesso.validar(usuarioAlvoId, solicitante,
+                "Acesso negado: Você não tem permissão para visualizar as transações deste usuário.");
+    }
 
-        // 2. Administrador (MASTER)
-        if (solicitante.getPerfil() == PerfilUsuario.MASTER) {
-            return;
+    private String validarItem(TransacaoCriacaoDto item, Long usuarioId) {
+        if (item == null) {
+            return "Transação não informada";
         }
-
-        // 3. Gestor da familia do usuario alvo
-        if (solicitante.getPerfil() == PerfilUsuario.GESTOR &&
-                solicitante.getFamilia() != null &&
-                alvo.getFamilia() != null &&
-                solicitante.getFamilia().getId().equals(alvo.getFamilia().getId())) {
-            return;
+        item.setUsuarioId(usuarioId);
+        Set<ConstraintViolation<TransacaoCriacaoDto>> violacoes = validador.validate(item);
+        if (violacoes.isEmpty()) {
+            return null;
         }
+        return violacoes.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 
-        throw new RuntimeException(
-                "Acesso negado: Você não tem permissão para visualizar as transações deste usuário.");
+    private Transacao paraEntidade(TransacaoCriacaoDto dto) {
+        Transacao transacao = new Transacao();
+        transacao.setUsuarioId(dto.getUsuarioId());
+        transacao.setTipo(dto.getTipo());
+        transacao.setValorOriginal(dto.getValor());
+        transacao.setMoedaOriginal(dto.getMoeda());
+        transacao.setCategoria(dto.getCategoria());
+        transacao.setDescricao(dto.getDescricao());
+        // Sem data, o serviço registra com o momento atual
+        transacao.setData(dto.getData());
+        return transacao;
     }
 
     private TransacaoDto paraDto(Transacao t) {
@@ -152,6 +251,15 @@ public class TransacoesController {
         dto.setDescricao(t.getDescricao());
         dto.setTaxaCambioAplicada(t.getTaxaCambioAplicada());
 
+        // Usa o valor normalizado no registro quando disponível
+        if (t.getValorNormalizado() != null) {
+            if (!t.getMoedaOriginal().equalsIgnoreCase(t.getMoedaNormalizada())) {
+                dto.setValorConvertido(t.getValorNormalizado().setScale(2, RoundingMode.HALF_UP));
+                dto.setMoedaConvertida(t.getMoedaNormalizada());
+            }
+            return dto;
+        }
+
         // Calcula valor convertido para moeda padrão do usuário
         try {
             usuarioRepositorio.findById(t.getUsuarioId()).ifPresent(usuario -> {
@@ -1,9 +1,10 @@
 package br.com.gestao.financeira.aplicacao.controllers;
 
-import br.com.gestao.financeira.aplicacao.dto.ResultadoImportacaoDto;
+import br.com.gestao.financeira.aplicacao.dto.JobImportacaoDto;
 import br.com.gestao.financeira.aplicacao.dto.UsuarioCriacaoDto;
 import br.com.gestao.financeira.aplicacao.dto.UsuarioDto;
 import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.modelo.JobImportacao;
 import br.com.gestao.financeira.dominio.services.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,7 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import br.com.gestao.financeira.infraestrutura.components.ImportacaoExcelServico;
+import br.com.gestao.financeira.infraestrutura.components.FilaImportacoes;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,12 +29,12 @@ import org.springframework.security.access.prepost.PreAuthorize; // Add import
 public class UsuariosController {
 
     private final UsuarioService usuariosServico;
-    private final ImportacaoExcelServico importacaoServico;
+    private final FilaImportacoes filaImportacoes;
 
     public UsuariosController(UsuarioService usuariosServico,
-            ImportacaoExcelServico importacaoServico) {
+            FilaImportacoes filaImportacoes) {
         this.usuariosServico = usuariosServico;
-        this.importacaoServico = importacaoServico;
+        this.filaImportacoes = filaImportacoes;
     }
 
     @PostMapping
@@ -89,12 +90,34 @@ public class UsuariosController {
     }
 
     @PostMapping("/importar-excel")
-    @Operation(summary = "Importar usuários via Excel", description = "Importa usuários em massa a partir de planilha Excel")
+    @Operation(summary = "Importar usuários via Excel", description = "Agenda a importação de usuários em massa a partir de planilha Excel (.xlsx) ou CSV; o progresso é consultado em /usuarios/importacoes/{id}")
     @PreAuthorize("hasAuthority('ROLE_MASTER')")
-    public ResponseEntity<ResultadoImportacaoDto> importarExcel(
+    public ResponseEntity<JobImportacaoDto> importarExcel(
             @RequestParam("arquivo") MultipartFile arquivo) {
-        ResultadoImportacaoDto resultado = importacaoServico.importar(arquivo);
-        return ResponseEntity.ok(resultado);
+        JobImportacao job = filaImportacoes.solicitarUsuarios(arquivo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(paraDto(job));
+    }
+
+    @GetMapping("/importacoes/{id}")
+    @Operation(summary = "Consultar importação", description = "Retorna o status e o progresso de uma importação de usuários")
+    @PreAuthorize("hasAuthority('ROLE_MASTER')")
+    public ResponseEntity<JobImportacaoDto> consultarImportacao(@PathVariable String id) {
+        return ResponseEntity.ok(paraDto(filaImportacoes.buscar(id)));
+    }
+
+    private JobImportacaoDto paraDto(JobImportacao job) {
+        JobImportacaoDto dto = new JobImportacaoDto();
+        dto.setId(job.getId());
+        dto.setArquivo(job.getArquivo());
+        dto.setStatus(job.getStatus());
+        dto.setLinhasLidas(job.getLinhasLidas());
+        dto.setSucessos(job.getSucessos());
+        dto.setFalhas(job.getFalhas());
+        dto.setErros(job.getErros());
+        dto.setCriadoEm(job.getCriadoEm());
+        dto.setConcluidoEm(job.getConcluidoEm());
+        dto.setMensagemErro(job.getMensagemErro());
+        return dto;
     }
 
     private UsuarioDto paraDto(Usuario usuario) {
@@ -0,0 +1,106 @@
+package br.com.gestao.financeira.aplicacao.dto;
+
+import br.com.gestao.financeira.dominio.enums.StatusImportacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para resposta de uma importação assíncrona e do seu progresso.
+ */
+public class JobImportacaoDto {
+
+    private String id;
+    private String arquivo;
+    private StatusImportacao status;
+    private int linhasLidas;
+    private int sucessos;
+    private int falhas;
+    private List<String> erros;
+    private LocalDateTime criadoEm;
+    private LocalDateTime concluidoEm;
+    private String mensagemErro;
+
+    public JobImportacaoDto() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public StatusImportacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusImportacao status) {
+        this.status = status;
+    }
+
+    public int getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(int linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public int getSucessos() {
+        return sucessos;
+    }
+
+    public void setSucessos(int sucessos) {
+        this.sucessos = sucessos;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<String> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<String> erros) {
+        this.erros = erros;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    public void setConcluidoEm(LocalDateTime concluidoEm) {
+        this.concluidoEm = concluidoEm;
+    }
+
+    public String getMensagemErro() {
+        return mensagemErro;
+    }
+
+    public void setMensagemErro(String mensagemErro) {
+        this.mensagemErro = mensagemErro;
+    }
+}
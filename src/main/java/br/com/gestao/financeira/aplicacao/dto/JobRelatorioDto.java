@@ -0,0 +1,88 @@
+package br.com.gestao.financeira.aplicacao.dto;
+
+import br.com.gestao.financeira.dominio.enums.FormatoRelatorio;
+import br.com.gestao.financeira.dominio.enums.StatusRelatorio;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para resposta de um pedido de relatório assíncrono.
+ */
+public class JobRelatorioDto {
+
+    private String id;
+    private Long usuarioId;
+    private FormatoRelatorio formato;
+    private StatusRelatorio status;
+    private LocalDateTime criadoEm;
+    private LocalDateTime concluidoEm;
+    private String mensagemErro;
+    private String urlDownload;
+
+    public JobRelatorioDto() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public FormatoRelatorio getFormato() {
+        return formato;
+    }
+
+    public void setFormato(FormatoRelatorio formato) {
+        this.formato = formato;
+    }
+
+    public StatusRelatorio getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusRelatorio status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    public void setConcluidoEm(LocalDateTime concluidoEm) {
+        this.concluidoEm = concluidoEm;
+    }
+
+    public String getMensagemErro() {
+        return mensagemErro;
+    }
+
+    public void setMensagemErro(String mensagemErro) {
+        this.mensagemErro = mensagemErro;
+    }
+
+    public String getUrlDownload() {
+        return urlDownload;
+    }
+
+    public void setUrlDownload(String urlDownload) {
+        this.urlDownload = urlDownload;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.gestao.financeira.aplicacao.dto;
+
+import java.util.List;
+
+/**
+ * DTO para uma página da listagem por cursor.
+ */
+public class PaginaCursorDto<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+    private boolean possuiMais;
+
+    public PaginaCursorDto() {
+    }
+
+    public PaginaCursorDto(List<T> itens, String proximoCursor, boolean possuiMais) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.possuiMais = possuiMais;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    public boolean isPossuiMais() {
+        return possuiMais;
+    }
+
+    public void setPossuiMais(boolean possuiMais) {
+        this.possuiMais = possuiMais;
+    }
+}
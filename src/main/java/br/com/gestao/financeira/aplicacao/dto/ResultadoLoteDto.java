@@ -0,0 +1,99 @@
+package br.com.gestao.financeira.aplicacao.dto;
+
+import java.util.List;
+
+/**
+ * DTO para resultado do registro de transações em lote, com a situação de
+ * cada item na ordem em que foi enviado.
+ */
+public class ResultadoLoteDto {
+
+    private int total;
+    private int sucessos;
+    private int falhas;
+    private List<ResultadoItem> itens;
+
+    public ResultadoLoteDto() {
+    }
+
+    public ResultadoLoteDto(List<ResultadoItem> itens) {
+        this.itens = itens;
+        this.total = itens.size();
+        this.sucessos = (int) itens.stream().filter(i -> i.getErro() == null).count();
+        this.falhas = total - sucessos;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSucessos() {
+        return sucessos;
+    }
+
+    public void setSucessos(int sucessos) {
+        this.sucessos = sucessos;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ResultadoItem> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ResultadoItem> itens) {
+        this.itens = itens;
+    }
+
+    /**
+     * Situação de um item do lote: o ID gerado ou o motivo da recusa.
+     */
+    public static class ResultadoItem {
+        private int indice;
+        private Long id;
+        private String erro;
+
+        public ResultadoItem() {
+        }
+
+        public ResultadoItem(int indice, Long id, String erro) {
+            this.indice = indice;
+            this.id = id;
+            this.erro = erro;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getErro() {
+            return erro;
+        }
+
+        public void setErro(String erro) {
+            this.erro = erro;
+        }
+    }
+}
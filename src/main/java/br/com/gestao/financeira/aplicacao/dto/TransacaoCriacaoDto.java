@@ -2,11 +2,15 @@ package br.com.gestao.financeira.aplicacao.dto;
 
 import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
 import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * DTO para criação de transação.
@@ -21,6 +25,7 @@ public class TransacaoCriacaoDto {
 
     @NotNull(message = "O valor é obrigatório")
     @DecimalMin(value = "0.01", message = "O valor deve ser maior que zero")
+    @DecimalMax(value = "999999999999999.9999", message = "O valor excede o máximo permitido")
     private BigDecimal valor;
 
     @NotBlank(message = "A moeda é obrigatória")
@@ -30,8 +35,13 @@ public class TransacaoCriacaoDto {
     @NotNull(message = "A categoria é obrigatória")
     private CategoriaTransacao categoria;
 
+    @Size(max = 500, message = "A descrição deve ter no máximo 500 caracteres")
     private String descricao;
 
+    // Data da transação; se ausente, vale o momento do registro
+    @PastOrPresent(message = "A data não pode estar no futuro")
+    private LocalDateTime data;
+
     public TransacaoCriacaoDto() {
     }
 
@@ -82,8 +92,12 @@ public class TransacaoCriacaoDto {
     public void setDescricao(String descricao) {
         this.descricao = descricao;
     }
-}
-
-
 
+    public LocalDateTime getData() {
+        return data;
+    }
 
+    public void setData(LocalDateTime data) {
+        this.data = data;
+    }
+}
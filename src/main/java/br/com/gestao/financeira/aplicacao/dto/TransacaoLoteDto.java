@@ -0,0 +1,39 @@
+package br.com.gestao.financeira.aplicacao.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO para registro de transações em lote. Os itens são validados um a um,
+ * e o ID do usuário do lote vale para todos eles.
+ */
+public class TransacaoLoteDto {
+
+    @NotNull(message = "O ID do usuário é obrigatório")
+    private Long usuarioId;
+
+    @NotEmpty(message = "O lote deve conter ao menos uma transação")
+    @Size(max = 10000, message = "O lote pode conter no máximo 10000 transações")
+    private List<TransacaoCriacaoDto> transacoes;
+
+    public TransacaoLoteDto() {
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public List<TransacaoCriacaoDto> getTransacoes() {
+        return transacoes;
+    }
+
+    public void setTransacoes(List<TransacaoCriacaoDto> transacoes) {
+        this.transacoes = transacoes;
+    }
+}
@@ -16,6 +16,7 @@ public class UsuarioCriacaoDto {
 
     @NotBlank(message = "O email é obrigatório")
     @Email(message = "O email deve ser válido")
+    @Size(max = 100, message = "O email deve ter no máximo 100 caracteres")
     private String email;
 
     @NotBlank(message = "O CPF é obrigatório")
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_messages_usuario_criado_em", columnList = "usuario_id, criado_em"),
+        @Index(name = "idx_chat_messages_session_criado_em", columnList = "session_id, criado_em")
+})
 public class ChatMessage {
 
     @Id
@@ -0,0 +1,80 @@
+package br.com.gestao.financeira.dominio.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JPA com o histórico das taxas de câmbio obtidas da API externa.
+ */
+@Entity
+@Table(name = "taxas_cambio")
+public class TaxaCambioHistorico {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "moeda_origem", nullable = false, length = 3)
+    private String moedaOrigem;
+
+    @Column(name = "moeda_destino", nullable = false, length = 3)
+    private String moedaDestino;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal taxa;
+
+    @Column(name = "obtida_em", nullable = false)
+    private LocalDateTime obtidaEm;
+
+    public TaxaCambioHistorico() {
+    }
+
+    public TaxaCambioHistorico(String moedaOrigem, String moedaDestino, BigDecimal taxa, LocalDateTime obtidaEm) {
+        this.moedaOrigem = moedaOrigem;
+        this.moedaDestino = moedaDestino;
+        this.taxa = taxa;
+        this.obtidaEm = obtidaEm;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMoedaOrigem() {
+        return moedaOrigem;
+    }
+
+    public void setMoedaOrigem(String moedaOrigem) {
+        this.moedaOrigem = moedaOrigem;
+    }
+
+    public String getMoedaDestino() {
+        return moedaDestino;
+    }
+
+    public void setMoedaDestino(String moedaDestino) {
+        this.moedaDestino = moedaDestino;
+    }
+
+    public BigDecimal getTaxa() {
+        return taxa;
+    }
+
+    public void setTaxa(BigDecimal taxa) {
+        this.taxa = taxa;
+    }
+
+    public LocalDateTime getObtidaEm() {
+        return obtidaEm;
+    }
+
+    public void setObtidaEm(LocalDateTime obtidaEm) {
+        this.obtidaEm = obtidaEm;
+    }
+}
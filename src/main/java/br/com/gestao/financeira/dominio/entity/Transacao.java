@@ -10,11 +10,15 @@ import java.time.LocalDateTime;
  * Entidade JPA para persistência de transações.
  */
 @Entity
-@Table(name = "transacoes")
+@Table(name = "transacoes", indexes = {
+        @Index(name = "idx_transacoes_usuario_data_id", columnList = "usuario_id, data DESC, id DESC")
+})
 public class Transacao {
 
+    // Sequência com alocação em blocos: permite o batching JDBC das inserções
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacoes_seq")
+    @SequenceGenerator(name = "transacoes_seq", sequenceName = "transacoes_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "usuario_id", nullable = false)
@@ -43,6 +47,13 @@ public class Transacao {
     @Column(name = "taxa_cambio_aplicada", precision = 19, scale = 6)
     private BigDecimal taxaCambioAplicada;
 
+    // Valor convertido para a moeda padrão do usuário no momento do registro
+    @Column(name = "valor_normalizado", precision = 19, scale = 4)
+    private BigDecimal valorNormalizado;
+
+    @Column(name = "moeda_normalizada", length = 3)
+    private String moedaNormalizada;
+
     public Transacao() {
     }
 
@@ -118,10 +129,20 @@ public class Transacao {
     public void setTaxaCambioAplicada(BigDecimal taxaCambioAplicada) {
         this.taxaCambioAplicada = taxaCambioAplicada;
     }
-}
-
-
 
+    public BigDecimal getValorNormalizado() {
+        return valorNormalizado;
+    }
 
+    public void setValorNormalizado(BigDecimal valorNormalizado) {
+        this.valorNormalizado = valorNormalizado;
+    }
 
+    public String getMoedaNormalizada() {
+        return moedaNormalizada;
+    }
 
+    public void setMoedaNormalizada(String moedaNormalizada) {
+        this.moedaNormalizada = moedaNormalizada;
+    }
+}
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome_completo", nullable = false, length = 100)
@@ -46,6 +47,9 @@ public class Usuario {
     @JoinColumn(name = "familia_id")
     private Familia familia;
 
+    @Column(name = "versao_token", nullable = false)
+    private int versaoToken;
+
     public Usuario() {
     }
 
@@ -129,4 +133,20 @@ public class Usuario {
     public void setFamilia(Familia familia) {
         this.familia = familia;
     }
+
+    public int getVersaoToken() {
+        return versaoToken;
+    }
+
+    public void setVersaoToken(int versaoToken) {
+        this.versaoToken = versaoToken;
+    }
+
+    /**
+     * Invalida as claims dos tokens já emitidos (perfil, família, status),
+     * que passam a ser recarregadas do banco.
+     */
+    public void invalidarTokens() {
+        versaoToken++;
+    }
 }
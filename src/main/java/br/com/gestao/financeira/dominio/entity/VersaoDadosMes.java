@@ -0,0 +1,76 @@
+package br.com.gestao.financeira.dominio.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidade JPA com a versão dos dados de um usuário em um mês (ver
+ * {@link br.com.gestao.financeira.dominio.services.VersaoDadosService}).
+ */
+@Entity
+@Table(name = "versoes_dados")
+@IdClass(VersaoDadosMes.Chave.class)
+public class VersaoDadosMes {
+
+    @Id
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    // Primeiro dia do mês
+    @Id
+    @Column(nullable = false)
+    private LocalDate mes;
+
+    @Column(nullable = false)
+    private long versao;
+
+    public VersaoDadosMes() {
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public LocalDate getMes() {
+        return mes;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Chave composta (usuário, mês).
+     */
+    public static class Chave implements Serializable {
+
+        private Long usuarioId;
+        private LocalDate mes;
+
+        public Chave() {
+        }
+
+        public Chave(Long usuarioId, LocalDate mes) {
+            this.usuarioId = usuarioId;
+            this.mes = mes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Chave outra)) {
+                return false;
+            }
+            return Objects.equals(usuarioId, outra.usuarioId) && Objects.equals(mes, outra.mes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(usuarioId, mes);
+        }
+    }
+}
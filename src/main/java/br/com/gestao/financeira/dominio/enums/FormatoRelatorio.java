@@ -0,0 +1,25 @@
+package br.com.gestao.financeira.dominio.enums;
+
+/**
+ * Enum representando os formatos de arquivo de relatório.
+ */
+public enum FormatoRelatorio {
+    PDF("pdf", "application/pdf"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final String extensao;
+    private final String tipoConteudo;
+
+    FormatoRelatorio(String extensao, String tipoConteudo) {
+        this.extensao = extensao;
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+}
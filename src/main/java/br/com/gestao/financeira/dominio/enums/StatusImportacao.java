@@ -0,0 +1,21 @@
+package br.com.gestao.financeira.dominio.enums;
+
+/**
+ * Enum representando as etapas de uma importação assíncrona de planilha.
+ */
+public enum StatusImportacao {
+    PENDENTE("Pendente"),
+    PROCESSANDO("Processando"),
+    CONCLUIDA("Concluída"),
+    FALHOU("Falhou");
+
+    private final String descricao;
+
+    StatusImportacao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
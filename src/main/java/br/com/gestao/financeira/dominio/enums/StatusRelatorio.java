@@ -0,0 +1,21 @@
+package br.com.gestao.financeira.dominio.enums;
+
+/**
+ * Enum representando as etapas de geração assíncrona de um relatório.
+ */
+public enum StatusRelatorio {
+    PENDENTE("Pendente"),
+    PROCESSANDO("Processando"),
+    CONCLUIDO("Concluído"),
+    FALHOU("Falhou");
+
+    private final String descricao;
+
+    StatusRelatorio(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
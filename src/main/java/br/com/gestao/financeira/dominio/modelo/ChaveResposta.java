@@ -0,0 +1,80 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Chave de uma resposta do assistente em cache: o usuário e o SHA-256 de
+ * tudo o que determina a geração.
+ *
+ * Entram no hash a pergunta normalizada, o texto do contexto financeiro
+ * (ou seja, a versão dele) e os parâmetros do modelo. Qualquer mudança em
+ * um deles gera outra chave.
+ *
+ * O histórico da conversa fica de fora de propósito: ele muda a cada
+ * mensagem, e com ele na chave uma pergunta repetida na mesma sessão nunca
+ * acertaria o cache. Em troca, perguntas que só fazem sentido com o
+ * histórico ("e com saúde?", "explique isso melhor") não devem usar o
+ * cache; ver {@link #dependeDoHistorico}.
+ *
+ * @param usuarioId dono da conversa
+ * @param hash      SHA-256 em hexadecimal
+ */
+public record ChaveResposta(Long usuarioId, String hash) {
+
+    private static final char SEPARADOR = '\u0000';
+
+    /**
+     * Marcas de continuação: a pergunta começa com "e", retoma algo dito
+     * antes ("isso", "anterior", "ele"...) ou pede só uma explicação
+     * ("por quê?", "como assim?").
+     */
+    private static final Pattern CONTINUACAO = Pattern.compile(
+            "^e\\b|^(por que|por quê|como assim)$"
+                    + "|\\b(isso|isto|disso|disto|nisso|nisto|aquilo|daquilo|anterior|anteriores|acima"
+                    + "|também|mesmo|mesma|ele|ela|eles|elas|dele|dela|deles|delas)\\b",
+            Pattern.UNICODE_CHARACTER_CLASS);
+
+    public static ChaveResposta de(Long usuarioId, String pergunta, String contextoFinanceiro, String parametros) {
+        String conteudo = parametros + SEPARADOR + contextoFinanceiro + SEPARADOR + normalizar(pergunta);
+        return new ChaveResposta(usuarioId, sha256(conteudo));
+    }
+
+    /**
+     * Se a pergunta parece continuar a conversa, caso em que a resposta
+     * depende do histórico e não pode ser reaproveitada entre turnos.
+     * Heurística conservadora: na dúvida a pergunta só deixa de usar o
+     * cache.
+     */
+    public static boolean dependeDoHistorico(String pergunta) {
+        return CONTINUACAO.matcher(normalizar(pergunta)).find();
+    }
+
+    /**
+     * Forma canônica da pergunta: minúsculas, espaços colapsados e sem a
+     * pontuação final, de modo que "Quanto gastei este mês?" e
+     * "quanto gastei  este mês" tenham a mesma chave.
+     */
+    static String normalizar(String pergunta) {
+        return Normalizer.normalize(pergunta, Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\s?!.]+$", "")
+                .strip();
+    }
+
+    private static String sha256(String conteudo) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(conteudo.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo financeiro dos últimos {@value #DIAS_JANELA} dias de um usuário,
+ * usado como contexto do chat: totais, maiores categorias de despesa,
+ * últimas transações e o texto enviado ao modelo, todos já calculados.
+ *
+ * Imutável. Guarda também as transações da janela (e as de data futura, que
+ * entram nela quando a data chega), de modo que alterações de transações
+ * ({@link #comAlteracoes}) e a passagem do tempo ({@link #atualizadoEm})
+ * geram um novo resumo a partir deste, sem consultar o banco.
+ */
+public final class ContextoFinanceiro {
+
+    public static final int DIAS_JANELA = 30;
+    private static final int MAIORES_CATEGORIAS = 3;
+    private static final int ULTIMAS_TRANSACOES = 5;
+    private static final DateTimeFormatter FORMATO_DIA = DateTimeFormatter.ofPattern("dd/MM");
+    private static final Comparator<Item> MAIS_RECENTES = Comparator.comparing(Item::data).reversed();
+
+    private final LocalDateTime carregadoEm;
+    private final List<Item> itens;
+    // Próximo instante em que uma transação sai ou entra na janela (null: nenhum)
+    private final LocalDateTime recalcularEm;
+    private final BigDecimal totalReceitas;
+    private final BigDecimal totalDespesas;
+    private final int quantidade;
+    private final List<TotalCategoria> maioresCategorias;
+    private final List<Item> ultimas;
+    private final String texto;
+
+    private ContextoFinanceiro(LocalDateTime carregadoEm, List<Item> itens, LocalDateTime recalcularEm,
+            BigDecimal totalReceitas, BigDecimal totalDespesas, int quantidade,
+            List<TotalCategoria> maioresCategorias, List<Item> ultimas) {
+        this.carregadoEm = carregadoEm;
+        this.itens = itens;
+        this.recalcularEm = recalcularEm;
+        this.totalReceitas = totalReceitas;
+        this.totalDespesas = totalDespesas;
+        this.quantidade = quantidade;
+        this.maioresCategorias = maioresCategorias;
+        this.ultimas = ultimas;
+        this.texto = montarTexto();
+    }
+
+    /**
+     * Calcula o resumo no instante informado.
+     *
+     * @param transacoes  transações do usuário a partir do início da janela
+     *                    (as anteriores são ignoradas)
+     * @param agora       instante de referência da janela
+     * @param carregadoEm quando as transações foram lidas do banco
+     */
+    public static ContextoFinanceiro calcular(Collection<Item> transacoes, LocalDateTime agora,
+            LocalDateTime carregadoEm) {
+        LocalDateTime inicio = agora.minusDays(DIAS_JANELA);
+        List<Item> itens = transacoes.stream()
+                .filter(i -> !i.data().isBefore(inicio))
+                .sorted(MAIS_RECENTES)
+                .toList();
+
+        BigDecimal receitas = BigDecimal.ZERO;
+        BigDecimal despesas = BigDecimal.ZERO;
+        int quantidade = 0;
+        Map<CategoriaTransacao, BigDecimal> despesasPorCategoria = new EnumMap<>(CategoriaTransacao.class);
+        List<Item> ultimas = new ArrayList<>(ULTIMAS_TRANSACOES);
+        LocalDateTime recalcularEm = null;
+
+        for (Item item : itens) {
+            if (item.data().isAfter(agora)) {
+                // Data futura: entra na janela quando a data chegar
+                recalcularEm = maisCedo(recalcularEm, item.data());
+                continue;
+            }
+            quantidade++;
+            if (ultimas.size() < ULTIMAS_TRANSACOES) {
+                ultimas.add(item);
+            }
+            switch (item.tipo()) {
+                case RECEITA, DEPOSITO -> receitas = receitas.add(item.valor());
+                case DESPESA -> {
+                    despesas = despesas.add(item.valor());
+                    despesasPorCategoria.merge(item.categoria(), item.valor(), BigDecimal::add);
+                }
+                case RETIRADA -> despesas = despesas.add(item.valor());
+                default -> {
+                }
+            }
+            recalcularEm = maisCedo(recalcularEm, item.data().plusDays(DIAS_JANELA));
+        }
+
+        List<TotalCategoria> maioresCategorias = despesasPorCategoria.entrySet().stream()
+                .sorted(Map.Entry.<CategoriaTransacao, BigDecimal>comparingByValue().reversed())
+                .limit(MAIORES_CATEGORIAS)
+                .map(e -> new TotalCategoria(e.getKey(), e.getValue()))
+                .toList();
+
+        return new ContextoFinanceiro(carregadoEm, itens, recalcularEm, receitas, despesas, quantidade,
+                maioresCategorias, List.copyOf(ultimas));
+    }
+
+    /**
+     * Novo resumo com as transações registradas, atualizadas ou excluídas.
+     */
+    public ContextoFinanceiro comAlteracoes(TransacoesAlteradas alteracoes, LocalDateTime agora) {
+        Map<Long, Item> porId = new LinkedHashMap<>();
+        for (Item item : itens) {
+            porId.put(item.id(), item);
+        }
+        alteracoes.excluidas().forEach(porId::remove);
+        for (Transacao transacao : alteracoes.gravadas()) {
+            porId.put(transacao.getId(), Item.de(transacao));
+        }
+        return calcular(porId.values(), agora, carregadoEm);
+    }
+
+    /**
+     * O resumo no instante informado: este mesmo, se nenhuma transação saiu
+     * ou entrou na janela desde o cálculo.
+     */
+    public ContextoFinanceiro atualizadoEm(LocalDateTime agora) {
+        if (recalcularEm == null || agora.isBefore(recalcularEm)) {
+            return this;
+        }
+        return calcular(itens, agora, carregadoEm);
+    }
+
+    public LocalDateTime getCarregadoEm() {
+        return carregadoEm;
+    }
+
+    public BigDecimal getTotalReceitas() {
+        return totalReceitas;
+    }
+
+    public BigDecimal getTotalDespesas() {
+        return totalDespesas;
+    }
+
+    public BigDecimal getSaldo() {
+        return totalReceitas.subtract(totalDespesas);
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public List<TotalCategoria> getMaioresCategorias() {
+        return maioresCategorias;
+    }
+
+    public List<Item> getUltimas() {
+        return ultimas;
+    }
+
+    /**
+     * Texto do contexto enviado ao modelo.
+     */
+    public String getTexto() {
+        return texto;
+    }
+
+    private String montarTexto() {
+        StringBuilder contexto = new StringBuilder("Contexto financeiro do usuário:\n");
+        if (quantidade == 0) {
+            return contexto.append("- Nenhuma transação nos últimos ").append(DIAS_JANELA).append(" dias.\n")
+                    .toString();
+        }
+
+        contexto.append("- Total de receitas (").append(DIAS_JANELA).append(" dias): R$ ")
+                .append(valor(totalReceitas)).append('\n');
+        contexto.append("- Total de despesas (").append(DIAS_JANELA).append(" dias): R$ ")
+                .append(valor(totalDespesas)).append('\n');
+        contexto.append("- Saldo do período: R$ ").append(valor(getSaldo())).append('\n');
+        contexto.append("- Número de transações: ").append(quantidade).append('\n');
+
+        if (!maioresCategorias.isEmpty()) {
+            contexto.append("- Maiores categorias de despesa:\n");
+            for (TotalCategoria categoria : maioresCategorias) {
+                contexto.append("  * ").append(categoria.categoria().name())
+                        .append(": R$ ").append(valor(categoria.total())).append('\n');
+            }
+        }
+
+        contexto.append("- Últimas ").append(ULTIMAS_TRANSACOES).append(" transações:\n");
+        for (Item item : ultimas) {
+            contexto.append("  * ").append(item.data().format(FORMATO_DIA)).append(": ")
+                    .append(item.descricao() != null ? item.descricao() : item.categoria().name())
+                    .append(" - R$ ").append(valor(item.valor()))
+                    .append(" (").append(item.tipo().name()).append(")\n");
+        }
+        return contexto.toString();
+    }
+
+    private static String valor(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static LocalDateTime maisCedo(LocalDateTime atual, LocalDateTime candidato) {
+        return atual == null || candidato.isBefore(atual) ? candidato : atual;
+    }
+
+    /**
+     * Dados de uma transação usados no resumo.
+     */
+    public record Item(Long id, LocalDateTime data, TipoTransacao tipo, CategoriaTransacao categoria,
+            BigDecimal valor, String descricao) {
+
+        public static Item de(Transacao transacao) {
+            return new Item(transacao.getId(), transacao.getData(), transacao.getTipo(),
+                    transacao.getCategoria(),
+                    transacao.getValorOriginal() != null ? transacao.getValorOriginal() : BigDecimal.ZERO,
+                    transacao.getDescricao());
+        }
+    }
+
+    public record TotalCategoria(CategoriaTransacao categoria, BigDecimal total) {
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma transação na listagem por cursor, ordenada por data e ID
+ * decrescentes. É trafegada para o cliente como texto opaco.
+ */
+public record CursorTransacao(LocalDateTime data, Long id) {
+
+    /**
+     * Cursor para a primeira página (antes de qualquer transação).
+     */
+    public static CursorTransacao inicio() {
+        return new CursorTransacao(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    }
+
+    /**
+     * Codifica o cursor em texto opaco.
+     */
+    public String codificar() {
+        String bruto = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     * 
+     * @param cursor texto opaco gerado por {@link #codificar()}
+     * @return o cursor, ou o cursor inicial se o texto for vazio
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static CursorTransacao decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return inicio();
+        }
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = bruto.lastIndexOf('|');
+            return new CursorTransacao(
+                    LocalDateTime.parse(bruto.substring(0, separador)),
+                    Long.parseLong(bruto.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Grafo imutável de taxas de câmbio com todas as combinações pré-calculadas.
+ * 
+ * Cada taxa conhecida (perna) gera o par direto e o inverso. Os pares que a
+ * API não cota são derivados por uma moeda pivô (BRL, depois USD). As taxas
+ * derivadas carregam a data da perna mais antiga usada no cálculo.
+ */
+public final class GrafoTaxasCambio {
+
+    private static final List<String> PIVOS = List.of("BRL", "USD");
+    private static final int ESCALA = 6;
+
+    private final Map<String, Integer> indices;
+    private final String[] moedas;
+    private final BigDecimal[][] taxas;
+    private final LocalDateTime[][] obtidasEm;
+
+    private GrafoTaxasCambio(Map<String, Integer> indices, String[] moedas,
+            BigDecimal[][] taxas, LocalDateTime[][] obtidasEm) {
+        this.indices = indices;
+        this.moedas = moedas;
+        this.taxas = taxas;
+        this.obtidasEm = obtidasEm;
+    }
+
+    /**
+     * Monta o grafo a partir das taxas conhecidas.
+     * 
+     * @param pernas taxas obtidas da API ou do histórico
+     * @return grafo com todos os pares deriváveis
+     */
+    public static GrafoTaxasCambio montar(Collection<TaxaCambio> pernas) {
+        Map<String, Integer> indices = new HashMap<>();
+        for (TaxaCambio perna : pernas) {
+            indices.putIfAbsent(perna.getMoedaOrigem().toUpperCase(), indices.size());
+            indices.putIfAbsent(perna.getMoedaDestino().toUpperCase(), indices.size());
+        }
+
+        int n = indices.size();
+        String[] moedas = new String[n];
+        indices.forEach((moeda, i) -> moedas[i] = moeda);
+        BigDecimal[][] taxas = new BigDecimal[n][n];
+        LocalDateTime[][] obtidasEm = new LocalDateTime[n][n];
+
+        // Pernas diretas têm prioridade sobre inversas
+        for (TaxaCambio perna : pernas) {
+            int o = indices.get(perna.getMoedaOrigem().toUpperCase());
+            int d = indices.get(perna.getMoedaDestino().toUpperCase());
+            taxas[o][d] = perna.getTaxa();
+            obtidasEm[o][d] = perna.getObtidaEm();
+        }
+        for (int o = 0; o < n; o++) {
+            for (int d = 0; d < n; d++) {
+                if (taxas[o][d] != null && taxas[d][o] == null && taxas[o][d].signum() > 0) {
+                    taxas[d][o] = BigDecimal.ONE.divide(taxas[o][d], ESCALA, RoundingMode.HALF_UP);
+                    obtidasEm[d][o] = obtidasEm[o][d];
+                }
+            }
+        }
+
+        // Pares cruzados via pivô
+        for (String pivo : PIVOS) {
+            Integer p = indices.get(pivo);
+            if (p == null) {
+                continue;
+            }
+            for (int o = 0; o < n; o++) {
+                for (int d = 0; d < n; d++) {
+                    if (o == d || taxas[o][d] != null || taxas[o][p] == null || taxas[p][d] == null) {
+                        continue;
+                    }
+                    taxas[o][d] = taxas[o][p].multiply(taxas[p][d]).setScale(ESCALA, RoundingMode.HALF_UP);
+                    obtidasEm[o][d] = maisAntiga(obtidasEm[o][p], obtidasEm[p][d]);
+                }
+            }
+        }
+
+        return new GrafoTaxasCambio(Map.copyOf(indices), moedas, taxas, obtidasEm);
+    }
+
+    /**
+     * Retorna a taxa do par, direta, inversa ou derivada via pivô.
+     */
+    public Optional<TaxaCambio> obter(String origem, String destino) {
+        Integer o = indices.get(origem.toUpperCase());
+        Integer d = indices.get(destino.toUpperCase());
+        if (o == null || d == null || taxas[o][d] == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new TaxaCambio(moedas[o], moedas[d], taxas[o][d], obtidasEm[o][d]));
+    }
+
+    private static LocalDateTime maisAntiga(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+}
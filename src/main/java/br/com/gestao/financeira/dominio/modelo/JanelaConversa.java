@@ -0,0 +1,24 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import java.util.List;
+
+/**
+ * Histórico da conversa enviado ao modelo junto com a nova pergunta: as
+ * mensagens mais recentes, dentro de um orçamento de tokens, e um resumo
+ * das anteriores.
+ *
+ * @param resumo resumo das mensagens que saíram da janela (null se nenhuma)
+ * @param turnos mensagens recentes, da mais antiga para a mais nova
+ */
+public record JanelaConversa(String resumo, List<TurnoConversa> turnos) {
+
+    public static final JanelaConversa VAZIA = new JanelaConversa(null, List.of());
+
+    /**
+     * Estimativa do número de tokens de um texto, sem depender do tokenizador
+     * do modelo: cerca de 4 caracteres por token.
+     */
+    public static int estimarTokens(String texto) {
+        return texto == null ? 0 : (texto.length() + 3) / 4;
+    }
+}
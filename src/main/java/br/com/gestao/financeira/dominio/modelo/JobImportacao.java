@@ -0,0 +1,134 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.aplicacao.dto.ResultadoImportacaoDto;
+import br.com.gestao.financeira.dominio.enums.StatusImportacao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importação de planilha e seu progresso. Os contadores são atualizados pela
+ * thread da importação e lidos pelas requisições de consulta. Apenas as
+ * primeiras {@link #LIMITE_ERROS} mensagens de erro são guardadas.
+ */
+public class JobImportacao {
+
+    private static final int LIMITE_ERROS = 1000;
+
+    private final String id;
+    private final String arquivo;
+    private final LocalDateTime criadoEm;
+
+    private volatile StatusImportacao status = StatusImportacao.PENDENTE;
+    private volatile LocalDateTime concluidoEm;
+    private volatile String mensagemErro;
+
+    private final AtomicInteger linhasLidas = new AtomicInteger();
+    private final AtomicInteger sucessos = new AtomicInteger();
+    private final AtomicInteger falhas = new AtomicInteger();
+    private final AtomicInteger errosOmitidos = new AtomicInteger();
+    private final List<String> erros = new ArrayList<>();
+
+    public JobImportacao(String arquivo) {
+        this.id = UUID.randomUUID().toString();
+        this.arquivo = arquivo;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    public void iniciar() {
+        status = StatusImportacao.PROCESSANDO;
+    }
+
+    public void concluir() {
+        concluidoEm = LocalDateTime.now();
+        status = StatusImportacao.CONCLUIDA;
+    }
+
+    public void falhar(String mensagem) {
+        mensagemErro = mensagem;
+        concluidoEm = LocalDateTime.now();
+        status = StatusImportacao.FALHOU;
+    }
+
+    public boolean isFinalizado() {
+        return status == StatusImportacao.CONCLUIDA || status == StatusImportacao.FALHOU;
+    }
+
+    public void registrarLinhaLida() {
+        linhasLidas.incrementAndGet();
+    }
+
+    public void registrarSucessos(int quantidade) {
+        sucessos.addAndGet(quantidade);
+    }
+
+    public void registrarFalha(int linha, String mensagem) {
+        falhas.incrementAndGet();
+        registrarErro("Linha " + linha + ": " + mensagem);
+    }
+
+    public synchronized void registrarErro(String mensagem) {
+        if (erros.size() < LIMITE_ERROS) {
+            erros.add(mensagem);
+        } else {
+            errosOmitidos.incrementAndGet();
+        }
+    }
+
+    /**
+     * Totais no formato do resultado de importação.
+     */
+    public ResultadoImportacaoDto paraResultado() {
+        return new ResultadoImportacaoDto(getSucessos() + getFalhas(), getSucessos(), getFalhas(), getErros());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Nome original do arquivo enviado.
+     */
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public StatusImportacao getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    public String getMensagemErro() {
+        return mensagemErro;
+    }
+
+    public int getLinhasLidas() {
+        return linhasLidas.get();
+    }
+
+    public int getSucessos() {
+        return sucessos.get();
+    }
+
+    public int getFalhas() {
+        return falhas.get();
+    }
+
+    public synchronized List<String> getErros() {
+        List<String> copia = new ArrayList<>(erros);
+        if (errosOmitidos.get() > 0) {
+            copia.add("... e mais " + errosOmitidos.get() + " erros");
+        }
+        return copia;
+    }
+}
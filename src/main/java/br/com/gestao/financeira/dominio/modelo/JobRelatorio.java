@@ -0,0 +1,91 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
+import br.com.gestao.financeira.dominio.enums.FormatoRelatorio;
+import br.com.gestao.financeira.dominio.enums.StatusRelatorio;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pedido de geração assíncrona de relatório. O status é atualizado pela
+ * thread de geração e lido pelas requisições de consulta.
+ */
+public class JobRelatorio {
+
+    private final String id;
+    private final ParametrosRelatorio parametros;
+    private final FormatoRelatorio formato;
+    private final String chave;
+    private final LocalDateTime criadoEm;
+
+    private volatile StatusRelatorio status = StatusRelatorio.PENDENTE;
+    private volatile LocalDateTime concluidoEm;
+    private volatile String mensagemErro;
+
+    public JobRelatorio(ParametrosRelatorio parametros, FormatoRelatorio formato, String chave) {
+        this.id = UUID.randomUUID().toString();
+        this.parametros = parametros;
+        this.formato = formato;
+        this.chave = chave;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    public void iniciar() {
+        status = StatusRelatorio.PROCESSANDO;
+    }
+
+    public void concluir() {
+        concluidoEm = LocalDateTime.now();
+        status = StatusRelatorio.CONCLUIDO;
+    }
+
+    public void falhar(String mensagem) {
+        mensagemErro = mensagem;
+        concluidoEm = LocalDateTime.now();
+        status = StatusRelatorio.FALHOU;
+    }
+
+    public boolean isFinalizado() {
+        return status == StatusRelatorio.CONCLUIDO || status == StatusRelatorio.FALHOU;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUsuarioId() {
+        return parametros.getUsuarioId();
+    }
+
+    public ParametrosRelatorio getParametros() {
+        return parametros;
+    }
+
+    public FormatoRelatorio getFormato() {
+        return formato;
+    }
+
+    /**
+     * Chave do arquivo gerado: usuário, período, moeda, formato e versão dos dados.
+     */
+    public String getChave() {
+        return chave;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public StatusRelatorio getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    public String getMensagemErro() {
+        return mensagemErro;
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pergunta do chat reconhecida como consulta numérica sobre as finanças do
+ * usuário em um mês, que pode ser respondida direto dos dados, sem o modelo
+ * de linguagem.
+ *
+ * O reconhecimento é por palavras-chave sobre o texto normalizado
+ * (minúsculas, sem acentos nem pontuação). Na dúvida a pergunta não é
+ * reconhecida e segue para o modelo: pedidos de conselho ou explicação,
+ * mais de uma categoria, períodos que não são um mês ("este ano", "últimos
+ * 30 dias") e perguntas longas.
+ *
+ * @param intencao  o que foi perguntado
+ * @param categoria categoria perguntada (só em {@link Intencao#GASTOS_CATEGORIA})
+ * @param mes       mês de referência
+ */
+public record PerguntaFinanceira(Intencao intencao, CategoriaTransacao categoria, YearMonth mes) {
+
+    public enum Intencao {
+        SALDO,
+        RECEITAS,
+        GASTOS,
+        GASTOS_CATEGORIA,
+        MAIORES_CATEGORIAS
+    }
+
+    private static final int TAMANHO_MAXIMO = 120;
+
+    private static final Pattern PERGUNTA_ABERTA = Pattern.compile("\\b(como|por que|porque|devo|deveria|dicas?"
+            + "|conselhos?|ajud\\w*|sugest\\w*|compar\\w*|economiz\\w*|reduzir|melhor\\w*|vale a pena|planej\\w*"
+            + "|expli\\w*|analis\\w*|previs\\w*|proximos?|medias?)\\b");
+
+    private static final Pattern MAIORES_CATEGORIAS = Pattern.compile(
+            "\\b(maiores|principais) (gastos|despesas|categorias)\\b"
+                    + "|\\b(onde|com o que|com que|em que) (eu )?(mais )?gast(ei|o)\\b");
+    private static final Pattern SALDO = Pattern.compile("\\bsaldo\\b|\\bquanto (eu )?(me )?sobr(ou|a)\\b");
+    private static final Pattern RECEITAS = Pattern.compile("\\bquanto (eu )?(recebi|ganhei)\\b"
+            + "|\\b(minhas|total de|total das) (receitas|entradas)\\b|\\bminha renda\\b");
+    private static final Pattern INVESTIMENTOS = Pattern.compile("\\bquanto (eu )?investi\\b");
+    private static final Pattern GASTOS = Pattern.compile("\\bquanto (eu )?(gastei|gasto|paguei)\\b"
+            + "|\\b(total|soma) (de |das |dos )?(gastos|despesas)\\b"
+            + "|\\b(meus|minhas) (gastos|despesas)\\b"
+            + "|\\bquais (foram )?(os |as )?(meus |minhas )?(gastos|despesas)\\b");
+
+    private static final Map<CategoriaTransacao, Pattern> CATEGORIAS = new EnumMap<>(Map.of(
+            CategoriaTransacao.ALIMENTACAO, Pattern.compile(
+                    "\\b(alimentacao|comida|mercados?|supermercados?|restaurantes?|lanches?|delivery)\\b"),
+            CategoriaTransacao.MORADIA, Pattern.compile("\\b(moradia|aluguel|condominio|casa)\\b"),
+            CategoriaTransacao.TRANSPORTE, Pattern.compile(
+                    "\\b(transportes?|combustivel|gasolina|uber|onibus|metro|carro)\\b"),
+            CategoriaTransacao.LAZER, Pattern.compile(
+                    "\\b(lazer|diversao|entretenimento|viage(m|ns)|cinema|passeios?)\\b"),
+            CategoriaTransacao.SAUDE, Pattern.compile("\\b(saude|farmacias?|medicos?|remedios?|consultas?)\\b"),
+            CategoriaTransacao.EDUCACAO, Pattern.compile("\\b(educacao|escolas?|faculdade|cursos?|livros?)\\b"),
+            CategoriaTransacao.VESTUARIO, Pattern.compile("\\b(vestuario|roupas?|calcados?|sapatos?)\\b"),
+            CategoriaTransacao.SERVICOS, Pattern.compile(
+                    "\\b(servicos?|assinaturas?|streaming|internet|telefone|celular)\\b"),
+            CategoriaTransacao.INVESTIMENTOS, Pattern.compile("\\b(investimentos?)\\b")));
+
+    private static final List<String> MESES = List.of("janeiro", "fevereiro", "marco", "abril", "maio", "junho",
+            "julho", "agosto", "setembro", "outubro", "novembro", "dezembro");
+    private static final Pattern MES_NOMEADO = Pattern.compile(
+            "\\b(" + String.join("|", MESES) + ")\\b( de (\\d{4}))?");
+    private static final Pattern MES_PASSADO = Pattern.compile("\\b(mes passado|ultimo mes|mes anterior)\\b");
+    private static final Pattern PERIODO_NAO_SUPORTADO = Pattern.compile(
+            "\\b(anos?|meses|semanas?|hoje|ontem|dias?|trimestres?|semestres?|\\d{4})\\b");
+
+    /**
+     * Reconhece a pergunta, se for uma das consultas numéricas suportadas.
+     *
+     * @param pergunta texto enviado pelo usuário
+     * @param hoje     data de referência para "este mês" e "mês passado"
+     * @return a pergunta reconhecida, ou vazio se ela deve ir para o modelo
+     */
+    public static Optional<PerguntaFinanceira> interpretar(String pergunta, LocalDate hoje) {
+        String texto = normalizar(pergunta);
+        if (texto.isEmpty() || texto.length() > TAMANHO_MAXIMO || PERGUNTA_ABERTA.matcher(texto).find()) {
+            return Optional.empty();
+        }
+
+        Optional<YearMonth> mes = mesDeReferencia(texto, YearMonth.from(hoje));
+        if (mes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (MAIORES_CATEGORIAS.matcher(texto).find()) {
+            return Optional.of(new PerguntaFinanceira(Intencao.MAIORES_CATEGORIAS, null, mes.get()));
+        }
+        if (SALDO.matcher(texto).find()) {
+            return Optional.of(new PerguntaFinanceira(Intencao.SALDO, null, mes.get()));
+        }
+        if (RECEITAS.matcher(texto).find()) {
+            return Optional.of(new PerguntaFinanceira(Intencao.RECEITAS, null, mes.get()));
+        }
+        if (INVESTIMENTOS.matcher(texto).find()) {
+            return Optional.of(new PerguntaFinanceira(Intencao.GASTOS_CATEGORIA,
+                    CategoriaTransacao.INVESTIMENTOS, mes.get()));
+        }
+        if (!GASTOS.matcher(texto).find()) {
+            return Optional.empty();
+        }
+
+        List<CategoriaTransacao> categorias = CATEGORIAS.entrySet().stream()
+                .filter(e -> e.getValue().matcher(texto).find())
+                .map(Map.Entry::getKey)
+                .toList();
+        return switch (categorias.size()) {
+            case 0 -> Optional.of(new PerguntaFinanceira(Intencao.GASTOS, null, mes.get()));
+            case 1 -> Optional.of(new PerguntaFinanceira(Intencao.GASTOS_CATEGORIA, categorias.get(0), mes.get()));
+            // Mais de uma categoria: comparação, fica com o modelo
+            default -> Optional.empty();
+        };
+    }
+
+    private static Optional<YearMonth> mesDeReferencia(String texto, YearMonth atual) {
+        YearMonth mes = atual;
+        String restante = texto;
+
+        Matcher nomeado = MES_NOMEADO.matcher(texto);
+        if (nomeado.find()) {
+            Month numero = Month.of(MESES.indexOf(nomeado.group(1)) + 1);
+            if (nomeado.group(3) != null) {
+                mes = YearMonth.of(Integer.parseInt(nomeado.group(3)), numero);
+            } else {
+                mes = YearMonth.of(atual.getYear(), numero);
+                if (mes.isAfter(atual)) {
+                    // "em dezembro" perguntado em março: o dezembro passado
+                    mes = mes.minusYears(1);
+                }
+            }
+            restante = texto.substring(0, nomeado.start()) + texto.substring(nomeado.end());
+        } else {
+            Matcher passado = MES_PASSADO.matcher(texto);
+            if (passado.find()) {
+                mes = atual.minusMonths(1);
+                restante = texto.substring(0, passado.start()) + texto.substring(passado.end());
+            }
+        }
+
+        // Mês futuro, mais de um mês ou outro tipo de período
+        if (mes.isAfter(atual)
+                || MES_NOMEADO.matcher(restante).find()
+                || MES_PASSADO.matcher(restante).find()
+                || PERIODO_NAO_SUPORTADO.matcher(restante).find()) {
+            return Optional.empty();
+        }
+        return Optional.of(mes);
+    }
+
+    private static String normalizar(String pergunta) {
+        return Normalizer.normalize(pergunta, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", " ")
+                .strip();
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Linha agregada de transações, agrupada no banco por moeda, categoria, tipo
+ * e mês.
+ */
+public class ResumoTransacaoAgrupado {
+    private String moeda;
+    private CategoriaTransacao categoria;
+    private TipoTransacao tipo;
+    private YearMonth mes;
+    private BigDecimal total;
+    private long quantidade;
+
+    public ResumoTransacaoAgrupado() {
+    }
+
+    public ResumoTransacaoAgrupado(String moeda, CategoriaTransacao categoria, TipoTransacao tipo,
+            YearMonth mes, BigDecimal total, long quantidade) {
+        this.moeda = moeda;
+        this.categoria = categoria;
+        this.tipo = tipo;
+        this.mes = mes;
+        this.total = total;
+        this.quantidade = quantidade;
+    }
+
+    /**
+     * Construtor usado pela projeção JPQL (ano e mês vêm como colunas separadas).
+     */
+    public ResumoTransacaoAgrupado(String moeda, CategoriaTransacao categoria, TipoTransacao tipo,
+            Integer ano, Integer mes, BigDecimal total, Long quantidade) {
+        this(moeda, categoria, tipo, YearMonth.of(ano, mes), total, quantidade);
+    }
+
+    public String getMoeda() {
+        return moeda;
+    }
+
+    public void setMoeda(String moeda) {
+        this.moeda = moeda;
+    }
+
+    public CategoriaTransacao getCategoria() {
+        return categoria;
+    }
+
+    public void setCategoria(CategoriaTransacao categoria) {
+        this.categoria = categoria;
+    }
+
+    public TipoTransacao getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoTransacao tipo) {
+        this.tipo = tipo;
+    }
+
+    public YearMonth getMes() {
+        return mes;
+    }
+
+    public void setMes(YearMonth mes) {
+        this.mes = mes;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+}
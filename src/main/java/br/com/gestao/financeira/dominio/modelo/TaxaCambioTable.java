@@ -0,0 +1,60 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabela imutável de taxas de câmbio para uma moeda de destino, resolvida uma
+ * única vez por requisição. Consultas são apenas leituras em memória.
+ */
+public final class TaxaCambioTable {
+
+    private final String moedaDestino;
+    private final Map<String, BigDecimal> taxasPorOrigem;
+
+    public TaxaCambioTable(String moedaDestino, Map<String, BigDecimal> taxasPorOrigem) {
+        this.moedaDestino = moedaDestino.toUpperCase();
+        Map<String, BigDecimal> taxas = new HashMap<>();
+        taxasPorOrigem.forEach((origem, taxa) -> taxas.put(origem.toUpperCase(), taxa));
+        this.taxasPorOrigem = Map.copyOf(taxas);
+    }
+
+    public String getMoedaDestino() {
+        return moedaDestino;
+    }
+
+    /**
+     * Retorna a taxa da moeda de origem para a moeda de destino da tabela.
+     * 
+     * @param origem código da moeda de origem
+     * @return a taxa, ou null se o par não foi resolvido
+     */
+    public BigDecimal taxa(String origem) {
+        if (origem.equalsIgnoreCase(moedaDestino)) {
+            return BigDecimal.ONE;
+        }
+        return taxasPorOrigem.get(origem.toUpperCase());
+    }
+
+    /**
+     * Converte um valor para a moeda de destino da tabela. Se o par não estiver
+     * disponível, retorna o valor original (mesmo comportamento do port de
+     * cotação).
+     * 
+     * @param valor  valor a converter
+     * @param origem código da moeda de origem
+     * @return valor convertido
+     */
+    public BigDecimal converter(BigDecimal valor, String origem) {
+        if (origem.equalsIgnoreCase(moedaDestino)) {
+            return valor;
+        }
+        BigDecimal taxa = taxasPorOrigem.get(origem.toUpperCase());
+        if (taxa == null) {
+            return valor;
+        }
+        return valor.multiply(taxa).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.entity.Transacao;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando transações de um usuário são registradas,
+ * atualizadas ou excluídas.
+ *
+ * @param usuarioId identificador do usuário
+ * @param gravadas  transações registradas ou atualizadas, como ficaram
+ * @param excluidas IDs das transações excluídas
+ */
+public record TransacoesAlteradas(Long usuarioId, List<Transacao> gravadas, List<Long> excluidas) {
+
+    public static TransacoesAlteradas gravadas(Long usuarioId, List<Transacao> gravadas) {
+        return new TransacoesAlteradas(usuarioId, gravadas, List.of());
+    }
+
+    public static TransacoesAlteradas excluida(Long usuarioId, Long id) {
+        return new TransacoesAlteradas(usuarioId, List.of(), List.of(id));
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.entity.ChatMessage.ChatRole;
+
+/**
+ * Uma mensagem da conversa com o assistente, como é enviada ao modelo.
+ *
+ * @param papel    quem escreveu (usuário ou assistente)
+ * @param conteudo texto da mensagem
+ */
+public record TurnoConversa(ChatRole papel, String conteudo) {
+
+    public int tokensEstimados() {
+        return JanelaConversa.estimarTokens(conteudo);
+    }
+}
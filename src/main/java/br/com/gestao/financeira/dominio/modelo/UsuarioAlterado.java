@@ -0,0 +1,11 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+/**
+ * Evento publicado quando dados de um usuário que afetam a autenticação
+ * (perfil, família, status) mudam ou quando ele é excluído.
+ *
+ * @param usuarioId identificador do usuário
+ * @param email     email do usuário
+ */
+public record UsuarioAlterado(Long usuarioId, String email) {
+}
@@ -0,0 +1,44 @@
+package br.com.gestao.financeira.dominio.repository;
+
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Port de saída para o serviço de inferência do assistente financeiro
+ * (modelo de linguagem local).
+ */
+public interface AssistenteRepository {
+
+    /**
+     * Gera a resposta completa para a mensagem.
+     *
+     * @param mensagem      pergunta do usuário
+     * @param promptSistema instruções e contexto financeiro
+     * @param historico     mensagens anteriores da conversa, da mais antiga
+     *                      para a mais nova
+     * @return o texto gerado
+     */
+    String responder(String mensagem, String promptSistema, List<TurnoConversa> historico);
+
+    /**
+     * Gera a resposta entregando cada trecho assim que o modelo o produz.
+     * Retorna quando a geração termina.
+     *
+     * @param mensagem        pergunta do usuário
+     * @param promptSistema   instruções e contexto financeiro
+     * @param historico       mensagens anteriores da conversa, da mais
+     *                        antiga para a mais nova
+     * @param aoReceberTrecho chamado, na ordem, com cada trecho gerado; uma
+     *                        exceção lançada por ele interrompe a geração
+     */
+    void responderEmPartes(String mensagem, String promptSistema, List<TurnoConversa> historico,
+            Consumer<String> aoReceberTrecho);
+
+    /**
+     * Identifica o serviço e os parâmetros de geração; respostas em cache só
+     * são reaproveitadas com o mesmo valor.
+     */
+    String parametros();
+}
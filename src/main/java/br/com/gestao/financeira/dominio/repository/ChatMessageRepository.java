@@ -1,6 +1,7 @@
 package br.com.gestao.financeira.dominio.repository;
 
 import br.com.gestao.financeira.dominio.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -20,6 +21,12 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      */
     List<ChatMessage> findBySessionIdOrderByCriadoEmAsc(String sessionId);
 
+    /**
+     * Find the most recent messages of a user's session, newest first.
+     */
+    List<ChatMessage> findByUsuarioIdAndSessionIdOrderByCriadoEmDescIdDesc(Long usuarioId, String sessionId,
+            Pageable pageable);
+
     /**
      * Find recent messages for a user (for context).
      */
@@ -0,0 +1,18 @@
+package br.com.gestao.financeira.dominio.repository;
+
+import br.com.gestao.financeira.dominio.modelo.ContextoFinanceiro;
+
+/**
+ * Port de saída para o resumo financeiro recente dos usuários, usado como
+ * contexto do chat.
+ */
+public interface ContextoFinanceiroRepository {
+
+    /**
+     * Resumo financeiro atual do usuário.
+     *
+     * @param usuarioId identificador do usuário
+     * @return o resumo dos últimos {@value ContextoFinanceiro#DIAS_JANELA} dias
+     */
+    ContextoFinanceiro obter(Long usuarioId);
+}
@@ -28,6 +28,19 @@ public interface CotacaoRepository {
      */
     Optional<TaxaCambio> obterTaxaAtual(String origem, String destino);
 
+    /**
+     * Obtém a taxa de câmbio entre duas moedas apenas se ela já for conhecida
+     * localmente, sem chamar a API externa. Próprio para uso dentro de uma
+     * transação do banco.
+     * 
+     * @param origem  código da moeda de origem (ex: USD)
+     * @param destino código da moeda de destino (ex: BRL)
+     * @return Optional contendo a taxa de câmbio, se já conhecida
+     */
+    default Optional<TaxaCambio> obterTaxaConhecida(String origem, String destino) {
+        return Optional.empty();
+    }
+
     /**
      * Converte um valor de uma moeda para outra.
      * 
@@ -0,0 +1,29 @@
+package br.com.gestao.financeira.dominio.repository;
+
+import br.com.gestao.financeira.dominio.modelo.JanelaConversa;
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+
+/**
+ * Port de saída para a memória das conversas com o assistente.
+ */
+public interface MemoriaConversaRepository {
+
+    /**
+     * Histórico da sessão a enviar ao modelo, dentro do orçamento de tokens.
+     *
+     * @param usuarioId dono da sessão
+     * @param sessionId identificador da sessão
+     * @return a janela da conversa (vazia para uma sessão nova)
+     */
+    JanelaConversa janela(Long usuarioId, String sessionId);
+
+    /**
+     * Acrescenta uma pergunta e sua resposta, já gravadas, à sessão.
+     */
+    void registrar(Long usuarioId, String sessionId, TurnoConversa pergunta, TurnoConversa resposta);
+
+    /**
+     * Descarta a memória de todas as sessões do usuário.
+     */
+    void esquecer(Long usuarioId);
+}
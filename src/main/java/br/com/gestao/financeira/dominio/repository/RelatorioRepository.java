@@ -2,6 +2,9 @@ package br.com.gestao.financeira.dominio.repository;
 
 import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
 /**
  * Port de saída para geração de relatórios.
  * Define o contrato para geração de relatórios em PDF e Excel.
@@ -14,7 +17,20 @@ public interface RelatorioRepository {
      * @param parametros os parâmetros para geração do relatório
      * @return array de bytes contendo o arquivo PDF
      */
-    byte[] gerarRelatorioPDF(ParametrosRelatorio parametros);
+    default byte[] gerarRelatorioPDF(ParametrosRelatorio parametros) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        gerarRelatorioPDF(parametros, saida);
+        return saida.toByteArray();
+    }
+
+    /**
+     * Gera um relatório de transações em formato PDF, escrevendo diretamente
+     * na saída informada. A saída não é fechada.
+     * 
+     * @param parametros os parâmetros para geração do relatório
+     * @param saida      destino do arquivo PDF
+     */
+    void gerarRelatorioPDF(ParametrosRelatorio parametros, OutputStream saida);
 
     /**
      * Gera um relatório de transações em formato Excel.
@@ -22,7 +38,20 @@ public interface RelatorioRepository {
      * @param parametros os parâmetros para geração do relatório
      * @return array de bytes contendo o arquivo Excel
      */
-    byte[] gerarRelatorioExcel(ParametrosRelatorio parametros);
+    default byte[] gerarRelatorioExcel(ParametrosRelatorio parametros) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        gerarRelatorioExcel(parametros, saida);
+        return saida.toByteArray();
+    }
+
+    /**
+     * Gera um relatório de transações em formato Excel, escrevendo
+     * diretamente na saída informada. A saída não é fechada.
+     * 
+     * @param parametros os parâmetros para geração do relatório
+     * @param saida      destino do arquivo Excel
+     */
+    void gerarRelatorioExcel(ParametrosRelatorio parametros, OutputStream saida);
 }
 
 
@@ -0,0 +1,33 @@
+package br.com.gestao.financeira.dominio.repository;
+
+import br.com.gestao.financeira.dominio.modelo.ChaveResposta;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Port de saída para o cache de respostas do assistente: uma pergunta
+ * repetida com o mesmo contexto reaproveita a resposta em vez de gerar
+ * outra.
+ */
+public interface RespostaAssistenteRepository {
+
+    /**
+     * Resposta guardada para a chave, se houver.
+     */
+    Optional<String> buscar(ChaveResposta chave);
+
+    /**
+     * Guarda a resposta gerada pelo modelo.
+     *
+     * @param chave      chave da pergunta
+     * @param resposta   texto completo gerado
+     * @param inferencia quanto a geração levou (economizado a cada reuso)
+     */
+    void guardar(ChaveResposta chave, String resposta, Duration inferencia);
+
+    /**
+     * Descarta as respostas guardadas para o usuário.
+     */
+    void esquecer(Long usuarioId);
+}
@@ -0,0 +1,31 @@
+package br.com.gestao.financeira.dominio.repository;
+
+import br.com.gestao.financeira.dominio.entity.TaxaCambioHistorico;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório JPA para o histórico de taxas de câmbio.
+ */
+@Repository
+public interface TaxaCambioHistoricoRepository extends JpaRepository<TaxaCambioHistorico, Long> {
+
+    /**
+     * Retorna a taxa mais recente de cada par de moedas.
+     */
+    @Query("SELECT t FROM TaxaCambioHistorico t WHERE t.obtidaEm = ("
+            + "SELECT MAX(t2.obtidaEm) FROM TaxaCambioHistorico t2 "
+            + "WHERE t2.moedaOrigem = t.moedaOrigem AND t2.moedaDestino = t.moedaDestino)")
+    List<TaxaCambioHistorico> findUltimasPorPar();
+
+    /**
+     * Retorna a última taxa do par registrada até a data informada.
+     */
+    Optional<TaxaCambioHistorico> findFirstByMoedaOrigemAndMoedaDestinoAndObtidaEmLessThanEqualOrderByObtidaEmDesc(
+            String moedaOrigem, String moedaDestino, LocalDateTime data);
+}
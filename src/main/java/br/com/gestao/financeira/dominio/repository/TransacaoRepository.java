@@ -1,11 +1,24 @@
 package br.com.gestao.financeira.dominio.repository;
 
 import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório JPA para transações.
@@ -17,4 +30,92 @@ public interface TransacaoRepository extends JpaRepository<Transacao, Long>,
         List<Transacao> findByUsuarioId(Long usuarioId);
 
         List<Transacao> findByUsuarioIdAndDataBetween(Long usuarioId, LocalDateTime startDate, LocalDateTime endDate);
+
+        /**
+         * Transações ainda sem valor normalizado, em ordem de ID a partir do
+         * último ID processado.
+         */
+        @Query("SELECT t FROM Transacao t WHERE t.valorNormalizado IS NULL AND t.id > :aposId ORDER BY t.id")
+        List<Transacao> findPendentesNormalizacao(@Param("aposId") Long aposId, Pageable pageable);
+
+        /**
+         * Descarta a normalização gravada nas transações do usuário, que
+         * voltam a ser pendentes para o backfill (usado quando a moeda padrão
+         * muda).
+         *
+         * @return quantidade de transações afetadas
+         */
+        @Modifying
+        @Query("UPDATE Transacao t SET t.valorNormalizado = NULL, t.moedaNormalizada = NULL, "
+                        + "t.taxaCambioAplicada = NULL WHERE t.usuarioId = :usuarioId AND t.valorNormalizado IS NOT NULL")
+        int limparNormalizacao(@Param("usuarioId") Long usuarioId);
+
+        @Query("SELECT DISTINCT t.moedaOriginal FROM Transacao t")
+        List<String> findMoedasOriginaisDistintas();
+
+        /**
+         * Listagem por cursor (keyset): retorna as transações anteriores à
+         * posição (cursorData, cursorId), em ordem de data e ID decrescentes.
+         * Não executa count e usa o índice (usuario_id, data, id).
+         */
+        @Query("SELECT t FROM Transacao t "
+                        + "WHERE t.usuarioId = :usuarioId "
+                        + "AND t.data >= :inicio AND t.data <= :fim "
+                        + "AND (:categoria IS NULL OR t.categoria = :categoria) "
+                        + "AND (:moeda IS NULL OR t.moedaOriginal = :moeda) "
+                        + "AND (t.data < :cursorData OR (t.data = :cursorData AND t.id < :cursorId)) "
+                        + "ORDER BY t.data DESC, t.id DESC")
+        Slice<Transacao> findPorCursor(@Param("usuarioId") Long usuarioId,
+                        @Param("inicio") LocalDateTime inicio,
+                        @Param("fim") LocalDateTime fim,
+                        @Param("categoria") CategoriaTransacao categoria,
+                        @Param("moeda") String moeda,
+                        @Param("cursorData") LocalDateTime cursorData,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        /**
+         * Percorre as transações do usuário no período sem carregá-las todas
+         * em memória: o driver busca as linhas em blocos do tamanho do fetch
+         * size. Deve ser consumido dentro de uma transação e fechado ao final.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        @Query("SELECT t FROM Transacao t "
+                        + "WHERE t.usuarioId = :usuarioId "
+                        + "AND t.data >= :inicio AND t.data <= :fim "
+                        + "AND (:moeda IS NULL OR t.moedaOriginal = :moeda) "
+                        + "ORDER BY t.data DESC, t.id DESC")
+        Stream<Transacao> streamPorPeriodo(@Param("usuarioId") Long usuarioId,
+                        @Param("inicio") LocalDateTime inicio,
+                        @Param("fim") LocalDateTime fim,
+                        @Param("moeda") String moeda);
+
+        @Query("SELECT COUNT(t) FROM Transacao t "
+                        + "WHERE t.usuarioId = :usuarioId "
+                        + "AND t.data >= :inicio AND t.data <= :fim "
+                        + "AND (:moeda IS NULL OR t.moedaOriginal = :moeda)")
+        long countPorPeriodo(@Param("usuarioId") Long usuarioId,
+                        @Param("inicio") LocalDateTime inicio,
+                        @Param("fim") LocalDateTime fim,
+                        @Param("moeda") String moeda);
+
+        /**
+         * Soma e conta as transações do usuário no banco, agrupando por moeda,
+         * categoria, tipo e mês. Retorna uma linha por grupo, sem carregar as
+         * entidades. Usa o valor já normalizado no registro; transações ainda
+         * não normalizadas entram pelo valor e moeda originais.
+         */
+        @Query("SELECT new br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado("
+                        + "COALESCE(t.moedaNormalizada, t.moedaOriginal), t.categoria, t.tipo, "
+                        + "YEAR(t.data), MONTH(t.data), "
+                        + "SUM(COALESCE(t.valorNormalizado, t.valorOriginal)), COUNT(t)) "
+                        + "FROM Transacao t "
+                        + "WHERE t.usuarioId = :usuarioId AND t.tipo IN :tipos "
+                        + "AND t.data >= :inicio AND t.data <= :fim "
+                        + "GROUP BY COALESCE(t.moedaNormalizada, t.moedaOriginal), t.categoria, t.tipo, "
+                        + "YEAR(t.data), MONTH(t.data)")
+        List<ResumoTransacaoAgrupado> agruparPorMoedaCategoriaTipoMes(@Param("usuarioId") Long usuarioId,
+                        @Param("tipos") Collection<TipoTransacao> tipos,
+                        @Param("inicio") LocalDateTime inicio,
+                        @Param("fim") LocalDateTime fim);
 }
@@ -2,8 +2,11 @@ package br.com.gestao.financeira.dominio.repository;
 
 import br.com.gestao.financeira.dominio.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -18,5 +21,20 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     boolean existsByCpf(String cpf);
 
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    java.util.List<String> findEmailsCadastrados(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.cpf FROM Usuario u WHERE u.cpf IN :cpfs")
+    java.util.List<String> findCpfsCadastrados(@Param("cpfs") Collection<String> cpfs);
+
+    @Query("SELECT u.versaoToken FROM Usuario u WHERE u.email = :email")
+    Optional<Integer> findVersaoTokenByEmail(@Param("email") String email);
+
+    @Query("SELECT u.familia.id FROM Usuario u WHERE u.id = :id AND u.familia IS NOT NULL")
+    Optional<Long> findFamiliaIdById(@Param("id") Long id);
+
     java.util.List<Usuario> findByFamiliaId(Long familiaId);
+
+    @Query("SELECT DISTINCT u.moedaPadrao FROM Usuario u WHERE u.moedaPadrao IS NOT NULL")
+    java.util.List<String> findMoedasPadraoDistintas();
 }
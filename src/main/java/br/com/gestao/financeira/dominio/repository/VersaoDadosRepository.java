@@ -0,0 +1,35 @@
+package br.com.gestao.financeira.dominio.repository;
+
+import br.com.gestao.financeira.dominio.entity.VersaoDadosMes;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repositório JPA das versões dos dados por usuário e mês.
+ */
+@Repository
+public interface VersaoDadosRepository extends JpaRepository<VersaoDadosMes, VersaoDadosMes.Chave> {
+
+    /**
+     * Incrementa a versão do mês, criando-a se ainda não existir. Roda na
+     * transação de quem chama.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO versoes_dados (usuario_id, mes, versao) VALUES (:usuarioId, :mes, 1) "
+            + "ON CONFLICT (usuario_id, mes) DO UPDATE SET versao = versoes_dados.versao + 1",
+            nativeQuery = true)
+    void incrementar(@Param("usuarioId") Long usuarioId, @Param("mes") LocalDate mes);
+
+    /**
+     * Soma das versões dos meses do usuário entre inicio e fim, inclusive.
+     */
+    @Query("SELECT COALESCE(SUM(v.versao), 0L) FROM VersaoDadosMes v "
+            + "WHERE v.usuarioId = :usuarioId AND v.mes BETWEEN :inicio AND :fim")
+    long somarVersoes(@Param("usuarioId") Long usuarioId, @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim);
+}
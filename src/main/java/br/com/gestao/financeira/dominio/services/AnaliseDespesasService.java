@@ -4,9 +4,8 @@ import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto;
 import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto.ResumoCategoria;
 import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
 import br.com.gestao.financeira.dominio.enums.TipoTransacao;
-import br.com.gestao.financeira.dominio.entity.Transacao;
-import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
-import org.springframework.data.domain.Pageable;
+import br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambioTable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -14,7 +13,6 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Serviço de domínio responsável pela análise de despesas.
@@ -22,13 +20,17 @@ import java.util.stream.Collectors;
 @Service
 public class AnaliseDespesasService {
 
+    // Saídas consideradas na análise (despesas e investimentos)
+    private static final Set<TipoTransacao> TIPOS_SAIDA = EnumSet.of(
+            TipoTransacao.RETIRADA, TipoTransacao.TRANSFERENCIA, TipoTransacao.DESPESA);
+
     private final TransacaoService transacaoService;
-    private final CotacaoRepository cambioPort;
+    private final CambioService cambioService;
 
     public AnaliseDespesasService(TransacaoService transacaoService,
-            CotacaoRepository cambioPort) {
+            CambioService cambioService) {
         this.transacaoService = transacaoService;
-        this.cambioPort = cambioPort;
+        this.cambioService = cambioService;
     }
 
     /**
@@ -42,98 +44,64 @@ public class AnaliseDespesasService {
      */
     public AnaliseDespesasDto analisar(Long usuarioId, LocalDateTime dataInicio,
             LocalDateTime dataFim, String moedaPadrao) {
-        List<Transacao> transacoes = transacaoService.listarTransacoes(
-                usuarioId, dataInicio, dataFim, null, null, Pageable.unpaged()).getContent();
-
-        // Filtra despesas (retiradas, transferências e despesas gerais), EXCLUINDO
-        // investimentos
-        List<Transacao> despesas = transacoes.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.RETIRADA ||
-                        t.getTipo() == TipoTransacao.TRANSFERENCIA ||
-                        t.getTipo() == TipoTransacao.DESPESA)
-                .filter(t -> t.getCategoria() != CategoriaTransacao.INVESTIMENTOS)
-                .collect(Collectors.toList());
-
-        // Filtra apenas investimentos (são saídas mas tratadas separadamente)
-        List<Transacao> investimentos = transacoes.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.RETIRADA ||
-                        t.getTipo() == TipoTransacao.TRANSFERENCIA ||
-                        t.getTipo() == TipoTransacao.DESPESA)
-                .filter(t -> t.getCategoria() == CategoriaTransacao.INVESTIMENTOS)
-                .collect(Collectors.toList());
+        // Agrupa no banco por moeda, categoria, tipo e mês: a conversão de moeda
+        // é aplicada apenas uma vez por grupo, e não por transação
+        List<ResumoTransacaoAgrupado> grupos = transacaoService.agruparPorMoedaCategoriaTipoMes(
+                usuarioId, dataInicio, dataFim, TIPOS_SAIDA);
+
+        // Resolve as taxas de todas as moedas envolvidas de uma só vez
+        TaxaCambioTable taxas = cambioService.montarTabelaTaxas(
+                grupos.stream().map(ResumoTransacaoAgrupado::getMoeda).toList(), moedaPadrao);
+
+        AcumuladorDespesas acumulador = new AcumuladorDespesas();
+        for (ResumoTransacaoAgrupado grupo : grupos) {
+            BigDecimal valor = taxas.converter(grupo.getTotal(), grupo.getMoeda());
+            // Investimentos são saídas, mas tratados separadamente das despesas
+            if (grupo.getCategoria() == CategoriaTransacao.INVESTIMENTOS) {
+                acumulador.adicionarInvestimento(grupo, valor);
+            } else {
+                acumulador.adicionarDespesa(grupo, valor);
+            }
+        }
 
         AnaliseDespesasDto analise = new AnaliseDespesasDto();
         analise.setUsuarioId(usuarioId);
         analise.setPeriodo(formatarPeriodo(dataInicio, dataFim));
         analise.setMoedaPadrao(moedaPadrao);
-        analise.setQuantidadeTransacoes(despesas.size());
+        analise.setQuantidadeTransacoes(acumulador.despesas.quantidade);
 
-        // Calcula totais de despesas normalizando para moeda padrão
-        BigDecimal totalGeral = calcularTotalNormalizado(despesas, moedaPadrao);
+        // Totais de despesas já normalizados para moeda padrão
+        BigDecimal totalGeral = acumulador.despesas.totalArredondado();
         analise.setTotalGeral(totalGeral);
-
-        // Calcula ticket médio geral das despesas
-        if (!despesas.isEmpty()) {
-            analise.setTicketMedio(totalGeral.divide(
-                    BigDecimal.valueOf(despesas.size()), 2, RoundingMode.HALF_UP));
-        } else {
-            analise.setTicketMedio(BigDecimal.ZERO);
-        }
+        analise.setTicketMedio(acumulador.despesas.ticketMedio());
 
         // Resumo por categoria (com ticket médio por categoria)
-        analise.setResumoPorCategoria(calcularResumoPorCategoria(despesas, moedaPadrao, totalGeral));
+        analise.setResumoPorCategoria(montarResumoPorCategoria(acumulador.porCategoria, totalGeral));
 
         // Total por mês (apenas despesas, sem investimentos)
-        analise.setTotalPorMes(calcularTotalPorMes(despesas, moedaPadrao));
+        analise.setTotalPorMes(acumulador.despesasPorMes);
 
         // Ticket médio por tipo de transação (Despesa, Retirada, Transferência)
-        analise.setTicketMedioPorTipoTransacao(calcularTicketMedioPorTipo(despesas, moedaPadrao));
+        analise.setTicketMedioPorTipoTransacao(montarTicketMedioPorTipo(acumulador.porTipo));
 
         // === INVESTIMENTOS (separados das despesas) ===
-        BigDecimal totalInvestimentos = calcularTotalNormalizado(investimentos, moedaPadrao);
-        analise.setTotalInvestimentos(totalInvestimentos);
-        analise.setQuantidadeInvestimentos(investimentos.size());
-
-        if (!investimentos.isEmpty()) {
-            analise.setTicketMedioInvestimentos(totalInvestimentos.divide(
-                    BigDecimal.valueOf(investimentos.size()), 2, RoundingMode.HALF_UP));
-        } else {
-            analise.setTicketMedioInvestimentos(BigDecimal.ZERO);
-        }
+        analise.setTotalInvestimentos(acumulador.investimentos.totalArredondado());
+        analise.setQuantidadeInvestimentos(acumulador.investimentos.quantidade);
+        analise.setTicketMedioInvestimentos(acumulador.investimentos.ticketMedio());
 
         // Investimentos por mês
-        analise.setInvestimentosPorMes(calcularTotalPorMes(investimentos, moedaPadrao));
+        analise.setInvestimentosPorMes(acumulador.investimentosPorMes);
 
         return analise;
     }
 
-    private BigDecimal calcularTotalNormalizado(List<Transacao> transacoes, String moedaPadrao) {
-        return transacoes.stream()
-                .map(t -> normalizarValor(t.getValorOriginal(), t.getMoedaOriginal(), moedaPadrao))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal normalizarValor(BigDecimal valor, String moedaOriginal, String moedaPadrao) {
-        if (moedaOriginal.equalsIgnoreCase(moedaPadrao)) {
-            return valor;
-        }
-        return cambioPort.converterValor(valor, moedaOriginal, moedaPadrao);
-    }
-
-    private List<ResumoCategoria> calcularResumoPorCategoria(List<Transacao> transacoes,
-            String moedaPadrao,
+    private List<ResumoCategoria> montarResumoPorCategoria(Map<CategoriaTransacao, Totalizador> porCategoria,
             BigDecimal totalGeral) {
-        Map<CategoriaTransacao, List<Transacao>> porCategoria = transacoes.stream()
-                .collect(Collectors.groupingBy(Transacao::getCategoria));
-
         List<ResumoCategoria> resumos = new ArrayList<>();
 
-        for (Map.Entry<CategoriaTransacao, List<Transacao>> entry : porCategoria.entrySet()) {
-            CategoriaTransacao categoria = entry.getKey();
-            List<Transacao> transacoesCategoria = entry.getValue();
-
-            BigDecimal totalCategoria = calcularTotalNormalizado(transacoesCategoria, moedaPadrao);
+        for (Map.Entry<CategoriaTransacao, Totalizador> entry : porCategoria.entrySet()) {
+            Totalizador totalizador = entry.getValue();
+            BigDecimal totalCategoria = totalizador.totalArredondado();
             BigDecimal percentual = BigDecimal.ZERO;
 
             if (totalGeral.compareTo(BigDecimal.ZERO) > 0) {
@@ -143,19 +111,12 @@ public class AnaliseDespesasService {
                         .setScale(2, RoundingMode.HALF_UP);
             }
 
-            // Calcula ticket médio por categoria
-            BigDecimal ticketMedioCategoria = BigDecimal.ZERO;
-            if (!transacoesCategoria.isEmpty()) {
-                ticketMedioCategoria = totalCategoria.divide(
-                        BigDecimal.valueOf(transacoesCategoria.size()), 2, RoundingMode.HALF_UP);
-            }
-
             resumos.add(new ResumoCategoria(
-                    categoria,
+                    entry.getKey(),
                     totalCategoria,
                     percentual,
-                    transacoesCategoria.size(),
-                    ticketMedioCategoria));
+                    totalizador.quantidade,
+                    totalizador.ticketMedio()));
         }
 
         // Ordena por total decrescente
@@ -164,32 +125,9 @@ public class AnaliseDespesasService {
         return resumos;
     }
 
-    private Map<String, BigDecimal> calcularTotalPorMes(List<Transacao> transacoes, String moedaPadrao) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM");
-
-        return transacoes.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getData().format(formatter),
-                        TreeMap::new,
-                        Collectors.reducing(
-                                BigDecimal.ZERO,
-                                t -> normalizarValor(t.getValorOriginal(), t.getMoedaOriginal(), moedaPadrao),
-                                BigDecimal::add)));
-    }
-
-    private Map<TipoTransacao, BigDecimal> calcularTicketMedioPorTipo(List<Transacao> transacoes, String moedaPadrao) {
-        Map<TipoTransacao, List<Transacao>> porTipo = transacoes.stream()
-                .collect(Collectors.groupingBy(Transacao::getTipo));
-
+    private Map<TipoTransacao, BigDecimal> montarTicketMedioPorTipo(Map<TipoTransacao, Totalizador> porTipo) {
         Map<TipoTransacao, BigDecimal> ticketMedios = new HashMap<>();
-
-        for (Map.Entry<TipoTransacao, List<Transacao>> entry : porTipo.entrySet()) {
-            BigDecimal totalTipo = calcularTotalNormalizado(entry.getValue(), moedaPadrao);
-            BigDecimal ticketMedio = totalTipo.divide(
-                    BigDecimal.valueOf(entry.getValue().size()), 2, RoundingMode.HALF_UP);
-            ticketMedios.put(entry.getKey(), ticketMedio);
-        }
-
+        porTipo.forEach((tipo, totalizador) -> ticketMedios.put(tipo, totalizador.ticketMedio()));
         return ticketMedios;
     }
 
@@ -199,4 +137,54 @@ public class AnaliseDespesasService {
         String fimStr = fim != null ? fim.format(formatter) : "hoje";
         return inicioStr + " a " + fimStr;
     }
+
+    /**
+     * Acumula, em uma única passada sobre os grupos, os buckets de categoria, mês, tipo e
+     * investimentos da análise.
+     */
+    private static class AcumuladorDespesas {
+        private final Totalizador despesas = new Totalizador();
+        private final Totalizador investimentos = new Totalizador();
+        private final Map<CategoriaTransacao, Totalizador> porCategoria = new EnumMap<>(CategoriaTransacao.class);
+        private final Map<TipoTransacao, Totalizador> porTipo = new EnumMap<>(TipoTransacao.class);
+        private final Map<String, BigDecimal> despesasPorMes = new TreeMap<>();
+        private final Map<String, BigDecimal> investimentosPorMes = new TreeMap<>();
+
+        void adicionarDespesa(ResumoTransacaoAgrupado grupo, BigDecimal valor) {
+            long quantidade = grupo.getQuantidade();
+            despesas.adicionar(valor, quantidade);
+            porCategoria.computeIfAbsent(grupo.getCategoria(), c -> new Totalizador()).adicionar(valor, quantidade);
+            porTipo.computeIfAbsent(grupo.getTipo(), c -> new Totalizador()).adicionar(valor, quantidade);
+            despesasPorMes.merge(grupo.getMes().toString(), valor, BigDecimal::add);
+        }
+
+        void adicionarInvestimento(ResumoTransacaoAgrupado grupo, BigDecimal valor) {
+            investimentos.adicionar(valor, grupo.getQuantidade());
+            investimentosPorMes.merge(grupo.getMes().toString(), valor, BigDecimal::add);
+        }
+    }
+
+    /**
+     * Soma e quantidade de um bucket da análise.
+     */
+    private static class Totalizador {
+        private BigDecimal soma = BigDecimal.ZERO;
+        private int quantidade;
+
+        void adicionar(BigDecimal valor, long quantidadeGrupo) {
+            soma = soma.add(valor);
+            quantidade += (int) quantidadeGrupo;
+        }
+
+        BigDecimal totalArredondado() {
+            return soma.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal ticketMedio() {
+            if (quantidade == 0) {
+                return BigDecimal.ZERO;
+            }
+            return totalArredondado().divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_UP);
+        }
+    }
 }
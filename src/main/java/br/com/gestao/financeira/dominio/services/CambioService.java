@@ -4,14 +4,24 @@ import br.com.gestao.financeira.aplicacao.dto.ConversaoDto;
 import br.com.gestao.financeira.aplicacao.dto.TaxaCambioDto;
 import br.com.gestao.financeira.dominio.modelo.Moeda;
 import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambioTable;
 import br.com.gestao.financeira.dominio.entity.Transacao;
 import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Serviço de domínio responsável por operações de câmbio.
@@ -19,10 +29,15 @@ import java.util.List;
 @Service
 public class CambioService {
 
+    private static final Logger log = LoggerFactory.getLogger(CambioService.class);
+
     private final CotacaoRepository cambioPort;
+    private final Executor cotacaoExecutor;
 
-    public CambioService(CotacaoRepository cambioPort) {
+    public CambioService(CotacaoRepository cambioPort,
+            @Qualifier("cotacaoExecutor") Executor cotacaoExecutor) {
         this.cambioPort = cambioPort;
+        this.cotacaoExecutor = cotacaoExecutor;
     }
 
     /**
@@ -99,6 +114,36 @@ public class CambioService {
         return cambioPort.converterValor(valor, origem, destino);
     }
 
+    /**
+     * Resolve, em paralelo e uma única vez, as taxas de todas as moedas de
+     * origem para a moeda de destino. Pares indisponíveis ficam fora da tabela
+     * e são convertidos pelo valor original.
+     * 
+     * @param origens códigos das moedas de origem (podem repetir)
+     * @param destino código da moeda de destino
+     * @return tabela imutável de taxas para a requisição
+     */
+    public TaxaCambioTable montarTabelaTaxas(Collection<String> origens, String destino) {
+        Map<String, CompletableFuture<Optional<TaxaCambio>>> pendentes = new HashMap<>();
+        for (String origem : origens) {
+            String codigo = origem.toUpperCase();
+            if (codigo.equalsIgnoreCase(destino) || pendentes.containsKey(codigo)) {
+                continue;
+            }
+            pendentes.put(codigo, CompletableFuture
+                    .supplyAsync(() -> cambioPort.obterTaxaAtual(codigo, destino), cotacaoExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Taxa não disponível para {}-{}: {}", codigo, destino, e.getMessage());
+                        return Optional.empty();
+                    }));
+        }
+
+        Map<String, BigDecimal> taxas = new HashMap<>();
+        pendentes.forEach((origem, pendente) -> pendente.join()
+                .ifPresent(taxa -> taxas.put(origem, taxa.getTaxa())));
+        return new TaxaCambioTable(destino, taxas);
+    }
+
     /**
      * Converte uma transação para a moeda de destino.
      * 
@@ -2,178 +2,236 @@ package br.com.gestao.financeira.dominio.services;
 
 import br.com.gestao.financeira.dominio.entity.ChatMessage;
 import br.com.gestao.financeira.dominio.entity.ChatMessage.ChatRole;
-import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.modelo.ChaveResposta;
+import br.com.gestao.financeira.dominio.modelo.JanelaConversa;
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+import br.com.gestao.financeira.dominio.repository.AssistenteRepository;
 import br.com.gestao.financeira.dominio.repository.ChatMessageRepository;
-import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
+import br.com.gestao.financeira.dominio.repository.ContextoFinanceiroRepository;
+import br.com.gestao.financeira.dominio.repository.MemoriaConversaRepository;
+import br.com.gestao.financeira.dominio.repository.RespostaAssistenteRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class ChatService {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatService.class);
 
-    private final ChatMessageRepository chatMessageRepository;
-    private final TransacaoRepository transacaoRepository;
-    private final RestTemplate restTemplate;
+    static final String RESPOSTA_INDISPONIVEL = "Desculpe, o serviço de IA está temporariamente indisponível. " +
+            "Por favor, tente novamente mais tarde ou verifique se o serviço GPT4All está ativo.";
 
-    @Value("${gpt4all.api.url:http://localhost:5000}")
-    private String gpt4allApiUrl;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ContextoFinanceiroRepository contextoFinanceiro;
+    private final MemoriaConversaRepository memoriaConversa;
+    private final RespostaAssistenteRepository respostas;
+    private final RespostaDiretaService respostaDireta;
+    private final AssistenteRepository assistente;
 
     public ChatService(
             ChatMessageRepository chatMessageRepository,
-            TransacaoRepository transacaoRepository) {
+            ContextoFinanceiroRepository contextoFinanceiro,
+            MemoriaConversaRepository memoriaConversa,
+            RespostaAssistenteRepository respostas,
+            RespostaDiretaService respostaDireta,
+            AssistenteRepository assistente) {
         this.chatMessageRepository = chatMessageRepository;
-        this.transacaoRepository = transacaoRepository;
-        this.restTemplate = new RestTemplate();
+        this.contextoFinanceiro = contextoFinanceiro;
+        this.memoriaConversa = memoriaConversa;
+        this.respostas = respostas;
+        this.respostaDireta = respostaDireta;
+        this.assistente = assistente;
     }
 
     /**
-     * Process a chat message and return the AI response.
+     * Prepare a chat message: answer it without the language model when
+     * possible, otherwise build what is sent to the model.
+     *
+     * Numeric questions (balance, income, spending in a month or category,
+     * top categories) are answered from the user's data by
+     * {@link RespostaDiretaService}; otherwise the response cache is used,
+     * if the same question was already answered with the same financial
+     * context and model parameters. Questions that follow up on the
+     * conversation skip the cache (see {@link ChaveResposta#dependeDoHistorico}).
+     *
+     * On an answer the exchange is saved as usual; otherwise nothing is
+     * saved and the caller passes the result to {@link #processMessage} or
+     * {@link #processMessageStreaming}, which reuse the prompt built here.
+     * Cheap (no inference), so callers can do it before queueing.
      */
-    @Transactional
-    public String processMessage(Long usuarioId, String message, String sessionId) {
+    public PreparedMessage prepareMessage(Long usuarioId, String message, String sessionId) {
+        Optional<String> answer = answerFromData(usuarioId, message);
+        Prompt prompt = null;
+        if (answer.isEmpty()) {
+            prompt = buildPrompt(usuarioId, message, sessionId);
+            answer = prompt.key().flatMap(respostas::buscar);
+        }
+        answer.ifPresent(response -> {
+            chatMessageRepository.save(new ChatMessage(usuarioId, ChatRole.USER, message, sessionId));
+            chatMessageRepository.save(new ChatMessage(usuarioId, ChatRole.ASSISTANT, response, sessionId));
+            remember(usuarioId, sessionId, message, response);
+        });
+        return new PreparedMessage(usuarioId, message, sessionId, answer.isPresent() ? null : prompt, answer);
+    }
+
+    /**
+     * Process a prepared chat message and return the AI response.
+     *
+     * Not transactional on purpose: each save commits on its own, so no
+     * database connection is held while the model generates the answer.
+     */
+    public String processMessage(PreparedMessage prepared) {
+        Long usuarioId = prepared.usuarioId;
+        String message = prepared.message;
+        String sessionId = prepared.sessionId;
+
         // Save user message
         ChatMessage userMessage = new ChatMessage(usuarioId, ChatRole.USER, message, sessionId);
         chatMessageRepository.save(userMessage);
 
-        // Build context with user financial data
-        String context = buildFinancialContext(usuarioId);
-
         // Get AI response
-        String aiResponse = callGpt4All(message, context);
+        String aiResponse = callGpt4All(message, prepared.prompt());
 
         // Save assistant response
         ChatMessage assistantMessage = new ChatMessage(usuarioId, ChatRole.ASSISTANT, aiResponse, sessionId);
         chatMessageRepository.save(assistantMessage);
+        remember(usuarioId, sessionId, message, aiResponse);
 
         return aiResponse;
     }
 
     /**
-     * Build financial context for the user.
+     * Process a prepared chat message delivering the AI response in parts,
+     * as the model generates them. Returns the full response once it is
+     * saved.
+     *
+     * Like {@link #processMessage}, no database connection is held during
+     * inference. If the inference service fails before producing anything,
+     * the fallback message is delivered as a single part. If
+     * {@code onPart} throws (client gone), generation stops, nothing is
+     * saved for the assistant and the exception is rethrown.
      */
-    private String buildFinancialContext(Long usuarioId) {
-        StringBuilder context = new StringBuilder();
-        context.append("Contexto financeiro do usuário:\n");
-
+    public String processMessageStreaming(PreparedMessage prepared, Consumer<String> onPart) {
+        Long usuarioId = prepared.usuarioId;
+        String message = prepared.message;
+        String sessionId = prepared.sessionId;
+        Prompt prompt = prepared.prompt();
+        chatMessageRepository.save(new ChatMessage(usuarioId, ChatRole.USER, message, sessionId));
+
+        StringBuilder aiResponse = new StringBuilder();
         try {
-            // Get last 30 days of transactions
-            LocalDateTime endDate = LocalDateTime.now();
-            LocalDateTime startDate = endDate.minusDays(30);
-
-            List<Transacao> transacoes = transacaoRepository.findByUsuarioIdAndDataBetween(
-                    usuarioId, startDate, endDate);
-
-            if (transacoes.isEmpty()) {
-                context.append("- Nenhuma transação nos últimos 30 dias.\n");
-            } else {
-                // Calculate totals
-                BigDecimal totalReceitas = transacoes.stream()
-                        .filter(t -> t.getTipo().name().equals("RECEITA") || t.getTipo().name().equals("DEPOSITO"))
-                        .map(Transacao::getValorOriginal)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal totalDespesas = transacoes.stream()
-                        .filter(t -> t.getTipo().name().equals("DESPESA") || t.getTipo().name().equals("RETIRADA"))
-                        .map(Transacao::getValorOriginal)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal saldo = totalReceitas.subtract(totalDespesas);
-
-                context.append(String.format("- Total de receitas (30 dias): R$ %.2f\n", totalReceitas));
-                context.append(String.format("- Total de despesas (30 dias): R$ %.2f\n", totalDespesas));
-                context.append(String.format("- Saldo do período: R$ %.2f\n", saldo));
-                context.append(String.format("- Número de transações: %d\n", transacoes.size()));
-
-                // Top categories
-                Map<String, BigDecimal> byCategory = transacoes.stream()
-                        .filter(t -> t.getTipo().name().equals("DESPESA"))
-                        .collect(Collectors.groupingBy(
-                                t -> t.getCategoria().name(),
-                                Collectors.reducing(BigDecimal.ZERO, Transacao::getValorOriginal, BigDecimal::add)));
-
-                if (!byCategory.isEmpty()) {
-                    context.append("- Maiores categorias de despesa:\n");
-                    byCategory.entrySet().stream()
-                            .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
-                            .limit(3)
-                            .forEach(e -> context.append(String.format("  * %s: R$ %.2f\n", e.getKey(), e.getValue())));
+            long start = System.nanoTime();
+            assistente.responderEmPartes(message, prompt.systemPrompt(), prompt.conversation().turnos(), part -> {
+                aiResponse.append(part);
+                try {
+                    onPart.accept(part);
+                } catch (RuntimeException e) {
+                    throw new EntregaInterrompidaException(e);
                 }
-
-                // Recent transactions
-                context.append("- Últimas 5 transações:\n");
-                transacoes.stream()
-                        .sorted(Comparator.comparing(Transacao::getData).reversed())
-                        .limit(5)
-                        .forEach(t -> context.append(String.format(
-                                "  * %s: %s - R$ %.2f (%s)\n",
-                                t.getData().format(DateTimeFormatter.ofPattern("dd/MM")),
-                                t.getDescricao() != null ? t.getDescricao() : t.getCategoria().name(),
-                                t.getValorOriginal(),
-                                t.getTipo().name())));
-            }
+            });
+            // Only complete generations are cached
+            Duration inference = Duration.ofNanos(System.nanoTime() - start);
+            prompt.key().ifPresent(key -> respostas.guardar(key, aiResponse.toString().strip(), inference));
+        } catch (EntregaInterrompidaException e) {
+            throw e.getCause();
         } catch (Exception e) {
-            logger.error("Error building financial context", e);
-            context.append("- Não foi possível carregar dados financeiros.\n");
+            logger.error("Error streaming from GPT4All API", e);
+            if (aiResponse.isEmpty()) {
+                aiResponse.append(RESPOSTA_INDISPONIVEL);
+                onPart.accept(RESPOSTA_INDISPONIVEL);
+            }
         }
 
-        return context.toString();
+        String response = aiResponse.toString().strip();
+        chatMessageRepository.save(new ChatMessage(usuarioId, ChatRole.ASSISTANT, response, sessionId));
+        remember(usuarioId, sessionId, message, response);
+        return response;
     }
 
     /**
-     * Call GPT4All API.
+     * Answer from the user's data, falling back to the model on any failure
+     * (e.g. an exchange rate that cannot be fetched).
      */
-    private String callGpt4All(String message, String financialContext) {
+    private Optional<String> answerFromData(Long usuarioId, String message) {
         try {
-            String systemPrompt = String.format(
-                    "Você é um assistente financeiro pessoal chamado FinBot. " +
-                            "Responda sempre em português do Brasil. " +
-                            "Seja educado, prestativo e objetivo. " +
-                            "Use os dados financeiros do usuário para personalizar suas respostas quando relevante.\n\n%s",
-                    financialContext);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("message", message);
-            requestBody.put("system_prompt", systemPrompt);
-            requestBody.put("max_tokens", 500);
-            requestBody.put("temperature", 0.7);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    gpt4allApiUrl + "/chat",
-                    HttpMethod.POST,
-                    request,
-                    Map.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return (String) response.getBody().get("response");
-            }
+            return respostaDireta.responder(usuarioId, message);
+        } catch (Exception e) {
+            logger.error("Error answering from financial data", e);
+            return Optional.empty();
+        }
+    }
 
-            return "Desculpe, não consegui processar sua mensagem. Tente novamente.";
+    /**
+     * Build financial context for the user, from the in-memory snapshot
+     * kept up to date on transaction writes.
+     */
+    private String buildFinancialContext(Long usuarioId) {
+        try {
+            return contextoFinanceiro.obter(usuarioId).getTexto();
+        } catch (Exception e) {
+            logger.error("Error building financial context", e);
+            return "Contexto financeiro do usuário:\n- Não foi possível carregar dados financeiros.\n";
+        }
+    }
 
+    /**
+     * Call GPT4All API, caching the answer. The fallback message is not cached.
+     */
+    private String callGpt4All(String message, Prompt prompt) {
+        try {
+            long start = System.nanoTime();
+            String response = assistente.responder(message, prompt.systemPrompt(), prompt.conversation().turnos());
+            Duration inference = Duration.ofNanos(System.nanoTime() - start);
+            prompt.key().ifPresent(key -> respostas.guardar(key, response, inference));
+            return response;
         } catch (Exception e) {
             logger.error("Error calling GPT4All API", e);
-            return "Desculpe, o serviço de IA está temporariamente indisponível. " +
-                    "Por favor, tente novamente mais tarde ou verifique se o serviço GPT4All está ativo.";
+            return RESPOSTA_INDISPONIVEL;
         }
     }
 
+    /**
+     * Previous turns of the session and financial context, read before the
+     * new message is saved. The cache key leaves the conversation out, so a
+     * question repeated later in the session still hits; a follow-up that
+     * only makes sense with the conversation gets no key.
+     */
+    private Prompt buildPrompt(Long usuarioId, String message, String sessionId) {
+        JanelaConversa conversation = memoriaConversa.janela(usuarioId, sessionId);
+        String financialContext = buildFinancialContext(usuarioId);
+        String systemPrompt = buildSystemPrompt(financialContext, conversation);
+        boolean followUp = (conversation.resumo() != null || !conversation.turnos().isEmpty())
+                && ChaveResposta.dependeDoHistorico(message);
+        Optional<ChaveResposta> key = followUp ? Optional.empty()
+                : Optional.of(ChaveResposta.de(usuarioId, message, financialContext, assistente.parametros()));
+        return new Prompt(conversation, systemPrompt, key);
+    }
+
+    private String buildSystemPrompt(String financialContext, JanelaConversa conversation) {
+        String systemPrompt = "Você é um assistente financeiro pessoal chamado FinBot. " +
+                "Responda sempre em português do Brasil. " +
+                "Seja educado, prestativo e objetivo. " +
+                "Use os dados financeiros do usuário para personalizar suas respostas quando relevante.\n\n" +
+                financialContext;
+        if (conversation.resumo() != null) {
+            systemPrompt += "\n" + conversation.resumo() + "\n";
+        }
+        return systemPrompt;
+    }
+
+    private void remember(Long usuarioId, String sessionId, String message, String response) {
+        memoriaConversa.registrar(usuarioId, sessionId,
+                new TurnoConversa(ChatRole.USER, message),
+                new TurnoConversa(ChatRole.ASSISTANT, response));
+    }
+
     /**
      * Get chat history for a user.
      */
@@ -194,5 +252,66 @@ public class ChatService {
     @Transactional
     public void clearHistory(Long usuarioId) {
         chatMessageRepository.deleteByUsuarioId(usuarioId);
+        memoriaConversa.esquecer(usuarioId);
+        respostas.esquecer(usuarioId);
+    }
+
+    /**
+     * What is sent to the model for a message, and the cache key for it
+     * (empty when the answer must not be cached).
+     */
+    private record Prompt(JanelaConversa conversation, String systemPrompt, Optional<ChaveResposta> key) {
+    }
+
+    /**
+     * A chat message after {@link #prepareMessage}: either already answered
+     * without the model, or carrying the prompt to send to it.
+     */
+    public static final class PreparedMessage {
+
+        private final Long usuarioId;
+        private final String message;
+        private final String sessionId;
+        private final Prompt prompt;
+        private final Optional<String> answer;
+
+        private PreparedMessage(Long usuarioId, String message, String sessionId, Prompt prompt,
+                Optional<String> answer) {
+            this.usuarioId = usuarioId;
+            this.message = message;
+            this.sessionId = sessionId;
+            this.prompt = prompt;
+            this.answer = answer;
+        }
+
+        /**
+         * The answer given without the model, if any; when present the
+         * message must not be processed again.
+         */
+        public Optional<String> answer() {
+            return answer;
+        }
+
+        private Prompt prompt() {
+            if (prompt == null) {
+                throw new IllegalStateException("Message already answered without the model");
+            }
+            return prompt;
+        }
+    }
+
+    /**
+     * Wraps exceptions thrown by the caller's consumer, so they are not
+     * mistaken for inference failures.
+     */
+    private static class EntregaInterrompidaException extends RuntimeException {
+        EntregaInterrompidaException(RuntimeException causa) {
+            super(causa);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
     }
 }
@@ -3,8 +3,10 @@ package br.com.gestao.financeira.dominio.services;
 import br.com.gestao.financeira.dominio.entity.Familia;
 import br.com.gestao.financeira.dominio.entity.Usuario;
 import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
 import br.com.gestao.financeira.dominio.repository.FamiliaRepository;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,10 +15,13 @@ public class FamiliaService {
 
     private final FamiliaRepository familiaRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventos;
 
-    public FamiliaService(FamiliaRepository familiaRepository, UsuarioRepository usuarioRepository) {
+    public FamiliaService(FamiliaRepository familiaRepository, UsuarioRepository usuarioRepository,
+            ApplicationEventPublisher eventos) {
         this.familiaRepository = familiaRepository;
         this.usuarioRepository = usuarioRepository;
+        this.eventos = eventos;
     }
 
     @Transactional
@@ -30,7 +35,9 @@ public class FamiliaService {
         // Define o usuário como parte da família
         gestor.setFamilia(familia);
         gestor.setPerfil(PerfilUsuario.GESTOR);
+        gestor.invalidarTokens();
         usuarioRepository.save(gestor);
+        eventos.publishEvent(new UsuarioAlterado(gestor.getId(), gestor.getEmail()));
 
         return familia;
     }
@@ -59,6 +66,8 @@ public class FamiliaService {
         usuario.setFamilia(familia);
         usuario.setPerfil(PerfilUsuario.USUARIO); // Garante que é MEMBER
                                                                                          // (padrão)
+        usuario.invalidarTokens();
         usuarioRepository.save(usuario);
+        eventos.publishEvent(new UsuarioAlterado(usuario.getId(), usuario.getEmail()));
     }
 }
@@ -0,0 +1,160 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.dominio.entity.TaxaCambioHistorico;
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
+import br.com.gestao.financeira.dominio.repository.TaxaCambioHistoricoRepository;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
+import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de domínio responsável por gravar nas transações a taxa de câmbio
+ * e o valor na moeda padrão do usuário, de modo que análises e relatórios
+ * não precisem converter valores em tempo de consulta.
+ *
+ * Roda dentro das transações de escrita, então usa apenas taxas já
+ * conhecidas localmente ({@link CotacaoRepository#obterTaxaConhecida}): uma
+ * API lenta não segura conexão nem locks do banco. Sem taxa, a transação
+ * fica pendente e é normalizada pelo backfill.
+ */
+@Service
+public class NormalizacaoCambioService {
+
+    private static final Logger log = LoggerFactory.getLogger(NormalizacaoCambioService.class);
+    private static final String MOEDA_PADRAO = "BRL";
+
+    private final TransacaoRepository transacaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TaxaCambioHistoricoRepository historicoRepository;
+    private final CotacaoRepository cotacaoRepository;
+    private final VersaoDadosService versaoDadosService;
+
+    public NormalizacaoCambioService(TransacaoRepository transacaoRepository,
+            UsuarioRepository usuarioRepository,
+            TaxaCambioHistoricoRepository historicoRepository,
+            CotacaoRepository cotacaoRepository,
+            VersaoDadosService versaoDadosService) {
+        this.transacaoRepository = transacaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.historicoRepository = historicoRepository;
+        this.cotacaoRepository = cotacaoRepository;
+        this.versaoDadosService = versaoDadosService;
+    }
+
+    /**
+     * Aplica a taxa atual à transação. Se a taxa não for conhecida localmente,
+     * os campos ficam vazios e a transação é normalizada depois pelo backfill.
+     * 
+     * @param transacao   a transação a normalizar
+     * @param moedaPadrao moeda padrão do usuário
+     */
+    public void normalizar(Transacao transacao, String moedaPadrao) {
+        String destino = moedaPadrao != null ? moedaPadrao : MOEDA_PADRAO;
+        try {
+            aplicar(transacao, destino, obterTaxaConhecida(transacao.getMoedaOriginal(), destino));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível normalizar a transação para {}: {}", destino, e.getMessage());
+            aplicar(transacao, destino, Optional.empty());
+        }
+    }
+
+    /**
+     * Normaliza um lote de transações antigas, usando a taxa histórica do dia
+     * da transação quando disponível. Pode ser interrompido e retomado: as
+     * transações já normalizadas não são selecionadas novamente.
+     * 
+     * @param aposId      último ID processado (0 para começar do início)
+     * @param tamanhoLote quantidade máxima de transações no lote
+     * @return maior ID lido no lote, ou null se não houver pendências
+     */
+    @Transactional
+    public Long normalizarPendentes(Long aposId, int tamanhoLote) {
+        List<Transacao> pendentes = transacaoRepository.findPendentesNormalizacao(
+                aposId, PageRequest.of(0, tamanhoLote));
+        if (pendentes.isEmpty()) {
+            return null;
+        }
+
+        Map<Long, String> moedasPadrao = usuarioRepository.findAllById(
+                pendentes.stream().map(Transacao::getUsuarioId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Usuario::getId,
+                        u -> u.getMoedaPadrao() != null ? u.getMoedaPadrao() : MOEDA_PADRAO));
+
+        // Uma consulta por par e dia dentro do lote
+        Map<String, Optional<BigDecimal>> taxasPorDia = new HashMap<>();
+        for (Transacao t : pendentes) {
+            String destino = moedasPadrao.getOrDefault(t.getUsuarioId(), MOEDA_PADRAO);
+            LocalDate dia = t.getData().toLocalDate();
+            String chave = t.getMoedaOriginal() + "-" + destino + "-" + dia;
+            Optional<BigDecimal> taxa = taxasPorDia.computeIfAbsent(chave,
+                    k -> obterTaxaHistorica(t.getMoedaOriginal(), destino, dia));
+            aplicar(t, destino, taxa);
+        }
+
+        transacaoRepository.saveAll(pendentes);
+        // Os valores normalizados entram nas análises desses meses (um incremento por usuário e mês)
+        pendentes.stream()
+                .map(t -> Map.entry(t.getUsuarioId(), YearMonth.from(t.getData())))
+                .distinct()
+                .forEach(m -> versaoDadosService.registrarAlteracao(m.getKey(), m.getValue().atDay(1).atStartOfDay()));
+        return pendentes.get(pendentes.size() - 1).getId();
+    }
+
+    private Optional<BigDecimal> obterTaxaHistorica(String origem, String destino, LocalDate dia) {
+        if (origem.equalsIgnoreCase(destino)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        Optional<BigDecimal> historica = historicoRepository
+                .findFirstByMoedaOrigemAndMoedaDestinoAndObtidaEmLessThanEqualOrderByObtidaEmDesc(
+                        origem.toUpperCase(), destino.toUpperCase(), dia.atTime(23, 59, 59))
+                .map(TaxaCambioHistorico::getTaxa);
+        if (historica.isPresent()) {
+            return historica;
+        }
+        try {
+            return obterTaxaConhecida(origem, destino);
+        } catch (RuntimeException e) {
+            log.warn("Taxa não disponível para {}-{}: {}", origem, destino, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<BigDecimal> obterTaxaConhecida(String origem, String destino) {
+        if (origem.equalsIgnoreCase(destino)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        return cotacaoRepository.obterTaxaConhecida(origem, destino).map(TaxaCambio::getTaxa);
+    }
+
+    private void aplicar(Transacao transacao, String destino, Optional<BigDecimal> taxa) {
+        if (taxa.isEmpty()) {
+            transacao.setTaxaCambioAplicada(null);
+            transacao.setValorNormalizado(null);
+            transacao.setMoedaNormalizada(null);
+            return;
+        }
+        transacao.setTaxaCambioAplicada(taxa.get());
+        // Mesma escala da coluna; o arredondamento para exibição fica na apresentação
+        transacao.setValorNormalizado(transacao.getValorOriginal().multiply(taxa.get())
+                .setScale(4, RoundingMode.HALF_UP));
+        transacao.setMoedaNormalizada(destino.toUpperCase());
+    }
+}
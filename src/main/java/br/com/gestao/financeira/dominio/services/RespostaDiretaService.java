@@ -0,0 +1,200 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.PerguntaFinanceira;
+import br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambioTable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Responde direto dos dados as perguntas do chat reconhecidas como
+ * {@link PerguntaFinanceira} (saldo, receitas, gastos, gastos em uma
+ * categoria e maiores categorias de um mês), em milissegundos e sem passar
+ * pelo modelo de linguagem.
+ *
+ * Os valores vêm das mesmas agregações da análise de despesas, convertidos
+ * para a moeda padrão do usuário.
+ */
+@Service
+public class RespostaDiretaService {
+
+    private static final Locale PT_BR = Locale.forLanguageTag("pt-BR");
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("MMMM 'de' yyyy", PT_BR);
+    private static final Set<TipoTransacao> TIPOS_ENTRADA = EnumSet.of(TipoTransacao.RECEITA, TipoTransacao.DEPOSITO);
+    private static final int MAIORES_CATEGORIAS = 3;
+
+    private final AnaliseDespesasService analiseDespesasService;
+    private final TransacaoService transacaoService;
+    private final CambioService cambioService;
+    private final UsuarioService usuarioService;
+
+    public RespostaDiretaService(AnaliseDespesasService analiseDespesasService,
+            TransacaoService transacaoService,
+            CambioService cambioService,
+            UsuarioService usuarioService) {
+        this.analiseDespesasService = analiseDespesasService;
+        this.transacaoService = transacaoService;
+        this.cambioService = cambioService;
+        this.usuarioService = usuarioService;
+    }
+
+    /**
+     * Responde a pergunta se ela for uma consulta numérica reconhecida.
+     *
+     * @param usuarioId identificador do usuário
+     * @param pergunta  texto enviado ao chat
+     * @return a resposta, ou vazio se a pergunta deve ir para o modelo
+     */
+    public Optional<String> responder(Long usuarioId, String pergunta) {
+        return responder(usuarioId, pergunta, LocalDateTime.now());
+    }
+
+    Optional<String> responder(Long usuarioId, String pergunta, LocalDateTime agora) {
+        return PerguntaFinanceira.interpretar(pergunta, agora.toLocalDate())
+                .map(reconhecida -> responder(usuarioId, reconhecida, agora));
+    }
+
+    private String responder(Long usuarioId, PerguntaFinanceira pergunta, LocalDateTime agora) {
+        YearMonth mes = pergunta.mes();
+        boolean mesCorrente = mes.equals(YearMonth.from(agora));
+        LocalDateTime inicio = mes.atDay(1).atStartOfDay();
+        // No mês corrente, transações com data futura ainda não aconteceram
+        LocalDateTime fim = mesCorrente ? agora : mes.atEndOfMonth().atTime(LocalTime.MAX);
+        String periodo = mesCorrente
+                ? "Neste mês (" + mes.format(FORMATO_MES) + ")"
+                : "Em " + mes.format(FORMATO_MES);
+        String moeda = usuarioService.detalharUsuario(usuarioId).getMoedaPadrao();
+
+        return switch (pergunta.intencao()) {
+            case SALDO -> saldo(periodo, moeda, somarEntradas(usuarioId, inicio, fim, moeda),
+                    analiseDespesasService.analisar(usuarioId, inicio, fim, moeda));
+            case RECEITAS -> receitas(periodo, moeda, somarEntradas(usuarioId, inicio, fim, moeda));
+            case GASTOS -> gastos(periodo, moeda, analiseDespesasService.analisar(usuarioId, inicio, fim, moeda));
+            case GASTOS_CATEGORIA -> gastosCategoria(periodo, moeda, pergunta.categoria(),
+                    analiseDespesasService.analisar(usuarioId, inicio, fim, moeda));
+            case MAIORES_CATEGORIAS -> maioresCategorias(periodo, moeda,
+                    analiseDespesasService.analisar(usuarioId, inicio, fim, moeda));
+        };
+    }
+
+    private String saldo(String periodo, String moeda, Entradas entradas, AnaliseDespesasDto analise) {
+        BigDecimal saidas = analise.getTotalGeral().add(analise.getTotalInvestimentos());
+        if (entradas.quantidade() == 0 && saidas.signum() == 0) {
+            return periodo + ", não encontrei transações registradas.";
+        }
+        BigDecimal saldo = entradas.total().subtract(saidas);
+        return periodo + ", você recebeu " + valor(entradas.total(), moeda)
+                + " e teve " + valor(saidas, moeda) + " de saídas (despesas e investimentos): saldo "
+                + (saldo.signum() < 0 ? "negativo de " : "de ") + valor(saldo.abs(), moeda) + ".";
+    }
+
+    private String receitas(String periodo, String moeda, Entradas entradas) {
+        if (entradas.quantidade() == 0) {
+            return periodo + ", não encontrei receitas registradas.";
+        }
+        return periodo + ", você recebeu " + valor(entradas.total(), moeda)
+                + " em " + transacoes(entradas.quantidade()) + ".";
+    }
+
+    private String gastos(String periodo, String moeda, AnaliseDespesasDto analise) {
+        if (analise.getQuantidadeTransacoes() == 0 && analise.getQuantidadeInvestimentos() == 0) {
+            return periodo + ", não encontrei despesas registradas.";
+        }
+        String resposta = periodo + ", você gastou " + valor(analise.getTotalGeral(), moeda)
+                + " em " + transacoes(analise.getQuantidadeTransacoes()) + ".";
+        if (analise.getTotalInvestimentos().signum() > 0) {
+            resposta += " Também investiu " + valor(analise.getTotalInvestimentos(), moeda) + ".";
+        }
+        return resposta;
+    }
+
+    private String gastosCategoria(String periodo, String moeda, CategoriaTransacao categoria,
+            AnaliseDespesasDto analise) {
+        // Investimentos ficam fora das despesas na análise
+        if (categoria == CategoriaTransacao.INVESTIMENTOS) {
+            if (analise.getQuantidadeInvestimentos() == 0) {
+                return periodo + ", não encontrei investimentos registrados.";
+            }
+            return periodo + ", você investiu " + valor(analise.getTotalInvestimentos(), moeda)
+                    + " em " + transacoes(analise.getQuantidadeInvestimentos()) + ".";
+        }
+
+        return analise.getResumoPorCategoria().stream()
+                .filter(resumo -> resumo.getCategoria() == categoria)
+                .findFirst()
+                .map(resumo -> periodo + ", você gastou " + valor(resumo.getTotal(), moeda)
+                        + " com " + categoria.getDescricao() + " em " + transacoes(resumo.getQuantidade())
+                        + ", " + percentual(resumo.getPercentual()) + " das suas despesas.")
+                .orElse(periodo + ", não encontrei despesas com " + categoria.getDescricao() + ".");
+    }
+
+    private String maioresCategorias(String periodo, String moeda, AnaliseDespesasDto analise) {
+        // O resumo por categoria já vem em ordem decrescente de total
+        List<String> maiores = analise.getResumoPorCategoria().stream()
+                .limit(MAIORES_CATEGORIAS)
+                .map(resumo -> resumo.getCategoria().getDescricao() + " (" + valor(resumo.getTotal(), moeda)
+                        + ", " + percentual(resumo.getPercentual()) + ")")
+                .toList();
+        if (maiores.isEmpty()) {
+            return periodo + ", não encontrei despesas registradas.";
+        }
+        if (maiores.size() == 1) {
+            return periodo + ", todas as suas despesas foram com " + maiores.get(0) + ".";
+        }
+        return periodo + ", suas maiores despesas foram com "
+                + String.join(", ", maiores.subList(0, maiores.size() - 1))
+                + " e " + maiores.get(maiores.size() - 1) + ".";
+    }
+
+    /**
+     * Soma as receitas e depósitos do período na moeda padrão, como a
+     * análise faz com as despesas: uma conversão por grupo, não por transação.
+     */
+    private Entradas somarEntradas(Long usuarioId, LocalDateTime inicio, LocalDateTime fim, String moeda) {
+        List<ResumoTransacaoAgrupado> grupos = transacaoService.agruparPorMoedaCategoriaTipoMes(
+                usuarioId, inicio, fim, TIPOS_ENTRADA);
+        TaxaCambioTable taxas = cambioService.montarTabelaTaxas(
+                grupos.stream().map(ResumoTransacaoAgrupado::getMoeda).toList(), moeda);
+
+        BigDecimal total = BigDecimal.ZERO;
+        long quantidade = 0;
+        for (ResumoTransacaoAgrupado grupo : grupos) {
+            total = total.add(taxas.converter(grupo.getTotal(), grupo.getMoeda()));
+            quantidade += grupo.getQuantidade();
+        }
+        return new Entradas(total.setScale(2, RoundingMode.HALF_UP), quantidade);
+    }
+
+    private static String valor(BigDecimal valor, String moeda) {
+        DecimalFormat formato = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(PT_BR));
+        return ("BRL".equals(moeda) ? "R$ " : moeda + " ") + formato.format(valor);
+    }
+
+    private static String percentual(BigDecimal percentual) {
+        DecimalFormat formato = new DecimalFormat("#,##0.#", DecimalFormatSymbols.getInstance(PT_BR));
+        return formato.format(percentual) + "%";
+    }
+
+    private static String transacoes(long quantidade) {
+        return quantidade == 1 ? "1 transação" : quantidade + " transações";
+    }
+
+    private record Entradas(BigDecimal total, long quantidade) {
+    }
+}
@@ -2,20 +2,35 @@ package br.com.gestao.financeira.dominio.services;
 
 import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
 import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.CursorTransacao;
+import br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado;
+import br.com.gestao.financeira.dominio.modelo.TransacoesAlteradas;
 import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Serviço de domínio responsável pela gestão de transações financeiras.
@@ -25,24 +40,47 @@ import java.util.function.Function;
 @SuppressWarnings("null")
 public class TransacaoService {
 
+    // Limites usados quando o período não é informado na agregação
+    private static final LocalDateTime INICIO_SEM_LIMITE = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime FIM_SEM_LIMITE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // Transações percorridas antes de limpar o contexto de persistência
+    private static final int BLOCO_STREAM = 500;
+    // Transações enviadas ao banco por flush no registro em lote
+    // (igual a hibernate.jdbc.batch_size)
+    private static final int BLOCO_LOTE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final TransacaoRepository transacaoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final NormalizacaoCambioService normalizacaoCambioService;
+    private final VersaoDadosService versaoDadosService;
+    private final ApplicationEventPublisher eventos;
 
     public TransacaoService(TransacaoRepository transacaoRepository,
-            UsuarioRepository usuarioRepository) {
+            UsuarioRepository usuarioRepository,
+            NormalizacaoCambioService normalizacaoCambioService,
+            VersaoDadosService versaoDadosService,
+            ApplicationEventPublisher eventos) {
         this.transacaoRepository = transacaoRepository;
         this.usuarioRepository = usuarioRepository;
+        this.normalizacaoCambioService = normalizacaoCambioService;
+        this.versaoDadosService = versaoDadosService;
+        this.eventos = eventos;
     }
 
     /**
-     * Registra uma nova transação.
+     * Registra uma nova transação, gravando a taxa de câmbio e o valor na
+     * moeda padrão do usuário vigentes no momento do registro.
      * 
      * @param transacao dados da transação
      * @return a transação registrada
      * @throws UsuarioService.UsuarioNaoEncontradoException se usuário não existe
      */
     public Transacao registrarTransacao(Transacao transacao) {
-        validarUsuarioExiste(transacao.getUsuarioId());
+        Usuario usuario = buscarUsuario(transacao.getUsuarioId());
 
         if (transacao.getData() == null) {
             transacao.setData(LocalDateTime.now());
@@ -50,8 +88,54 @@ public class TransacaoService {
         if (transacao.getMoedaOriginal() == null || transacao.getMoedaOriginal().isBlank()) {
             transacao.setMoedaOriginal("BRL");
         }
+        normalizacaoCambioService.normalizar(transacao, usuario.getMoedaPadrao());
+
+        Transacao registrada = transacaoRepository.save(transacao);
+        versaoDadosService.registrarAlteracao(registrada.getUsuarioId(), registrada.getData());
+        eventos.publishEvent(TransacoesAlteradas.gravadas(registrada.getUsuarioId(), List.of(registrada)));
+        return registrada;
+    }
+
+    /**
+     * Registra várias transações de um mesmo usuário. O usuário é validado
+     * uma única vez e as inserções são enviadas ao banco em blocos de
+     * {@link #BLOCO_LOTE}, aproveitando o batching JDBC do Hibernate. O
+     * contexto de persistência é limpo a cada bloco, então as transações
+     * devolvidas ficam desanexadas.
+     * 
+     * @param usuarioId  identificador do usuário
+     * @param transacoes transações a registrar, já validadas
+     * @return as transações registradas, na mesma ordem
+     * @throws UsuarioService.UsuarioNaoEncontradoException se usuário não existe
+     */
+    public List<Transacao> registrarLote(Long usuarioId, List<Transacao> transacoes) {
+        Usuario usuario = buscarUsuario(usuarioId);
+
+        Set<YearMonth> meses = new HashSet<>();
+        for (Transacao transacao : transacoes) {
+            transacao.setUsuarioId(usuarioId);
+            if (transacao.getData() == null) {
+                transacao.setData(LocalDateTime.now());
+            }
+            if (transacao.getMoedaOriginal() == null || transacao.getMoedaOriginal().isBlank()) {
+                transacao.setMoedaOriginal("BRL");
+            }
+            normalizacaoCambioService.normalizar(transacao, usuario.getMoedaPadrao());
+            meses.add(YearMonth.from(transacao.getData()));
+        }
+
+        List<Transacao> registradas = new ArrayList<>(transacoes.size());
+        for (int inicio = 0; inicio < transacoes.size(); inicio += BLOCO_LOTE) {
+            registradas.addAll(transacaoRepository.saveAll(
+                    transacoes.subList(inicio, Math.min(inicio + BLOCO_LOTE, transacoes.size()))));
+            transacaoRepository.flush();
+            // Libera as entidades já gravadas
+            entityManager.clear();
+        }
 
-        return transacaoRepository.save(transacao);
+        meses.forEach(mes -> versaoDadosService.registrarAlteracao(usuarioId, mes.atDay(1).atStartOfDay()));
+        eventos.publishEvent(TransacoesAlteradas.gravadas(usuarioId, registradas));
+        return registradas;
     }
 
     /**
@@ -72,7 +156,16 @@ public class TransacaoService {
         atualizarCampo(atualizacao.getDescricao(), existente::setDescricao);
         atualizarCampo(atualizacao.getTipo(), existente::setTipo);
 
-        return transacaoRepository.save(existente);
+        // Valor ou moeda alterados: a normalização é refeita com a taxa atual
+        if (atualizacao.getValorOriginal() != null || atualizacao.getMoedaOriginal() != null) {
+            usuarioRepository.findById(existente.getUsuarioId()).ifPresent(
+                    usuario -> normalizacaoCambioService.normalizar(existente, usuario.getMoedaPadrao()));
+        }
+
+        Transacao atualizada = transacaoRepository.save(existente);
+        versaoDadosService.registrarAlteracao(atualizada.getUsuarioId(), atualizada.getData());
+        eventos.publishEvent(TransacoesAlteradas.gravadas(atualizada.getUsuarioId(), List.of(atualizada)));
+        return atualizada;
     }
 
     private <T> void atualizarCampo(T valor, Consumer<T> setter) {
@@ -88,10 +181,11 @@ public class TransacaoService {
      * @throws TransacaoNaoEncontradaException se transação não existe
      */
     public void excluirTransacao(Long id) {
-        if (!transacaoRepository.existsById(id)) {
-            throw new TransacaoNaoEncontradaException(id);
-        }
-        transacaoRepository.deleteById(id);
+        Transacao existente = transacaoRepository.findById(id)
+                .orElseThrow(() -> new TransacaoNaoEncontradaException(id));
+        transacaoRepository.delete(existente);
+        versaoDadosService.registrarAlteracao(existente.getUsuarioId(), existente.getData());
+        eventos.publishEvent(TransacoesAlteradas.excluida(existente.getUsuarioId(), existente.getId()));
     }
 
     /**
@@ -140,6 +234,84 @@ public class TransacaoService {
         return transacaoRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Lista transações de um usuário a partir de um cursor, sem contagem total.
+     * 
+     * @param usuarioId  identificador do usuário
+     * @param dataInicio data inicial do período (opcional)
+     * @param dataFim    data final do período (opcional)
+     * @param categoria  categoria para filtrar (opcional)
+     * @param moeda      moeda para filtrar (opcional)
+     * @param cursor     posição da última transação já recebida
+     * @param tamanho    quantidade de transações na página
+     * @return fatia de transações após o cursor
+     */
+    @Transactional(readOnly = true)
+    public Slice<Transacao> listarTransacoesPorCursor(Long usuarioId, LocalDateTime dataInicio,
+            LocalDateTime dataFim, CategoriaTransacao categoria, String moeda,
+            CursorTransacao cursor, int tamanho) {
+        validarUsuarioExiste(usuarioId);
+
+        return transacaoRepository.findPorCursor(
+                usuarioId,
+                dataInicio != null ? dataInicio : INICIO_SEM_LIMITE,
+                dataFim != null ? dataFim : FIM_SEM_LIMITE,
+                categoria,
+                moeda,
+                cursor.data(),
+                cursor.id(),
+                PageRequest.of(0, tamanho));
+    }
+
+    /**
+     * Conta as transações de um usuário no período.
+     * 
+     * @param usuarioId  identificador do usuário
+     * @param dataInicio data inicial do período (opcional)
+     * @param dataFim    data final do período (opcional)
+     * @param moeda      moeda para filtrar (opcional)
+     * @return quantidade de transações
+     */
+    @Transactional(readOnly = true)
+    public long contarTransacoes(Long usuarioId, LocalDateTime dataInicio,
+            LocalDateTime dataFim, String moeda) {
+        validarUsuarioExiste(usuarioId);
+        return transacaoRepository.countPorPeriodo(usuarioId,
+                dataInicio != null ? dataInicio : INICIO_SEM_LIMITE,
+                dataFim != null ? dataFim : FIM_SEM_LIMITE,
+                moeda);
+    }
+
+    /**
+     * Percorre as transações de um usuário no período, uma a uma, em ordem
+     * decrescente de data, mantendo o uso de memória constante.
+     * 
+     * @param usuarioId   identificador do usuário
+     * @param dataInicio  data inicial do período (opcional)
+     * @param dataFim     data final do período (opcional)
+     * @param moeda       moeda para filtrar (opcional)
+     * @param consumidor  recebe cada transação
+     */
+    @Transactional(readOnly = true)
+    public void percorrerTransacoes(Long usuarioId, LocalDateTime dataInicio,
+            LocalDateTime dataFim, String moeda, Consumer<Transacao> consumidor) {
+        validarUsuarioExiste(usuarioId);
+
+        try (Stream<Transacao> transacoes = transacaoRepository.streamPorPeriodo(usuarioId,
+                dataInicio != null ? dataInicio : INICIO_SEM_LIMITE,
+                dataFim != null ? dataFim : FIM_SEM_LIMITE,
+                moeda)) {
+            int[] lidas = { 0 };
+            transacoes.forEach(t -> {
+                consumidor.accept(t);
+                // Libera as entidades já processadas
+                if (++lidas[0] % BLOCO_STREAM == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
     private <T> void adicionarFiltro(List<Predicate> predicates, T valor,
             Function<T, Predicate> regra) {
         if (valor != null) {
@@ -147,6 +319,27 @@ public class TransacaoService {
         }
     }
 
+    /**
+     * Agrega no banco as transações de um usuário por moeda, categoria, tipo e
+     * mês, retornando soma e quantidade de cada grupo.
+     * 
+     * @param usuarioId  identificador do usuário
+     * @param dataInicio data inicial do período (opcional)
+     * @param dataFim    data final do período (opcional)
+     * @param tipos      tipos de transação considerados
+     * @return uma linha por grupo
+     */
+    @Transactional(readOnly = true)
+    public List<ResumoTransacaoAgrupado> agruparPorMoedaCategoriaTipoMes(Long usuarioId,
+            LocalDateTime dataInicio, LocalDateTime dataFim, Collection<TipoTransacao> tipos) {
+        validarUsuarioExiste(usuarioId);
+        return transacaoRepository.agruparPorMoedaCategoriaTipoMes(
+                usuarioId,
+                tipos,
+                dataInicio != null ? dataInicio : INICIO_SEM_LIMITE,
+                dataFim != null ? dataFim : FIM_SEM_LIMITE);
+    }
+
     /**
      * Lista todas as transações de um usuário.
      * 
@@ -158,6 +351,14 @@ public class TransacaoService {
         return transacaoRepository.findByUsuarioId(usuarioId);
     }
 
+    private Usuario buscarUsuario(Long usuarioId) {
+        if (usuarioId == null) {
+            throw new IllegalArgumentException("ID do usuário não pode ser nulo");
+        }
+        return usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new UsuarioService.UsuarioNaoEncontradoException(usuarioId));
+    }
+
     private void validarUsuarioExiste(Long usuarioId) {
         if (usuarioId == null) {
             throw new IllegalArgumentException("ID do usuário não pode ser nulo");
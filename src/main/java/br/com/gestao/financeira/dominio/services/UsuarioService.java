@@ -3,13 +3,21 @@ package br.com.gestao.financeira.dominio.services;
 import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
 import br.com.gestao.financeira.dominio.enums.StatusUsuario;
 import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Serviço de domínio responsável pela gestão de usuários.
@@ -20,12 +28,18 @@ import java.util.List;
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
+    private final TransacaoRepository transacaoRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventos;
 
     public UsuarioService(UsuarioRepository usuarioRepository,
-            PasswordEncoder passwordEncoder) {
+            TransacaoRepository transacaoRepository,
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventos) {
         this.usuarioRepository = usuarioRepository;
+        this.transacaoRepository = transacaoRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventos = eventos;
     }
 
     /**
@@ -50,6 +64,57 @@ public class UsuarioService {
         return usuarioRepository.save(usuario);
     }
 
+    /**
+     * Cria vários usuários de uma vez, em inserções em batch. Os usuários
+     * devem ter sido validados antes com {@link #emailsCadastrados} e
+     * {@link #cpfsCadastrados} e as senhas já devem chegar codificadas por
+     * {@link #codificarSenha}; a unicidade ainda é garantida pelo banco.
+     *
+     * @param usuarios usuários a criar
+     * @return os usuários criados, na mesma ordem
+     */
+    public List<Usuario> criarLote(List<Usuario> usuarios) {
+        for (Usuario usuario : usuarios) {
+            usuario.setStatus(StatusUsuario.ATIVO);
+            usuario.setPerfil(PerfilUsuario.USUARIO);
+            usuario.setCriadoEm(LocalDateTime.now());
+
+            if (usuario.getMoedaPadrao() == null || usuario.getMoedaPadrao().isBlank()) {
+                usuario.setMoedaPadrao("BRL");
+            }
+        }
+        List<Usuario> criados = usuarioRepository.saveAll(usuarios);
+        usuarioRepository.flush();
+        return criados;
+    }
+
+    /**
+     * Codifica uma senha para gravação. Não acessa o banco, então pode ser
+     * chamado em paralelo fora de uma transação.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String codificarSenha(String senha) {
+        return passwordEncoder.encode(senha);
+    }
+
+    /**
+     * Dentre os emails informados, os que já estão cadastrados (uma única
+     * consulta).
+     */
+    @Transactional(readOnly = true)
+    public Set<String> emailsCadastrados(Collection<String> emails) {
+        return emails.isEmpty() ? Set.of() : new HashSet<>(usuarioRepository.findEmailsCadastrados(emails));
+    }
+
+    /**
+     * Dentre os CPFs informados, os que já estão cadastrados (uma única
+     * consulta).
+     */
+    @Transactional(readOnly = true)
+    public Set<String> cpfsCadastrados(Collection<String> cpfs) {
+        return cpfs.isEmpty() ? Set.of() : new HashSet<>(usuarioRepository.findCpfsCadastrados(cpfs));
+    }
+
     /**
      * Atualiza um usuário existente.
      * 
@@ -65,14 +130,20 @@ public class UsuarioService {
         if (atualizacao.getNomeCompleto() != null) {
             existente.setNomeCompleto(atualizacao.getNomeCompleto());
         }
-        if (atualizacao.getMoedaPadrao() != null) {
+        if (atualizacao.getMoedaPadrao() != null
+                && !atualizacao.getMoedaPadrao().equalsIgnoreCase(existente.getMoedaPadrao())) {
             existente.setMoedaPadrao(atualizacao.getMoedaPadrao());
+            // Os valores gravados estão na moeda antiga: o backfill os refaz na nova
+            transacaoRepository.limparNormalizacao(id);
         }
         if (atualizacao.getStatus() != null) {
             existente.setStatus(atualizacao.getStatus());
         }
+        existente.invalidarTokens();
 
-        return usuarioRepository.save(existente);
+        Usuario atualizado = usuarioRepository.save(existente);
+        eventos.publishEvent(new UsuarioAlterado(atualizado.getId(), atualizado.getEmail()));
+        return atualizado;
     }
 
     /**
@@ -85,10 +156,10 @@ public class UsuarioService {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        if (!usuarioRepository.existsById(id)) {
-            throw new UsuarioNaoEncontradoException(id);
-        }
-        usuarioRepository.deleteById(id);
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new UsuarioNaoEncontradoException(id));
+        usuarioRepository.delete(usuario);
+        eventos.publishEvent(new UsuarioAlterado(usuario.getId(), usuario.getEmail()));
     }
 
     /**
@@ -124,6 +195,18 @@ public class UsuarioService {
         return usuarioRepository.findAll();
     }
 
+    /**
+     * Família do usuário, sem carregar a entidade.
+     *
+     * @param usuarioId identificador do usuário
+     * @return o ID da família, vazio se o usuário não existe ou não tem
+     *         família
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarFamiliaId(Long usuarioId) {
+        return usuarioRepository.findFamiliaIdById(usuarioId);
+    }
+
     public List<Usuario> listarPorFamilia(Long familiaId) {
         return usuarioRepository.findByFamiliaId(familiaId);
     }
@@ -0,0 +1,63 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.dominio.repository.VersaoDadosRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Serviço de domínio que mantém a versão dos dados de cada usuário, por mês.
+ *
+ * Toda escrita de transação incrementa o contador do mês afetado. A versão
+ * de um período é derivada dos contadores dos meses que ele cobre, então
+ * relatórios e análises de meses fechados mantêm a mesma versão até que
+ * uma transação daquele mês seja alterada. Os contadores ficam no banco
+ * (tabela versoes_dados) e são incrementados na mesma transação da
+ * escrita, então todas as instâncias enxergam a mesma versão assim que a
+ * escrita é confirmada, e nada se perde ao reiniciar.
+ */
+@Service
+public class VersaoDadosService {
+
+    // Limites usados quando o período não é informado
+    private static final LocalDate INICIO_SEM_LIMITE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate FIM_SEM_LIMITE = LocalDate.of(9999, 12, 1);
+
+    private final VersaoDadosRepository versaoDadosRepository;
+
+    public VersaoDadosService(VersaoDadosRepository versaoDadosRepository) {
+        this.versaoDadosRepository = versaoDadosRepository;
+    }
+
+    /**
+     * Registra uma alteração nas transações do usuário no mês da data
+     * informada. Participa da transação de quem chama: o incremento só fica
+     * visível com o commit da escrita, e é desfeito junto com ela.
+     *
+     * @param usuarioId identificador do usuário
+     * @param data      data da transação alterada
+     */
+    @Transactional
+    public void registrarAlteracao(Long usuarioId, LocalDateTime data) {
+        versaoDadosRepository.incrementar(usuarioId, YearMonth.from(data).atDay(1));
+    }
+
+    /**
+     * Versão dos dados do usuário no período.
+     *
+     * @param usuarioId  identificador do usuário
+     * @param dataInicio data inicial do período (opcional)
+     * @param dataFim    data final do período (opcional)
+     * @return identificador opaco da versão
+     */
+    @Transactional(readOnly = true)
+    public String versao(Long usuarioId, LocalDateTime dataInicio, LocalDateTime dataFim) {
+        LocalDate inicio = dataInicio != null ? YearMonth.from(dataInicio).atDay(1) : INICIO_SEM_LIMITE;
+        LocalDate fim = dataFim != null ? YearMonth.from(dataFim).atDay(1) : FIM_SEM_LIMITE;
+        // Os contadores só crescem: a soma muda sempre que um mês do período muda
+        return Long.toString(versaoDadosRepository.somarVersoes(usuarioId, inicio, fim));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto;
+import br.com.gestao.financeira.dominio.services.AnaliseDespesasService;
+import br.com.gestao.financeira.dominio.services.VersaoDadosService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache das análises de despesas, indexado pela versão dos dados do período
+ * ({@link VersaoDadosService}). Enquanto nenhuma transação do período for
+ * alterada, a mesma análise e o mesmo ETag são devolvidos sem consultar o
+ * banco.
+ *
+ * As entradas expiram após analise.cache.expire-after-write porque a
+ * conversão para a moeda pedida usa taxas de câmbio atuais. As estatísticas
+ * são publicadas como métricas "cache.*" com o nome "analises".
+ */
+@Component
+public class AnaliseDespesasCache {
+
+    private static final String NOME_CACHE = "analises";
+
+    private final AnaliseDespesasService analiseDespesasService;
+    private final VersaoDadosService versaoDadosService;
+    private final Cache<ChaveAnalise, AnaliseVersionada> analises;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public AnaliseDespesasCache(AnaliseDespesasService analiseDespesasService,
+            VersaoDadosService versaoDadosService,
+            MeterRegistry meterRegistry,
+            @Value("${analise.cache.maximum-size:1000}") long tamanhoMaximo,
+            @Value("${analise.cache.expire-after-write:PT5M}") Duration expirarApos) {
+        this.analiseDespesasService = analiseDespesasService;
+        this.versaoDadosService = versaoDadosService;
+        this.analises = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expirarApos)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, analises, NOME_CACHE);
+    }
+
+    /**
+     * Retorna a análise do período, calculando-a apenas se a versão dos dados
+     * mudou desde o último cálculo.
+     */
+    public AnaliseVersionada analisar(Long usuarioId, LocalDateTime dataInicio,
+            LocalDateTime dataFim, String moedaPadrao) {
+        ChaveAnalise chave = new ChaveAnalise(usuarioId, dataInicio, dataFim, moedaPadrao.toUpperCase(),
+                versaoDadosService.versao(usuarioId, dataInicio, dataFim));
+        return analises.get(chave, c -> new AnaliseVersionada(
+                analiseDespesasService.analisar(usuarioId, dataInicio, dataFim, moedaPadrao),
+                "\"" + c.versao() + "-" + geracao.incrementAndGet() + "\""));
+    }
+
+    /**
+     * Análise calculada e o ETag que a identifica. Um novo cálculo sempre
+     * recebe um novo ETag.
+     */
+    public record AnaliseVersionada(AnaliseDespesasDto analise, String etag) {
+    }
+
+    private record ChaveAnalise(Long usuarioId, LocalDateTime dataInicio, LocalDateTime dataFim,
+            String moedaPadrao, String versao) {
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.services.NormalizacaoCambioService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que preenche a taxa e o valor normalizado das transações registradas
+ * antes da normalização no momento da escrita.
+ * 
+ * Processa lotes em ordem de ID, cada um em sua própria transação. Cada
+ * execução processa no máximo transacoes.backfill.lotes-por-execucao lotes e
+ * a seguinte continua do último ID, para não ocupar por muito tempo a thread
+ * do agendador, que é compartilhada com o prefetch de taxas e as limpezas
+ * das filas. Ao chegar ao fim, recomeça do início na execução seguinte. Se
+ * a aplicação for reiniciada no meio do processo, a próxima execução
+ * continua das transações ainda não normalizadas.
+ */
+@Component
+@ConditionalOnProperty(name = "transacoes.backfill.habilitado", havingValue = "true", matchIfMissing = true)
+public class BackfillNormalizacaoJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillNormalizacaoJob.class);
+
+    private final NormalizacaoCambioService normalizacaoCambioService;
+    private final int tamanhoLote;
+    private final int lotesPorExecucao;
+
+    // Último ID processado; só a thread do agendador o acessa
+    private Long ultimoId = 0L;
+
+    public BackfillNormalizacaoJob(NormalizacaoCambioService normalizacaoCambioService,
+            @Value("${transacoes.backfill.tamanho-lote:500}") int tamanhoLote,
+            @Value("${transacoes.backfill.lotes-por-execucao:10}") int lotesPorExecucao) {
+        this.normalizacaoCambioService = normalizacaoCambioService;
+        this.tamanhoLote = tamanhoLote;
+        this.lotesPorExecucao = lotesPorExecucao;
+    }
+
+    @Scheduled(initialDelayString = "${transacoes.backfill.atraso-inicial:PT1M}",
+            fixedDelayString = "${transacoes.backfill.intervalo:PT1M}")
+    public void executar() {
+        try {
+            for (int lotes = 0; lotes < lotesPorExecucao; lotes++) {
+                Long processado = normalizacaoCambioService.normalizarPendentes(ultimoId, tamanhoLote);
+                if (processado == null) {
+                    if (ultimoId > 0) {
+                        log.info("Backfill de normalização concluído até o ID {}", ultimoId);
+                    }
+                    ultimoId = 0L;
+                    return;
+                }
+                ultimoId = processado;
+            }
+        } catch (Exception e) {
+            log.warn("Backfill de normalização interrompido no ID {}: {}", ultimoId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import br.com.gestao.financeira.infraestrutura.config.UserDetailsServiceImpl;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache dos usuários autenticados, indexado pelo email (subject do token).
+ *
+ * Evita uma consulta ao banco por requisição no filtro JWT. As entradas
+ * duram no máximo o tempo de vida do token e são removidas quando o
+ * usuário é alterado ou excluído ({@link UsuarioAlterado}), após o commit.
+ * As estatísticas são publicadas como métricas "cache.*" com o nome
+ * "principais".
+ *
+ * Também guarda a versão atual dos tokens de cada usuário (coluna
+ * versao_token), usada para decidir se as claims de um token ou uma entrada
+ * do cache ainda valem ({@link #versaoAtual}). Na falta da entrada
+ * (reinício, remoção por tamanho) a versão vem do banco; entre instâncias,
+ * uma alteração é vista em no máximo
+ * {@code seguranca.versoes.expire-after-write}. Métricas com o nome
+ * "versoesToken".
+ */
+@Component
+public class CachePrincipais {
+
+    private static final String NOME_CACHE = "principais";
+    private static final String NOME_CACHE_VERSOES = "versoesToken";
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<String, UsuarioAutenticado> principais;
+    private final Cache<String, Optional<Integer>> versoes;
+
+    public CachePrincipais(UserDetailsServiceImpl userDetailsService,
+            UsuarioRepository usuarioRepository,
+            MeterRegistry meterRegistry,
+            @Value("${seguranca.principais.maximum-size:10000}") long tamanhoMaximo,
+            @Value("${jwt.expiration:86400000}") long expiracaoTokenMs,
+            @Value("${seguranca.versoes.expire-after-write:PT1M}") Duration versoesExpirarApos) {
+        this.userDetailsService = userDetailsService;
+        this.usuarioRepository = usuarioRepository;
+        this.principais = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofMillis(expiracaoTokenMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principais, NOME_CACHE);
+        this.versoes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(versoesExpirarApos)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versoes, NOME_CACHE_VERSOES);
+    }
+
+    /**
+     * Usuário autenticado do email, sem o hash da senha.
+     *
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException
+     *         se o usuário não existe
+     */
+    public UsuarioAutenticado obter(String email) {
+        UsuarioAutenticado usuario = principais.get(email, this::carregar);
+        // Alterado em outra instância: a entrada local está desatualizada
+        if (!versaoAtual(usuario)) {
+            principais.invalidate(email);
+            usuario = principais.get(email, this::carregar);
+        }
+        return usuario;
+    }
+
+    /**
+     * Indica se o usuário (das claims de um token ou do cache) ainda vale: ele
+     * existe e a versão dos seus tokens não mudou desde que foi montado.
+     */
+    public boolean versaoAtual(UsuarioAutenticado usuario) {
+        return versoes.get(usuario.getEmail(), usuarioRepository::findVersaoTokenByEmail)
+                .filter(versao -> versao == usuario.getVersaoToken())
+                .isPresent();
+    }
+
+    private UsuarioAutenticado carregar(String email) {
+        return ((UsuarioAutenticado) userDetailsService.loadUserByUsername(email)).semSenha();
+    }
+
+    /**
+     * Remove o usuário do cache. Executado após o commit da alteração, para
+     * que uma requisição concorrente não recarregue o estado antigo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlterado evento) {
+        versoes.invalidate(evento.email());
+        principais.invalidate(evento.email());
+    }
+}
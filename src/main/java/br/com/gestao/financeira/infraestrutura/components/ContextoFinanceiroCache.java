@@ -0,0 +1,95 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.modelo.ContextoFinanceiro;
+import br.com.gestao.financeira.dominio.modelo.TransacoesAlteradas;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.repository.ContextoFinanceiroRepository;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Resumos financeiros dos usuários ({@link ContextoFinanceiro}) mantidos em
+ * memória para o chat.
+ *
+ * O resumo é lido do banco uma vez e depois atualizado a cada
+ * {@link TransacoesAlteradas}, após o commit, aplicando apenas as transações
+ * alteradas. Como rede de segurança contra escritas que não passam pelo
+ * TransacaoService, ele é relido do banco após
+ * chat.contexto.recarregar-apos. As estatísticas são publicadas como
+ * métricas "cache.*" com o nome "contextosFinanceiros".
+ */
+@Component
+public class ContextoFinanceiroCache implements ContextoFinanceiroRepository {
+
+    private static final String NOME_CACHE = "contextosFinanceiros";
+    // Inclui as transações com data futura, que entram na janela depois
+    private static final LocalDateTime FIM_SEM_LIMITE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final TransacaoRepository transacaoRepository;
+    private final Duration recarregarApos;
+    private final Cache<Long, ContextoFinanceiro> contextos;
+
+    public ContextoFinanceiroCache(TransacaoRepository transacaoRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chat.contexto.maximum-size:10000}") long tamanhoMaximo,
+            @Value("${chat.contexto.recarregar-apos:PT1H}") Duration recarregarApos) {
+        this.transacaoRepository = transacaoRepository;
+        this.recarregarApos = recarregarApos;
+        this.contextos = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contextos, NOME_CACHE);
+    }
+
+    @Override
+    public ContextoFinanceiro obter(Long usuarioId) {
+        LocalDateTime agora = LocalDateTime.now();
+        ContextoFinanceiro atual = contextos.get(usuarioId, id -> carregar(id, agora));
+        if (atual.getCarregadoEm().isBefore(agora.minus(recarregarApos))) {
+            // Recarregado dentro do cache: alterações concorrentes esperam a
+            // leitura terminar e são aplicadas sobre ela
+            contextos.invalidate(usuarioId);
+            atual = contextos.get(usuarioId, id -> carregar(id, agora));
+        }
+
+        ContextoFinanceiro vigente = atual.atualizadoEm(agora);
+        if (vigente != atual) {
+            contextos.asMap().replace(usuarioId, atual, vigente);
+        }
+        return vigente;
+    }
+
+    /**
+     * Aplica as transações alteradas ao resumo em cache, se houver.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTransacoes(TransacoesAlteradas evento) {
+        contextos.asMap().computeIfPresent(evento.usuarioId(),
+                (id, contexto) -> contexto.comAlteracoes(evento, LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlterado evento) {
+        contextos.invalidate(evento.usuarioId());
+    }
+
+    private ContextoFinanceiro carregar(Long usuarioId, LocalDateTime agora) {
+        return ContextoFinanceiro.calcular(
+                transacaoRepository.findByUsuarioIdAndDataBetween(usuarioId,
+                        agora.minusDays(ContextoFinanceiro.DIAS_JANELA), FIM_SEM_LIMITE)
+                        .stream()
+                        .map(ContextoFinanceiro.Item::de)
+                        .toList(),
+                agora, agora);
+    }
+}
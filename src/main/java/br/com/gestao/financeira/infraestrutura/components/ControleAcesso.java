@@ -0,0 +1,84 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Regras de acesso aos dados de outro usuário: o próprio usuário, um MASTER
+ * ou o GESTOR da família do usuário alvo.
+ *
+ * O solicitante vem do token ({@link UsuarioAutenticado}); apenas a família
+ * do usuário alvo é consultada, e fica em cache (ID do usuário → ID da
+ * família) até ele ser alterado ({@link UsuarioAlterado}).
+ */
+@Component
+public class ControleAcesso {
+
+    private static final String NOME_CACHE = "familiasUsuarios";
+
+    private final UsuarioService usuarioService;
+    private final Cache<Long, Optional<Long>> familias;
+
+    public ControleAcesso(UsuarioService usuarioService,
+            MeterRegistry meterRegistry,
+            @Value("${seguranca.familias.maximum-size:10000}") long tamanhoMaximo,
+            @Value("${seguranca.familias.expire-after-write:PT30M}") Duration expirarApos) {
+        this.usuarioService = usuarioService;
+        this.familias = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expirarApos)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, familias, NOME_CACHE);
+    }
+
+    /**
+     * Verifica se o solicitante pode acessar os dados do usuário alvo.
+     *
+     * @param usuarioAlvoId  usuário cujos dados são pedidos
+     * @param solicitante    usuário autenticado
+     * @param mensagemNegado mensagem da exceção quando o acesso é negado
+     * @throws RuntimeException se o acesso for negado
+     */
+    public void validar(Long usuarioAlvoId, UsuarioAutenticado solicitante, String mensagemNegado) {
+        if (!podeAcessar(usuarioAlvoId, solicitante)) {
+            throw new RuntimeException(mensagemNegado);
+        }
+    }
+
+    public boolean podeAcessar(Long usuarioAlvoId, UsuarioAutenticado solicitante) {
+        // 1. O próprio usuário
+        if (solicitante.getId().equals(usuarioAlvoId)) {
+            return true;
+        }
+
+        // 2. Administrador (MASTER)
+        if (solicitante.getPerfil() == PerfilUsuario.MASTER) {
+            return true;
+        }
+
+        // 3. Gestor da familia do usuario alvo
+        return solicitante.getPerfil() == PerfilUsuario.GESTOR
+                && solicitante.getFamiliaId() != null
+                && familias.get(usuarioAlvoId, usuarioService::buscarFamiliaId)
+                        .map(solicitante.getFamiliaId()::equals)
+                        .orElse(false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlterado evento) {
+        familias.invalidate(evento.usuarioId());
+    }
+}
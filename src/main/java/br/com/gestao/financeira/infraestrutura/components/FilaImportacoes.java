@@ -0,0 +1,137 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.modelo.JobImportacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Fila de importações assíncronas de usuários.
+ *
+ * O arquivo enviado é copiado para um temporário antes de a requisição
+ * terminar (o upload é descartado pelo container ao fim dela) e importado no
+ * pool importacaoExecutor. O progresso fica no {@link JobImportacao},
+ * consultado pelo ID enquanto a importação roda.
+ */
+@Component
+public class FilaImportacoes {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaImportacoes.class);
+
+    private final ImportacaoExcelServico importacaoServico;
+    private final Executor importacaoExecutor;
+    private final Duration retencaoJobs;
+
+    private final Map<String, JobImportacao> jobs = new ConcurrentHashMap<>();
+
+    public FilaImportacoes(ImportacaoExcelServico importacaoServico,
+            @Qualifier("importacaoExecutor") Executor importacaoExecutor,
+            @Value("${importacao.retencao:PT1H}") Duration retencaoJobs) {
+        this.importacaoServico = importacaoServico;
+        this.importacaoExecutor = importacaoExecutor;
+        this.retencaoJobs = retencaoJobs;
+    }
+
+    /**
+     * Registra a importação de usuários do arquivo e a agenda.
+     *
+     * @param arquivo planilha (.xlsx) ou CSV enviada
+     * @return o job criado, ainda pendente
+     * @throws LimiteImportacoesExcedidoException se a fila de importações
+     *                                            estiver cheia
+     */
+    public JobImportacao solicitarUsuarios(MultipartFile arquivo) {
+        Path copia = copiar(arquivo);
+        JobImportacao job = new JobImportacao(arquivo.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        try {
+            importacaoExecutor.execute(() -> importarUsuarios(job, copia));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            apagar(copia);
+            throw new LimiteImportacoesExcedidoException("Fila de importações cheia. Tente novamente em instantes.");
+        }
+        return job;
+    }
+
+    /**
+     * Busca um job pelo ID.
+     *
+     * @throws JobImportacaoNaoEncontradoException se o job não existir ou já
+     *                                             tiver sido descartado
+     */
+    public JobImportacao buscar(String id) {
+        JobImportacao job = jobs.get(id);
+        if (job == null) {
+            throw new JobImportacaoNaoEncontradoException(id);
+        }
+        return job;
+    }
+
+    /**
+     * Descarta os jobs finalizados há mais tempo que importacao.retencao.
+     */
+    @Scheduled(fixedDelayString = "${importacao.limpeza:PT10M}")
+    public void descartarJobsAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencaoJobs);
+        jobs.values().removeIf(j -> j.isFinalizado() && j.getConcluidoEm().isBefore(limite));
+    }
+
+    private void importarUsuarios(JobImportacao job, Path copia) {
+        job.iniciar();
+        try {
+            importacaoServico.importarUsuarios(copia, job.getArquivo(), job);
+            job.concluir();
+        } catch (Exception e) {
+            log.error("Erro na importação {}: {}", job.getId(), e.getMessage(), e);
+            job.falhar(e.getMessage());
+        } finally {
+            apagar(copia);
+        }
+    }
+
+    private Path copiar(MultipartFile arquivo) {
+        try {
+            Path copia = Files.createTempFile("importacao-", ".tmp");
+            arquivo.transferTo(copia);
+            return copia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao receber arquivo: " + e.getMessage(), e);
+        }
+    }
+
+    private void apagar(Path copia) {
+        try {
+            Files.deleteIfExists(copia);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo temporário {}: {}", copia, e.getMessage());
+        }
+    }
+
+    public static class JobImportacaoNaoEncontradoException extends RuntimeException {
+        public JobImportacaoNaoEncontradoException(String id) {
+            super("Importação não encontrada com ID: " + id);
+        }
+    }
+
+    public static class LimiteImportacoesExcedidoException extends RuntimeException {
+        public LimiteImportacoesExcedidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Fila das inferências do chat.
+ *
+ * O modelo local roda em CPU e atende poucas gerações ao mesmo tempo: um
+ * semáforo limita as inferências simultâneas (chat.inferencias.max-concorrentes)
+ * e os demais pedidos esperam em ordem de chegada, até chat.inferencias.fila.
+ * Cada pedido em espera é avisado da sua posição sempre que ela muda. As
+ * inferências rodam no pool chatExecutor, fora das threads do Tomcat.
+ */
+@Component
+public class FilaInferencias {
+
+    private final Executor chatExecutor;
+    private final int tamanhoMaximoFila;
+    private final Semaphore vagas;
+
+    private final Deque<Pedido<?>> espera = new ArrayDeque<>();
+
+    public FilaInferencias(@Qualifier("chatExecutor") Executor chatExecutor,
+            @Value("${chat.inferencias.max-concorrentes:1}") int maxConcorrentes,
+            @Value("${chat.inferencias.fila:20}") int tamanhoMaximoFila) {
+        this.chatExecutor = chatExecutor;
+        this.tamanhoMaximoFila = tamanhoMaximoFila;
+        this.vagas = new Semaphore(maxConcorrentes);
+    }
+
+    /**
+     * Agenda uma inferência.
+     *
+     * @param inferencia     a geração; roda no pool chatExecutor
+     * @param aoMudarPosicao chamado com a posição na fila (1 = próxima a
+     *                       rodar) ao entrar nela e a cada avanço
+     * @return o resultado da inferência; cancelá-lo enquanto o pedido espera
+     *         o retira da fila
+     * @throws LimiteInferenciasExcedidoException se a fila estiver cheia
+     */
+    public <T> CompletableFuture<T> solicitar(Supplier<T> inferencia, IntConsumer aoMudarPosicao) {
+        Pedido<T> pedido = new Pedido<>(inferencia, aoMudarPosicao);
+        int posicao;
+        synchronized (espera) {
+            if (espera.isEmpty() && vagas.tryAcquire()) {
+                posicao = 0;
+            } else if (espera.size() >= tamanhoMaximoFila) {
+                throw new LimiteInferenciasExcedidoException(
+                        "Muitas perguntas ao assistente no momento. Tente novamente em instantes.");
+            } else {
+                espera.addLast(pedido);
+                posicao = espera.size();
+            }
+        }
+        if (posicao == 0) {
+            executar(pedido);
+        } else {
+            pedido.avisarPosicao(posicao);
+            pedido.resultado.whenComplete((r, e) -> {
+                if (pedido.resultado.isCancelled()) {
+                    retirar(pedido);
+                }
+            });
+        }
+        return pedido.resultado;
+    }
+
+    /**
+     * Quantidade de pedidos esperando uma vaga.
+     */
+    public int emEspera() {
+        synchronized (espera) {
+            return espera.size();
+        }
+    }
+
+    private void executar(Pedido<?> pedido) {
+        try {
+            chatExecutor.execute(() -> {
+                try {
+                    pedido.executar();
+                } finally {
+                    liberarVaga();
+                }
+            });
+        } catch (RuntimeException e) {
+            pedido.resultado.completeExceptionally(e);
+            liberarVaga();
+        }
+    }
+
+    /**
+     * Passa a vaga ao próximo da fila ou a devolve ao semáforo.
+     */
+    private void liberarVaga() {
+        Pedido<?> proximo;
+        List<Pedido<?>> restantes;
+        synchronized (espera) {
+            proximo = espera.pollFirst();
+            if (proximo == null) {
+                vagas.release();
+                return;
+            }
+            restantes = new ArrayList<>(espera);
+        }
+        executar(proximo);
+        avisarPosicoes(restantes);
+    }
+
+    private void retirar(Pedido<?> pedido) {
+        List<Pedido<?>> restantes;
+        synchronized (espera) {
+            if (!espera.remove(pedido)) {
+                return;
+            }
+            restantes = new ArrayList<>(espera);
+        }
+        avisarPosicoes(restantes);
+    }
+
+    private static void avisarPosicoes(List<Pedido<?>> restantes) {
+        for (int i = 0; i < restantes.size(); i++) {
+            restantes.get(i).avisarPosicao(i + 1);
+        }
+    }
+
+    private static class Pedido<T> {
+
+        private final Supplier<T> inferencia;
+        private final IntConsumer aoMudarPosicao;
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+
+        Pedido(Supplier<T> inferencia, IntConsumer aoMudarPosicao) {
+            this.inferencia = inferencia;
+            this.aoMudarPosicao = aoMudarPosicao;
+        }
+
+        void executar() {
+            if (resultado.isDone()) {
+                return;
+            }
+            try {
+                resultado.complete(inferencia.get());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        }
+
+        void avisarPosicao(int posicao) {
+            try {
+                aoMudarPosicao.accept(posicao);
+            } catch (RuntimeException e) {
+                // Cliente desconectado: o pedido é cancelado pelo chamador
+            }
+        }
+    }
+
+    public static class LimiteInferenciasExcedidoException extends RuntimeException {
+        public LimiteInferenciasExcedidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
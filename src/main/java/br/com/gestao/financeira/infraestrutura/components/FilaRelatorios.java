@@ -0,0 +1,254 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
+import br.com.gestao.financeira.dominio.enums.FormatoRelatorio;
+import br.com.gestao.financeira.dominio.enums.StatusRelatorio;
+import br.com.gestao.financeira.dominio.modelo.JobRelatorio;
+import br.com.gestao.financeira.dominio.repository.RelatorioRepository;
+import br.com.gestao.financeira.dominio.services.VersaoDadosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fila de geração assíncrona de relatórios.
+ *
+ * Os pedidos são executados no pool relatorioExecutor, fora das threads do
+ * Tomcat, com um limite de relatórios simultâneos por usuário. Quando já
+ * existe um arquivo para a mesma chave (mesmos parâmetros e mesma versão
+ * dos dados) no {@link RelatorioArquivoStore}, o job nasce concluído, e
+ * pedidos idênticos em andamento são reaproveitados.
+ */
+@Component
+public class FilaRelatorios {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaRelatorios.class);
+
+    private final RelatorioRepository relatorioPort;
+    private final VersaoDadosService versaoDadosService;
+    private final RelatorioArquivoStore arquivoStore;
+    private final Executor relatorioExecutor;
+    private final int limitePorUsuario;
+    private final Duration retencaoJobs;
+
+    private final Map<String, JobRelatorio> jobs = new ConcurrentHashMap<>();
+    private final Map<String, JobRelatorio> emAndamentoPorChave = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> emAndamentoPorUsuario = new ConcurrentHashMap<>();
+
+    public FilaRelatorios(RelatorioRepository relatorioPort,
+            VersaoDadosService versaoDadosService,
+            RelatorioArquivoStore arquivoStore,
+            @Qualifier("relatorioExecutor") Executor relatorioExecutor,
+            @Value("${relatorios.limite-por-usuario:2}") int limitePorUsuario,
+            @Value("${relatorios.armazenamento.ttl:PT1H}") Duration retencaoJobs) {
+        this.relatorioPort = relatorioPort;
+        this.versaoDadosService = versaoDadosService;
+        this.arquivoStore = arquivoStore;
+        this.relatorioExecutor = relatorioExecutor;
+        this.limitePorUsuario = limitePorUsuario;
+        this.retencaoJobs = retencaoJobs;
+    }
+
+    /**
+     * Registra um pedido de relatório e agenda sua geração.
+     *
+     * @param parametros os parâmetros do relatório
+     * @param formato    formato do arquivo
+     * @return o job criado (ou o job idêntico já em andamento)
+     * @throws LimiteRelatoriosExcedidoException se o usuário já atingiu o
+     *                                           limite de relatórios
+     *                                           simultâneos ou o pool está
+     *                                           cheio
+     */
+    public JobRelatorio solicitar(ParametrosRelatorio parametros, FormatoRelatorio formato) {
+        String chave = chave(parametros, formato);
+
+        JobRelatorio job = new JobRelatorio(parametros, formato, chave);
+        if (arquivoStore.obter(chave, formato.getExtensao()).isPresent()) {
+            log.debug("Relatório {} servido do armazenamento local", chave);
+            job.concluir();
+            jobs.put(job.getId(), job);
+            return job;
+        }
+
+        JobRelatorio emAndamento = emAndamentoPorChave.putIfAbsent(chave, job);
+        if (emAndamento != null) {
+            return emAndamento;
+        }
+
+        AtomicInteger contador = emAndamentoPorUsuario.computeIfAbsent(parametros.getUsuarioId(),
+                id -> new AtomicInteger());
+        if (contador.incrementAndGet() > limitePorUsuario) {
+            contador.decrementAndGet();
+            emAndamentoPorChave.remove(chave, job);
+            throw new LimiteRelatoriosExcedidoException(
+                    "Limite de " + limitePorUsuario + " relatórios simultâneos por usuário atingido");
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            relatorioExecutor.execute(() -> gerar(job, contador));
+        } catch (RejectedExecutionException e) {
+            contador.decrementAndGet();
+            emAndamentoPorChave.remove(chave, job);
+            jobs.remove(job.getId());
+            throw new LimiteRelatoriosExcedidoException("Fila de relatórios cheia. Tente novamente em instantes.");
+        }
+        return job;
+    }
+
+    /**
+     * Busca um job pelo ID.
+     *
+     * @throws JobRelatorioNaoEncontradoException se o job não existir ou já
+     *                                            tiver sido descartado
+     */
+    public JobRelatorio buscar(String id) {
+        JobRelatorio job = jobs.get(id);
+        if (job == null) {
+            throw new JobRelatorioNaoEncontradoException(id);
+        }
+        return job;
+    }
+
+    /**
+     * Arquivo gerado pelo job.
+     *
+     * @throws RelatorioIndisponivelException se o job não foi concluído ou o
+     *                                        arquivo já expirou
+     */
+    public Path arquivo(JobRelatorio job) {
+        if (job.getStatus() != StatusRelatorio.CONCLUIDO) {
+            throw new RelatorioIndisponivelException("Relatório ainda não disponível: " + job.getStatus().getDescricao());
+        }
+        return arquivoStore.obter(job.getChave(), job.getFormato().getExtensao())
+                .orElseThrow(() -> new RelatorioIndisponivelException(
+                        "Relatório expirado. Solicite uma nova geração."));
+    }
+
+    /**
+     * Chave do relatório: usuário, período, moeda, formato e versão dos
+     * dados do período. Muda sempre que uma transação do período é alterada.
+     */
+    public String chave(ParametrosRelatorio parametros, FormatoRelatorio formato) {
+        String versao = versaoDadosService.versao(parametros.getUsuarioId(),
+                parametros.getDataInicio(), parametros.getDataFim());
+        return parametros.getUsuarioId()
+                + "|" + parametros.getDataInicio()
+                + "|" + parametros.getDataFim()
+                + "|" + parametros.getMoeda()
+                + "|" + formato
+                + "|" + versao;
+    }
+
+    /**
+     * ETag do relatório da chave.
+     */
+    public String etag(String chave) {
+        return "\"" + arquivoStore.identificador(chave) + "\"";
+    }
+
+    /**
+     * Escreve o relatório da chave na saída, no fluxo da requisição. Se o
+     * arquivo já existir, é enviado do disco; senão, é gerado e gravado ao
+     * mesmo tempo para os próximos pedidos.
+     *
+     * Qualquer falha é relançada como {@link RelatorioInterrompidoException}:
+     * com parte do arquivo já enviada, a resposta não pode virar um erro
+     * comum, e a conexão precisa ser abortada para o cliente não receber um
+     * arquivo truncado como se estivesse completo.
+     */
+    public void escrever(ParametrosRelatorio parametros, FormatoRelatorio formato, String chave,
+            OutputStream saida) {
+        try {
+            Optional<Path> arquivo = arquivoStore.obter(chave, formato.getExtensao());
+            if (arquivo.isPresent()) {
+                arquivoStore.enviar(arquivo.get(), saida);
+                return;
+            }
+            arquivoStore.gravarEnviando(chave, formato.getExtensao(), saida,
+                    gerador(parametros, formato));
+        } catch (RuntimeException e) {
+            throw new RelatorioInterrompidoException(chave, e);
+        }
+    }
+
+    /**
+     * Copia o arquivo de um job concluído para a saída.
+     */
+    public void enviar(Path arquivo, OutputStream saida) {
+        arquivoStore.enviar(arquivo, saida);
+    }
+
+    /**
+     * Descarta os jobs finalizados há mais tempo que a retenção dos arquivos.
+     */
+    @Scheduled(fixedDelayString = "${relatorios.armazenamento.limpeza:PT10M}")
+    public void descartarJobsAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencaoJobs);
+        jobs.values().removeIf(j -> j.isFinalizado() && j.getConcluidoEm().isBefore(limite));
+    }
+
+    private void gerar(JobRelatorio job, AtomicInteger contador) {
+        job.iniciar();
+        try {
+            arquivoStore.gravar(job.getChave(), job.getFormato().getExtensao(),
+                    gerador(job.getParametros(), job.getFormato()));
+            job.concluir();
+            log.info("Relatório {} ({}) gerado para usuário {}", job.getId(), job.getFormato(),
+                    job.getUsuarioId());
+        } catch (Exception e) {
+            log.error("Erro ao gerar relatório {}: {}", job.getId(), e.getMessage(), e);
+            job.falhar(e.getMessage());
+        } finally {
+            contador.decrementAndGet();
+            emAndamentoPorChave.remove(job.getChave(), job);
+        }
+    }
+
+    private Consumer<OutputStream> gerador(ParametrosRelatorio parametros, FormatoRelatorio formato) {
+        return switch (formato) {
+            case PDF -> saida -> relatorioPort.gerarRelatorioPDF(parametros, saida);
+            case XLSX -> saida -> relatorioPort.gerarRelatorioExcel(parametros, saida);
+        };
+    }
+
+    public static class JobRelatorioNaoEncontradoException extends RuntimeException {
+        public JobRelatorioNaoEncontradoException(String id) {
+            super("Relatório não encontrado com ID: " + id);
+        }
+    }
+
+    public static class RelatorioInterrompidoException extends RuntimeException {
+        public RelatorioInterrompidoException(String chave, Throwable causa) {
+            super("Envio do relatório interrompido (" + chave + "): " + causa.getMessage(), causa);
+        }
+    }
+
+    public static class LimiteRelatoriosExcedidoException extends RuntimeException {
+        public LimiteRelatoriosExcedidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    public static class RelatorioIndisponivelException extends RuntimeException {
+        public RelatorioIndisponivelException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
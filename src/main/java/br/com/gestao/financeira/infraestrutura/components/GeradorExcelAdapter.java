@@ -4,15 +4,14 @@ import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
 import br.com.gestao.financeira.dominio.entity.Transacao;
 import br.com.gestao.financeira.dominio.services.TransacaoService;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Adaptador para geração de relatórios em Excel usando Apache POI.
@@ -23,6 +22,12 @@ public class GeradorExcelAdapter {
     private static final Logger log = LoggerFactory.getLogger(GeradorExcelAdapter.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    // Linhas mantidas em memória pelo SXSSF; as anteriores vão para disco
+    private static final int JANELA_LINHAS = 100;
+    // Linhas usadas para estimar a largura das colunas
+    private static final int AMOSTRA_LARGURA = 500;
+    private static final int LARGURA_MAXIMA = 60;
+
     private final TransacaoService transacaoService;
 
     public GeradorExcelAdapter(TransacaoService transacaoService) {
@@ -30,17 +35,18 @@ public class GeradorExcelAdapter {
     }
 
     /**
-     * Gera um relatório de transações em formato Excel (XLSX).
+     * Gera um relatório de transações em formato Excel (XLSX), escrevendo
+     * diretamente na saída informada. Apenas {@link #JANELA_LINHAS} linhas
+     * ficam em memória; as demais vão para um arquivo temporário
+     * compactado até a escrita final. A saída não é fechada.
      */
-    public byte[] gerarRelatorio(ParametrosRelatorio params) {
+    public void gerarRelatorio(ParametrosRelatorio params, OutputStream saida) {
         log.info("Gerando relatório Excel para usuário: {}", params.getUsuarioId());
 
-        List<Transacao> transacoes = buscarTransacoes(params);
-
-        try (Workbook workbook = new XSSFWorkbook();
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Transações");
+        SXSSFWorkbook workbook = new SXSSFWorkbook(JANELA_LINHAS);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Transações");
 
             // Estilos
             CellStyle headerStyle = criarEstiloCabecalho(workbook);
@@ -50,58 +56,83 @@ public class GeradorExcelAdapter {
             // Cabeçalho
             Row headerRow = sheet.createRow(0);
             String[] headers = { "ID", "Data", "Tipo", "Categoria", "Moeda", "Valor", "Descrição" };
+            int[] larguras = new int[headers.length];
             for (int i = 0; i < headers.length; i++) {
                 Cell cell = headerRow.createCell(i);
                 cell.setCellValue(headers[i]);
                 cell.setCellStyle(headerStyle);
+                larguras[i] = headers[i].length();
             }
 
             // Dados
-            int rowNum = 1;
-            for (Transacao t : transacoes) {
-                Row row = sheet.createRow(rowNum++);
+            int[] rowNum = { 1 };
+            transacaoService.percorrerTransacoes(
+                    params.getUsuarioId(),
+                    params.getDataInicio(),
+                    params.getDataFim(),
+                    params.getMoeda(),
+                    t -> {
+                        Row row = sheet.createRow(rowNum[0]);
+                        escreverLinha(row, t, dataStyle, moneyStyle);
+                        if (rowNum[0] <= AMOSTRA_LARGURA) {
+                            medirLinha(row, larguras);
+                        }
+                        rowNum[0]++;
+                    });
+
+            // Largura estimada pelas primeiras linhas, sem autoSizeColumn
+            for (int i = 0; i < headers.length; i++) {
+                sheet.setColumnWidth(i, Math.min(larguras[i] + 2, LARGURA_MAXIMA) * 256);
+            }
 
-                Cell cellId = row.createCell(0);
-                cellId.setCellValue(t.getId());
-                cellId.setCellStyle(dataStyle);
+            workbook.write(saida);
+            log.info("Relatório Excel gerado com sucesso. {} transações.", rowNum[0] - 1);
 
-                Cell cellData = row.createCell(1);
-                cellData.setCellValue(t.getData().format(DATE_FORMATTER));
-                cellData.setCellStyle(dataStyle);
+        } catch (Exception e) {
+            log.error("Erro ao gerar relatório Excel: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao gerar relatório Excel: " + e.getMessage(), e);
+        } finally {
+            // Remove os arquivos temporários do SXSSF
+            workbook.dispose();
+        }
+    }
 
-                Cell cellTipo = row.createCell(2);
-                cellTipo.setCellValue(t.getTipo().getDescricao());
-                cellTipo.setCellStyle(dataStyle);
+    private void escreverLinha(Row row, Transacao t, CellStyle dataStyle, CellStyle moneyStyle) {
+        Cell cellId = row.createCell(0);
+        cellId.setCellValue(t.getId());
+        cellId.setCellStyle(dataStyle);
 
-                Cell cellCategoria = row.createCell(3);
-                cellCategoria.setCellValue(t.getCategoria().getDescricao());
-                cellCategoria.setCellStyle(dataStyle);
+        Cell cellData = row.createCell(1);
+        cellData.setCellValue(t.getData().format(DATE_FORMATTER));
+        cellData.setCellStyle(dataStyle);
 
-                Cell cellMoeda = row.createCell(4);
-                cellMoeda.setCellValue(t.getMoedaOriginal());
-                cellMoeda.setCellStyle(dataStyle);
+        Cell cellTipo = row.createCell(2);
+        cellTipo.setCellValue(t.getTipo().getDescricao());
+        cellTipo.setCellStyle(dataStyle);
 
-                Cell cellValor = row.createCell(5);
-                cellValor.setCellValue(t.getValorOriginal().doubleValue());
-                cellValor.setCellStyle(moneyStyle);
+        Cell cellCategoria = row.createCell(3);
+        cellCategoria.setCellValue(t.getCategoria().getDescricao());
+        cellCategoria.setCellStyle(dataStyle);
 
-                Cell cellDescricao = row.createCell(6);
-                cellDescricao.setCellValue(t.getDescricao() != null ? t.getDescricao() : "");
-                cellDescricao.setCellStyle(dataStyle);
-            }
+        Cell cellMoeda = row.createCell(4);
+        cellMoeda.setCellValue(t.getMoedaOriginal());
+        cellMoeda.setCellStyle(dataStyle);
 
-            // Auto-ajusta largura das colunas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
+        Cell cellValor = row.createCell(5);
+        cellValor.setCellValue(t.getValorOriginal().doubleValue());
+        cellValor.setCellStyle(moneyStyle);
 
-            workbook.write(baos);
-            log.info("Relatório Excel gerado com sucesso. {} transações.", transacoes.size());
-            return baos.toByteArray();
+        Cell cellDescricao = row.createCell(6);
+        cellDescricao.setCellValue(t.getDescricao() != null ? t.getDescricao() : "");
+        cellDescricao.setCellStyle(dataStyle);
+    }
 
-        } catch (Exception e) {
-            log.error("Erro ao gerar relatório Excel: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao gerar relatório Excel: " + e.getMessage(), e);
+    private void medirLinha(Row row, int[] larguras) {
+        for (Cell cell : row) {
+            int tamanho = cell.getCellType() == CellType.NUMERIC
+                    ? String.format("%,.2f", cell.getNumericCellValue()).length()
+                    : cell.getStringCellValue().length();
+            larguras[cell.getColumnIndex()] = Math.max(larguras[cell.getColumnIndex()], tamanho);
         }
     }
 
@@ -137,14 +168,4 @@ public class GeradorExcelAdapter {
         style.setAlignment(HorizontalAlignment.RIGHT);
         return style;
     }
-
-    private List<Transacao> buscarTransacoes(ParametrosRelatorio params) {
-        return transacaoService.listarTransacoes(
-                params.getUsuarioId(),
-                params.getDataInicio(),
-                params.getDataFim(),
-                null,
-                params.getMoeda(),
-                Pageable.unpaged()).getContent();
-    }
 }
@@ -10,12 +10,10 @@ import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Adaptador para geração de relatórios em PDF usando iTextPDF.
@@ -26,6 +24,15 @@ public class GeradorPdfAdapter implements RelatorioRepository {
     private static final Logger log = LoggerFactory.getLogger(GeradorPdfAdapter.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    // Linhas mantidas em memória antes de serem descarregadas na saída
+    private static final int LINHAS_POR_BLOCO = 200;
+
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
+    private static final Font INFO_FONT = new Font(Font.FontFamily.HELVETICA, 10);
+    private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD, BaseColor.WHITE);
+    private static final Font DATA_FONT = new Font(Font.FontFamily.HELVETICA, 9);
+    private static final BaseColor HEADER_COLOR = new BaseColor(66, 139, 202);
+
     private final TransacaoService transacaoService;
     private final GeradorExcelAdapter geradorExcel;
 
@@ -36,41 +43,43 @@ public class GeradorPdfAdapter implements RelatorioRepository {
     }
 
     @Override
-    public byte[] gerarRelatorioPDF(ParametrosRelatorio params) {
+    public void gerarRelatorioPDF(ParametrosRelatorio params, OutputStream saida) {
         log.info("Gerando relatório PDF para usuário: {}", params.getUsuarioId());
 
-        List<Transacao> transacoes = buscarTransacoes(params);
+        long total = transacaoService.contarTransacoes(
+                params.getUsuarioId(),
+                params.getDataInicio(),
+                params.getDataFim(),
+                params.getMoeda());
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        try {
             Document document = new Document(PageSize.A4);
-            PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, saida);
+            // Quem abriu a saída (o controller) é quem a fecha
+            writer.setCloseStream(false);
             document.open();
 
             // Título
-            Font titleFont = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD);
-            Paragraph titulo = new Paragraph("Relatório de Transações", titleFont);
+            Paragraph titulo = new Paragraph("Relatório de Transações", TITLE_FONT);
             titulo.setAlignment(Element.ALIGN_CENTER);
             titulo.setSpacingAfter(20);
             document.add(titulo);
 
             // Informações do relatório
-            Font infoFont = new Font(Font.FontFamily.HELVETICA, 10);
             String periodo = formatarPeriodo(params);
-            document.add(new Paragraph("Período: " + periodo, infoFont));
-            document.add(new Paragraph("Total de transações: " + transacoes.size(), infoFont));
+            document.add(new Paragraph("Período: " + periodo, INFO_FONT));
+            document.add(new Paragraph("Total de transações: " + total, INFO_FONT));
             document.add(new Paragraph(" "));
 
             // Tabela de transações
-            if (!transacoes.isEmpty()) {
-                PdfPTable table = criarTabelaTransacoes(transacoes);
-                document.add(table);
+            if (total > 0) {
+                escreverTabelaTransacoes(document, params);
             } else {
-                document.add(new Paragraph("Nenhuma transação encontrada no período.", infoFont));
+                document.add(new Paragraph("Nenhuma transação encontrada no período.", INFO_FONT));
             }
 
             document.close();
-            log.info("Relatório PDF gerado com sucesso. {} transações.", transacoes.size());
-            return baos.toByteArray();
+            log.info("Relatório PDF gerado com sucesso. {} transações.", total);
 
         } catch (Exception e) {
             log.error("Erro ao gerar relatório PDF: {}", e.getMessage(), e);
@@ -79,51 +88,67 @@ public class GeradorPdfAdapter implements RelatorioRepository {
     }
 
     @Override
-    public byte[] gerarRelatorioExcel(ParametrosRelatorio params) {
+    public void gerarRelatorioExcel(ParametrosRelatorio params, OutputStream saida) {
         // Delega para o adaptador Excel
-        return geradorExcel.gerarRelatorio(params);
+        geradorExcel.gerarRelatorio(params, saida);
     }
 
-    private PdfPTable criarTabelaTransacoes(List<Transacao> transacoes) throws DocumentException {
+    /**
+     * Escreve a tabela em blocos de {@link #LINHAS_POR_BLOCO} linhas: a tabela
+     * é marcada como incompleta e cada bloco adicionado ao documento é
+     * descartado da memória, repetindo o cabeçalho nas páginas seguintes.
+     */
+    private void escreverTabelaTransacoes(Document document, ParametrosRelatorio params)
+            throws DocumentException {
         PdfPTable table = new PdfPTable(6);
         table.setWidthPercentage(100);
         table.setWidths(new float[] { 1.5f, 2f, 2f, 1.5f, 2f, 2.5f });
-
-        Font headerFont = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD, BaseColor.WHITE);
-        BaseColor headerColor = new BaseColor(66, 139, 202);
+        table.setHeaderRows(1);
+        table.setComplete(false);
 
         // Cabeçalhos
         String[] headers = { "Data", "Tipo", "Categoria", "Moeda", "Valor", "Descrição" };
         for (String header : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
-            cell.setBackgroundColor(headerColor);
+            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+            cell.setBackgroundColor(HEADER_COLOR);
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
             cell.setPadding(8);
             table.addCell(cell);
         }
 
         // Dados
-        Font dataFont = new Font(Font.FontFamily.HELVETICA, 9);
-        for (Transacao t : transacoes) {
-            table.addCell(new Phrase(t.getData().format(DATE_FORMATTER), dataFont));
-            table.addCell(new Phrase(t.getTipo().getDescricao(), dataFont));
-            table.addCell(new Phrase(t.getCategoria().getDescricao(), dataFont));
-            table.addCell(new Phrase(t.getMoedaOriginal(), dataFont));
-            table.addCell(new Phrase(t.getValorOriginal().toString(), dataFont));
-            table.addCell(new Phrase(t.getDescricao() != null ? t.getDescricao() : "", dataFont));
-        }
-
-        return table;
-    }
-
-    private List<Transacao> buscarTransacoes(ParametrosRelatorio params) {
-        return transacaoService.listarTransacoes(
+        int[] linhas = { 0 };
+        transacaoService.percorrerTransacoes(
                 params.getUsuarioId(),
                 params.getDataInicio(),
                 params.getDataFim(),
-                null, // categoria
                 params.getMoeda(),
-                Pageable.unpaged()).getContent();
+                t -> {
+                    adicionarLinha(table, t);
+                    if (++linhas[0] % LINHAS_POR_BLOCO == 0) {
+                        adicionarBloco(document, table);
+                    }
+                });
+
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private void adicionarLinha(PdfPTable table, Transacao t) {
+        table.addCell(new Phrase(t.getData().format(DATE_FORMATTER), DATA_FONT));
+        table.addCell(new Phrase(t.getTipo().getDescricao(), DATA_FONT));
+        table.addCell(new Phrase(t.getCategoria().getDescricao(), DATA_FONT));
+        table.addCell(new Phrase(t.getMoedaOriginal(), DATA_FONT));
+        table.addCell(new Phrase(t.getValorOriginal().toString(), DATA_FONT));
+        table.addCell(new Phrase(t.getDescricao() != null ? t.getDescricao() : "", DATA_FONT));
+    }
+
+    private void adicionarBloco(Document document, PdfPTable table) {
+        try {
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new ExceptionConverter(e);
+        }
     }
 
     private String formatarPeriodo(ParametrosRelatorio params) {
@@ -1,124 +1,423 @@
 package br.com.gestao.financeira.infraestrutura.components;
 
 import br.com.gestao.financeira.aplicacao.dto.ResultadoImportacaoDto;
+import br.com.gestao.financeira.aplicacao.dto.TransacaoCriacaoDto;
+import br.com.gestao.financeira.aplicacao.dto.UsuarioCriacaoDto;
+import br.com.gestao.financeira.dominio.entity.Transacao;
 import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.JobImportacao;
+import br.com.gestao.financeira.dominio.services.TransacaoService;
 import br.com.gestao.financeira.dominio.services.UsuarioService;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
- * Serviço para importação de usuários via arquivo Excel.
+ * Serviço para importação de usuários e transações via planilha (.xlsx ou
+ * .csv).
+ *
+ * O arquivo é lido em streaming pelo {@link LeitorPlanilha} e as linhas são
+ * processadas em blocos de {@link #BLOCO_IMPORTACAO}: cada bloco é validado,
+ * verificado contra o banco com uma única consulta por campo único e gravado
+ * em batch na sua própria transação. A memória usada não depende do tamanho
+ * do arquivo.
+ *
+ * Cada linha passa pelas mesmas validações do DTO de criação
+ * ({@link UsuarioCriacaoDto} ou {@link TransacaoCriacaoDto}) e é recusada
+ * sozinha, sem levar o bloco junto. Se a
+ * gravação de um bloco falhar, suas linhas são recusadas com uma mensagem
+ * genérica; o detalhe do erro fica só no log.
+ *
+ * Na importação de usuários, as linhas com email ou CPF já cadastrado são
+ * recusadas antes de qualquer hash; só as senhas das linhas restantes são
+ * codificadas, em paralelo no pool hashSenhaExecutor enquanto a leitura
+ * segue. No máximo {@link #BLOCOS_EM_CODIFICACAO} blocos aguardam a
+ * codificação; o próximo bloco só é lido depois que o mais antigo for
+ * gravado.
  */
 @Service
 public class ImportacaoExcelServico {
 
     private static final Logger log = LoggerFactory.getLogger(ImportacaoExcelServico.class);
 
+    static final int BLOCO_IMPORTACAO = 500;
+    static final int BLOCOS_EM_CODIFICACAO = 2;
+
+    // Mensagens devolvidas ao cliente quando um bloco inteiro falha
+    static final String ERRO_GRAVAR = "Erro ao gravar";
+    static final String ERRO_CODIFICAR = "Erro ao codificar a senha";
+
+    private static final List<DateTimeFormatter> FORMATOS_DATA = List.of(
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm[:ss]"),
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    private static final List<DateTimeFormatter> FORMATOS_DIA = List.of(
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ISO_LOCAL_DATE);
+
     private final UsuarioService usuariosServico;
+    private final TransacaoService transacaoService;
+    private final LeitorPlanilha leitorPlanilha;
+    private final Executor hashSenhaExecutor;
+    private final Validator validador;
 
-    public ImportacaoExcelServico(UsuarioService usuariosServico) {
+    public ImportacaoExcelServico(UsuarioService usuariosServico,
+            TransacaoService transacaoService,
+            LeitorPlanilha leitorPlanilha,
+            @Qualifier("hashSenhaExecutor") Executor hashSenhaExecutor,
+            Validator validador) {
         this.usuariosServico = usuariosServico;
+        this.transacaoService = transacaoService;
+        this.leitorPlanilha = leitorPlanilha;
+        this.hashSenhaExecutor = hashSenhaExecutor;
+        this.validador = validador;
     }
 
     /**
-     * Importa usuários de um arquivo Excel.
+     * Importa usuários de uma planilha já gravada em disco, registrando o
+     * progresso no job.
      * Formato esperado: Nome Completo | Email | CPF | Senha | Moeda Padrão
+     *
+     * @param arquivo     cópia local do arquivo enviado
+     * @param nomeArquivo nome original (define se é .csv ou .xlsx)
+     * @param job         job que acompanha a importação
      */
-    public ResultadoImportacaoDto importar(MultipartFile arquivo) {
-        log.info("Iniciando importação de usuários do arquivo: {}", arquivo.getOriginalFilename());
+    public void importarUsuarios(Path arquivo, String nomeArquivo, JobImportacao job) {
+        log.info("Iniciando importação de usuários do arquivo: {}", nomeArquivo);
 
-        List<String> erros = new ArrayList<>();
-        int sucessos = 0;
-        int falhas = 0;
+        Deque<BlocoUsuarios> emCodificacao = new ArrayDeque<>();
+        List<Linha<Usuario>> bloco = new ArrayList<>(BLOCO_IMPORTACAO);
+        try {
+            leitorPlanilha.ler(arquivo, nomeArquivo, (numero, celulas) -> {
+                // Pula o cabeçalho (linha 0)
+                if (numero == 0) {
+                    return;
+                }
+                job.registrarLinhaLida();
+                try {
+                    bloco.add(new Linha<>(numero + 1, extrairUsuario(celulas)));
+                } catch (IllegalArgumentException e) {
+                    job.registrarFalha(numero + 1, e.getMessage());
+                }
+                if (bloco.size() == BLOCO_IMPORTACAO) {
+                    codificar(new ArrayList<>(bloco), emCodificacao, job);
+                    bloco.clear();
+                }
+            });
+            codificar(bloco, emCodificacao, job);
+        } catch (Exception e) {
+            log.error("Erro ao processar arquivo: {}", e.getMessage(), e);
+            job.registrarErro("Erro ao processar arquivo: " + e.getMessage());
+        } finally {
+            // Blocos já lidos são gravados mesmo que a leitura tenha parado no meio
+            while (!emCodificacao.isEmpty()) {
+                gravarUsuarios(emCodificacao.poll(), job);
+            }
+        }
 
-        try (Workbook workbook = new XSSFWorkbook(arquivo.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            int totalLinhas = sheet.getLastRowNum();
+        log.info("Importação concluída. Sucessos: {}, Falhas: {}", job.getSucessos(), job.getFalhas());
+    }
 
-            // Pula o cabeçalho (linha 0)
-            for (int i = 1; i <= totalLinhas; i++) {
-                Row row = sheet.getRow(i);
-                if (row == null)
-                    continue;
+    /**
+     * Importa transações de uma planilha para o usuário informado.
+     * Formato esperado: Data | Tipo | Categoria | Moeda | Valor | Descrição
+     *
+     * Tipo e categoria aceitam o nome ou a descrição (ex.: "DESPESA" ou
+     * "Despesa", "ALIMENTACAO" ou "Alimentação"). Datas em dd/MM/yyyy ou
+     * ISO-8601; valores com vírgula ou ponto decimal.
+     */
+    public ResultadoImportacaoDto importarTransacoes(Long usuarioId, MultipartFile arquivo) {
+        log.info("Iniciando importação de transações do arquivo {} para o usuário {}",
+                arquivo.getOriginalFilename(), usuarioId);
 
+        JobImportacao resultado = new JobImportacao(arquivo.getOriginalFilename());
+        List<Linha<Transacao>> bloco = new ArrayList<>(BLOCO_IMPORTACAO);
+        try {
+            leitorPlanilha.ler(arquivo, (numero, celulas) -> {
+                if (numero == 0) {
+                    return;
+                }
+                resultado.registrarLinhaLida();
                 try {
-                    Usuario usuario = extrairUsuario(row, i);
-                    usuariosServico.criarUsuario(usuario);
-                    sucessos++;
-                    log.debug("Usuário importado com sucesso: {}", usuario.getEmail());
-                } catch (Exception e) {
-                    falhas++;
-                    String erro = "Linha " + (i + 1) + ": " + e.getMessage();
-                    erros.add(erro);
-                    log.warn("Erro ao importar linha {}: {}", i + 1, e.getMessage());
+                    bloco.add(new Linha<>(numero + 1, extrairTransacao(usuarioId, celulas)));
+                } catch (IllegalArgumentException e) {
+                    resultado.registrarFalha(numero + 1, e.getMessage());
                 }
-            }
-
+                if (bloco.size() == BLOCO_IMPORTACAO) {
+                    gravarTransacoes(usuarioId, bloco, resultado);
+                    bloco.clear();
+                }
+            });
+            gravarTransacoes(usuarioId, bloco, resultado);
         } catch (Exception e) {
-            log.error("Erro ao processar arquivo Excel: {}", e.getMessage(), e);
-            erros.add("Erro ao processar arquivo: " + e.getMessage());
+            log.error("Erro ao processar arquivo: {}", e.getMessage(), e);
+            resultado.registrarErro("Erro ao processar arquivo: " + e.getMessage());
         }
 
-        log.info("Importação concluída. Sucessos: {}, Falhas: {}", sucessos, falhas);
-        return new ResultadoImportacaoDto(sucessos + falhas, sucessos, falhas, erros);
+        log.info("Importação de transações concluída. Sucessos: {}, Falhas: {}",
+                resultado.getSucessos(), resultado.getFalhas());
+        return resultado.paraResultado();
     }
 
-    private Usuario extrairUsuario(Row row, int linha) {
-        Usuario usuario = new Usuario();
+    /**
+     * Recusa as linhas do bloco cujo email ou CPF já está cadastrado, repetido
+     * no bloco ou em um bloco ainda não gravado, e agenda a codificação das
+     * senhas das demais. Se já houver blocos demais aguardando, grava o mais
+     * antigo antes de seguir com a leitura.
+     */
+    private void codificar(List<Linha<Usuario>> bloco, Deque<BlocoUsuarios> emCodificacao,
+            JobImportacao job) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        List<Linha<Usuario>> validas = semDuplicados(bloco, emCodificacao, job);
+        if (!validas.isEmpty()) {
+            CompletableFuture<?>[] tarefas = validas.stream()
+                    .map(Linha::item)
+                    .map(usuario -> CompletableFuture.runAsync(
+                            () -> usuario.setSenha(usuariosServico.codificarSenha(usuario.getSenha())),
+                            hashSenhaExecutor))
+                    .toArray(CompletableFuture[]::new);
+            emCodificacao.add(new BlocoUsuarios(validas, CompletableFuture.allOf(tarefas)));
+        }
 
-        String nomeCompleto = getCellString(row.getCell(0));
-        if (nomeCompleto == null || nomeCompleto.isBlank()) {
-            throw new IllegalArgumentException("Nome completo é obrigatório");
+        while (emCodificacao.size() > BLOCOS_EM_CODIFICACAO) {
+            gravarUsuarios(emCodificacao.poll(), job);
         }
-        usuario.setNomeCompleto(nomeCompleto);
+    }
 
-        String email = getCellString(row.getCell(1));
-        if (email == null || email.isBlank()) {
-            throw new IllegalArgumentException("Email é obrigatório");
+    /**
+     * Linhas do bloco que podem ser gravadas, com uma única consulta ao banco
+     * por campo único. Os blocos anteriores ou já foram gravados (e a
+     * consulta os cobre) ou ainda aguardam a codificação (e são conferidos
+     * aqui).
+     */
+    private List<Linha<Usuario>> semDuplicados(List<Linha<Usuario>> bloco, Deque<BlocoUsuarios> emCodificacao,
+            JobImportacao job) {
+        Set<String> emails = new HashSet<>();
+        Set<String> cpfs = new HashSet<>();
+        for (Linha<Usuario> linha : bloco) {
+            emails.add(linha.item().getEmail());
+            cpfs.add(linha.item().getCpf());
         }
-        usuario.setEmail(email);
+        Set<String> emailsCadastrados = usuariosServico.emailsCadastrados(emails);
+        Set<String> cpfsCadastrados = usuariosServico.cpfsCadastrados(cpfs);
 
-        String cpf = getCellString(row.getCell(2));
-        if (cpf == null || cpf.isBlank()) {
-            throw new IllegalArgumentException("CPF é obrigatório");
+        emails.clear();
+        cpfs.clear();
+        for (BlocoUsuarios pendente : emCodificacao) {
+            for (Linha<Usuario> linha : pendente.linhas()) {
+                emails.add(linha.item().getEmail());
+                cpfs.add(linha.item().getCpf());
+            }
         }
-        // Remove formatação do CPF
-        cpf = cpf.replaceAll("[^0-9]", "");
-        usuario.setCpf(cpf);
+        List<Linha<Usuario>> validas = new ArrayList<>(bloco.size());
+        for (Linha<Usuario> linha : bloco) {
+            Usuario usuario = linha.item();
+            if (emailsCadastrados.contains(usuario.getEmail()) || !emails.add(usuario.getEmail())) {
+                job.registrarFalha(linha.numero(), "Email já cadastrado: " + usuario.getEmail());
+            } else if (cpfsCadastrados.contains(usuario.getCpf()) || !cpfs.add(usuario.getCpf())) {
+                job.registrarFalha(linha.numero(), "CPF já cadastrado: " + usuario.getCpf());
+            } else {
+                validas.add(linha);
+            }
+        }
+        return validas;
+    }
 
-        String senha = getCellString(row.getCell(3));
-        if (senha == null || senha.isBlank()) {
-            senha = "senha123"; // Senha padrão se não informada
+    /**
+     * Aguarda as senhas do bloco, já sem duplicados, e grava as linhas de uma
+     * vez. Os blocos são gravados na ordem do arquivo.
+     */
+    private void gravarUsuarios(BlocoUsuarios pendente, JobImportacao job) {
+        List<Linha<Usuario>> bloco = pendente.linhas();
+        try {
+            pendente.senhasCodificadas().join();
+        } catch (Exception e) {
+            log.warn("Erro ao codificar senhas de {} usuários", bloco.size(), e);
+            bloco.forEach(l -> job.registrarFalha(l.numero(), ERRO_CODIFICAR));
+            return;
+        }
+
+        try {
+            usuariosServico.criarLote(bloco.stream().map(Linha::item).toList());
+            job.registrarSucessos(bloco.size());
+        } catch (Exception e) {
+            log.warn("Erro ao gravar bloco de {} usuários", bloco.size(), e);
+            bloco.forEach(l -> job.registrarFalha(l.numero(), ERRO_GRAVAR));
         }
-        usuario.setSenha(senha);
+    }
 
-        String moedaPadrao = getCellString(row.getCell(4));
-        if (moedaPadrao == null || moedaPadrao.isBlank()) {
-            moedaPadrao = "BRL";
+    private void gravarTransacoes(Long usuarioId, List<Linha<Transacao>> bloco, JobImportacao resultado) {
+        if (bloco.isEmpty()) {
+            return;
         }
-        usuario.setMoedaPadrao(moedaPadrao.toUpperCase());
+        try {
+            transacaoService.registrarLote(usuarioId, bloco.stream().map(Linha::item).toList());
+            resultado.registrarSucessos(bloco.size());
+        } catch (Exception e) {
+            log.warn("Erro ao gravar bloco de {} transações", bloco.size(), e);
+            bloco.forEach(l -> resultado.registrarFalha(l.numero(), ERRO_GRAVAR));
+        }
+    }
 
+    /**
+     * Converte a linha em usuário, validando-a como um
+     * {@link UsuarioCriacaoDto}, antes das verificações de duplicidade e da
+     * codificação da senha.
+     */
+    private Usuario extrairUsuario(List<String> celulas) {
+        UsuarioCriacaoDto dto = new UsuarioCriacaoDto();
+        dto.setNomeCompleto(celula(celulas, 0));
+        dto.setEmail(celula(celulas, 1));
+        String cpf = celula(celulas, 2);
+        // Remove formatação do CPF
+        dto.setCpf(cpf == null ? null : cpf.replaceAll("[^0-9]", ""));
+        String senha = celula(celulas, 3);
+        dto.setSenha(senha == null ? "senha123" : senha); // Senha padrão se não informada
+        String moedaPadrao = celula(celulas, 4);
+        dto.setMoedaPadrao(moedaPadrao == null ? "BRL" : moedaPadrao.toUpperCase());
+        validar(dto);
+
+        Usuario usuario = new Usuario();
+        usuario.setNomeCompleto(dto.getNomeCompleto());
+        usuario.setEmail(dto.getEmail());
+        usuario.setCpf(dto.getCpf());
+        usuario.setSenha(dto.getSenha());
+        usuario.setMoedaPadrao(dto.getMoedaPadrao());
         return usuario;
     }
 
-    private String getCellString(Cell cell) {
-        if (cell == null)
-            return null;
+    /**
+     * Converte a linha em transação, validando-a como um
+     * {@link TransacaoCriacaoDto}; as violações são devolvidas juntas, no
+     * mesmo formato de POST /transacoes/lote.
+     */
+    private Transacao extrairTransacao(Long usuarioId, List<String> celulas) {
+        String data = celula(celulas, 0);
+
+        TransacaoCriacaoDto dto = new TransacaoCriacaoDto();
+        dto.setUsuarioId(usuarioId);
+        dto.setData(data == null ? LocalDateTime.now() : lerData(data));
+        dto.setTipo(lerEnum(TipoTransacao.class, celula(celulas, 1), "Tipo"));
+        dto.setCategoria(lerEnum(CategoriaTransacao.class, celula(celulas, 2), "Categoria"));
+        String moeda = celula(celulas, 3);
+        dto.setMoeda(moeda == null ? "BRL" : moeda.toUpperCase());
+        dto.setValor(lerValor(celula(celulas, 4)));
+        dto.setDescricao(celula(celulas, 5));
+
+        validar(dto);
 
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf((long) cell.getNumericCellValue());
-            default:
-                return null;
+        Transacao transacao = new Transacao();
+        transacao.setData(dto.getData());
+        transacao.setTipo(dto.getTipo());
+        transacao.setCategoria(dto.getCategoria());
+        transacao.setMoedaOriginal(dto.getMoeda());
+        transacao.setValorOriginal(dto.getValor());
+        transacao.setDescricao(dto.getDescricao());
+        return transacao;
+    }
+
+    /**
+     * Recusa a linha com todas as violações do DTO, no mesmo formato dos
+     * itens de POST /transacoes/lote.
+     */
+    private <T> void validar(T dto) {
+        Set<ConstraintViolation<T>> violacoes = validador.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private LocalDateTime lerData(String texto) {
+        for (DateTimeFormatter formato : FORMATOS_DATA) {
+            try {
+                return LocalDateTime.parse(texto, formato);
+            } catch (DateTimeParseException e) {
+                // Tenta o próximo formato
+            }
+        }
+        for (DateTimeFormatter formato : FORMATOS_DIA) {
+            try {
+                return LocalDate.parse(texto, formato).atStartOfDay();
+            } catch (DateTimeParseException e) {
+                // Tenta o próximo formato
+            }
         }
+        throw new IllegalArgumentException("Data inválida: " + texto);
+    }
+
+    private BigDecimal lerValor(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("O valor é obrigatório");
+        }
+        String numero = texto.replaceAll("[^0-9,.-]", "");
+        // Com vírgula, o ponto é separador de milhar (1.234,56)
+        if (numero.indexOf(',') >= 0) {
+            numero = numero.replace(".", "").replace(',', '.');
+        }
+        try {
+            return new BigDecimal(numero);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + texto);
+        }
+    }
+
+    /**
+     * Aceita o nome da constante ou a sua descrição, sem diferenciar
+     * maiúsculas nem acentos.
+     */
+    private <E extends Enum<E>> E lerEnum(Class<E> tipo, String texto, String campo) {
+        if (texto == null) {
+            throw new IllegalArgumentException(campo + " é obrigatório");
+        }
+        String nome = Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .trim()
+                .toUpperCase();
+        try {
+            return Enum.valueOf(tipo, nome);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(campo + " inválido: " + texto);
+        }
+    }
+
+    private String celula(List<String> celulas, int indice) {
+        if (indice >= celulas.size()) {
+            return null;
+        }
+        String valor = celulas.get(indice);
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    private record Linha<T>(int numero, T item) {
+    }
+
+    private record BlocoUsuarios(List<Linha<Usuario>> linhas, CompletableFuture<Void> senhasCodificadas) {
     }
 }
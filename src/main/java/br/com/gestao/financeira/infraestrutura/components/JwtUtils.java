@@ -1,7 +1,12 @@
 package br.com.gestao.financeira.infraestrutura.components;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,27 +14,70 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Utilitário para geração e validação de tokens JWT.
+ *
+ * A chave de assinatura e o parser são criados uma vez, na inicialização.
+ * Tokens já verificados ficam em cache (chave: SHA-256 do token) com as
+ * claims até expirarem, de modo que cada requisição de um mesmo token não
+ * refaz o parse nem o HMAC. Um token adulterado tem outro hash e passa pela
+ * verificação completa. As estatísticas são publicadas como métricas
+ * "cache.*" com o nome "tokens".
  */
 @Component
 public class JwtUtils {
 
     private static final Logger log = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${jwt.secret:gestaoFinanceiraSecretKey2024VeryLongSecretForSecurity}")
-    private String jwtSecret;
+    static final String CLAIM_USUARIO_ID = "uid";
+    static final String CLAIM_PERFIL = "perfil";
+    static final String CLAIM_FAMILIA_ID = "fam";
+    static final String CLAIM_VERSAO = "ver";
 
-    @Value("${jwt.expiration:86400000}")
-    private long jwtExpirationMs;
+    private static final String NOME_CACHE = "tokens";
+
+    private final long jwtExpirationMs;
+    private final Key chaveAssinatura;
+    private final JwtParser parser;
+    private final Cache<String, Claims> tokensVerificados;
+
+    public JwtUtils(@Value("${jwt.secret:gestaoFinanceiraSecretKey2024VeryLongSecretForSecurity}") String jwtSecret,
+            @Value("${jwt.expiration:86400000}") long jwtExpirationMs,
+            @Value("${jwt.cache.maximum-size:10000}") long tamanhoMaximoCache,
+            MeterRegistry meterRegistry) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.chaveAssinatura = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(chaveAssinatura)
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiraComToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, NOME_CACHE);
+    }
 
     /**
      * Gera um token JWT para o usuário autenticado.
+     *
+     * Quando o principal é um {@link UsuarioAutenticado}, o token leva também
+     * o ID, o perfil e a família do usuário, para que as requisições seguintes
+     * decidam acesso sem consultar o banco, e a versão dos tokens do usuário,
+     * que invalida essas claims quando ele é alterado.
      */
     public String gerarToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -38,37 +86,54 @@ public class JwtUtils {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("roles", roles)
+                .claim("roles", roles);
+
+        if (userDetails instanceof UsuarioAutenticado usuario) {
+            builder.claim(CLAIM_USUARIO_ID, usuario.getId())
+                    .claim(CLAIM_PERFIL, usuario.getPerfil().name())
+                    .claim(CLAIM_VERSAO, usuario.getVersaoToken());
+            if (usuario.getFamiliaId() != null) {
+                builder.claim(CLAIM_FAMILIA_ID, usuario.getFamiliaId());
+            }
+        }
+
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(chaveAssinatura, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     /**
      * Extrai o nome de usuário (email) do token.
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
      */
     public String extrairEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return extrairClaims(token).getSubject();
     }
 
     /**
-     * Valida o token JWT.
+     * Extrai as claims do token, verificando a assinatura e a expiração. O
+     * resultado fica em cache até o token expirar.
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
      */
-    public boolean validarToken(String token) {
+    public Claims extrairClaims(String token) {
+        return tokensVerificados.get(hash(token), h -> parser.parseClaimsJws(token).getBody());
+    }
+
+    /**
+     * Verifica o token e devolve suas claims, registrando o motivo quando ele
+     * é recusado.
+     *
+     * @return vazio se o token for inválido ou estiver expirado
+     */
+    public Optional<Claims> verificar(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return Optional.of(extrairClaims(token));
         } catch (MalformedJwtException e) {
             log.error("Token JWT inválido: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -77,12 +142,73 @@ public class JwtUtils {
             log.error("Token JWT não suportado: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("Claims JWT vazios: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("Token JWT recusado: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Monta o usuário autenticado a partir das claims do token.
+     *
+     * @return vazio se o token não traz ID, perfil e versão (tokens emitidos
+     *         antes dessas claims existirem)
+     */
+    public Optional<UsuarioAutenticado> usuarioDasClaims(Claims claims) {
+        Long id = claims.get(CLAIM_USUARIO_ID, Long.class);
+        String perfil = claims.get(CLAIM_PERFIL, String.class);
+        Integer versao = claims.get(CLAIM_VERSAO, Integer.class);
+        if (id == null || perfil == null || versao == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UsuarioAutenticado(
+                id,
+                claims.getSubject(),
+                null,
+                PerfilUsuario.valueOf(perfil),
+                claims.get(CLAIM_FAMILIA_ID, Long.class),
+                versao));
+    }
+
+    /**
+     * Valida o token JWT.
+     */
+    public boolean validarToken(String token) {
+        return verificar(token).isPresent();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Mantém as claims em cache até a expiração do próprio token.
+     */
+    private static class ExpiraComToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String chave, Claims claims, long agora) {
+            Date expiracao = claims.getExpiration();
+            if (expiracao == null) {
+                return 0;
+            }
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiracao.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Claims claims, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Claims claims, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
     }
 }
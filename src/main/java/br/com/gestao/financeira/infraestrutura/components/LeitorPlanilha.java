@@ -0,0 +1,250 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lê planilhas linha a linha, sem carregar o arquivo inteiro em memória.
+ *
+ * Arquivos .csv são lidos como texto (separador ; ou , detectado na
+ * primeira linha). Arquivos .xlsx são lidos pela API de eventos do POI
+ * ({@link XSSFReader} + SAX): apenas a linha corrente e a tabela de textos
+ * compartilhados ficam em memória.
+ *
+ * As células chegam como texto. Nas planilhas, datas são entregues em
+ * ISO-8601 e números sem separador de milhar, independentemente do formato
+ * de exibição da célula.
+ */
+@Component
+public class LeitorPlanilha {
+
+    /**
+     * Recebe cada linha lida. O número da linha começa em 0 (cabeçalho).
+     */
+    @FunctionalInterface
+    public interface ConsumidorLinha {
+        void aceitar(int numeroLinha, List<String> celulas);
+    }
+
+    /**
+     * Lê a primeira planilha do arquivo (ou o CSV) e entrega cada linha ao
+     * consumidor, na ordem do arquivo.
+     */
+    public void ler(MultipartFile arquivo, ConsumidorLinha consumidor) {
+        String nome = arquivo.getOriginalFilename();
+        try {
+            if (isCsv(nome)) {
+                try (InputStream entrada = arquivo.getInputStream()) {
+                    lerCsv(entrada, consumidor);
+                }
+                return;
+            }
+            // O pacote é aberto a partir de um arquivo para que o ZIP não seja
+            // descompactado inteiro em memória
+            Path temporario = Files.createTempFile("importacao-", ".xlsx");
+            try {
+                arquivo.transferTo(temporario);
+                lerXlsx(temporario, consumidor);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Não foi possível ler o arquivo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mesmo que {@link #ler(MultipartFile, ConsumidorLinha)}, para um arquivo
+     * já gravado em disco. O formato é decidido pelo nome original.
+     */
+    public void ler(Path arquivo, String nomeArquivo, ConsumidorLinha consumidor) {
+        try {
+            if (isCsv(nomeArquivo)) {
+                try (InputStream entrada = Files.newInputStream(arquivo)) {
+                    lerCsv(entrada, consumidor);
+                }
+            } else {
+                lerXlsx(arquivo, consumidor);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Não foi possível ler o arquivo: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isCsv(String nomeArquivo) {
+        return nomeArquivo != null && nomeArquivo.toLowerCase().endsWith(".csv");
+    }
+
+    void lerCsv(InputStream entrada, ConsumidorLinha consumidor) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String linha = leitor.readLine();
+        if (linha == null) {
+            return;
+        }
+        // Remove o BOM gravado por planilhas exportadas em UTF-8
+        if (linha.startsWith("\uFEFF")) {
+            linha = linha.substring(1);
+        }
+        char separador = linha.indexOf(';') >= 0 ? ';' : ',';
+
+        int numero = 0;
+        while (linha != null) {
+            if (!linha.isBlank()) {
+                consumidor.aceitar(numero, dividirCsv(linha, separador, leitor));
+            }
+            numero++;
+            linha = leitor.readLine();
+        }
+    }
+
+    /**
+     * Divide uma linha CSV, respeitando campos entre aspas (que podem conter
+     * o separador, aspas duplicadas e quebras de linha).
+     */
+    private List<String> dividirCsv(String linha, char separador, BufferedReader restante) throws IOException {
+        List<String> celulas = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        int i = 0;
+        while (true) {
+            if (i == linha.length()) {
+                if (!entreAspas) {
+                    break;
+                }
+                // Campo entre aspas continua na próxima linha
+                String proxima = restante.readLine();
+                if (proxima == null) {
+                    break;
+                }
+                atual.append('\n');
+                linha = proxima;
+                i = 0;
+                continue;
+            }
+            char c = linha.charAt(i++);
+            if (entreAspas) {
+                if (c == '"' && i < linha.length() && linha.charAt(i) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                celulas.add(atual.toString().trim());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        celulas.add(atual.toString().trim());
+        return celulas;
+    }
+
+    private void lerXlsx(Path arquivo, ConsumidorLinha consumidor) throws IOException {
+        try (OPCPackage pacote = OPCPackage.open(arquivo.toFile(), PackageAccess.READ)) {
+            XSSFReader leitor = new XSSFReader(pacote);
+            ReadOnlySharedStringsTable textos = new ReadOnlySharedStringsTable(pacote);
+            StylesTable estilos = leitor.getStylesTable();
+            Iterator<InputStream> planilhas = leitor.getSheetsData();
+            if (!planilhas.hasNext()) {
+                return;
+            }
+            try (InputStream planilha = planilhas.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(estilos, null, textos,
+                        new ColetorLinhas(consumidor), new FormatadorValoresBrutos(), false));
+                parser.parse(new InputSource(planilha));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Formata células numéricas pelo valor, não pela máscara de exibição:
+     * "1.234,50" ou "15/01/24" na tela viram "1234.5" e
+     * "2024-01-15T00:00" para o importador.
+     */
+    private static class FormatadorValoresBrutos extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double valor, int indiceFormato, String formato,
+                boolean data1904) {
+            if (DateUtil.isADateFormat(indiceFormato, formato) && DateUtil.isValidExcelDate(valor)) {
+                return DateUtil.getLocalDateTime(valor, data1904).toString();
+            }
+            return BigDecimal.valueOf(valor).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    /**
+     * Monta a lista de células de cada linha a partir dos eventos SAX,
+     * preenchendo com null as células vazias que o XML omite.
+     */
+    private static class ColetorLinhas implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ConsumidorLinha consumidor;
+        private List<String> celulas;
+
+        ColetorLinhas(ConsumidorLinha consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void startRow(int numeroLinha) {
+            celulas = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int numeroLinha) {
+            if (celulas.stream().anyMatch(c -> c != null && !c.isBlank())) {
+                consumidor.aceitar(numeroLinha, celulas);
+            }
+        }
+
+        @Override
+        public void cell(String referencia, String valorFormatado, XSSFComment comentario) {
+            int coluna = referencia != null ? new CellReference(referencia).getCol() : celulas.size();
+            while (celulas.size() < coluna) {
+                celulas.add(null);
+            }
+            celulas.add(valorFormatado != null ? valorFormatado.trim() : null);
+        }
+
+        @Override
+        public void headerFooter(String texto, boolean cabecalho, String tag) {
+            // Cabeçalhos e rodapés de impressão não são importados
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.entity.ChatMessage;
+import br.com.gestao.financeira.dominio.entity.ChatMessage.ChatRole;
+import br.com.gestao.financeira.dominio.modelo.JanelaConversa;
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+import br.com.gestao.financeira.dominio.repository.ChatMessageRepository;
+import br.com.gestao.financeira.dominio.repository.MemoriaConversaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Memória das conversas com o assistente, por sessão, mantida em memória.
+ *
+ * Cada sessão guarda as mensagens recentes até chat.memoria.orcamento-tokens;
+ * ao ultrapassá-lo, as mais antigas saem da janela e suas perguntas entram
+ * num resumo acumulado, limitado a chat.memoria.orcamento-resumo (os
+ * assuntos mais antigos são descartados primeiro). O resumo é extrativo:
+ * resumir com o próprio modelo custaria outra inferência por mensagem.
+ * Assim o prompt tem tamanho limitado por mais longa que seja a sessão.
+ *
+ * Uma sessão que não está em memória é reconstruída com as últimas
+ * mensagens gravadas. As estatísticas são publicadas como métricas
+ * "cache.*" com o nome "conversas".
+ */
+@Component
+public class MemoriaConversaCache implements MemoriaConversaRepository {
+
+    private static final String NOME_CACHE = "conversas";
+    // Mensagens lidas do banco ao retomar uma sessão
+    private static final int MENSAGENS_CARGA = 50;
+    private static final int CARACTERES_POR_ASSUNTO = 120;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final int orcamentoTokens;
+    private final int orcamentoResumo;
+    private final Cache<ChaveSessao, Sessao> sessoes;
+
+    public MemoriaConversaCache(ChatMessageRepository chatMessageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chat.memoria.orcamento-tokens:1000}") int orcamentoTokens,
+            @Value("${chat.memoria.orcamento-resumo:200}") int orcamentoResumo,
+            @Value("${chat.memoria.maximum-size:10000}") long tamanhoMaximo,
+            @Value("${chat.memoria.expire-after-access:PT2H}") Duration expirarApos) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.orcamentoTokens = orcamentoTokens;
+        this.orcamentoResumo = orcamentoResumo;
+        this.sessoes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterAccess(expirarApos)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessoes, NOME_CACHE);
+    }
+
+    @Override
+    public JanelaConversa janela(Long usuarioId, String sessionId) {
+        if (sessionId == null) {
+            return JanelaConversa.VAZIA;
+        }
+        return sessoes.get(new ChaveSessao(usuarioId, sessionId), this::carregar).janela();
+    }
+
+    @Override
+    public void registrar(Long usuarioId, String sessionId, TurnoConversa pergunta, TurnoConversa resposta) {
+        // Sessão fora da memória: será reconstruída do banco, que já tem as mensagens
+        Sessao sessao = sessoes.getIfPresent(new ChaveSessao(usuarioId, sessionId));
+        if (sessao != null) {
+            sessao.adicionar(pergunta, resposta);
+        }
+    }
+
+    @Override
+    public void esquecer(Long usuarioId) {
+        sessoes.asMap().keySet().removeIf(chave -> chave.usuarioId().equals(usuarioId));
+    }
+
+    private Sessao carregar(ChaveSessao chave) {
+        List<ChatMessage> recentes = chatMessageRepository.findByUsuarioIdAndSessionIdOrderByCriadoEmDescIdDesc(
+                chave.usuarioId(), chave.sessionId(), PageRequest.of(0, MENSAGENS_CARGA));
+        Sessao sessao = new Sessao(orcamentoTokens, orcamentoResumo);
+        for (int i = recentes.size() - 1; i >= 0; i--) {
+            ChatMessage mensagem = recentes.get(i);
+            sessao.adicionar(new TurnoConversa(mensagem.getRole(), mensagem.getContent()));
+        }
+        return sessao;
+    }
+
+    /**
+     * Sessão de um usuário: o mesmo ID de sessão enviado por outro usuário
+     * não dá acesso a esta conversa.
+     */
+    private record ChaveSessao(Long usuarioId, String sessionId) {
+    }
+
+    private static class Sessao {
+
+        private final int orcamentoTokens;
+        private final int orcamentoResumo;
+        private final Deque<TurnoConversa> recentes = new ArrayDeque<>();
+        private final Deque<String> assuntos = new ArrayDeque<>();
+        private int tokensRecentes;
+        private int tokensResumo;
+
+        Sessao(int orcamentoTokens, int orcamentoResumo) {
+            this.orcamentoTokens = orcamentoTokens;
+            this.orcamentoResumo = orcamentoResumo;
+        }
+
+        synchronized void adicionar(TurnoConversa... turnos) {
+            for (TurnoConversa turno : turnos) {
+                recentes.addLast(turno);
+                tokensRecentes += turno.tokensEstimados();
+            }
+            while (tokensRecentes > orcamentoTokens && !recentes.isEmpty()) {
+                TurnoConversa antigo = recentes.pollFirst();
+                tokensRecentes -= antigo.tokensEstimados();
+                resumir(antigo);
+            }
+        }
+
+        synchronized JanelaConversa janela() {
+            String resumo = assuntos.isEmpty() ? null
+                    : "Assuntos anteriores desta conversa:\n" + String.join("\n", assuntos);
+            return new JanelaConversa(resumo, List.copyOf(recentes));
+        }
+
+        private void resumir(TurnoConversa turno) {
+            if (turno.papel() != ChatRole.USER) {
+                return;
+            }
+            String conteudo = turno.conteudo().strip().replaceAll("\\s+", " ");
+            String assunto = "- " + (conteudo.length() > CARACTERES_POR_ASSUNTO
+                    ? conteudo.substring(0, CARACTERES_POR_ASSUNTO) + "..."
+                    : conteudo);
+            assuntos.addLast(assunto);
+            tokensResumo += JanelaConversa.estimarTokens(assunto);
+            while (tokensResumo > orcamentoResumo && !assuntos.isEmpty()) {
+                tokensResumo -= JanelaConversa.estimarTokens(assuntos.pollFirst());
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Armazena em disco local os relatórios já gerados.
+ *
+ * Cada arquivo é identificado pelo hash da chave do relatório (usuário,
+ * período, moeda, formato e versão dos dados), de modo que pedidos
+ * repetidos reaproveitam o arquivo enquanto os dados não mudarem. Os
+ * arquivos expiram após relatorios.armazenamento.ttl.
+ */
+@Component
+public class RelatorioArquivoStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioArquivoStore.class);
+
+    private final Path diretorio;
+    private final Duration ttl;
+
+    public RelatorioArquivoStore(
+            @Value("${relatorios.armazenamento.diretorio:${java.io.tmpdir}/relatorios}") Path diretorio,
+            @Value("${relatorios.armazenamento.ttl:PT1H}") Duration ttl) {
+        this.diretorio = diretorio;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Arquivo já gerado para a chave, se existir e ainda não tiver expirado.
+     */
+    public Optional<Path> obter(String chave, String extensao) {
+        Path arquivo = caminho(chave, extensao);
+        try {
+            if (Files.exists(arquivo) && !expirado(Files.getLastModifiedTime(arquivo))) {
+                return Optional.of(arquivo);
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível ler o relatório {}: {}", arquivo, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gera o arquivo da chave em um temporário e o publica com um move
+     * atômico, para que leitores nunca vejam um arquivo incompleto.
+     */
+    public Path gravar(String chave, String extensao, Consumer<OutputStream> gerador) {
+        try {
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, "gerando-", ".tmp");
+            try {
+                try (OutputStream saida = new BufferedOutputStream(Files.newOutputStream(temporario))) {
+                    gerador.accept(saida);
+                }
+                return Files.move(temporario, caminho(chave, extensao),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar relatório: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gera o arquivo da chave enviando cada bloco também para o destino
+     * informado, de modo que quem pediu recebe o relatório enquanto ele é
+     * gravado. O destino não é fechado.
+     */
+    public Path gravarEnviando(String chave, String extensao, OutputStream destino,
+            Consumer<OutputStream> gerador) {
+        return gravar(chave, extensao, arquivo -> gerador.accept(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                arquivo.write(b);
+                destino.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                arquivo.write(b, off, len);
+                destino.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                arquivo.flush();
+                destino.flush();
+            }
+        }));
+    }
+
+    /**
+     * Copia o arquivo para a saída em blocos, sem carregar o relatório
+     * inteiro em memória. A saída do servlet é um stream, então a cópia passa
+     * por um buffer no heap (não é zero-copy). A saída não é fechada.
+     */
+    public void enviar(Path arquivo, OutputStream saida) {
+        try {
+            Files.copy(arquivo, saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao enviar relatório: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Identificador estável da chave, usado no nome do arquivo e como ETag.
+     */
+    public String identificador(String chave) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(chave.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Remove os arquivos expirados.
+     */
+    @Scheduled(fixedDelayString = "${relatorios.armazenamento.limpeza:PT10M}")
+    public void removerExpirados() {
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+        int removidos = 0;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio)) {
+            for (Path arquivo : arquivos) {
+                if (expirado(Files.getLastModifiedTime(arquivo)) && Files.deleteIfExists(arquivo)) {
+                    removidos++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Falha na limpeza de relatórios: {}", e.getMessage());
+        }
+        if (removidos > 0) {
+            log.info("{} relatórios expirados removidos", removidos);
+        }
+    }
+
+    private boolean expirado(FileTime modificadoEm) {
+        return modificadoEm.toInstant().plus(ttl).isBefore(Instant.now());
+    }
+
+    private Path caminho(String chave, String extensao) {
+        return diretorio.resolve(identificador(chave) + "." + extensao);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.modelo.ChaveResposta;
+import br.com.gestao.financeira.dominio.modelo.TransacoesAlteradas;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.repository.RespostaAssistenteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Respostas do assistente mantidas em memória, para que perguntas repetidas
+ * sobre o mesmo contexto não custem outra inferência.
+ *
+ * As entradas saem por tamanho (chat.respostas.maximum-size, as menos usadas
+ * primeiro) e por idade (chat.respostas.expire-after-write). As do usuário
+ * são descartadas quando suas transações mudam; a chave já muda com o
+ * contexto, mas assim respostas que não serão mais usadas não ocupam o
+ * cache até expirar.
+ *
+ * As estatísticas são publicadas como métricas "cache.*" com o nome
+ * "respostasAssistente"; o tempo de inferência economizado por acerto, no
+ * timer "chat.respostas.inferencia.economizada".
+ */
+@Component
+public class RespostaAssistenteCache implements RespostaAssistenteRepository {
+
+    private static final String NOME_CACHE = "respostasAssistente";
+
+    private final Cache<ChaveResposta, RespostaGuardada> respostas;
+    private final Timer inferenciaEconomizada;
+
+    public RespostaAssistenteCache(MeterRegistry meterRegistry,
+            @Value("${chat.respostas.maximum-size:1000}") long tamanhoMaximo,
+            @Value("${chat.respostas.expire-after-write:PT30M}") Duration expirarApos) {
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expirarApos)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, respostas, NOME_CACHE);
+        this.inferenciaEconomizada = Timer.builder("chat.respostas.inferencia.economizada")
+                .description("Tempo de inferência evitado por respostas reaproveitadas do cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<String> buscar(ChaveResposta chave) {
+        RespostaGuardada guardada = respostas.getIfPresent(chave);
+        if (guardada == null) {
+            return Optional.empty();
+        }
+        inferenciaEconomizada.record(guardada.inferencia());
+        return Optional.of(guardada.texto());
+    }
+
+    @Override
+    public void guardar(ChaveResposta chave, String resposta, Duration inferencia) {
+        respostas.put(chave, new RespostaGuardada(resposta, inferencia));
+    }
+
+    @Override
+    public void esquecer(Long usuarioId) {
+        respostas.asMap().keySet().removeIf(chave -> chave.usuarioId().equals(usuarioId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTransacoes(TransacoesAlteradas evento) {
+        esquecer(evento.usuarioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlterado evento) {
+        esquecer(evento.usuarioId());
+    }
+
+    private record RespostaGuardada(String texto, Duration inferencia) {
+    }
+}
@@ -42,6 +42,7 @@ public class AdminUserSeeder implements CommandLineRunner {
             Usuario usuario = usuarioOpt.get();
             if (usuario.getPerfil() != PerfilUsuario.MASTER) {
                 usuario.setPerfil(PerfilUsuario.MASTER);
+                usuario.invalidarTokens();
                 usuarioRepository.save(usuario);
                 logger.info("Admin user permissions updated to MASTER for {}.", adminEmail);
             }
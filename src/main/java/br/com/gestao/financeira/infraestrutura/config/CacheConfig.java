@@ -11,7 +11,8 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Configuração de cache para a aplicação.
- * Utiliza Caffeine para cache de taxas de câmbio e moedas.
+ * Utiliza Caffeine para cache de taxas de câmbio e moedas. O cache das
+ * cotações da AwesomeAPI é gerenciado à parte pelo CotacaoCache.
  */
 @Configuration
 @EnableCaching
@@ -20,7 +21,7 @@ public class CacheConfig {
 
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("taxas", "taxasCambio", "moedas");
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("taxasCambio", "moedas");
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(5, TimeUnit.MINUTES)
                 .maximumSize(100)
@@ -3,7 +3,11 @@ package br.com.gestao.financeira.infraestrutura.config;
 import br.com.gestao.financeira.dominio.services.CambioService;
 import br.com.gestao.financeira.dominio.services.TransacaoService;
 import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.infraestrutura.components.FilaImportacoes;
+import br.com.gestao.financeira.infraestrutura.components.FilaInferencias;
+import br.com.gestao.financeira.infraestrutura.components.FilaRelatorios;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -106,6 +110,70 @@ public class ExcecaoHandler {
                 .body(criarRespostaErro(400, ex.getMessage(), null));
     }
 
+    @ExceptionHandler(FilaRelatorios.JobRelatorioNaoEncontradoException.class)
+    public ResponseEntity<Map<String, Object>> handleJobRelatorioNaoEncontrado(
+            FilaRelatorios.JobRelatorioNaoEncontradoException ex) {
+        log.warn("Relatório não encontrado: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(criarRespostaErro(404, ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(FilaRelatorios.RelatorioIndisponivelException.class)
+    public ResponseEntity<Map<String, Object>> handleRelatorioIndisponivel(
+            FilaRelatorios.RelatorioIndisponivelException ex) {
+        log.warn("Relatório indisponível: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(criarRespostaErro(409, ex.getMessage(), null));
+    }
+
+    /**
+     * Com a resposta já confirmada (parte do arquivo enviada), relança a
+     * exceção para o container abortar a conexão em vez de encerrar o envio
+     * normalmente com um arquivo truncado.
+     */
+    @ExceptionHandler(FilaRelatorios.RelatorioInterrompidoException.class)
+    public ResponseEntity<Map<String, Object>> handleRelatorioInterrompido(
+            FilaRelatorios.RelatorioInterrompidoException ex, HttpServletResponse response) {
+        log.error("Erro ao enviar relatório: {}", ex.getMessage(), ex);
+        if (response.isCommitted()) {
+            throw ex;
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(criarRespostaErro(500, "Erro ao gerar relatório", null));
+    }
+
+    @ExceptionHandler(FilaRelatorios.LimiteRelatoriosExcedidoException.class)
+    public ResponseEntity<Map<String, Object>> handleLimiteRelatoriosExcedido(
+            FilaRelatorios.LimiteRelatoriosExcedidoException ex) {
+        log.warn("Limite de relatórios: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(criarRespostaErro(429, ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(FilaImportacoes.JobImportacaoNaoEncontradoException.class)
+    public ResponseEntity<Map<String, Object>> handleJobImportacaoNaoEncontrado(
+            FilaImportacoes.JobImportacaoNaoEncontradoException ex) {
+        log.warn("Importação não encontrada: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(criarRespostaErro(404, ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(FilaImportacoes.LimiteImportacoesExcedidoException.class)
+    public ResponseEntity<Map<String, Object>> handleLimiteImportacoesExcedido(
+            FilaImportacoes.LimiteImportacoesExcedidoException ex) {
+        log.warn("Limite de importações: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(criarRespostaErro(429, ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(FilaInferencias.LimiteInferenciasExcedidoException.class)
+    public ResponseEntity<Map<String, Object>> handleLimiteInferenciasExcedido(
+            FilaInferencias.LimiteInferenciasExcedidoException ex) {
+        log.warn("Limite de inferências: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(criarRespostaErro(429, ex.getMessage(), null));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, Object>> handleBadCredentials(BadCredentialsException ex) {
         log.warn("Credenciais inválidas");
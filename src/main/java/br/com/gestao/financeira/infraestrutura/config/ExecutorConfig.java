@@ -0,0 +1,115 @@
+package br.com.gestao.financeira.infraestrutura.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuração dos pools de threads usados pela aplicação.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Pool padrão do Spring (requisições assíncronas do MVC, como os
+     * downloads em StreamingResponseBody), configurado por
+     * spring.task.execution.*. Declarado aqui porque o Spring Boot só o cria
+     * quando não há outro bean Executor, e os pools abaixo o desligariam; sem
+     * ele o MVC usaria um SimpleAsyncTaskExecutor, com uma thread nova por
+     * requisição.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Pool para resolver cotações em paralelo (uma tarefa por par de moedas).
+     */
+    @Bean(name = "cotacaoExecutor")
+    public Executor cotacaoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cotacao-");
+        // Se o pool estiver saturado, a própria thread da requisição resolve o par
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool dedicado à geração de relatórios, separado das threads do Tomcat.
+     * Com o pool e a fila cheios, o pedido é recusado em vez de executado
+     * na thread da requisição.
+     */
+    @Bean(name = "relatorioExecutor")
+    public Executor relatorioExecutor(@Value("${relatorios.workers:2}") int workers,
+            @Value("${relatorios.fila:50}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("relatorio-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool das importações de planilha. Cada importação ocupa um worker do
+     * início ao fim; com o pool e a fila cheios, o pedido é recusado.
+     */
+    @Bean(name = "importacaoExecutor")
+    public Executor importacaoExecutor(@Value("${importacao.workers:1}") int workers,
+            @Value("${importacao.fila:10}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("importacao-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool para codificar senhas (BCrypt) em paralelo durante a importação,
+     * com uma thread por núcleo. A fila é limitada: quando enche, a thread
+     * da importação codifica a senha ela mesma e deixa de ler a planilha.
+     */
+    @Bean(name = "hashSenhaExecutor")
+    public Executor hashSenhaExecutor(@Value("${importacao.hash.fila:1000}") int fila) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(nucleos);
+        executor.setMaxPoolSize(nucleos);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("hash-senha-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool das inferências do chat. O número de inferências simultâneas é
+     * limitado pela {@link br.com.gestao.financeira.infraestrutura.components.FilaInferencias},
+     * que só entrega uma tarefa ao pool quando há vaga.
+     */
+    @Bean(name = "chatExecutor")
+    public Executor chatExecutor(@Value("${chat.inferencias.max-concorrentes:1}") int maxConcorrentes) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcorrentes);
+        executor.setMaxPoolSize(maxConcorrentes);
+        executor.setThreadNamePrefix("chat-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.gestao.financeira.infraestrutura.config;
+
+import br.com.gestao.financeira.infraestrutura.integrations.CircuitoHttp;
+import br.com.gestao.financeira.infraestrutura.integrations.ClienteHttp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Clientes HTTP de saída, um por serviço externo, cada um com pool de
+ * conexões, timeouts, limite de conexões simultâneas e circuit breaker
+ * próprios (ver {@link ClienteHttp}).
+ */
+@Configuration
+public class HttpClientConfig {
+
+    private final MeterRegistry meterRegistry;
+    private final int falhasParaAbrir;
+    private final Duration abertoPor;
+
+    public HttpClientConfig(MeterRegistry meterRegistry,
+            @Value("${http.circuito.falhas:5}") int falhasParaAbrir,
+            @Value("${http.circuito.aberto-por:PT30S}") Duration abertoPor) {
+        this.meterRegistry = meterRegistry;
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.abertoPor = abertoPor;
+    }
+
+    /**
+     * AwesomeAPI: cotações, chamadas curtas. As conexões acompanham o pool
+     * cotacaoExecutor, que resolve pares em paralelo.
+     */
+    @Bean(name = "awesomeApiHttp")
+    public ClienteHttp awesomeApiHttp(@Value("${apis.awesomeapi.timeout.conexao:PT2S}") Duration conexao,
+            @Value("${apis.awesomeapi.timeout.leitura:PT5S}") Duration leitura,
+            @Value("${apis.awesomeapi.max-conexoes:8}") int maxConexoes) {
+        return criar("awesomeapi", conexao, leitura, maxConexoes);
+    }
+
+    /**
+     * BrasilAPI: lista de moedas, consultada raramente (o resultado fica em
+     * cache).
+     */
+    @Bean(name = "brasilApiHttp")
+    public ClienteHttp brasilApiHttp(@Value("${apis.brasilapi.timeout.conexao:PT2S}") Duration conexao,
+            @Value("${apis.brasilapi.timeout.leitura:PT10S}") Duration leitura,
+            @Value("${apis.brasilapi.max-conexoes:2}") int maxConexoes) {
+        return criar("brasilapi", conexao, leitura, maxConexoes);
+    }
+
+    /**
+     * gpt4all-service: inferências longas. No streaming o timeout de leitura
+     * vale entre dois trechos, não para a geração inteira. As inferências
+     * simultâneas já são limitadas pela FilaInferencias.
+     */
+    @Bean(name = "gpt4allHttp")
+    public ClienteHttp gpt4allHttp(@Value("${gpt4all.timeout.conexao:PT2S}") Duration conexao,
+            @Value("${gpt4all.timeout.leitura:PT2M}") Duration leitura,
+            @Value("${gpt4all.max-conexoes:4}") int maxConexoes) {
+        return criar("gpt4all", conexao, leitura, maxConexoes);
+    }
+
+    private ClienteHttp criar(String nome, Duration conexao, Duration leitura, int maxConexoes) {
+        return ClienteHttp.criar(nome, conexao, leitura, maxConexoes,
+                new CircuitoHttp(nome, falhasParaAbrir, abertoPor), meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.gestao.financeira.infraestrutura.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração para habilitar tarefas agendadas na aplicação.
+ * Usada pelo prefetch periódico de taxas de câmbio.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,15 +2,11 @@ package br.com.gestao.financeira.infraestrutura.config;
 
 import br.com.gestao.financeira.dominio.entity.Usuario;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import java.util.List;
-
 /**
  * Implementação de UserDetailsService para Spring Security.
  */
@@ -28,14 +24,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
 
-        return User.builder()
-                .username(usuario.getEmail())
-                .password(usuario.getSenha())
-                .authorities(List.of(new SimpleGrantedAuthority(usuario.getPerfil().getRole())))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        return UsuarioAutenticado.de(usuario);
     }
 }
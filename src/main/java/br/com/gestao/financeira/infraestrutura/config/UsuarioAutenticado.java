@@ -0,0 +1,112 @@
+package br.com.gestao.financeira.infraestrutura.config;
+
+import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Usuário autenticado, com o que os controllers precisam para decidir
+ * acesso (ID, perfil e família) sem recarregar a entidade {@link Usuario}.
+ * Obtido nos controllers com {@code @AuthenticationPrincipal}.
+ */
+public class UsuarioAutenticado implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String senha;
+    private final PerfilUsuario perfil;
+    private final Long familiaId;
+    private final int versaoToken;
+
+    public UsuarioAutenticado(Long id, String email, String senha, PerfilUsuario perfil, Long familiaId,
+            int versaoToken) {
+        this.id = id;
+        this.email = email;
+        this.senha = senha;
+        this.perfil = perfil;
+        this.familiaId = familiaId;
+        this.versaoToken = versaoToken;
+    }
+
+    public static UsuarioAutenticado de(Usuario usuario) {
+        return new UsuarioAutenticado(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getSenha(),
+                usuario.getPerfil(),
+                usuario.getFamilia() != null ? usuario.getFamilia().getId() : null,
+                usuario.getVersaoToken());
+    }
+
+    /**
+     * Cópia sem o hash da senha, para manter em cache e no contexto de
+     * segurança.
+     */
+    public UsuarioAutenticado semSenha() {
+        return new UsuarioAutenticado(id, email, null, perfil, familiaId, versaoToken);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public PerfilUsuario getPerfil() {
+        return perfil;
+    }
+
+    public Long getFamiliaId() {
+        return familiaId;
+    }
+
+    /**
+     * Versão dos tokens do usuário quando este foi carregado (ou quando o
+     * token foi emitido, se veio das claims).
+     */
+    public int getVersaoToken() {
+        return versaoToken;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(perfil.getRole()));
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.gestao.financeira.infraestrutura.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifica na inicialização se os índices esperados pelas consultas da
+ * aplicação existem no banco, registrando um aviso para cada índice ausente.
+ * Os índices são criados pelas migrações em db/migration.
+ */
+@Component
+public class VerificadorIndices {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorIndices.class);
+
+    static final List<String> INDICES_ESPERADOS = List.of(
+            "idx_transacoes_usuario_data_id",
+            "idx_transacoes_pendentes_normalizacao",
+            "idx_chat_messages_usuario_criado_em",
+            "idx_chat_messages_session_criado_em",
+            "idx_usuarios_familia",
+            "idx_taxas_cambio_par_obtida_em");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VerificadorIndices(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        try {
+            Set<String> existentes = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class));
+
+            List<String> ausentes = INDICES_ESPERADOS.stream()
+                    .filter(indice -> !existentes.contains(indice))
+                    .toList();
+
+            if (ausentes.isEmpty()) {
+                log.info("Todos os {} índices esperados estão presentes", INDICES_ESPERADOS.size());
+            } else {
+                ausentes.forEach(indice -> log.warn(
+                        "Índice esperado ausente: {}. Consultas sobre a tabela farão varredura sequencial.", indice));
+            }
+        } catch (Exception e) {
+            log.warn("Não foi possível verificar os índices do banco: {}", e.getMessage());
+        }
+    }
+}
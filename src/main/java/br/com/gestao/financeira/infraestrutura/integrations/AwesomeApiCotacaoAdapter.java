@@ -5,27 +5,36 @@ import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
 import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Adaptador HTTP para integração com a AwesomeAPI (economia.awesomeapi.com.br).
  * Implementa o CotacaoRepository para obter taxas de câmbio.
  * 
  * Possui retry automático para falhas de conexão (3 tentativas com backoff
- * exponencial).
+ * exponencial). O cache das taxas fica no {@link CotacaoCache}, que é o bean
+ * primário de {@link CotacaoRepository} e chama este adaptador pelo proxy.
+ * As chamadas usam o cliente "awesomeApiHttp" (pool, timeouts e circuit
+ * breaker próprios); com o circuito aberto não há retry.
  */
 @Component
 public class AwesomeApiCotacaoAdapter implements CotacaoRepository {
@@ -35,10 +44,12 @@ public class AwesomeApiCotacaoAdapter implements CotacaoRepository {
 
     private final RestTemplate restTemplate;
     private final BrasilApiCambioAdapter brasilApiAdapter;
+    // Pares que a API só cota no sentido contrário (ORIGEM-DESTINO)
+    private final Set<String> paresInversos = ConcurrentHashMap.newKeySet();
 
-    public AwesomeApiCotacaoAdapter(RestTemplate restTemplate,
+    public AwesomeApiCotacaoAdapter(@Qualifier("awesomeApiHttp") ClienteHttp clienteHttp,
             BrasilApiCambioAdapter brasilApiAdapter) {
-        this.restTemplate = restTemplate;
+        this.restTemplate = clienteHttp.getRestTemplate();
         this.brasilApiAdapter = brasilApiAdapter;
     }
 
@@ -48,9 +59,8 @@ public class AwesomeApiCotacaoAdapter implements CotacaoRepository {
     }
 
     @Override
-    @Cacheable(value = "taxas", key = "#origem + '-' + #destino", unless = "#result == null")
-    @Retryable(retryFor = {
-            RestClientException.class }, maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2))
+    @Retryable(retryFor = { RestClientException.class }, noRetryFor = {
+            CircuitoHttp.CircuitoAbertoException.class }, maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2))
     public Optional<TaxaCambio> obterTaxaAtual(String origem, String destino) {
         // Se as moedas são iguais, taxa é 1
         if (origem.equalsIgnoreCase(destino)) {
@@ -71,6 +81,7 @@ public class AwesomeApiCotacaoAdapter implements CotacaoRepository {
             if (cotacao != null && cotacao.containsKey("bid")) {
                 BigDecimal taxa = new BigDecimal(cotacao.get("bid"));
                 log.info("Taxa obtida: {} {} = {} {}", 1, origem, taxa, destino);
+                paresInversos.remove(TaxaCambioStore.chave(origem, destino));
                 return Optional.of(new TaxaCambio(origem, destino, taxa, LocalDateTime.now()));
             }
         }
@@ -105,6 +116,77 @@ public class AwesomeApiCotacaoAdapter implements CotacaoRepository {
         return valor;
     }
 
+    /**
+     * Obtém as taxas de vários pares em uma única chamada
+     * (/last/USD-BRL,EUR-BRL,...). Se a API recusar o lote por causa de algum
+     * par não cotado, os pares são consultados individualmente. Os pares que
+     * a API só cota no sentido contrário são pedidos invertidos, para não
+     * derrubar o lote.
+     * 
+     * @param pares pares no formato ORIGEM-DESTINO
+     * @return taxas obtidas (pares indisponíveis ficam de fora)
+     */
+    public List<TaxaCambio> obterTaxasEmLote(Collection<String> pares) {
+        Set<String> invertidos = pares.stream().filter(paresInversos::contains).collect(Collectors.toSet());
+        String url = AWESOME_API_URL + pares.stream()
+                .map(par -> invertidos.contains(par) ? inverter(par) : par)
+                .distinct()
+                .collect(Collectors.joining(","));
+        log.info("Buscando taxas de câmbio em lote: {} pares", pares.size());
+
+        Map<String, Map<String, String>> response;
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Map<String, String>> lote = restTemplate.getForObject(url, Map.class);
+            response = lote;
+        } catch (HttpClientErrorException e) {
+            log.warn("Lote recusado pela AwesomeAPI ({}). Consultando pares individualmente.", e.getStatusCode());
+            return obterTaxasIndividualmente(pares);
+        }
+
+        List<TaxaCambio> taxas = new ArrayList<>();
+        if (response == null) {
+            return taxas;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (String par : pares) {
+            String[] moedas = par.split("-");
+            if (invertidos.contains(par)) {
+                Map<String, String> cotacao = response.get(moedas[1] + moedas[0]);
+                if (cotacao != null && cotacao.containsKey("bid")) {
+                    BigDecimal taxa = BigDecimal.ONE.divide(new BigDecimal(cotacao.get("bid")), 6,
+                            RoundingMode.HALF_UP);
+                    taxas.add(new TaxaCambio(moedas[0], moedas[1], taxa, agora));
+                }
+                continue;
+            }
+            Map<String, String> cotacao = response.get(moedas[0] + moedas[1]);
+            if (cotacao != null && cotacao.containsKey("bid")) {
+                taxas.add(new TaxaCambio(moedas[0], moedas[1], new BigDecimal(cotacao.get("bid")), agora));
+            }
+        }
+        return taxas;
+    }
+
+    private static String inverter(String par) {
+        String[] moedas = par.split("-");
+        return moedas[1] + "-" + moedas[0];
+    }
+
+    private List<TaxaCambio> obterTaxasIndividualmente(Collection<String> pares) {
+        List<TaxaCambio> taxas = new ArrayList<>();
+        for (String par : pares) {
+            String[] moedas = par.split("-");
+            try {
+                obterTaxaAtual(moedas[0], moedas[1]).ifPresent(taxas::add);
+            } catch (RestClientException e) {
+                log.warn("Taxa não disponível para {}: {}", par, e.getMessage());
+            }
+        }
+        return taxas;
+    }
+
     /**
      * Tenta obter a taxa inversa quando a direta não está disponível.
      */
@@ -126,6 +208,7 @@ public class AwesomeApiCotacaoAdapter implements CotacaoRepository {
                     BigDecimal taxaInversa = new BigDecimal(cotacao.get("bid"));
                     BigDecimal taxa = BigDecimal.ONE.divide(taxaInversa, 6, RoundingMode.HALF_UP);
                     log.info("Taxa inversa calculada: {} {} = {} {}", 1, origem, taxa, destino);
+                    paresInversos.add(TaxaCambioStore.chave(origem, destino));
                     return Optional.of(new TaxaCambio(origem, destino, taxa, LocalDateTime.now()));
                 }
             }
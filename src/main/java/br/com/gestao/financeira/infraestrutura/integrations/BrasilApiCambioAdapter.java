@@ -4,6 +4,7 @@ import br.com.gestao.financeira.dominio.modelo.Moeda;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.retry.annotation.Backoff;
@@ -23,7 +24,8 @@ import java.util.stream.Collectors;
  * Obtém a lista de moedas suportadas.
  * 
  * Possui retry automático para falhas de conexão (3 tentativas com backoff
- * exponencial).
+ * exponencial). As chamadas usam o cliente "brasilApiHttp" (pool, timeouts e
+ * circuit breaker próprios); com o circuito aberto não há retry.
  */
 @Component
 public class BrasilApiCambioAdapter {
@@ -33,9 +35,9 @@ public class BrasilApiCambioAdapter {
     private final RestTemplate restTemplate;
     private final String brasilApiUrl;
 
-    public BrasilApiCambioAdapter(RestTemplate restTemplate,
+    public BrasilApiCambioAdapter(@Qualifier("brasilApiHttp") ClienteHttp clienteHttp,
             @Value("${apis.brasilapi.url:https://brasilapi.com.br}") String brasilApiUrl) {
-        this.restTemplate = restTemplate;
+        this.restTemplate = clienteHttp.getRestTemplate();
         this.brasilApiUrl = brasilApiUrl;
     }
 
@@ -47,8 +49,8 @@ public class BrasilApiCambioAdapter {
      * @return lista de moedas disponíveis
      */
     @Cacheable(value = "moedas", unless = "#result.isEmpty()")
-    @Retryable(retryFor = {
-            RestClientException.class }, maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2))
+    @Retryable(retryFor = { RestClientException.class }, noRetryFor = {
+            CircuitoHttp.CircuitoAbertoException.class }, maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2))
     public List<Moeda> listarMoedas() {
         String url = brasilApiUrl + "/api/cambio/v1/moedas";
         log.info("Buscando moedas na BrasilAPI: {}", url);
@@ -0,0 +1,136 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker de um serviço externo, aplicado a cada requisição do
+ * {@link ClienteHttp}.
+ *
+ * Após {@code falhasParaAbrir} falhas seguidas (erro de I/O, como timeout ou
+ * conexão recusada, ou resposta 5xx) o circuito abre: durante
+ * {@code abertoPor} as requisições falham na hora com
+ * {@link CircuitoAbertoException}, sem ocupar conexão nem thread esperando
+ * um serviço fora do ar. Depois disso uma única requisição de teste passa;
+ * se ela funcionar o circuito fecha, senão abre de novo. Respostas 4xx não
+ * contam como falha: o serviço respondeu.
+ */
+public class CircuitoHttp implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitoHttp.class);
+
+    private final String nome;
+    private final int falhasParaAbrir;
+    private final Duration abertoPor;
+    private final Clock relogio;
+
+    private int falhasSeguidas;
+    private Instant abertoAte;
+    private boolean testando;
+    private Counter recusadas;
+
+    public CircuitoHttp(String nome, int falhasParaAbrir, Duration abertoPor) {
+        this(nome, falhasParaAbrir, abertoPor, Clock.systemUTC());
+    }
+
+    CircuitoHttp(String nome, int falhasParaAbrir, Duration abertoPor, Clock relogio) {
+        this.nome = nome;
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.abertoPor = abertoPor;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Publica o estado do circuito ("http.cliente.circuito.aberto", 1 se
+     * aberto) e as requisições recusadas por ele
+     * ("http.cliente.circuito.recusadas"), com a tag cliente.
+     */
+    public void monitorar(MeterRegistry meterRegistry) {
+        Gauge.builder("http.cliente.circuito.aberto", this, c -> c.isAberto() ? 1 : 0)
+                .tag("cliente", nome)
+                .register(meterRegistry);
+        recusadas = Counter.builder("http.cliente.circuito.recusadas")
+                .tag("cliente", nome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest requisicao, byte[] corpo, ClientHttpRequestExecution execucao)
+            throws IOException {
+        if (!permitir()) {
+            if (recusadas != null) {
+                recusadas.increment();
+            }
+            throw new CircuitoAbertoException(nome);
+        }
+
+        ClientHttpResponse resposta;
+        try {
+            resposta = execucao.execute(requisicao, corpo);
+        } catch (IOException | RuntimeException e) {
+            registrarFalha();
+            throw e;
+        }
+        if (resposta.getStatusCode().is5xxServerError()) {
+            registrarFalha();
+        } else {
+            registrarSucesso();
+        }
+        return resposta;
+    }
+
+    public synchronized boolean isAberto() {
+        return abertoAte != null;
+    }
+
+    private synchronized boolean permitir() {
+        if (abertoAte == null) {
+            return true;
+        }
+        // Aberto: após o prazo, deixa passar uma requisição de teste por vez
+        if (testando || relogio.instant().isBefore(abertoAte)) {
+            return false;
+        }
+        testando = true;
+        return true;
+    }
+
+    private synchronized void registrarSucesso() {
+        if (abertoAte != null) {
+            log.info("Circuito {} fechado: o serviço voltou a responder", nome);
+        }
+        falhasSeguidas = 0;
+        abertoAte = null;
+        testando = false;
+    }
+
+    private synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (testando || falhasSeguidas >= falhasParaAbrir) {
+            if (abertoAte == null || testando) {
+                log.warn("Circuito {} aberto por {} após {} falhas seguidas", nome, abertoPor, falhasSeguidas);
+            }
+            abertoAte = relogio.instant().plus(abertoPor);
+            testando = false;
+        }
+    }
+
+    public static class CircuitoAbertoException extends RestClientException {
+        public CircuitoAbertoException(String nome) {
+            super("Serviço " + nome + " indisponível no momento (circuito aberto)");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP de saída para um serviço externo.
+ *
+ * Cada serviço tem o seu pool de conexões, reaproveitadas entre requisições
+ * (keep-alive), e o seu orçamento: timeout de conexão, timeout de leitura
+ * (tempo máximo sem receber dados) e número máximo de conexões
+ * simultâneas. Com todas as conexões em uso, a requisição espera por uma
+ * no máximo o timeout de conexão e então falha, em vez de enfileirar
+ * threads. Um serviço lento ou fora do ar esgota só o próprio orçamento, e
+ * o {@link CircuitoHttp} corta as chamadas enquanto ele não volta.
+ *
+ * As métricas do pool são publicadas como "httpcomponents.httpclient.pool.*"
+ * com a tag httpclient igual ao nome do cliente.
+ */
+public class ClienteHttp implements AutoCloseable {
+
+    // Conexões paradas há mais tempo que isso são fechadas
+    private static final TimeValue OCIOSA_POR = TimeValue.ofSeconds(30);
+    // Conexões reaproveitadas após esse tempo parado são validadas antes do uso
+    private static final TimeValue VALIDAR_APOS = TimeValue.ofSeconds(5);
+
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final CircuitoHttp circuito;
+
+    private ClienteHttp(CloseableHttpClient httpClient, RestTemplate restTemplate, CircuitoHttp circuito) {
+        this.httpClient = httpClient;
+        this.restTemplate = restTemplate;
+        this.circuito = circuito;
+    }
+
+    /**
+     * Cria o cliente de um serviço.
+     *
+     * @param nome           nome do serviço nas métricas e nos logs
+     * @param timeoutConexao timeout para conectar e para obter uma conexão do
+     *                       pool
+     * @param timeoutLeitura tempo máximo sem receber dados da resposta
+     * @param maxConexoes    conexões simultâneas com o serviço
+     * @param circuito       circuit breaker do serviço
+     * @param meterRegistry  registro das métricas do pool e do circuito
+     */
+    public static ClienteHttp criar(String nome, Duration timeoutConexao, Duration timeoutLeitura, int maxConexoes,
+            CircuitoHttp circuito, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexoes)
+                .setMaxConnPerRoute(maxConexoes)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeoutConexao.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutLeitura.toMillis()))
+                        .setValidateAfterInactivity(VALIDAR_APOS)
+                        .build())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeoutConexao.toMillis()))
+                        .build())
+                .evictIdleConnections(OCIOSA_POR)
+                .build();
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(circuito);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, nome).bindTo(meterRegistry);
+        circuito.monitorar(meterRegistry);
+        return new ClienteHttp(httpClient, restTemplate, circuito);
+    }
+
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    public CircuitoHttp getCircuito() {
+        return circuito;
+    }
+
+    /**
+     * Fecha o pool e as conexões abertas (chamado pelo Spring no desligamento).
+     */
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
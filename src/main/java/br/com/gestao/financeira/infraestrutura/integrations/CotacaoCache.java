@@ -0,0 +1,135 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.modelo.Moeda;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorator de cache sobre o adaptador da AwesomeAPI.
+ * 
+ * A taxa é lida primeiro do {@link TaxaCambioStore}, atualizado em segundo
+ * plano pelo {@link TaxaCambioPrefetcher}. Pares ainda não conhecidos, ou cuja
+ * taxa no store passou da idade máxima, passam por um LoadingCache do
+ * Caffeine:
+ * requisições concorrentes para o mesmo par aguardam uma única carga,
+ * e pares acessados com frequência são recarregados em segundo plano
+ * (refreshAfterWrite) sem bloquear quem consulta. As estatísticas do
+ * cache são publicadas como métricas "cache.*" com o nome "cotacoes".
+ */
+@Component
+@Primary
+public class CotacaoCache implements CotacaoRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CotacaoCache.class);
+    private static final String NOME_CACHE = "cotacoes";
+
+    private final CotacaoRepository delegate;
+    private final TaxaCambioStore taxaCambioStore;
+    private final LoadingCache<ParMoedas, Optional<TaxaCambio>> taxas;
+
+    public CotacaoCache(@Qualifier("awesomeApiCotacaoAdapter") CotacaoRepository delegate,
+            TaxaCambioStore taxaCambioStore,
+            MeterRegistry meterRegistry,
+            @Qualifier("cotacaoExecutor") Executor cotacaoExecutor,
+            @Value("${cotacao.cache.maximum-size:500}") long tamanhoMaximo,
+            @Value("${cotacao.cache.refresh-after-write:PT1M}") Duration recarregarApos,
+            @Value("${cotacao.cache.expire-after-write:PT30M}") Duration expirarApos) {
+        this.delegate = delegate;
+        this.taxaCambioStore = taxaCambioStore;
+        this.taxas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .refreshAfterWrite(recarregarApos)
+                .expireAfterWrite(expirarApos)
+                .executor(cotacaoExecutor)
+                .recordStats()
+                .build(this::carregar);
+        CaffeineCacheMetrics.monitor(meterRegistry, taxas, NOME_CACHE);
+    }
+
+    @Override
+    public List<Moeda> listarMoedasSuportadas() {
+        return delegate.listarMoedasSuportadas();
+    }
+
+    @Override
+    public Optional<TaxaCambio> obterTaxaAtual(String origem, String destino) {
+        if (origem.equalsIgnoreCase(destino)) {
+            return Optional.of(new TaxaCambio(origem, destino, BigDecimal.ONE, LocalDateTime.now()));
+        }
+        Optional<TaxaCambio> local = taxaCambioStore.obter(origem, destino);
+        if (local.isPresent()) {
+            return local;
+        }
+        return taxas.get(new ParMoedas(origem.toUpperCase(), destino.toUpperCase()));
+    }
+
+    /**
+     * Taxa do store ou do cache, sem esperar a API. Se o par não é conhecido,
+     * a carga é disparada em segundo plano para que a próxima consulta (ou o
+     * backfill) o encontre.
+     */
+    @Override
+    public Optional<TaxaCambio> obterTaxaConhecida(String origem, String destino) {
+        if (origem.equalsIgnoreCase(destino)) {
+            return Optional.of(new TaxaCambio(origem, destino, BigDecimal.ONE, LocalDateTime.now()));
+        }
+        Optional<TaxaCambio> local = taxaCambioStore.obter(origem, destino);
+        if (local.isPresent()) {
+            return local;
+        }
+        ParMoedas par = new ParMoedas(origem.toUpperCase(), destino.toUpperCase());
+        Optional<TaxaCambio> emCache = taxas.getIfPresent(par);
+        if (emCache == null) {
+            taxas.refresh(par);
+            return Optional.empty();
+        }
+        return emCache;
+    }
+
+    private Optional<TaxaCambio> carregar(ParMoedas par) {
+        Optional<TaxaCambio> taxa = delegate.obterTaxaAtual(par.origem(), par.destino());
+        // O par passa a ser mantido pelo prefetch periódico
+        taxa.ifPresent(taxaCambioStore::registrar);
+        return taxa;
+    }
+
+    @Override
+    public BigDecimal converterValor(BigDecimal valor, String origem, String destino) {
+        if (origem.equalsIgnoreCase(destino)) {
+            return valor;
+        }
+
+        Optional<TaxaCambio> taxa = obterTaxaAtual(origem, destino);
+
+        if (taxa.isPresent()) {
+            return valor.multiply(taxa.get().getTaxa()).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        log.warn("Taxa não disponível para {}-{}, retornando valor original", origem, destino);
+        return valor;
+    }
+
+    /**
+     * Chave do cache: par de moedas normalizado em maiúsculas.
+     */
+    private record ParMoedas(String origem, String destino) {
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+import br.com.gestao.financeira.dominio.repository.AssistenteRepository;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador HTTP para o gpt4all-service.
+ *
+ * A resposta completa vem de POST /chat; a resposta em partes, de
+ * POST /chat/stream, que devolve um objeto JSON por linha
+ * ({"token": ...}, {"error": ...} e, ao final, {"done": true}).
+ *
+ * O histórico da conversa vai no campo "history" ({"role", "content"}).
+ *
+ * As chamadas usam o cliente "gpt4allHttp", com pool de conexões, timeouts
+ * de conexão e de leitura e circuit breaker (ver HttpClientConfig).
+ */
+@Component
+public class Gpt4AllAdapter implements AssistenteRepository {
+
+    private static final int MAX_TOKENS = 500;
+    private static final double TEMPERATURA = 0.7;
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String gpt4allApiUrl;
+
+    public Gpt4AllAdapter(@Qualifier("gpt4allHttp") ClienteHttp clienteHttp,
+            ObjectMapper objectMapper,
+            @Value("${gpt4all.api.url:http://localhost:5000}") String gpt4allApiUrl) {
+        this.restTemplate = clienteHttp.getRestTemplate();
+        this.objectMapper = objectMapper;
+        this.gpt4allApiUrl = gpt4allApiUrl;
+    }
+
+    @Override
+    public String responder(String mensagem, String promptSistema, List<TurnoConversa> historico) {
+        ChatResponse resposta = restTemplate.postForObject(gpt4allApiUrl + "/chat",
+                ChatRequest.de(mensagem, promptSistema, historico), ChatResponse.class);
+        if (resposta == null || resposta.response() == null) {
+            throw new RestClientException("Resposta vazia do gpt4all-service");
+        }
+        return resposta.response();
+    }
+
+    @Override
+    public void responderEmPartes(String mensagem, String promptSistema, List<TurnoConversa> historico,
+            Consumer<String> aoReceberTrecho) {
+        ChatRequest corpo = ChatRequest.de(mensagem, promptSistema, historico);
+        restTemplate.execute(gpt4allApiUrl + "/chat/stream", HttpMethod.POST,
+                requisicao -> {
+                    requisicao.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    requisicao.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON));
+                    objectMapper.writeValue(requisicao.getBody(), corpo);
+                },
+                resposta -> {
+                    BufferedReader leitor = new BufferedReader(
+                            new InputStreamReader(resposta.getBody(), StandardCharsets.UTF_8));
+                    String linha;
+                    while ((linha = leitor.readLine()) != null) {
+                        if (linha.isBlank()) {
+                            continue;
+                        }
+                        JsonNode evento = objectMapper.readTree(linha);
+                        if (evento.hasNonNull("error")) {
+                            throw new RestClientException("Erro no gpt4all-service: " + evento.get("error").asText());
+                        }
+                        if (evento.hasNonNull("token")) {
+                            aoReceberTrecho.accept(evento.get("token").asText());
+                        }
+                        if (evento.path("done").asBoolean(false)) {
+                            return null;
+                        }
+                    }
+                    throw new RestClientException("Geração interrompida pelo gpt4all-service");
+                });
+    }
+
+    @Override
+    public String parametros() {
+        return gpt4allApiUrl + ";max_tokens=" + MAX_TOKENS + ";temperature=" + TEMPERATURA;
+    }
+
+    private record ChatRequest(
+            String message,
+            @JsonProperty("system_prompt") String systemPrompt,
+            List<HistoryTurn> history,
+            @JsonProperty("max_tokens") int maxTokens,
+            double temperature) {
+
+        static ChatRequest de(String mensagem, String promptSistema, List<TurnoConversa> historico) {
+            List<HistoryTurn> history = historico.stream()
+                    .map(t -> new HistoryTurn(t.papel().name().toLowerCase(), t.conteudo()))
+                    .toList();
+            return new ChatRequest(mensagem, promptSistema, history, MAX_TOKENS, TEMPERATURA);
+        }
+    }
+
+    private record HistoryTurn(String role, String content) {
+    }
+
+    private record ChatResponse(String response) {
+    }
+}
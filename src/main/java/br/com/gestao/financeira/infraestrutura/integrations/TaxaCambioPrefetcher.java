@@ -0,0 +1,88 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
+import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Atualiza periodicamente as taxas de câmbio do {@link TaxaCambioStore}.
+ * 
+ * Os pares atualizados são os configurados em cotacao.prefetch.pares, todas
+ * as combinações entre as moedas padrão dos usuários e as moedas originais
+ * das transações, e os pares já consultados pela aplicação. Todos são
+ * buscados em uma única chamada à AwesomeAPI.
+ */
+@Component
+public class TaxaCambioPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxaCambioPrefetcher.class);
+
+    private final AwesomeApiCotacaoAdapter awesomeApiAdapter;
+    private final TaxaCambioStore taxaCambioStore;
+    private final UsuarioRepository usuarioRepository;
+    private final TransacaoRepository transacaoRepository;
+    private final List<String> paresConfigurados;
+
+    public TaxaCambioPrefetcher(AwesomeApiCotacaoAdapter awesomeApiAdapter,
+            TaxaCambioStore taxaCambioStore,
+            UsuarioRepository usuarioRepository,
+            TransacaoRepository transacaoRepository,
+            @Value("${cotacao.prefetch.pares:USD-BRL,EUR-BRL}") List<String> paresConfigurados) {
+        this.awesomeApiAdapter = awesomeApiAdapter;
+        this.taxaCambioStore = taxaCambioStore;
+        this.usuarioRepository = usuarioRepository;
+        this.transacaoRepository = transacaoRepository;
+        this.paresConfigurados = paresConfigurados;
+    }
+
+    @Scheduled(initialDelayString = "${cotacao.prefetch.atraso-inicial:PT10S}",
+            fixedDelayString = "${cotacao.prefetch.intervalo:PT5M}")
+    public void atualizarTaxas() {
+        try {
+            Set<String> pares = montarPares();
+            if (pares.isEmpty()) {
+                return;
+            }
+
+            List<TaxaCambio> taxas = awesomeApiAdapter.obterTaxasEmLote(pares);
+            if (!taxas.isEmpty()) {
+                taxaCambioStore.atualizarLote(taxas);
+            }
+            log.info("Prefetch de câmbio: {} de {} pares atualizados", taxas.size(), pares.size());
+        } catch (Exception e) {
+            // Mantém as últimas taxas conhecidas até a próxima execução
+            log.warn("Falha no prefetch de taxas de câmbio: {}", e.getMessage());
+        }
+    }
+
+    Set<String> montarPares() {
+        Set<String> pares = new TreeSet<>();
+        paresConfigurados.stream()
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(String::toUpperCase)
+                .forEach(pares::add);
+
+        List<String> destinos = usuarioRepository.findMoedasPadraoDistintas();
+        List<String> origens = transacaoRepository.findMoedasOriginaisDistintas();
+        for (String origem : origens) {
+            for (String destino : destinos) {
+                if (!origem.equalsIgnoreCase(destino)) {
+                    pares.add(TaxaCambioStore.chave(origem, destino));
+                }
+            }
+        }
+
+        pares.addAll(taxaCambioStore.paresConhecidos());
+        return pares;
+    }
+}
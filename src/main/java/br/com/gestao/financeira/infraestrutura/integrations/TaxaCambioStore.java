@@ -0,0 +1,120 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.entity.TaxaCambioHistorico;
+import br.com.gestao.financeira.dominio.modelo.GrafoTaxasCambio;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.TaxaCambioHistoricoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazenamento local das taxas de câmbio.
+ * 
+ * Mantém a última taxa conhecida de cada par em memória e grava cada lote
+ * atualizado na tabela taxas_cambio. Na inicialização, a memória é
+ * recarregada a partir do histórico, de modo que uma indisponibilidade da
+ * API externa deixa a aplicação com taxas levemente defasadas em vez de
+ * bloquear as requisições. Taxas mais antigas que cotacao.store.idade-maxima
+ * (prefetch falhando há muito tempo) não são mais devolvidas: a consulta
+ * segue para o cache de cotações e a API.
+ * 
+ * A cada atualização o {@link GrafoTaxasCambio} é reconstruído, permitindo
+ * responder pares inversos e cruzados (via BRL/USD) sem nova consulta.
+ */
+@Component
+public class TaxaCambioStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxaCambioStore.class);
+
+    private final TaxaCambioHistoricoRepository historicoRepository;
+    private final Duration idadeMaxima;
+    private final Map<String, TaxaCambio> taxas = new ConcurrentHashMap<>();
+    private volatile GrafoTaxasCambio grafo = GrafoTaxasCambio.montar(List.of());
+
+    public TaxaCambioStore(TaxaCambioHistoricoRepository historicoRepository,
+            @Value("${cotacao.store.idade-maxima:PT1H}") Duration idadeMaxima) {
+        this.historicoRepository = historicoRepository;
+        this.idadeMaxima = idadeMaxima;
+    }
+
+    /**
+     * Carrega a última taxa persistida de cada par.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarHistorico() {
+        try {
+            historicoRepository.findUltimasPorPar().forEach(h -> taxas.put(
+                    chave(h.getMoedaOrigem(), h.getMoedaDestino()),
+                    new TaxaCambio(h.getMoedaOrigem(), h.getMoedaDestino(), h.getTaxa(), h.getObtidaEm())));
+            reconstruirGrafo();
+            log.info("{} taxas de câmbio carregadas do histórico", taxas.size());
+        } catch (Exception e) {
+            log.warn("Não foi possível carregar o histórico de taxas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna a última taxa conhecida do par, se houver e não for mais antiga
+     * que a idade máxima. Pares não cotados diretamente são derivados do grafo
+     * de taxas, com a data da perna mais antiga.
+     */
+    public Optional<TaxaCambio> obter(String origem, String destino) {
+        return obter(origem, destino, LocalDateTime.now());
+    }
+
+    Optional<TaxaCambio> obter(String origem, String destino, LocalDateTime agora) {
+        TaxaCambio direta = taxas.get(chave(origem, destino));
+        Optional<TaxaCambio> taxa = direta != null ? Optional.of(direta) : grafo.obter(origem, destino);
+        LocalDateTime limite = agora.minus(idadeMaxima);
+        return taxa.filter(t -> t.getObtidaEm() != null && !t.getObtidaEm().isBefore(limite));
+    }
+
+    /**
+     * Registra uma taxa apenas em memória. O par passa a fazer parte das
+     * atualizações periódicas.
+     */
+    public void registrar(TaxaCambio taxa) {
+        taxas.put(chave(taxa.getMoedaOrigem(), taxa.getMoedaDestino()), taxa);
+        reconstruirGrafo();
+    }
+
+    /**
+     * Registra um lote de taxas em memória e no histórico.
+     */
+    public void atualizarLote(Collection<TaxaCambio> lote) {
+        lote.forEach(t -> taxas.put(chave(t.getMoedaOrigem(), t.getMoedaDestino()), t));
+        reconstruirGrafo();
+        historicoRepository.saveAll(lote.stream()
+                .map(t -> new TaxaCambioHistorico(t.getMoedaOrigem(), t.getMoedaDestino(), t.getTaxa(),
+                        t.getObtidaEm()))
+                .toList());
+    }
+
+    /**
+     * Pares conhecidos, no formato ORIGEM-DESTINO.
+     */
+    public Set<String> paresConhecidos() {
+        return Set.copyOf(taxas.keySet());
+    }
+
+    private synchronized void reconstruirGrafo() {
+        grafo = GrafoTaxasCambio.montar(List.copyOf(taxas.values()));
+    }
+
+    static String chave(String origem, String destino) {
+        return origem.toUpperCase() + "-" + destino.toUpperCase();
+    }
+}
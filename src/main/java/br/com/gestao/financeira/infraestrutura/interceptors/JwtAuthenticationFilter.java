@@ -8,20 +8,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.lang.NonNull;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import br.com.gestao.financeira.infraestrutura.components.CachePrincipais;
 import br.com.gestao.financeira.infraestrutura.components.JwtUtils;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
+import io.jsonwebtoken.Claims;
 
 import java.io.IOException;
 
 /**
  * Filtro de autenticação JWT.
  * Intercepta requisições e valida o token JWT no header Authorization.
+ * O usuário vem das claims do token (ID, perfil e família) enquanto a
+ * versão de tokens gravada nele for a atual do usuário (consulta em cache,
+ * ver {@link CachePrincipais#versaoAtual}). Tokens antigos, sem essas
+ * claims, ou de versão anterior são recarregados do banco pelo
+ * {@link CachePrincipais}; de um usuário excluído, não autenticam.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,11 +35,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtUtils jwtUtils;
-    private final UserDetailsService userDetailsService;
+    private final CachePrincipais cachePrincipais;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, CachePrincipais cachePrincipais) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.cachePrincipais = cachePrincipais;
     }
 
     @Override
@@ -42,15 +48,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = extrairToken(request);
+            Claims claims = jwt != null ? jwtUtils.verificar(jwt).orElse(null) : null;
 
-            if (jwt != null && jwtUtils.validarToken(jwt)) {
-                String email = jwtUtils.extrairEmail(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (claims != null) {
+                UsuarioAutenticado usuario = jwtUtils.usuarioDasClaims(claims)
+                        .filter(cachePrincipais::versaoAtual)
+                        .orElseGet(() -> cachePrincipais.obter(claims.getSubject()));
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        usuario,
                         null,
-                        userDetails.getAuthorities());
+                        usuario.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
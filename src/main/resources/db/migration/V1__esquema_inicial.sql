@@ -0,0 +1,53 @@
+-- Esquema inicial. Usa IF NOT EXISTS para que bancos criados anteriormente
+-- pelo Hibernate (ddl-auto: update) sejam adotados sem alterações.
+
+CREATE TABLE IF NOT EXISTS familias (
+    id BIGSERIAL PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id BIGSERIAL PRIMARY KEY,
+    nome_completo VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    cpf VARCHAR(11) NOT NULL UNIQUE,
+    senha VARCHAR(255) NOT NULL,
+    moeda_padrao VARCHAR(3),
+    status VARCHAR(255) NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    perfil VARCHAR(255) NOT NULL,
+    familia_id BIGINT REFERENCES familias (id)
+);
+
+CREATE TABLE IF NOT EXISTS transacoes (
+    id BIGSERIAL PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    tipo VARCHAR(255) NOT NULL,
+    valor_original NUMERIC(19, 4) NOT NULL,
+    moeda_original VARCHAR(3) NOT NULL,
+    categoria VARCHAR(255) NOT NULL,
+    data TIMESTAMP(6) NOT NULL,
+    descricao VARCHAR(500),
+    taxa_cambio_aplicada NUMERIC(19, 6)
+);
+
+ALTER TABLE transacoes ADD COLUMN IF NOT EXISTS valor_normalizado NUMERIC(19, 4);
+ALTER TABLE transacoes ADD COLUMN IF NOT EXISTS moeda_normalizada VARCHAR(3);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id BIGSERIAL PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    criado_em TIMESTAMP(6) NOT NULL,
+    session_id VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS taxas_cambio (
+    id BIGSERIAL PRIMARY KEY,
+    moeda_origem VARCHAR(3) NOT NULL,
+    moeda_destino VARCHAR(3) NOT NULL,
+    taxa NUMERIC(19, 6) NOT NULL,
+    obtida_em TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,29 @@
+-- Índices alinhados às consultas da aplicação. Os nomes são verificados na
+-- inicialização pelo VerificadorIndices.
+
+-- Listagens, filtros por período, cursor e agregações da análise:
+-- busca por usuário + intervalo de data, com as colunas lidas incluídas
+-- no índice para permitir index-only scan.
+DROP INDEX IF EXISTS idx_transacoes_usuario_data_id;
+CREATE INDEX IF NOT EXISTS idx_transacoes_usuario_data_id
+    ON transacoes (usuario_id, data DESC, id DESC)
+    INCLUDE (tipo, categoria, valor_original, moeda_original, valor_normalizado, moeda_normalizada);
+
+-- Backfill da normalização cambial: apenas linhas pendentes
+CREATE INDEX IF NOT EXISTS idx_transacoes_pendentes_normalizacao
+    ON transacoes (id)
+    WHERE valor_normalizado IS NULL;
+
+-- Histórico do chat por usuário e por sessão
+CREATE INDEX IF NOT EXISTS idx_chat_messages_usuario_criado_em
+    ON chat_messages (usuario_id, criado_em);
+CREATE INDEX IF NOT EXISTS idx_chat_messages_session_criado_em
+    ON chat_messages (session_id, criado_em);
+
+-- Membros de uma família
+CREATE INDEX IF NOT EXISTS idx_usuarios_familia
+    ON usuarios (familia_id);
+
+-- Taxa histórica mais recente de um par até uma data
+CREATE INDEX IF NOT EXISTS idx_taxas_cambio_par_obtida_em
+    ON taxas_cambio (moeda_origem, moeda_destino, obtida_em DESC);
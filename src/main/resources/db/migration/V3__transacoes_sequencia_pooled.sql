@@ -0,0 +1,13 @@
+-- Os IDs de transacoes passam a ser reservados pelo Hibernate em blocos de 50
+-- (allocationSize da entidade), o que permite inserções em batch. O incremento
+-- da sequência precisa ser igual ao tamanho do bloco. Bancos criados pelo
+-- Hibernate usam coluna IDENTITY em vez de BIGSERIAL.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'transacoes' AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE transacoes ALTER COLUMN id SET INCREMENT BY 50;
+    ELSE
+        ALTER SEQUENCE transacoes_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
@@ -0,0 +1,11 @@
+-- Os IDs de usuarios passam a ser reservados em blocos de 50, como em
+-- transacoes (V3), para que a importação de planilhas insira em batch.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'usuarios' AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE usuarios ALTER COLUMN id SET INCREMENT BY 50;
+    ELSE
+        ALTER SEQUENCE usuarios_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
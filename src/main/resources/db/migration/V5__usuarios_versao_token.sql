@@ -0,0 +1,3 @@
+-- Versão dos tokens do usuário: incrementada quando perfil, família ou status
+-- mudam. Tokens emitidos com uma versão anterior deixam de valer as claims.
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS versao_token INTEGER NOT NULL DEFAULT 0;
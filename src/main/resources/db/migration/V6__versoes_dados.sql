@@ -0,0 +1,9 @@
+-- Versão dos dados de cada usuário por mês: incrementada na mesma transação
+-- de toda escrita de transação daquele mês. Relatórios e análises em cache
+-- usam a soma das versões do período, válida para todas as instâncias.
+CREATE TABLE IF NOT EXISTS versoes_dados (
+    usuario_id BIGINT NOT NULL,
+    mes DATE NOT NULL,
+    versao BIGINT NOT NULL,
+    PRIMARY KEY (usuario_id, mes)
+);
@@ -0,0 +1,45 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChaveResposta Tests")
+class ChaveRespostaTest {
+
+    private static final String CONTEXTO = "Contexto financeiro do usuário:\n- Saldo: R$ 100,00\n";
+    private static final String PARAMETROS = "http://localhost:5000;max_tokens=500;temperature=0.7";
+
+    @Test
+    @DisplayName("Deve gerar a mesma chave para variações de caixa, espaços e pontuação final")
+    void deveNormalizarPergunta() {
+        ChaveResposta a = ChaveResposta.de(1L, "Quanto gastei este mês?", CONTEXTO, PARAMETROS);
+        ChaveResposta b = ChaveResposta.de(1L, "  quanto gastei   este MÊS ", CONTEXTO, PARAMETROS);
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    @DisplayName("Deve gerar outra chave quando o contexto ou os parâmetros mudam")
+    void deveMudarComContextoEParametros() {
+        ChaveResposta base = ChaveResposta.de(1L, "Quanto gastei?", CONTEXTO, PARAMETROS);
+
+        assertNotEquals(base, ChaveResposta.de(1L, "Quanto gastei?", CONTEXTO.replace("100,00", "90,00"), PARAMETROS));
+        assertNotEquals(base, ChaveResposta.de(1L, "Quanto gastei?", CONTEXTO, PARAMETROS.replace("0.7", "0.2")));
+        assertNotEquals(base, ChaveResposta.de(2L, "Quanto gastei?", CONTEXTO, PARAMETROS));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer perguntas que continuam a conversa")
+    void deveReconhecerContinuacoes() {
+        assertTrue(ChaveResposta.dependeDoHistorico("E com saúde?"));
+        assertTrue(ChaveResposta.dependeDoHistorico("Explique isso melhor"));
+        assertTrue(ChaveResposta.dependeDoHistorico("Por quê?"));
+        assertTrue(ChaveResposta.dependeDoHistorico("Compare com o mês anterior"));
+
+        assertFalse(ChaveResposta.dependeDoHistorico("Quanto gastei este mês?"));
+        assertFalse(ChaveResposta.dependeDoHistorico("Como posso economizar em eletrônicos?"));
+        assertFalse(ChaveResposta.dependeDoHistorico("Oi"));
+    }
+}
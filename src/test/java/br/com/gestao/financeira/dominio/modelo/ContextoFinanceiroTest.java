@@ -0,0 +1,103 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.ContextoFinanceiro.Item;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ContextoFinanceiro Tests")
+class ContextoFinanceiroTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 31, 12, 0);
+
+    private static Item item(long id, int diasAtras, TipoTransacao tipo, CategoriaTransacao categoria,
+            String valor) {
+        return new Item(id, AGORA.minusDays(diasAtras), tipo, categoria, new BigDecimal(valor), "T" + id);
+    }
+
+    @Test
+    @DisplayName("Deve calcular totais, maiores categorias e últimas transações da janela")
+    void deveCalcularResumoDaJanela() {
+        ContextoFinanceiro contexto = ContextoFinanceiro.calcular(List.of(
+                item(1, 1, TipoTransacao.RECEITA, CategoriaTransacao.OUTROS, "5000"),
+                item(2, 2, TipoTransacao.DESPESA, CategoriaTransacao.ALIMENTACAO, "300.50"),
+                item(3, 3, TipoTransacao.DESPESA, CategoriaTransacao.ALIMENTACAO, "100"),
+                item(4, 4, TipoTransacao.RETIRADA, CategoriaTransacao.OUTROS, "50"),
+                item(5, 40, TipoTransacao.DESPESA, CategoriaTransacao.LAZER, "999")), AGORA, AGORA);
+
+        assertEquals(new BigDecimal("5000"), contexto.getTotalReceitas());
+        assertEquals(new BigDecimal("450.50"), contexto.getTotalDespesas());
+        assertEquals(4, contexto.getQuantidade());
+        assertEquals(1, contexto.getMaioresCategorias().size());
+        assertEquals(CategoriaTransacao.ALIMENTACAO, contexto.getMaioresCategorias().get(0).categoria());
+        assertEquals(1L, contexto.getUltimas().get(0).id());
+        assertTrue(contexto.getTexto().contains("- Saldo do período: R$ 4549.50"));
+        assertTrue(contexto.getTexto().contains("  * ALIMENTACAO: R$ 400.50"));
+        assertFalse(contexto.getTexto().contains("T5"));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar transações registradas, atualizadas e excluídas")
+    void deveAplicarAlteracoes() {
+        ContextoFinanceiro contexto = ContextoFinanceiro.calcular(List.of(
+                item(1, 1, TipoTransacao.DESPESA, CategoriaTransacao.ALIMENTACAO, "100"),
+                item(2, 2, TipoTransacao.DESPESA, CategoriaTransacao.LAZER, "200")), AGORA, AGORA);
+
+        Transacao atualizada = new Transacao();
+        atualizada.setId(1L);
+        atualizada.setData(AGORA.minusDays(1));
+        atualizada.setTipo(TipoTransacao.DESPESA);
+        atualizada.setCategoria(CategoriaTransacao.ALIMENTACAO);
+        atualizada.setValorOriginal(new BigDecimal("150"));
+        Transacao nova = new Transacao();
+        nova.setId(3L);
+        nova.setData(AGORA);
+        nova.setTipo(TipoTransacao.RECEITA);
+        nova.setCategoria(CategoriaTransacao.OUTROS);
+        nova.setValorOriginal(new BigDecimal("1000"));
+
+        ContextoFinanceiro alterado = contexto
+                .comAlteracoes(TransacoesAlteradas.gravadas(1L, List.of(atualizada, nova)), AGORA)
+                .comAlteracoes(TransacoesAlteradas.excluida(1L, 2L), AGORA);
+
+        assertEquals(new BigDecimal("150"), alterado.getTotalDespesas());
+        assertEquals(new BigDecimal("1000"), alterado.getTotalReceitas());
+        assertEquals(2, alterado.getQuantidade());
+        assertEquals(3L, alterado.getUltimas().get(0).id());
+        // O resumo original não muda
+        assertEquals(new BigDecimal("300"), contexto.getTotalDespesas());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular sem o banco quando transações saem ou entram na janela")
+    void deveAcompanharAPassagemDoTempo() {
+        ContextoFinanceiro contexto = ContextoFinanceiro.calcular(List.of(
+                item(1, 29, TipoTransacao.DESPESA, CategoriaTransacao.LAZER, "100"),
+                item(2, -2, TipoTransacao.DESPESA, CategoriaTransacao.LAZER, "50")), AGORA, AGORA);
+
+        assertSame(contexto, contexto.atualizadoEm(AGORA.plusHours(1)));
+        assertEquals(new BigDecimal("100"), contexto.getTotalDespesas());
+
+        ContextoFinanceiro depois = contexto.atualizadoEm(AGORA.plusDays(3));
+
+        assertEquals(new BigDecimal("50"), depois.getTotalDespesas());
+        assertEquals(2L, depois.getUltimas().get(0).id());
+    }
+
+    @Test
+    @DisplayName("Deve informar quando não há transações")
+    void deveInformarSemTransacoes() {
+        ContextoFinanceiro contexto = ContextoFinanceiro.calcular(List.of(), AGORA, AGORA);
+
+        assertEquals("Contexto financeiro do usuário:\n- Nenhuma transação nos últimos 30 dias.\n",
+                contexto.getTexto());
+    }
+}
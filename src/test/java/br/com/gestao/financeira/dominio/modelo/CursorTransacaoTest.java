@@ -0,0 +1,50 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CursorTransacao Tests")
+class CursorTransacaoTest {
+
+    @Test
+    @DisplayName("Deve decodificar o mesmo cursor que foi codificado")
+    void deveFazerIdaEVolta() {
+        CursorTransacao cursor = new CursorTransacao(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000), 42L);
+
+        String texto = cursor.codificar();
+
+        assertEquals(cursor, CursorTransacao.decodificar(texto));
+        // Opaco e seguro para query string
+        assertFalse(texto.contains("|"));
+        assertTrue(texto.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Deve tratar cursor vazio ou ausente como a primeira página")
+    void deveTratarCursorVazioComoPrimeiraPagina() {
+        assertEquals(CursorTransacao.inicio(), CursorTransacao.decodificar(null));
+        assertEquals(CursorTransacao.inicio(), CursorTransacao.decodificar(""));
+        assertEquals(CursorTransacao.inicio(), CursorTransacao.decodificar("   "));
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor malformado com IllegalArgumentException")
+    void deveRecusarCursorMalformado() {
+        for (String invalido : new String[] { "%%%", base64("sem-separador"), base64("2024-05-01T10:00|abc"),
+                base64("ontem|42") }) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> CursorTransacao.decodificar(invalido));
+            assertEquals("Cursor de paginação inválido", ex.getMessage());
+        }
+    }
+
+    private static String base64(String bruto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+}
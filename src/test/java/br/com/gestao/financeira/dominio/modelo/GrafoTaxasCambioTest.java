@@ -0,0 +1,48 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GrafoTaxasCambio Tests")
+class GrafoTaxasCambioTest {
+
+    private final LocalDateTime agora = LocalDateTime.now();
+
+    @Test
+    @DisplayName("Deve derivar par cruzado via BRL")
+    void deveDerivarParCruzadoViaBrl() {
+        GrafoTaxasCambio grafo = GrafoTaxasCambio.montar(List.of(
+                new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), agora),
+                new TaxaCambio("EUR", "BRL", new BigDecimal("6.00"), agora.minusMinutes(5))));
+
+        TaxaCambio eurUsd = grafo.obter("EUR", "USD").orElseThrow();
+
+        // EUR -> BRL -> USD = 6.00 * (1 / 5.00)
+        assertEquals(new BigDecimal("1.200000"), eurUsd.getTaxa());
+        assertEquals(agora.minusMinutes(5), eurUsd.getObtidaEm());
+    }
+
+    @Test
+    @DisplayName("Deve calcular par inverso")
+    void deveCalcularParInverso() {
+        GrafoTaxasCambio grafo = GrafoTaxasCambio.montar(List.of(
+                new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), agora)));
+
+        assertEquals(new BigDecimal("0.200000"), grafo.obter("brl", "usd").orElseThrow().getTaxa());
+    }
+
+    @Test
+    @DisplayName("Não deve derivar par sem moeda pivô em comum")
+    void naoDeveDerivarParSemPivo() {
+        GrafoTaxasCambio grafo = GrafoTaxasCambio.montar(List.of(
+                new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), agora)));
+
+        assertTrue(grafo.obter("JPY", "BRL").isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.gestao.financeira.dominio.modelo;
+
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.modelo.PerguntaFinanceira.Intencao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PerguntaFinanceira Tests")
+class PerguntaFinanceiraTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 15);
+    private static final YearMonth MARCO = YearMonth.of(2024, 3);
+
+    private static Optional<PerguntaFinanceira> interpretar(String pergunta) {
+        return PerguntaFinanceira.interpretar(pergunta, HOJE);
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer gastos em uma categoria no mês corrente")
+    void deveReconhecerGastosEmCategoria() {
+        assertEquals(Optional.of(new PerguntaFinanceira(Intencao.GASTOS_CATEGORIA, CategoriaTransacao.ALIMENTACAO,
+                MARCO)), interpretar("Quanto gastei com alimentação este mês?"));
+        assertEquals(Optional.of(new PerguntaFinanceira(Intencao.GASTOS_CATEGORIA, CategoriaTransacao.TRANSPORTE,
+                MARCO)), interpretar("quanto eu gastei de gasolina"));
+        assertEquals(Optional.of(new PerguntaFinanceira(Intencao.GASTOS_CATEGORIA,
+                CategoriaTransacao.INVESTIMENTOS, MARCO)), interpretar("Quanto investi?"));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer saldo, receitas, gastos e maiores categorias")
+    void deveReconhecerIntencoes() {
+        assertEquals(Intencao.SALDO, interpretar("Qual é o meu saldo?").orElseThrow().intencao());
+        assertEquals(Intencao.RECEITAS, interpretar("Quanto recebi?").orElseThrow().intencao());
+        assertEquals(Intencao.GASTOS, interpretar("Quais foram minhas despesas?").orElseThrow().intencao());
+        assertEquals(Intencao.MAIORES_CATEGORIAS,
+                interpretar("Com o que eu mais gastei?").orElseThrow().intencao());
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer o mês passado e meses pelo nome")
+    void deveReconhecerMesDeReferencia() {
+        assertEquals(YearMonth.of(2024, 2), interpretar("Qual foi meu saldo no mês passado?").orElseThrow().mes());
+        assertEquals(YearMonth.of(2024, 1), interpretar("Quanto gastei em janeiro?").orElseThrow().mes());
+        // Mês ainda não chegado neste ano: o do ano anterior
+        assertEquals(YearMonth.of(2023, 12), interpretar("Quanto gastei em dezembro?").orElseThrow().mes());
+        assertEquals(YearMonth.of(2022, 5), interpretar("Quanto recebi em maio de 2022?").orElseThrow().mes());
+    }
+
+    @Test
+    @DisplayName("Deve deixar para o modelo perguntas abertas, comparações e outros períodos")
+    void deveDeixarParaOModelo() {
+        assertTrue(interpretar("Como posso economizar com alimentação?").isEmpty());
+        assertTrue(interpretar("Quanto gastei com saúde e com lazer?").isEmpty());
+        assertTrue(interpretar("Quanto gastei este ano?").isEmpty());
+        assertTrue(interpretar("Quanto gastei nos últimos 30 dias?").isEmpty());
+        assertTrue(interpretar("Quanto gastei em janeiro e fevereiro?").isEmpty());
+        assertTrue(interpretar("Quanto gastei em abril de 2024?").isEmpty());
+        assertTrue(interpretar("Me conte uma curiosidade sobre juros compostos").isEmpty());
+    }
+}
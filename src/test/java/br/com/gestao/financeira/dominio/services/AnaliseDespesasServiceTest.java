@@ -1,23 +1,26 @@
 package br.com.gestao.financeira.dominio.services;
 
 import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto;
-import br.com.gestao.financeira.dominio.entity.Transacao;
 import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
 import br.com.gestao.financeira.dominio.enums.TipoTransacao;
-import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
+import br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambioTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,39 +30,37 @@ class AnaliseDespesasServiceTest {
         private TransacaoService transacaoService;
 
         @Mock
-        private CotacaoRepository cambioPort;
+        private CambioService cambioService;
 
         @InjectMocks
         private AnaliseDespesasService analiseDespesasService;
 
-        private Transacao transacaoDespesa;
-        private Transacao transacaoInvestimento;
+        private ResumoTransacaoAgrupado grupoDespesa;
+        private ResumoTransacaoAgrupado grupoInvestimento;
 
         @BeforeEach
         void setUp() {
-                transacaoDespesa = new Transacao();
-                transacaoDespesa.setTipo(TipoTransacao.DESPESA);
-                transacaoDespesa.setCategoria(CategoriaTransacao.ALIMENTACAO);
-                transacaoDespesa.setValorOriginal(new BigDecimal("100.00"));
-                transacaoDespesa.setMoedaOriginal("BRL");
-                transacaoDespesa.setData(LocalDateTime.now());
-
-                transacaoInvestimento = new Transacao();
-                transacaoInvestimento.setTipo(TipoTransacao.DESPESA); // Pode ser marcado como DESPESA ou TRANSFERENCIA
-                transacaoInvestimento.setCategoria(CategoriaTransacao.INVESTIMENTOS);
-                transacaoInvestimento.setValorOriginal(new BigDecimal("500.00"));
-                transacaoInvestimento.setMoedaOriginal("BRL");
-                transacaoInvestimento.setData(LocalDateTime.now());
+                grupoDespesa = grupo("BRL", CategoriaTransacao.ALIMENTACAO, TipoTransacao.DESPESA,
+                                YearMonth.now(), "100.00", 1);
+
+                // Investimento pode ser marcado como DESPESA ou TRANSFERENCIA
+                grupoInvestimento = grupo("BRL", CategoriaTransacao.INVESTIMENTOS, TipoTransacao.DESPESA,
+                                YearMonth.now(), "500.00", 1);
+
+                // Sem outras moedas envolvidas a tabela de taxas fica vazia
+                org.mockito.Mockito.lenient().when(cambioService.montarTabelaTaxas(any(), anyString()))
+                                .thenReturn(new TaxaCambioTable("BRL", Map.of()));
+        }
+
+        private ResumoTransacaoAgrupado grupo(String moeda, CategoriaTransacao categoria, TipoTransacao tipo,
+                        YearMonth mes, String total, long quantidade) {
+                return new ResumoTransacaoAgrupado(moeda, categoria, tipo, mes, new BigDecimal(total), quantidade);
         }
 
         @Test
         void deveSepararInvestimentosDeDespesas() {
-                when(transacaoService.listarTransacoes(anyLong(), any(), any(), any(), any(), any()))
-                                .thenReturn(new PageImpl<>(List.of(transacaoDespesa, transacaoInvestimento)));
-
-                // Mock conversão de moeda (1 pra 1 para simplificar)
-                org.mockito.Mockito.lenient().when(cambioPort.converterValor(any(), anyString(), anyString()))
-                                .thenAnswer(i -> i.getArgument(0));
+                when(transacaoService.agruparPorMoedaCategoriaTipoMes(anyLong(), any(), any(), any()))
+                                .thenReturn(List.of(grupoDespesa, grupoInvestimento));
 
                 AnaliseDespesasDto resultado = analiseDespesasService.analisar(1L, LocalDateTime.now(),
                                 LocalDateTime.now(),
@@ -80,18 +81,12 @@ class AnaliseDespesasServiceTest {
 
         @Test
         void deveCalcularTicketMedioCorretamente() {
-                Transacao despesa2 = new Transacao();
-                despesa2.setTipo(TipoTransacao.DESPESA);
-                despesa2.setCategoria(CategoriaTransacao.ALIMENTACAO);
-                despesa2.setValorOriginal(new BigDecimal("200.00"));
-                despesa2.setMoedaOriginal("BRL");
-                despesa2.setData(LocalDateTime.now());
+                // Duas despesas de Alimentação (100 + 200) agregadas em um único grupo
+                ResumoTransacaoAgrupado alimentacao = grupo("BRL", CategoriaTransacao.ALIMENTACAO,
+                                TipoTransacao.DESPESA, YearMonth.now(), "300.00", 2);
 
-                when(transacaoService.listarTransacoes(anyLong(), any(), any(), any(), any(), any()))
-                                .thenReturn(new PageImpl<>(List.of(transacaoDespesa, despesa2)));
-
-                org.mockito.Mockito.lenient().when(cambioPort.converterValor(any(), anyString(), anyString()))
-                                .thenAnswer(i -> i.getArgument(0));
+                when(transacaoService.agruparPorMoedaCategoriaTipoMes(anyLong(), any(), any(), any()))
+                                .thenReturn(List.of(alimentacao));
 
                 AnaliseDespesasDto resultado = analiseDespesasService.analisar(1L, LocalDateTime.now(),
                                 LocalDateTime.now(),
@@ -106,25 +101,13 @@ class AnaliseDespesasServiceTest {
 
         @Test
         void deveCalcularTicketMedioPorTipoTransacao() {
-                Transacao ret = new Transacao();
-                ret.setTipo(TipoTransacao.RETIRADA);
-                ret.setCategoria(CategoriaTransacao.OUTROS);
-                ret.setValorOriginal(new BigDecimal("50.00"));
-                ret.setMoedaOriginal("BRL");
-                ret.setData(LocalDateTime.now());
-
-                Transacao transf = new Transacao();
-                transf.setTipo(TipoTransacao.TRANSFERENCIA);
-                transf.setCategoria(CategoriaTransacao.OUTROS);
-                transf.setValorOriginal(new BigDecimal("200.00"));
-                transf.setMoedaOriginal("BRL");
-                transf.setData(LocalDateTime.now());
-
-                when(transacaoService.listarTransacoes(anyLong(), any(), any(), any(), any(), any()))
-                                .thenReturn(new PageImpl<>(List.of(transacaoDespesa, ret, transf)));
-
-                org.mockito.Mockito.lenient().when(cambioPort.converterValor(any(), anyString(), anyString()))
-                                .thenAnswer(i -> i.getArgument(0));
+                ResumoTransacaoAgrupado ret = grupo("BRL", CategoriaTransacao.OUTROS, TipoTransacao.RETIRADA,
+                                YearMonth.now(), "50.00", 1);
+                ResumoTransacaoAgrupado transf = grupo("BRL", CategoriaTransacao.OUTROS,
+                                TipoTransacao.TRANSFERENCIA, YearMonth.now(), "200.00", 1);
+
+                when(transacaoService.agruparPorMoedaCategoriaTipoMes(anyLong(), any(), any(), any()))
+                                .thenReturn(List.of(grupoDespesa, ret, transf));
 
                 AnaliseDespesasDto resultado = analiseDespesasService.analisar(1L, LocalDateTime.now(),
                                 LocalDateTime.now(), "BRL");
@@ -137,4 +120,29 @@ class AnaliseDespesasServiceTest {
                 assertEquals(new BigDecimal("200.00"),
                                 resultado.getTicketMedioPorTipoTransacao().get(TipoTransacao.TRANSFERENCIA));
         }
+
+        @Test
+        void deveConverterCadaGrupoUmaUnicaVez() {
+                ResumoTransacaoAgrupado despesaUsd = grupo("USD", CategoriaTransacao.ALIMENTACAO,
+                                TipoTransacao.DESPESA, YearMonth.of(2024, 1), "100.00", 3);
+                ResumoTransacaoAgrupado investimentoUsd = grupo("USD", CategoriaTransacao.INVESTIMENTOS,
+                                TipoTransacao.DESPESA, YearMonth.of(2024, 2), "500.00", 2);
+
+                when(transacaoService.agruparPorMoedaCategoriaTipoMes(anyLong(), any(), any(), any()))
+                                .thenReturn(List.of(despesaUsd, investimentoUsd));
+                when(cambioService.montarTabelaTaxas(any(), eq("BRL")))
+                                .thenReturn(new TaxaCambioTable("BRL", Map.of("USD", new BigDecimal("5"))));
+
+                AnaliseDespesasDto resultado = analiseDespesasService.analisar(1L, null, null, "BRL");
+
+                assertEquals(new BigDecimal("500.00"), resultado.getTotalGeral());
+                assertEquals(3, resultado.getQuantidadeTransacoes());
+                assertEquals(new BigDecimal("2500.00"), resultado.getTotalInvestimentos());
+                assertEquals(2, resultado.getQuantidadeInvestimentos());
+                assertEquals(new BigDecimal("500.00"), resultado.getTotalPorMes().get("2024-01"));
+                assertEquals(new BigDecimal("2500.00"), resultado.getInvestimentosPorMes().get("2024-02"));
+
+                // As taxas são resolvidas uma única vez para toda a análise
+                verify(cambioService, times(1)).montarTabelaTaxas(any(), anyString());
+        }
 }
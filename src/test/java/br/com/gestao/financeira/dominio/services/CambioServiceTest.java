@@ -4,6 +4,7 @@ import br.com.gestao.financeira.aplicacao.dto.ConversaoDto;
 import br.com.gestao.financeira.aplicacao.dto.TaxaCambioDto;
 import br.com.gestao.financeira.dominio.modelo.Moeda;
 import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambioTable;
 import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +20,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -126,4 +129,20 @@ class CambioServiceTest {
                 () -> cambioService.calcularCustoDoCambio(
                         new BigDecimal("100"), "USD", "BRL", new BigDecimal("-0.01")));
     }
+
+    @Test
+    @DisplayName("Deve resolver cada par de moedas uma única vez na tabela de taxas")
+    void deveMontarTabelaTaxasComParesDistintos() {
+        CambioService servico = new CambioService(cotacaoRepository, Runnable::run);
+        when(cotacaoRepository.obterTaxaAtual("USD", "BRL")).thenReturn(Optional.of(taxaCambio));
+        when(cotacaoRepository.obterTaxaAtual("XXX", "BRL")).thenReturn(Optional.empty());
+
+        TaxaCambioTable tabela = servico.montarTabelaTaxas(List.of("USD", "usd", "BRL", "XXX", "USD"), "BRL");
+
+        assertEquals(new BigDecimal("550.00"), tabela.converter(new BigDecimal("100"), "USD"));
+        assertEquals(new BigDecimal("100"), tabela.converter(new BigDecimal("100"), "BRL"));
+        // Par indisponível mantém o valor original
+        assertEquals(new BigDecimal("100"), tabela.converter(new BigDecimal("100"), "XXX"));
+        verify(cotacaoRepository, times(1)).obterTaxaAtual("USD", "BRL");
+    }
 }
@@ -0,0 +1,235 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.dominio.entity.ChatMessage;
+import br.com.gestao.financeira.dominio.entity.ChatMessage.ChatRole;
+import br.com.gestao.financeira.dominio.modelo.ChaveResposta;
+import br.com.gestao.financeira.dominio.modelo.ContextoFinanceiro;
+import br.com.gestao.financeira.dominio.modelo.JanelaConversa;
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+import br.com.gestao.financeira.dominio.repository.AssistenteRepository;
+import br.com.gestao.financeira.dominio.repository.ChatMessageRepository;
+import br.com.gestao.financeira.dominio.repository.ContextoFinanceiroRepository;
+import br.com.gestao.financeira.dominio.repository.MemoriaConversaRepository;
+import br.com.gestao.financeira.dominio.repository.RespostaAssistenteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatService Tests")
+class ChatServiceTest {
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ContextoFinanceiroRepository contextoFinanceiro;
+
+    @Mock
+    private MemoriaConversaRepository memoriaConversa;
+
+    @Mock
+    private RespostaAssistenteRepository respostas;
+
+    @Mock
+    private RespostaDiretaService respostaDireta;
+
+    @Mock
+    private AssistenteRepository assistente;
+
+    @InjectMocks
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime agora = LocalDateTime.now();
+        lenient().when(contextoFinanceiro.obter(1L)).thenReturn(ContextoFinanceiro.calcular(List.of(), agora, agora));
+        lenient().when(memoriaConversa.janela(1L, "sessao")).thenReturn(JanelaConversa.VAZIA);
+    }
+
+    private ChatService.PreparedMessage preparar(String mensagem) {
+        return chatService.prepareMessage(1L, mensagem, "sessao");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void responderComTrechos(String... trechos) {
+        doAnswer(inv -> {
+            Consumer<String> aoReceberTrecho = inv.getArgument(3);
+            for (String trecho : trechos) {
+                aoReceberTrecho.accept(trecho);
+            }
+            return null;
+        }).when(assistente).responderEmPartes(eq("Oi"), anyString(), anyList(), any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("Deve repassar os trechos e salvar a resposta completa")
+    void deveRepassarTrechosESalvarResposta() {
+        responderComTrechos("Olá", ", tudo", " bem?");
+        List<String> recebidos = new ArrayList<>();
+
+        String resposta = chatService.processMessageStreaming(preparar("Oi"), recebidos::add);
+
+        assertEquals("Olá, tudo bem?", resposta);
+        assertEquals(List.of("Olá", ", tudo", " bem?"), recebidos);
+        ArgumentCaptor<ChatMessage> salvas = ArgumentCaptor.forClass(ChatMessage.class);
+        verify(chatMessageRepository, times(2)).save(salvas.capture());
+        assertEquals(ChatRole.USER, salvas.getAllValues().get(0).getRole());
+        assertEquals(ChatRole.ASSISTANT, salvas.getAllValues().get(1).getRole());
+        assertEquals("Olá, tudo bem?", salvas.getAllValues().get(1).getContent());
+        verify(memoriaConversa).registrar(1L, "sessao",
+                new TurnoConversa(ChatRole.USER, "Oi"),
+                new TurnoConversa(ChatRole.ASSISTANT, "Olá, tudo bem?"));
+        verify(respostas).guardar(any(ChaveResposta.class), eq("Olá, tudo bem?"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Deve responder perguntas numéricas direto dos dados, sem cache nem modelo")
+    void deveResponderDosDados() {
+        when(respostaDireta.responder(1L, "Qual meu saldo?"))
+                .thenReturn(Optional.of("Neste mês, você recebeu R$ 100,00."));
+
+        Optional<String> resposta = preparar("Qual meu saldo?").answer();
+
+        assertEquals(Optional.of("Neste mês, você recebeu R$ 100,00."), resposta);
+        verify(chatMessageRepository, times(2)).save(any(ChatMessage.class));
+        verifyNoInteractions(respostas, assistente);
+    }
+
+    @Test
+    @DisplayName("Deve responder do cache sem chamar o modelo")
+    void deveResponderDoCache() {
+        when(respostas.buscar(any(ChaveResposta.class))).thenReturn(Optional.of("R$ 300,00."));
+
+        Optional<String> resposta = preparar("Oi").answer();
+
+        assertEquals(Optional.of("R$ 300,00."), resposta);
+        verify(chatMessageRepository, times(2)).save(any(ChatMessage.class));
+        verify(memoriaConversa).registrar(1L, "sessao",
+                new TurnoConversa(ChatRole.USER, "Oi"),
+                new TurnoConversa(ChatRole.ASSISTANT, "R$ 300,00."));
+        verify(assistente, never()).responder(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve salvar nada quando a resposta não está no cache")
+    void naoDeveSalvarQuandoNaoEstaNoCache() {
+        when(respostas.buscar(any(ChaveResposta.class))).thenReturn(Optional.empty());
+
+        assertTrue(preparar("Oi").answer().isEmpty());
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    @DisplayName("Deve montar o prompt uma vez só entre a preparação e a inferência")
+    void deveMontarPromptUmaVez() {
+        when(assistente.responder(eq("Oi"), anyString(), anyList())).thenReturn("Olá!");
+
+        assertEquals("Olá!", chatService.processMessage(preparar("Oi")));
+
+        verify(memoriaConversa, times(1)).janela(1L, "sessao");
+        verify(contextoFinanceiro, times(1)).obter(1L);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a resposta de uma pergunta repetida na mesma sessão")
+    void deveReaproveitarPerguntaRepetidaNaSessao() {
+        when(assistente.responder(eq("Quanto gastei com lazer?"), anyString(), anyList())).thenReturn("R$ 200,00.");
+        chatService.processMessage(preparar("Quanto gastei com lazer?"));
+        ArgumentCaptor<ChaveResposta> guardada = ArgumentCaptor.forClass(ChaveResposta.class);
+        verify(respostas).guardar(guardada.capture(), eq("R$ 200,00."), any(Duration.class));
+
+        when(memoriaConversa.janela(1L, "sessao")).thenReturn(new JanelaConversa(null, List.of(
+                new TurnoConversa(ChatRole.USER, "Quanto gastei com lazer?"),
+                new TurnoConversa(ChatRole.ASSISTANT, "R$ 200,00."))));
+        when(respostas.buscar(guardada.getValue())).thenReturn(Optional.of("R$ 200,00."));
+
+        assertEquals(Optional.of("R$ 200,00."), preparar("quanto gastei com lazer").answer());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache a mensagem de indisponibilidade")
+    void naoDeveGuardarMensagemDeIndisponibilidade() {
+        when(assistente.responder(eq("Oi"), anyString(), anyList())).thenThrow(new IllegalStateException("timeout"));
+
+        assertEquals(ChatService.RESPOSTA_INDISPONIVEL, chatService.processMessage(preparar("Oi")));
+        verify(respostas, never()).guardar(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve enviar o histórico e o resumo da sessão ao modelo")
+    void deveEnviarHistoricoEResumoDaSessao() {
+        List<TurnoConversa> turnos = List.of(
+                new TurnoConversa(ChatRole.USER, "Quanto gastei com lazer?"),
+                new TurnoConversa(ChatRole.ASSISTANT, "R$ 200,00 nos últimos 30 dias."));
+        when(memoriaConversa.janela(1L, "sessao"))
+                .thenReturn(new JanelaConversa("Assuntos anteriores desta conversa:\n- metas de economia", turnos));
+        when(assistente.responder(eq("E com saúde?"), anyString(), eq(turnos))).thenReturn("R$ 80,00.");
+
+        String resposta = chatService.processMessage(preparar("E com saúde?"));
+
+        assertEquals("R$ 80,00.", resposta);
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(assistente).responder(eq("E com saúde?"), prompt.capture(), eq(turnos));
+        assertTrue(prompt.getValue().contains("- metas de economia"));
+        verify(memoriaConversa).registrar(1L, "sessao",
+                new TurnoConversa(ChatRole.USER, "E com saúde?"),
+                new TurnoConversa(ChatRole.ASSISTANT, "R$ 80,00."));
+        // A continuação depende do histórico: não passa pelo cache
+        verifyNoInteractions(respostas);
+    }
+
+    @Test
+    @DisplayName("Deve entregar a mensagem de indisponibilidade quando o serviço falha")
+    @SuppressWarnings("unchecked")
+    void deveEntregarMensagemDeIndisponibilidade() {
+        doThrow(new IllegalStateException("conexão recusada"))
+                .when(assistente).responderEmPartes(anyString(), anyString(), anyList(), any(Consumer.class));
+        List<String> recebidos = new ArrayList<>();
+
+        String resposta = chatService.processMessageStreaming(preparar("Oi"), recebidos::add);
+
+        assertEquals(ChatService.RESPOSTA_INDISPONIVEL, resposta);
+        assertEquals(List.of(ChatService.RESPOSTA_INDISPONIVEL), recebidos);
+        verify(respostas, never()).guardar(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a geração quando o cliente se desconecta")
+    void deveInterromperQuandoClienteDesconecta() {
+        responderComTrechos("Olá", " mundo");
+        UncheckedIOException desconectado = new UncheckedIOException(new IOException("Broken pipe"));
+
+        UncheckedIOException ex = assertThrows(UncheckedIOException.class,
+                () -> chatService.processMessageStreaming(preparar("Oi"), trecho -> {
+                    throw desconectado;
+                }));
+
+        assertSame(desconectado, ex);
+        // Só a mensagem do usuário foi salva
+        verify(chatMessageRepository, times(1)).save(any(ChatMessage.class));
+        verify(memoriaConversa, never()).registrar(any(), any(), any(), any());
+        verify(respostas, never()).guardar(any(), any(), any());
+    }
+}
@@ -3,6 +3,7 @@ package br.com.gestao.financeira.dominio.services;
 import br.com.gestao.financeira.dominio.entity.Familia;
 import br.com.gestao.financeira.dominio.entity.Usuario;
 import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
 import br.com.gestao.financeira.dominio.repository.FamiliaRepository;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -29,6 +31,9 @@ class FamiliaServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private FamiliaService familiaService;
 
@@ -66,6 +71,7 @@ class FamiliaServiceTest {
 
         verify(usuarioRepository).save(gestor);
         verify(familiaRepository).save(any(Familia.class));
+        verify(eventos).publishEvent(any(UsuarioAlterado.class));
     }
 
     @Test
@@ -0,0 +1,108 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.dominio.entity.TaxaCambioHistorico;
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
+import br.com.gestao.financeira.dominio.repository.TaxaCambioHistoricoRepository;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
+import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NormalizacaoCambioService Tests")
+class NormalizacaoCambioServiceTest {
+
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private TaxaCambioHistoricoRepository historicoRepository;
+
+    @Mock
+    private CotacaoRepository cotacaoRepository;
+
+    @Mock
+    private VersaoDadosService versaoDadosService;
+
+    @InjectMocks
+    private NormalizacaoCambioService normalizacaoCambioService;
+
+    private Transacao transacao;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new Transacao();
+        transacao.setId(10L);
+        transacao.setUsuarioId(1L);
+        transacao.setValorOriginal(new BigDecimal("100.00"));
+        transacao.setMoedaOriginal("USD");
+        transacao.setData(LocalDateTime.of(2024, 3, 15, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Deve gravar taxa e valor normalizado no registro")
+    void deveNormalizarComTaxaAtual() {
+        when(cotacaoRepository.obterTaxaConhecida("USD", "BRL")).thenReturn(Optional.of(
+                new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), LocalDateTime.now())));
+
+        normalizacaoCambioService.normalizar(transacao, "BRL");
+
+        assertEquals(new BigDecimal("5.00"), transacao.getTaxaCambioAplicada());
+        assertEquals(new BigDecimal("500.0000"), transacao.getValorNormalizado());
+        assertEquals("BRL", transacao.getMoedaNormalizada());
+    }
+
+    @Test
+    @DisplayName("Deve deixar a transação pendente quando a taxa não está disponível")
+    void deveDeixarPendenteSemTaxa() {
+        when(cotacaoRepository.obterTaxaConhecida("USD", "BRL")).thenReturn(Optional.empty());
+
+        normalizacaoCambioService.normalizar(transacao, "BRL");
+
+        assertNull(transacao.getValorNormalizado());
+        assertNull(transacao.getMoedaNormalizada());
+        verify(cotacaoRepository, never()).obterTaxaAtual(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve usar a taxa histórica do dia no backfill")
+    void deveUsarTaxaHistoricaNoBackfill() {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setMoedaPadrao("BRL");
+
+        when(transacaoRepository.findPendentesNormalizacao(eq(0L), any())).thenReturn(List.of(transacao));
+        when(usuarioRepository.findAllById(any())).thenReturn(List.of(usuario));
+        when(historicoRepository.findFirstByMoedaOrigemAndMoedaDestinoAndObtidaEmLessThanEqualOrderByObtidaEmDesc(
+                eq("USD"), eq("BRL"), any())).thenReturn(Optional.of(
+                        new TaxaCambioHistorico("USD", "BRL", new BigDecimal("4.90"),
+                                LocalDateTime.of(2024, 3, 15, 9, 0))));
+
+        Long ultimoId = normalizacaoCambioService.normalizarPendentes(0L, 100);
+
+        assertEquals(10L, ultimoId);
+        assertEquals(new BigDecimal("490.0000"), transacao.getValorNormalizado());
+        verify(transacaoRepository).saveAll(List.of(transacao));
+        verifyNoInteractions(cotacaoRepository);
+    }
+}
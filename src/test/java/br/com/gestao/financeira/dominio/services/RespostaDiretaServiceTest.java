@@ -0,0 +1,110 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto;
+import br.com.gestao.financeira.aplicacao.dto.AnaliseDespesasDto.ResumoCategoria;
+import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.ResumoTransacaoAgrupado;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambioTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RespostaDiretaService Tests")
+class RespostaDiretaServiceTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 15, 10, 0);
+
+    @Mock
+    private AnaliseDespesasService analiseDespesasService;
+
+    @Mock
+    private TransacaoService transacaoService;
+
+    @Mock
+    private CambioService cambioService;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @InjectMocks
+    private RespostaDiretaService respostaDireta;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(usuarioService.detalharUsuario(1L)).thenReturn(new Usuario());
+    }
+
+    private static AnaliseDespesasDto analise(BigDecimal total, int quantidade, List<ResumoCategoria> categorias) {
+        AnaliseDespesasDto analise = new AnaliseDespesasDto();
+        analise.setTotalGeral(total);
+        analise.setQuantidadeTransacoes(quantidade);
+        analise.setResumoPorCategoria(categorias);
+        analise.setTotalInvestimentos(BigDecimal.ZERO);
+        analise.setQuantidadeInvestimentos(0);
+        return analise;
+    }
+
+    @Test
+    @DisplayName("Deve responder gastos em uma categoria do mês corrente, até agora")
+    void deveResponderGastosEmCategoria() {
+        when(analiseDespesasService.analisar(1L, LocalDateTime.of(2024, 3, 1, 0, 0), AGORA, "BRL"))
+                .thenReturn(analise(new BigDecimal("1500.00"), 10, List.of(
+                        new ResumoCategoria(CategoriaTransacao.MORADIA, new BigDecimal("1200.00"),
+                                new BigDecimal("80.00"), 1, new BigDecimal("1200.00")),
+                        new ResumoCategoria(CategoriaTransacao.ALIMENTACAO, new BigDecimal("300.00"),
+                                new BigDecimal("20.00"), 9, new BigDecimal("33.33")))));
+
+        Optional<String> resposta = respostaDireta.responder(1L, "Quanto gastei com mercado este mês?", AGORA);
+
+        assertEquals(Optional.of("Neste mês (março de 2024), você gastou R$ 300,00 com Alimentação "
+                + "em 9 transações, 20% das suas despesas."), resposta);
+    }
+
+    @Test
+    @DisplayName("Deve responder o saldo de um mês fechado com receitas convertidas para a moeda padrão")
+    void deveResponderSaldo() {
+        LocalDateTime inicio = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(transacaoService.agruparPorMoedaCategoriaTipoMes(eq(1L), eq(inicio), any(), anyCollection()))
+                .thenReturn(List.of(
+                        new ResumoTransacaoAgrupado("BRL", CategoriaTransacao.OUTROS, TipoTransacao.RECEITA,
+                                YearMonth.of(2024, 2), new BigDecimal("1000.00"), 1),
+                        new ResumoTransacaoAgrupado("USD", CategoriaTransacao.OUTROS, TipoTransacao.DEPOSITO,
+                                YearMonth.of(2024, 2), new BigDecimal("100.00"), 1)));
+        when(cambioService.montarTabelaTaxas(List.of("BRL", "USD"), "BRL"))
+                .thenReturn(new TaxaCambioTable("BRL", Map.of("USD", new BigDecimal("5.00"))));
+        when(analiseDespesasService.analisar(eq(1L), eq(inicio), any(), eq("BRL")))
+                .thenReturn(analise(new BigDecimal("1800.00"), 5, List.of()));
+
+        Optional<String> resposta = respostaDireta.responder(1L, "Qual foi meu saldo no mês passado?", AGORA);
+
+        assertEquals(Optional.of("Em fevereiro de 2024, você recebeu R$ 1.500,00 e teve R$ 1.800,00 de saídas "
+                + "(despesas e investimentos): saldo negativo de R$ 300,00."), resposta);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar os dados para perguntas que vão para o modelo")
+    void naoDeveConsultarDadosParaPerguntasAbertas() {
+        assertTrue(respostaDireta.responder(1L, "Como posso gastar menos com lazer?", AGORA).isEmpty());
+        verifyNoInteractions(analiseDespesasService, transacaoService, cambioService, usuarioService);
+    }
+}
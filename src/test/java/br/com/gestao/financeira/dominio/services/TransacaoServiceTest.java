@@ -1,30 +1,45 @@
 package br.com.gestao.financeira.dominio.services;
 
 import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.entity.Usuario;
 import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
 import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.CursorTransacao;
+import br.com.gestao.financeira.dominio.modelo.TransacoesAlteradas;
 import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,13 +53,33 @@ class TransacaoServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private NormalizacaoCambioService normalizacaoCambioService;
+
+    @Mock
+    private VersaoDadosService versaoDadosService;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private TransacaoService transacaoService;
 
     private Transacao transacao;
+    private Usuario usuario;
 
     @BeforeEach
     void setUp() {
+        // Injetado por @PersistenceContext, fora do construtor
+        ReflectionTestUtils.setField(transacaoService, "entityManager", entityManager);
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setMoedaPadrao("BRL");
+
         transacao = new Transacao();
         transacao.setId(1L);
         transacao.setUsuarioId(1L);
@@ -59,20 +94,22 @@ class TransacaoServiceTest {
     @Test
     @DisplayName("Deve registrar transação com sucesso")
     void deveRegistrarTransacaoComSucesso() {
-        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
         when(transacaoRepository.save(any(Transacao.class))).thenReturn(transacao);
 
         Transacao resultado = transacaoService.registrarTransacao(transacao);
 
         assertNotNull(resultado);
         assertEquals(TipoTransacao.DESPESA, resultado.getTipo());
+        verify(normalizacaoCambioService).normalizar(transacao, "BRL");
         verify(transacaoRepository).save(any(Transacao.class));
+        verify(versaoDadosService).registrarAlteracao(1L, transacao.getData());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao registrar transação para usuário inexistente")
     void deveLancarExcecaoAoRegistrarTransacaoParaUsuarioInexistente() {
-        when(usuarioRepository.existsById(1L)).thenReturn(false);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(UsuarioService.UsuarioNaoEncontradoException.class,
                 () -> transacaoService.registrarTransacao(transacao));
@@ -82,7 +119,7 @@ class TransacaoServiceTest {
     @DisplayName("Deve definir data atual quando não informada")
     void deveDefinirDataAtualQuandoNaoInformada() {
         transacao.setData(null);
-        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
         when(transacaoRepository.save(any(Transacao.class))).thenAnswer(i -> i.getArgument(0));
 
         Transacao resultado = transacaoService.registrarTransacao(transacao);
@@ -94,7 +131,7 @@ class TransacaoServiceTest {
     @DisplayName("Deve definir moeda BRL quando não informada")
     void deveDefinirMoedaBrlQuandoNaoInformada() {
         transacao.setMoedaOriginal(null);
-        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
         when(transacaoRepository.save(any(Transacao.class))).thenAnswer(i -> i.getArgument(0));
 
         Transacao resultado = transacaoService.registrarTransacao(transacao);
@@ -130,20 +167,22 @@ class TransacaoServiceTest {
     @Test
     @DisplayName("Deve excluir transação com sucesso")
     void deveExcluirTransacaoComSucesso() {
-        when(transacaoRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(transacaoRepository).deleteById(1L);
+        when(transacaoRepository.findById(1L)).thenReturn(Optional.of(transacao));
 
         assertDoesNotThrow(() -> transacaoService.excluirTransacao(1L));
-        verify(transacaoRepository).deleteById(1L);
+        verify(transacaoRepository).delete(transacao);
+        verify(versaoDadosService).registrarAlteracao(transacao.getUsuarioId(), transacao.getData());
+        verify(eventos).publishEvent(TransacoesAlteradas.excluida(transacao.getUsuarioId(), transacao.getId()));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao excluir transação inexistente")
     void deveLancarExcecaoAoExcluirTransacaoInexistente() {
-        when(transacaoRepository.existsById(999L)).thenReturn(false);
+        when(transacaoRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(TransacaoService.TransacaoNaoEncontradaException.class,
                 () -> transacaoService.excluirTransacao(999L));
+        verify(versaoDadosService, never()).registrarAlteracao(any(), any());
     }
 
     @Test
@@ -172,4 +211,98 @@ class TransacaoServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.getTotalElements());
     }
+
+    @Test
+    @DisplayName("Deve listar transações por cursor sem contagem total")
+    void deveListarTransacoesPorCursor() {
+        CursorTransacao cursor = CursorTransacao.decodificar(
+                new CursorTransacao(LocalDateTime.of(2024, 5, 1, 10, 0), 42L).codificar());
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(transacaoRepository.findPorCursor(eq(1L), any(), any(), isNull(), isNull(),
+                eq(LocalDateTime.of(2024, 5, 1, 10, 0)), eq(42L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(transacao), PageRequest.of(0, 1), true));
+
+        Slice<Transacao> resultado = transacaoService.listarTransacoesPorCursor(
+                1L, null, null, null, null, cursor, 1);
+
+        assertTrue(resultado.hasNext());
+        assertEquals(1, resultado.getNumberOfElements());
+        verify(transacaoRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a posição do cursor e o tamanho da página à consulta")
+    void deveRepassarCursorETamanhoDaPagina() {
+        CursorTransacao cursor = new CursorTransacao(LocalDateTime.of(2024, 5, 1, 10, 0), 42L);
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(transacaoRepository.findPorCursor(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        transacaoService.listarTransacoesPorCursor(1L, null, null, CategoriaTransacao.LAZER, "USD", cursor, 25);
+
+        ArgumentCaptor<Pageable> pagina = ArgumentCaptor.forClass(Pageable.class);
+        verify(transacaoRepository).findPorCursor(eq(1L), eq(LocalDateTime.of(1900, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(9999, 12, 31, 23, 59, 59)), eq(CategoriaTransacao.LAZER), eq("USD"),
+                eq(LocalDateTime.of(2024, 5, 1, 10, 0)), eq(42L), pagina.capture());
+        assertEquals(0, pagina.getValue().getPageNumber());
+        assertEquals(25, pagina.getValue().getPageSize());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void deveRejeitarCursorInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> CursorTransacao.decodificar("nao-e-um-cursor"));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer transações do período em streaming")
+    void devePercorrerTransacoesEmStreaming() {
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(transacaoRepository.streamPorPeriodo(eq(1L), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq("USD")))
+                .thenReturn(Stream.of(transacao));
+
+        List<Transacao> recebidas = new ArrayList<>();
+        transacaoService.percorrerTransacoes(1L, null, null, "USD", recebidas::add);
+
+        assertEquals(List.of(transacao), recebidas);
+    }
+
+    @Test
+    @DisplayName("Deve registrar lote validando o usuário uma única vez")
+    void deveRegistrarLoteValidandoUsuarioUmaVez() {
+        Transacao semMoeda = new Transacao();
+        semMoeda.setTipo(TipoTransacao.RECEITA);
+        semMoeda.setValorOriginal(new BigDecimal("10.00"));
+        semMoeda.setCategoria(CategoriaTransacao.OUTROS);
+        semMoeda.setMoedaOriginal(null);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(transacaoRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        List<Transacao> registradas = transacaoService.registrarLote(1L, List.of(transacao, semMoeda));
+
+        assertEquals(2, registradas.size());
+        assertEquals(1L, semMoeda.getUsuarioId());
+        assertEquals("BRL", semMoeda.getMoedaOriginal());
+        assertNotNull(semMoeda.getData());
+        verify(usuarioRepository, times(1)).findById(1L);
+        verify(normalizacaoCambioService, times(2)).normalizar(any(Transacao.class), eq("BRL"));
+        InOrder ordem = inOrder(transacaoRepository, entityManager);
+        ordem.verify(transacaoRepository).flush();
+        ordem.verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Deve manter a data histórica informada no lote")
+    void deveManterDataInformadaNoLote() {
+        LocalDateTime extrato = LocalDateTime.of(2023, 6, 10, 14, 0);
+        transacao.setData(extrato);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(transacaoRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        List<Transacao> registradas = transacaoService.registrarLote(1L, List.of(transacao));
+
+        assertEquals(extrato, registradas.get(0).getData());
+        verify(versaoDadosService).registrarAlteracao(1L, LocalDateTime.of(2023, 6, 1, 0, 0));
+    }
 }
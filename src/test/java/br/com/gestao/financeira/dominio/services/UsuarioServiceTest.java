@@ -4,6 +4,8 @@ import br.com.gestao.financeira.dominio.entity.Usuario;
 
 import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
 import br.com.gestao.financeira.dominio.enums.StatusUsuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
 import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,12 +14,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -29,9 +34,15 @@ class UsuarioServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -98,6 +109,22 @@ class UsuarioServiceTest {
 
         assertNotNull(resultado);
         verify(usuarioRepository).save(any(Usuario.class));
+        // A moeda padrão mudou: a normalização gravada deixa de valer
+        verify(transacaoRepository).limparNormalizacao(1L);
+    }
+
+    @Test
+    @DisplayName("Deve manter a normalização quando a moeda padrão não muda")
+    void deveManterNormalizacaoSemMudarMoeda() {
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
+
+        Usuario atualizacao = new Usuario();
+        atualizacao.setMoedaPadrao("brl");
+
+        usuarioService.atualizarUsuario(1L, atualizacao);
+
+        verify(transacaoRepository, never()).limparNormalizacao(any());
     }
 
     @Test
@@ -112,17 +139,17 @@ class UsuarioServiceTest {
     @Test
     @DisplayName("Deve excluir usuário com sucesso")
     void deveExcluirUsuarioComSucesso() {
-        when(usuarioRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(usuarioRepository).deleteById(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
 
         assertDoesNotThrow(() -> usuarioService.excluirUsuario(1L));
-        verify(usuarioRepository).deleteById(1L);
+        verify(usuarioRepository).delete(usuario);
+        verify(eventos).publishEvent(new UsuarioAlterado(1L, "teste@email.com"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao excluir usuário inexistente")
     void deveLancarExcecaoAoExcluirUsuarioInexistente() {
-        when(usuarioRepository.existsById(999L)).thenReturn(false);
+        when(usuarioRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(UsuarioService.UsuarioNaoEncontradoException.class,
                 () -> usuarioService.excluirUsuario(999L));
@@ -149,4 +176,26 @@ class UsuarioServiceTest {
         assertNotNull(resultado);
         assertEquals("teste@email.com", resultado.getEmail());
     }
+
+    @Test
+    @DisplayName("Deve criar lote de usuários com uma única gravação")
+    void deveCriarLoteDeUsuarios() {
+        Usuario outro = new Usuario();
+        outro.setNomeCompleto("Outro Usuario");
+        outro.setEmail("outro@email.com");
+        outro.setCpf("10987654321");
+        outro.setSenha("senhaJaCodificada");
+        when(usuarioRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Usuario> criados = usuarioService.criarLote(List.of(usuario, outro));
+
+        assertEquals(2, criados.size());
+        assertEquals("senhaJaCodificada", outro.getSenha());
+        assertEquals(PerfilUsuario.USUARIO, outro.getPerfil());
+        assertEquals("BRL", outro.getMoedaPadrao());
+        verify(usuarioRepository).saveAll(anyList());
+        verify(usuarioRepository).flush();
+        verify(usuarioRepository, never()).existsByEmail(anyString());
+        verifyNoInteractions(passwordEncoder);
+    }
 }
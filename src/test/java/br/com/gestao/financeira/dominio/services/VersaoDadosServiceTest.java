@@ -0,0 +1,57 @@
+package br.com.gestao.financeira.dominio.services;
+
+import br.com.gestao.financeira.dominio.repository.VersaoDadosRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VersaoDadosService Tests")
+class VersaoDadosServiceTest {
+
+    @Mock
+    private VersaoDadosRepository versaoDadosRepository;
+
+    @InjectMocks
+    private VersaoDadosService versaoDadosService;
+
+    private static final LocalDateTime INICIO_MARCO = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime FIM_MARCO = LocalDateTime.of(2024, 3, 31, 23, 59, 59);
+
+    @Test
+    @DisplayName("Deve incrementar a versão do mês da transação alterada")
+    void deveIncrementarVersaoDoMes() {
+        versaoDadosService.registrarAlteracao(1L, LocalDateTime.of(2024, 3, 15, 10, 0));
+
+        verify(versaoDadosRepository).incrementar(1L, LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    @DisplayName("Deve somar as versões dos meses cobertos pelo período")
+    void deveSomarVersoesDoPeriodo() {
+        when(versaoDadosRepository.somarVersoes(1L, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1)))
+                .thenReturn(3L);
+
+        assertEquals("3", versaoDadosService.versao(1L, INICIO_MARCO, FIM_MARCO));
+    }
+
+    @Test
+    @DisplayName("Deve cobrir todos os meses quando o período não é informado")
+    void deveCobrirTodosOsMesesSemPeriodo() {
+        when(versaoDadosRepository.somarVersoes(eq(1L), any(), any())).thenReturn(7L);
+
+        assertEquals("7", versaoDadosService.versao(1L, null, null));
+        verify(versaoDadosRepository).somarVersoes(1L, LocalDate.of(1900, 1, 1), LocalDate.of(9999, 12, 1));
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.services.NormalizacaoCambioService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BackfillNormalizacaoJob Tests")
+class BackfillNormalizacaoJobTest {
+
+    @Mock
+    private NormalizacaoCambioService normalizacaoCambioService;
+
+    @Test
+    @DisplayName("Deve processar poucos lotes por execução e continuar do último ID na seguinte")
+    void deveContinuarDoUltimoIdNaExecucaoSeguinte() {
+        BackfillNormalizacaoJob job = new BackfillNormalizacaoJob(normalizacaoCambioService, 100, 2);
+        when(normalizacaoCambioService.normalizarPendentes(anyLong(), eq(100)))
+                .thenReturn(100L, 200L, 300L, null);
+
+        job.executar();
+        job.executar();
+        job.executar();
+
+        InOrder ordem = inOrder(normalizacaoCambioService);
+        // Primeira execução: dois lotes e para
+        ordem.verify(normalizacaoCambioService).normalizarPendentes(0L, 100);
+        ordem.verify(normalizacaoCambioService).normalizarPendentes(100L, 100);
+        // Segunda: continua do ID 200 e chega ao fim
+        ordem.verify(normalizacaoCambioService).normalizarPendentes(200L, 100);
+        ordem.verify(normalizacaoCambioService).normalizarPendentes(300L, 100);
+        // Terceira: recomeça do início
+        ordem.verify(normalizacaoCambioService).normalizarPendentes(0L, 100);
+    }
+}
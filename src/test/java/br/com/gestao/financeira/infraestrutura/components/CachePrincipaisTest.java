@@ -0,0 +1,119 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import br.com.gestao.financeira.infraestrutura.config.UserDetailsServiceImpl;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachePrincipais Tests")
+class CachePrincipaisTest {
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private CachePrincipais cachePrincipais;
+
+    @BeforeEach
+    void setUp() {
+        cachePrincipais = new CachePrincipais(userDetailsService, usuarioRepository, new SimpleMeterRegistry(),
+                100, 60_000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Deve carregar o usuário uma vez e guardá-lo sem a senha")
+    void deveCarregarUmaVezSemSenha() {
+        when(userDetailsService.loadUserByUsername("ana@email.com"))
+                .thenReturn(new UsuarioAutenticado(1L, "ana@email.com", "hash", PerfilUsuario.GESTOR, 10L, 0));
+        when(usuarioRepository.findVersaoTokenByEmail("ana@email.com")).thenReturn(Optional.of(0));
+
+        UsuarioAutenticado primeiro = cachePrincipais.obter("ana@email.com");
+        UsuarioAutenticado segundo = cachePrincipais.obter("ana@email.com");
+
+        assertSame(primeiro, segundo);
+        assertNull(primeiro.getPassword());
+        assertEquals(10L, primeiro.getFamiliaId());
+        verify(userDetailsService, times(1)).loadUserByUsername("ana@email.com");
+        verify(usuarioRepository, times(1)).findVersaoTokenByEmail("ana@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o usuário após alteração")
+    void deveRecarregarAposAlteracao() {
+        when(userDetailsService.loadUserByUsername("ana@email.com"))
+                .thenReturn(new UsuarioAutenticado(1L, "ana@email.com", "hash", PerfilUsuario.USUARIO, null, 0))
+                .thenReturn(new UsuarioAutenticado(1L, "ana@email.com", "hash", PerfilUsuario.GESTOR, 10L, 1));
+        when(usuarioRepository.findVersaoTokenByEmail("ana@email.com"))
+                .thenReturn(Optional.of(0))
+                .thenReturn(Optional.of(1));
+
+        cachePrincipais.obter("ana@email.com");
+        cachePrincipais.aoAlterarUsuario(new UsuarioAlterado(1L, "ana@email.com"));
+
+        assertEquals(PerfilUsuario.GESTOR, cachePrincipais.obter("ana@email.com").getPerfil());
+        verify(userDetailsService, times(2)).loadUserByUsername("ana@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a entrada cuja versão ficou para trás no banco")
+    void deveRecarregarEntradaDeVersaoAnterior() {
+        when(userDetailsService.loadUserByUsername("ana@email.com"))
+                .thenReturn(new UsuarioAutenticado(1L, "ana@email.com", "hash", PerfilUsuario.GESTOR, 10L, 0))
+                .thenReturn(new UsuarioAutenticado(1L, "ana@email.com", "hash", PerfilUsuario.USUARIO, 20L, 1));
+        // Alterado por outra instância: a versão em cache expirou e o banco tem a nova
+        when(usuarioRepository.findVersaoTokenByEmail("ana@email.com")).thenReturn(Optional.of(1));
+
+        UsuarioAutenticado usuario = cachePrincipais.obter("ana@email.com");
+
+        assertEquals(PerfilUsuario.USUARIO, usuario.getPerfil());
+        assertEquals(20L, usuario.getFamiliaId());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar as claims só enquanto a versão do token for a atual")
+    void deveValidarVersaoDoToken() {
+        when(usuarioRepository.findVersaoTokenByEmail("ana@email.com"))
+                .thenReturn(Optional.of(0))
+                .thenReturn(Optional.of(1));
+        UsuarioAutenticado dasClaims = new UsuarioAutenticado(1L, "ana@email.com", null, PerfilUsuario.GESTOR,
+                10L, 0);
+
+        assertTrue(cachePrincipais.versaoAtual(dasClaims));
+        assertTrue(cachePrincipais.versaoAtual(dasClaims));
+
+        cachePrincipais.aoAlterarUsuario(new UsuarioAlterado(1L, "ana@email.com"));
+
+        assertFalse(cachePrincipais.versaoAtual(dasClaims));
+        verify(usuarioRepository, times(2)).findVersaoTokenByEmail("ana@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve recusar o token de um usuário excluído")
+    void deveRecusarUsuarioExcluido() {
+        when(usuarioRepository.findVersaoTokenByEmail("ana@email.com")).thenReturn(Optional.empty());
+        when(userDetailsService.loadUserByUsername("ana@email.com"))
+                .thenThrow(new UsernameNotFoundException("Usuário não encontrado: ana@email.com"));
+
+        assertFalse(cachePrincipais.versaoAtual(
+                new UsuarioAutenticado(1L, "ana@email.com", null, PerfilUsuario.GESTOR, 10L, 0)));
+        assertThrows(UsernameNotFoundException.class, () -> cachePrincipais.obter("ana@email.com"));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.dominio.modelo.UsuarioAlterado;
+import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ControleAcesso Tests")
+class ControleAcessoTest {
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    private ControleAcesso controleAcesso;
+
+    @BeforeEach
+    void setUp() {
+        controleAcesso = new ControleAcesso(usuarioService, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Deve permitir o próprio usuário e o MASTER sem consultar o banco")
+    void devePermitirProprioUsuarioEMaster() {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(1L, "ana@email.com", null, PerfilUsuario.USUARIO, null, 0);
+        UsuarioAutenticado master = new UsuarioAutenticado(2L, "admin@email.com", null, PerfilUsuario.MASTER, null, 0);
+
+        assertTrue(controleAcesso.podeAcessar(1L, usuario));
+        assertTrue(controleAcesso.podeAcessar(1L, master));
+        assertFalse(controleAcesso.podeAcessar(3L, usuario));
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    @DisplayName("Deve permitir o gestor da família consultando a família do alvo uma vez")
+    void devePermitirGestorDaFamilia() {
+        UsuarioAutenticado gestor = new UsuarioAutenticado(1L, "ana@email.com", null, PerfilUsuario.GESTOR, 10L, 0);
+        when(usuarioService.buscarFamiliaId(5L)).thenReturn(Optional.of(10L));
+        when(usuarioService.buscarFamiliaId(6L)).thenReturn(Optional.empty());
+
+        assertTrue(controleAcesso.podeAcessar(5L, gestor));
+        assertTrue(controleAcesso.podeAcessar(5L, gestor));
+        assertFalse(controleAcesso.podeAcessar(6L, gestor));
+        verify(usuarioService, times(1)).buscarFamiliaId(5L);
+    }
+
+    @Test
+    @DisplayName("Deve negar acesso após o alvo sair da família")
+    void deveNegarAposAlteracaoDoAlvo() {
+        UsuarioAutenticado gestor = new UsuarioAutenticado(1L, "ana@email.com", null, PerfilUsuario.GESTOR, 10L, 0);
+        when(usuarioService.buscarFamiliaId(5L))
+                .thenReturn(Optional.of(10L))
+                .thenReturn(Optional.of(20L));
+
+        controleAcesso.validar(5L, gestor, "negado");
+        controleAcesso.aoAlterarUsuario(new UsuarioAlterado(5L, "bia@email.com"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> controleAcesso.validar(5L, gestor, "negado"));
+        assertEquals("negado", ex.getMessage());
+    }
+}
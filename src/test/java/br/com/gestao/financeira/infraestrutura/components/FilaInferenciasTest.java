@@ -0,0 +1,92 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FilaInferencias Tests")
+class FilaInferenciasTest {
+
+    // Executor manual: as tarefas só rodam quando o teste manda
+    private final List<Runnable> tarefas = new ArrayList<>();
+
+    private final FilaInferencias fila = new FilaInferencias(tarefas::add, 1, 2);
+
+    private void rodarProxima() {
+        tarefas.remove(0).run();
+    }
+
+    @Test
+    @DisplayName("Deve limitar as inferências simultâneas e informar a posição na fila")
+    void deveEnfileirarEInformarPosicao() {
+        List<Integer> posicoesB = new ArrayList<>();
+        List<Integer> posicoesC = new ArrayList<>();
+
+        CompletableFuture<String> a = fila.solicitar(() -> "a", p -> fail("A não deveria esperar"));
+        CompletableFuture<String> b = fila.solicitar(() -> "b", posicoesB::add);
+        CompletableFuture<String> c = fila.solicitar(() -> "c", posicoesC::add);
+
+        assertEquals(1, tarefas.size());
+        assertEquals(List.of(1), posicoesB);
+        assertEquals(List.of(2), posicoesC);
+        assertThrows(FilaInferencias.LimiteInferenciasExcedidoException.class,
+                () -> fila.solicitar(() -> "d", p -> {
+                }));
+
+        rodarProxima();
+        assertEquals("a", a.join());
+        assertEquals(1, tarefas.size());
+        assertEquals(List.of(2, 1), posicoesC);
+
+        rodarProxima();
+        rodarProxima();
+        assertEquals("b", b.join());
+        assertEquals("c", c.join());
+        assertEquals(0, fila.emEspera());
+
+        // Vaga devolvida: o próximo pedido roda sem esperar
+        fila.solicitar(() -> "e", p -> fail("E não deveria esperar"));
+        assertEquals(1, tarefas.size());
+    }
+
+    @Test
+    @DisplayName("Deve retirar da fila o pedido cancelado")
+    void deveRetirarPedidoCancelado() {
+        List<Integer> posicoesC = new ArrayList<>();
+        fila.solicitar(() -> "a", p -> {
+        });
+        CompletableFuture<String> b = fila.solicitar(() -> fail("B foi cancelado"), p -> {
+        });
+        CompletableFuture<String> c = fila.solicitar(() -> "c", posicoesC::add);
+
+        b.cancel(false);
+
+        assertEquals(1, fila.emEspera());
+        assertEquals(List.of(2, 1), posicoesC);
+        rodarProxima();
+        rodarProxima();
+        assertEquals("c", c.join());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga quando a inferência falha")
+    void deveLiberarVagaAposFalha() {
+        CompletableFuture<String> a = fila.solicitar(() -> {
+            throw new IllegalStateException("modelo indisponível");
+        }, p -> {
+        });
+        CompletableFuture<String> b = fila.solicitar(() -> "b", p -> {
+        });
+
+        rodarProxima();
+        rodarProxima();
+
+        assertTrue(a.isCompletedExceptionally());
+        assertEquals("b", b.join());
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
+import br.com.gestao.financeira.dominio.enums.FormatoRelatorio;
+import br.com.gestao.financeira.dominio.enums.StatusRelatorio;
+import br.com.gestao.financeira.dominio.modelo.JobRelatorio;
+import br.com.gestao.financeira.dominio.repository.RelatorioRepository;
+import br.com.gestao.financeira.dominio.services.VersaoDadosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FilaRelatorios Tests")
+class FilaRelatoriosTest {
+
+    @Mock
+    private RelatorioRepository relatorioPort;
+
+    @Mock
+    private VersaoDadosService versaoDadosService;
+
+    @TempDir
+    Path diretorio;
+
+    private RelatorioArquivoStore arquivoStore;
+
+    @BeforeEach
+    void setUp() {
+        arquivoStore = new RelatorioArquivoStore(diretorio, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o arquivo gerado enquanto os dados não mudarem")
+    void deveReaproveitarArquivoGerado() throws IOException {
+        FilaRelatorios fila = new FilaRelatorios(relatorioPort, versaoDadosService, arquivoStore,
+                Runnable::run, 2, Duration.ofHours(1));
+        when(versaoDadosService.versao(eq(1L), any(), any())).thenReturn("a1b2c3d4-3");
+        doAnswer(inv -> {
+            escrever(inv.getArgument(1), "pdf");
+            return null;
+        }).when(relatorioPort).gerarRelatorioPDF(any(ParametrosRelatorio.class), any(OutputStream.class));
+
+        JobRelatorio primeiro = fila.solicitar(parametros(null), FormatoRelatorio.PDF);
+        JobRelatorio segundo = fila.solicitar(parametros(null), FormatoRelatorio.PDF);
+
+        assertEquals(StatusRelatorio.CONCLUIDO, primeiro.getStatus());
+        assertEquals(StatusRelatorio.CONCLUIDO, segundo.getStatus());
+        assertEquals("pdf", Files.readString(fila.arquivo(segundo)));
+        verify(relatorioPort, times(1)).gerarRelatorioPDF(any(ParametrosRelatorio.class), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o job idêntico em andamento")
+    void deveReutilizarJobEmAndamento() {
+        List<Runnable> agendadas = new ArrayList<>();
+        FilaRelatorios fila = new FilaRelatorios(relatorioPort, versaoDadosService, arquivoStore,
+                agendadas::add, 2, Duration.ofHours(1));
+        when(versaoDadosService.versao(eq(1L), any(), any())).thenReturn("v1");
+
+        JobRelatorio primeiro = fila.solicitar(parametros(null), FormatoRelatorio.XLSX);
+        JobRelatorio segundo = fila.solicitar(parametros(null), FormatoRelatorio.XLSX);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, agendadas.size());
+        assertEquals(StatusRelatorio.PENDENTE, primeiro.getStatus());
+        assertThrows(FilaRelatorios.RelatorioIndisponivelException.class, () -> fila.arquivo(primeiro));
+    }
+
+    @Test
+    @DisplayName("Deve recusar pedidos acima do limite por usuário")
+    void deveRecusarAcimaDoLimitePorUsuario() {
+        List<Runnable> agendadas = new ArrayList<>();
+        FilaRelatorios fila = new FilaRelatorios(relatorioPort, versaoDadosService, arquivoStore,
+                agendadas::add, 1, Duration.ofHours(1));
+        when(versaoDadosService.versao(eq(1L), any(), any())).thenReturn("v1");
+
+        fila.solicitar(parametros("USD"), FormatoRelatorio.PDF);
+
+        assertThrows(FilaRelatorios.LimiteRelatoriosExcedidoException.class,
+                () -> fila.solicitar(parametros("EUR"), FormatoRelatorio.PDF));
+
+        // Ao terminar o primeiro, o usuário volta a ter vaga
+        agendadas.get(0).run();
+        assertEquals(StatusRelatorio.CONCLUIDO,
+                fila.solicitar(parametros("USD"), FormatoRelatorio.PDF).getStatus());
+        assertDoesNotThrow(() -> fila.solicitar(parametros("EUR"), FormatoRelatorio.PDF));
+    }
+
+    @Test
+    @DisplayName("Deve interromper o envio quando a geração falha no meio do arquivo")
+    void deveInterromperEnvioQuandoGeracaoFalha() {
+        FilaRelatorios fila = new FilaRelatorios(relatorioPort, versaoDadosService, arquivoStore,
+                Runnable::run, 2, Duration.ofHours(1));
+        when(versaoDadosService.versao(eq(1L), any(), any())).thenReturn("v1");
+        doAnswer(inv -> {
+            escrever(inv.getArgument(1), "primeiro bloco");
+            throw new IllegalStateException("Conexão com o banco perdida");
+        }).when(relatorioPort).gerarRelatorioPDF(any(ParametrosRelatorio.class), any(OutputStream.class));
+        String chave = fila.chave(parametros(null), FormatoRelatorio.PDF);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        FilaRelatorios.RelatorioInterrompidoException ex = assertThrows(
+                FilaRelatorios.RelatorioInterrompidoException.class,
+                () -> fila.escrever(parametros(null), FormatoRelatorio.PDF, chave, saida));
+
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals("primeiro bloco", saida.toString(StandardCharsets.UTF_8));
+        // O arquivo incompleto não fica disponível para os próximos pedidos
+        assertTrue(arquivoStore.obter(chave, "pdf").isEmpty());
+    }
+
+    private ParametrosRelatorio parametros(String moeda) {
+        return new ParametrosRelatorio(1L, null, null, moeda, null);
+    }
+
+    private void escrever(OutputStream saida, String conteudo) {
+        try {
+            saida.write(conteudo.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.services.TransacaoService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeradorExcelAdapter Tests")
+class GeradorExcelAdapterTest {
+
+    @Mock
+    private TransacaoService transacaoService;
+
+    @InjectMocks
+    private GeradorExcelAdapter geradorExcel;
+
+    @Test
+    @DisplayName("Deve gerar planilha legível com mais linhas que a janela em memória")
+    void deveGerarPlanilhaComVariasJanelas() throws IOException {
+        // 650 linhas: várias janelas de 100 e além da amostra de largura
+        percorrer(650, 0);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        geradorExcel.gerarRelatorio(parametros(), saida);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(saida.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Transações");
+            assertNotNull(sheet);
+            assertEquals(650, sheet.getLastRowNum());
+            assertEquals("Descrição", sheet.getRow(0).getCell(6).getStringCellValue());
+
+            Row primeira = sheet.getRow(1);
+            assertEquals(1, primeira.getCell(0).getNumericCellValue());
+            assertEquals("Despesa", primeira.getCell(2).getStringCellValue());
+            assertEquals("Moradia", primeira.getCell(3).getStringCellValue());
+            assertEquals("BRL", primeira.getCell(4).getStringCellValue());
+            assertEquals("Lancamento 1", primeira.getCell(6).getStringCellValue());
+
+            Row ultima = sheet.getRow(650);
+            assertEquals(650, ultima.getCell(0).getNumericCellValue());
+            assertEquals(650.5, ultima.getCell(5).getNumericCellValue());
+            assertEquals("Lancamento 650", ultima.getCell(6).getStringCellValue());
+
+            // Largura medida só nas 500 primeiras linhas: a descrição longa
+            // da linha 600 não alarga a coluna
+            assertEquals(100, sheet.getRow(600).getCell(6).getStringCellValue().length());
+            assertEquals(("Lancamento 500".length() + 2) * 256, sheet.getColumnWidth(6));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve propagar falha ocorrida durante a leitura das transações")
+    void devePropagarFalhaDuranteLeitura() {
+        percorrer(650, 300);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> geradorExcel.gerarRelatorio(parametros(), saida));
+
+        assertTrue(ex.getMessage().contains("Erro ao gerar relatório Excel"));
+        // O XLSX só é escrito no fim, então nada chega à saída
+        assertEquals(0, saida.size());
+    }
+
+    private void percorrer(int total, int falharEm) {
+        doAnswer(inv -> {
+            Consumer<Transacao> consumidor = inv.getArgument(4);
+            for (int i = 1; i <= total; i++) {
+                if (i == falharEm) {
+                    throw new IllegalStateException("Conexão com o banco perdida");
+                }
+                consumidor.accept(transacao(i));
+            }
+            return null;
+        }).when(transacaoService).percorrerTransacoes(eq(1L), any(), any(), any(), any());
+    }
+
+    private Transacao transacao(int i) {
+        Transacao transacao = new Transacao();
+        transacao.setId((long) i);
+        transacao.setUsuarioId(1L);
+        transacao.setTipo(TipoTransacao.DESPESA);
+        transacao.setCategoria(CategoriaTransacao.MORADIA);
+        transacao.setMoedaOriginal("BRL");
+        transacao.setValorOriginal(new BigDecimal(i + ".50"));
+        transacao.setData(LocalDateTime.of(2024, 1, 1, 10, 0).plusMinutes(i));
+        transacao.setDescricao(i == 600 ? "x".repeat(100) : "Lancamento " + i);
+        return transacao;
+    }
+
+    private ParametrosRelatorio parametros() {
+        return new ParametrosRelatorio(1L, null, null, null, null);
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.aplicacao.dto.ParametrosRelatorio;
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.services.TransacaoService;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeradorPdfAdapter Tests")
+class GeradorPdfAdapterTest {
+
+    @Mock
+    private TransacaoService transacaoService;
+
+    @Mock
+    private GeradorExcelAdapter geradorExcel;
+
+    @InjectMocks
+    private GeradorPdfAdapter geradorPdf;
+
+    @Test
+    @DisplayName("Deve gerar PDF legível com a tabela escrita em vários blocos")
+    void deveGerarPdfComVariosBlocos() throws IOException {
+        // 450 linhas: dois blocos de 200 descarregados antes do fechamento da tabela
+        when(transacaoService.contarTransacoes(1L, null, null, null)).thenReturn(450L);
+        percorrer(450, 0);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        geradorPdf.gerarRelatorioPDF(parametros(), saida);
+
+        PdfReader reader = new PdfReader(saida.toByteArray());
+        try {
+            int paginas = reader.getNumberOfPages();
+            assertTrue(paginas > 1);
+
+            String primeira = PdfTextExtractor.getTextFromPage(reader, 1);
+            assertTrue(primeira.contains("Total de transações: 450"));
+
+            StringBuilder texto = new StringBuilder();
+            for (int pagina = 1; pagina <= paginas; pagina++) {
+                String conteudo = PdfTextExtractor.getTextFromPage(reader, pagina);
+                // Cabeçalho repetido em todas as páginas
+                assertTrue(conteudo.contains("Categoria"), "Página " + pagina + " sem cabeçalho");
+                texto.append(conteudo).append('\n');
+            }
+            for (int i : new int[] { 200, 201, 400, 401, 450 }) {
+                assertTrue(texto.toString().contains("Lancamento " + i), "Linha " + i + " ausente");
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve propagar falha ocorrida depois do primeiro bloco")
+    void devePropagarFalhaDepoisDoPrimeiroBloco() {
+        when(transacaoService.contarTransacoes(1L, null, null, null)).thenReturn(450L);
+        percorrer(450, 250);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> geradorPdf.gerarRelatorioPDF(parametros(), saida));
+
+        assertTrue(ex.getMessage().contains("Erro ao gerar relatório PDF"));
+        // Parte do documento já foi enviada, mas sem o trailer: quem chamou
+        // precisa abortar a resposta em vez de encerrá-la normalmente
+        assertTrue(saida.size() > 0);
+        assertFalse(saida.toString(StandardCharsets.ISO_8859_1).contains("%%EOF"));
+    }
+
+    private void percorrer(int total, int falharEm) {
+        doAnswer(inv -> {
+            Consumer<Transacao> consumidor = inv.getArgument(4);
+            for (int i = 1; i <= total; i++) {
+                if (i == falharEm) {
+                    throw new IllegalStateException("Conexão com o banco perdida");
+                }
+                consumidor.accept(transacao(i));
+            }
+            return null;
+        }).when(transacaoService).percorrerTransacoes(eq(1L), any(), any(), any(), any());
+    }
+
+    private Transacao transacao(int i) {
+        Transacao transacao = new Transacao();
+        transacao.setId((long) i);
+        transacao.setUsuarioId(1L);
+        transacao.setTipo(TipoTransacao.DESPESA);
+        transacao.setCategoria(CategoriaTransacao.MORADIA);
+        transacao.setMoedaOriginal("BRL");
+        transacao.setValorOriginal(new BigDecimal(i + ".50"));
+        transacao.setData(LocalDateTime.of(2024, 1, 1, 10, 0).plusMinutes(i));
+        transacao.setDescricao("Lancamento " + i);
+        return transacao;
+    }
+
+    private ParametrosRelatorio parametros() {
+        return new ParametrosRelatorio(1L, null, null, null, null);
+    }
+}
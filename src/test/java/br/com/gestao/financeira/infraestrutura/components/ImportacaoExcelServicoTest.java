@@ -0,0 +1,221 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.aplicacao.dto.ResultadoImportacaoDto;
+import br.com.gestao.financeira.dominio.entity.Transacao;
+import br.com.gestao.financeira.dominio.entity.Usuario;
+import br.com.gestao.financeira.dominio.enums.CategoriaTransacao;
+import br.com.gestao.financeira.dominio.enums.TipoTransacao;
+import br.com.gestao.financeira.dominio.modelo.JobImportacao;
+import br.com.gestao.financeira.dominio.services.TransacaoService;
+import br.com.gestao.financeira.dominio.services.UsuarioService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportacaoExcelServico Tests")
+@SuppressWarnings("unchecked")
+class ImportacaoExcelServicoTest {
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @Mock
+    private TransacaoService transacaoService;
+
+    @TempDir
+    Path diretorio;
+
+    private ImportacaoExcelServico importacao;
+
+    @BeforeEach
+    void setUp() {
+        // As senhas são codificadas na própria thread do teste
+        importacao = new ImportacaoExcelServico(usuarioService, transacaoService, new LeitorPlanilha(),
+                Runnable::run, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @DisplayName("Deve importar usuários de CSV verificando duplicidades por bloco")
+    void deveImportarUsuariosDeCsv() throws IOException {
+        String csv = """
+                Nome;Email;CPF;Senha;Moeda
+                Ana Souza;ana@email.com;123.456.789-01;;usd
+                Bruno Lima;bruno@email.com;98765432100;segredo;
+                Ana Repetida;ana@email.com;11122233344;;
+                Carla Dias;carla@email.com;55566677788;;
+                ;sem-nome@email.com;00011122233;;
+                """;
+        when(usuarioService.emailsCadastrados(anyCollection())).thenReturn(Set.of("carla@email.com"));
+        when(usuarioService.cpfsCadastrados(anyCollection())).thenReturn(Set.of());
+        when(usuarioService.codificarSenha(anyString())).thenAnswer(inv -> "hash:" + inv.getArgument(0));
+        Path planilha = Files.writeString(diretorio.resolve("usuarios.csv"), csv);
+        JobImportacao job = new JobImportacao("usuarios.csv");
+
+        importacao.importarUsuarios(planilha, "usuarios.csv", job);
+
+        assertEquals(5, job.getLinhasLidas());
+        assertEquals(2, job.getSucessos());
+        assertEquals(3, job.getFalhas());
+        assertTrue(job.getErros().contains("Linha 4: Email já cadastrado: ana@email.com"));
+        assertTrue(job.getErros().contains("Linha 5: Email já cadastrado: carla@email.com"));
+        assertTrue(job.getErros().contains("Linha 6: nomeCompleto: O nome completo é obrigatório"));
+
+        ArgumentCaptor<List<Usuario>> captor = ArgumentCaptor.forClass(List.class);
+        verify(usuarioService, times(1)).criarLote(captor.capture());
+        Usuario ana = captor.getValue().get(0);
+        assertEquals("12345678901", ana.getCpf());
+        assertEquals("hash:senha123", ana.getSenha());
+        assertEquals("USD", ana.getMoedaPadrao());
+        verify(usuarioService, times(1)).emailsCadastrados(anyCollection());
+        // Linhas recusadas por duplicidade não chegam a ter a senha codificada
+        verify(usuarioService, times(2)).codificarSenha(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve recusar só o usuário inválido, sem codificar a senha dele")
+    void deveRecusarUsuarioInvalidoSemDerrubarBloco() throws IOException {
+        String csv = "Nome;Email;CPF;Senha;Moeda\n"
+                + "Ana Souza;ana@email.com;12345678901;;\n"
+                + "Bruno Lima;bruno@email.com;1234567890;;\n"
+                + "Carla Dias;carla@email.com;55566677788;;Real\n"
+                + "D" + "a".repeat(100) + ";dani@email.com;11122233344;;\n"
+                + "Eva Reis;eva-sem-arroba;99988877766;;\n";
+        when(usuarioService.emailsCadastrados(anyCollection())).thenReturn(Set.of());
+        when(usuarioService.cpfsCadastrados(anyCollection())).thenReturn(Set.of());
+        when(usuarioService.codificarSenha(anyString())).thenReturn("hash");
+        Path planilha = Files.writeString(diretorio.resolve("usuarios.csv"), csv);
+        JobImportacao job = new JobImportacao("usuarios.csv");
+
+        importacao.importarUsuarios(planilha, "usuarios.csv", job);
+
+        assertEquals(1, job.getSucessos());
+        assertEquals(List.of(
+                "Linha 3: cpf: O CPF deve conter 11 dígitos numéricos",
+                "Linha 4: moedaPadrao: A moeda padrão deve ser um código de 3 letras (ex: BRL)",
+                "Linha 5: nomeCompleto: O nome deve ter entre 3 e 100 caracteres",
+                "Linha 6: email: O email deve ser válido"), job.getErros());
+        verify(usuarioService, times(1)).codificarSenha(anyString());
+        ArgumentCaptor<List<Usuario>> captor = ArgumentCaptor.forClass(List.class);
+        verify(usuarioService).criarLote(captor.capture());
+        assertEquals(List.of("ana@email.com"), captor.getValue().stream().map(Usuario::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("Deve importar transações de CSV em lote")
+    void deveImportarTransacoesDeCsv() {
+        String csv = """
+                Data,Tipo,Categoria,Moeda,Valor,Descrição
+                15/01/2024,Despesa,Alimentação,BRL,"1.234,56",Mercado
+                2024-02-01T10:30:00,RECEITA,OUTROS,usd,100.5,
+                03/02/2024,Saque,OUTROS,BRL,10,
+                """;
+
+        ResultadoImportacaoDto resultado = importacao.importarTransacoes(1L, arquivo("transacoes.csv", csv));
+
+        assertEquals(2, resultado.getSucessos());
+        assertEquals(1, resultado.getFalhas());
+        assertEquals("Linha 4: Tipo inválido: Saque", resultado.getErros().get(0));
+
+        ArgumentCaptor<List<Transacao>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transacaoService).registrarLote(eq(1L), captor.capture());
+        Transacao mercado = captor.getValue().get(0);
+        assertEquals(TipoTransacao.DESPESA, mercado.getTipo());
+        assertEquals(CategoriaTransacao.ALIMENTACAO, mercado.getCategoria());
+        assertEquals(0, new BigDecimal("1234.56").compareTo(mercado.getValorOriginal()));
+        assertEquals(LocalDateTime.of(2024, 1, 15, 0, 0), mercado.getData());
+        assertEquals("USD", captor.getValue().get(1).getMoedaOriginal());
+    }
+
+    @Test
+    @DisplayName("Deve marcar todas as linhas do bloco como falha quando a gravação falha")
+    void deveMarcarBlocoComoFalhaQuandoGravacaoFalha() {
+        String csv = """
+                Data;Tipo;Categoria;Moeda;Valor;Descrição
+                15/01/2024;DESPESA;LAZER;BRL;50;Cinema
+                16/01/2024;DESPESA;LAZER;BRL;30;Teatro
+                """;
+        when(transacaoService.registrarLote(eq(1L), anyList()))
+                .thenThrow(new RuntimeException("ERROR: duplicate key value violates unique constraint"));
+
+        ResultadoImportacaoDto resultado = importacao.importarTransacoes(1L, arquivo("transacoes.csv", csv));
+
+        assertEquals(0, resultado.getSucessos());
+        assertEquals(2, resultado.getFalhas());
+        // O erro do banco não chega ao cliente
+        assertEquals("Linha 2: " + ImportacaoExcelServico.ERRO_GRAVAR, resultado.getErros().get(0));
+    }
+
+    @Test
+    @DisplayName("Deve recusar linhas que violam as validações da transação")
+    void deveRecusarLinhasInvalidas() {
+        String csv = "Data;Tipo;Categoria;Moeda;Valor;Descrição\n"
+                + "15/01/2024;DESPESA;LAZER;BRL;50;" + "x".repeat(501) + "\n"
+                + "16/01/2024;DESPESA;LAZER;REAL;30;Teatro\n"
+                + "17/01/2024;DESPESA;LAZER;BRL;0;Grátis\n"
+                + "18/01/2024;DESPESA;LAZER;BRL;20;Cinema\n";
+
+        ResultadoImportacaoDto resultado = importacao.importarTransacoes(1L, arquivo("transacoes.csv", csv));
+
+        assertEquals(1, resultado.getSucessos());
+        assertEquals(List.of(
+                "Linha 2: descricao: A descrição deve ter no máximo 500 caracteres",
+                "Linha 3: moeda: A moeda deve ser um código de 3 letras (ex: BRL)",
+                "Linha 4: valor: O valor deve ser maior que zero"), resultado.getErros());
+        ArgumentCaptor<List<Transacao>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transacaoService).registrarLote(eq(1L), captor.capture());
+        assertEquals("Cinema", captor.getValue().get(0).getDescricao());
+    }
+
+    @Test
+    @DisplayName("Deve gravar os blocos em ordem enquanto as senhas são codificadas")
+    void deveGravarBlocosEmOrdem() throws IOException {
+        StringBuilder csv = new StringBuilder("Nome;Email;CPF;Senha;Moeda\n");
+        int total = ImportacaoExcelServico.BLOCO_IMPORTACAO * 3 + 1;
+        for (int i = 0; i < total; i++) {
+            csv.append("Usuario ").append(i).append(";u").append(i).append("@email.com;")
+                    .append(String.format("%011d", i)).append(";;\n");
+        }
+        when(usuarioService.emailsCadastrados(anyCollection())).thenReturn(Set.of());
+        when(usuarioService.cpfsCadastrados(anyCollection())).thenReturn(Set.of());
+        when(usuarioService.codificarSenha(anyString())).thenReturn("hash");
+        Path planilha = Files.writeString(diretorio.resolve("usuarios.csv"), csv);
+        JobImportacao job = new JobImportacao("usuarios.csv");
+
+        importacao.importarUsuarios(planilha, "usuarios.csv", job);
+
+        assertEquals(total, job.getSucessos());
+        verify(usuarioService, times(total)).codificarSenha("senha123");
+        ArgumentCaptor<List<Usuario>> captor = ArgumentCaptor.forClass(List.class);
+        verify(usuarioService, times(4)).criarLote(captor.capture());
+        assertEquals("u0@email.com", captor.getAllValues().get(0).get(0).getEmail());
+        assertEquals(1, captor.getAllValues().get(3).size());
+    }
+
+    private MockMultipartFile arquivo(String nome, String conteudo) {
+        return new MockMultipartFile("arquivo", nome, "text/csv", conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.enums.PerfilUsuario;
+import br.com.gestao.financeira.infraestrutura.config.UsuarioAutenticado;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtUtils Tests")
+class JwtUtilsTest {
+
+    private static final String SEGREDO = "segredoDeTesteComTamanhoSuficienteParaHs512SegredoDeTesteComTamanho";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SEGREDO, 60_000, 100, new SimpleMeterRegistry());
+
+    private String gerarToken(JwtUtils utils) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(1L, "ana@email.com", null, PerfilUsuario.GESTOR, 10L, 3);
+        return utils.gerarToken(new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("Deve montar o usuário a partir das claims do token")
+    void deveMontarUsuarioDasClaims() {
+        Claims claims = jwtUtils.verificar(gerarToken(jwtUtils)).orElseThrow();
+
+        UsuarioAutenticado usuario = jwtUtils.usuarioDasClaims(claims).orElseThrow();
+
+        assertEquals(1L, usuario.getId());
+        assertEquals("ana@email.com", usuario.getEmail());
+        assertEquals(PerfilUsuario.GESTOR, usuario.getPerfil());
+        assertEquals(10L, usuario.getFamiliaId());
+        assertEquals(3, usuario.getVersaoToken());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar as claims de um token já verificado")
+    void deveReaproveitarTokenVerificado() {
+        String token = gerarToken(jwtUtils);
+
+        assertSame(jwtUtils.extrairClaims(token), jwtUtils.extrairClaims(token));
+        assertEquals("ana@email.com", jwtUtils.extrairEmail(token));
+    }
+
+    @Test
+    @DisplayName("Deve recusar token adulterado ou expirado")
+    void deveRecusarTokenInvalido() {
+        String token = gerarToken(jwtUtils);
+        jwtUtils.extrairClaims(token);
+        int assinatura = token.lastIndexOf('.') + 1;
+        char trocado = token.charAt(assinatura) == 'A' ? 'B' : 'A';
+        String adulterado = token.substring(0, assinatura) + trocado + token.substring(assinatura + 1);
+        JwtUtils expirado = new JwtUtils(SEGREDO, -1_000, 100, new SimpleMeterRegistry());
+
+        assertFalse(jwtUtils.validarToken(adulterado));
+        assertFalse(jwtUtils.validarToken(gerarToken(expirado)));
+        assertFalse(jwtUtils.validarToken("nao-e-um-token"));
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.entity.ChatMessage;
+import br.com.gestao.financeira.dominio.entity.ChatMessage.ChatRole;
+import br.com.gestao.financeira.dominio.modelo.JanelaConversa;
+import br.com.gestao.financeira.dominio.modelo.TurnoConversa;
+import br.com.gestao.financeira.dominio.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemoriaConversaCache Tests")
+class MemoriaConversaCacheTest {
+
+    // 40 caracteres: 10 tokens estimados
+    private static final String PERGUNTA_1 = "Quanto gastei com alimentação este mês?";
+    private static final String PERGUNTA_2 = "E quanto sobrou de saldo no fim do mês?";
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    private MemoriaConversaCache memoria;
+
+    @BeforeEach
+    void setUp() {
+        // Cabem duas mensagens de 10 tokens na janela
+        memoria = new MemoriaConversaCache(chatMessageRepository, new SimpleMeterRegistry(),
+                20, 200, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Deve retomar a sessão com as mensagens gravadas, da mais antiga para a mais nova")
+    void deveRetomarSessaoDoBanco() {
+        when(chatMessageRepository.findByUsuarioIdAndSessionIdOrderByCriadoEmDescIdDesc(eq(1L), eq("s1"), any()))
+                .thenReturn(List.of(
+                        new ChatMessage(1L, ChatRole.ASSISTANT, "R$ 500,00.", "s1"),
+                        new ChatMessage(1L, ChatRole.USER, "Gastos do mês?", "s1")));
+
+        JanelaConversa janela = memoria.janela(1L, "s1");
+        memoria.janela(1L, "s1");
+
+        assertNull(janela.resumo());
+        assertEquals(List.of(
+                new TurnoConversa(ChatRole.USER, "Gastos do mês?"),
+                new TurnoConversa(ChatRole.ASSISTANT, "R$ 500,00.")), janela.turnos());
+        verify(chatMessageRepository, times(1))
+                .findByUsuarioIdAndSessionIdOrderByCriadoEmDescIdDesc(eq(1L), eq("s1"), any());
+    }
+
+    @Test
+    @DisplayName("Deve tirar da janela as mensagens além do orçamento e resumir as perguntas")
+    void deveResumirMensagensForaDoOrcamento() {
+        memoria.janela(1L, "s1");
+
+        memoria.registrar(1L, "s1",
+                new TurnoConversa(ChatRole.USER, PERGUNTA_1),
+                new TurnoConversa(ChatRole.ASSISTANT, "x".repeat(40)));
+        memoria.registrar(1L, "s1",
+                new TurnoConversa(ChatRole.USER, PERGUNTA_2),
+                new TurnoConversa(ChatRole.ASSISTANT, "y".repeat(40)));
+        JanelaConversa janela = memoria.janela(1L, "s1");
+
+        assertEquals(2, janela.turnos().size());
+        assertEquals(PERGUNTA_2, janela.turnos().get(0).conteudo());
+        assertTrue(janela.resumo().contains("- " + PERGUNTA_1));
+        assertFalse(janela.resumo().contains("x"));
+    }
+
+    @Test
+    @DisplayName("Não deve compartilhar a sessão entre usuários")
+    void naoDeveCompartilharSessaoEntreUsuarios() {
+        memoria.janela(1L, "s1");
+        memoria.registrar(1L, "s1",
+                new TurnoConversa(ChatRole.USER, "Oi"),
+                new TurnoConversa(ChatRole.ASSISTANT, "Olá!"));
+
+        assertTrue(memoria.janela(2L, "s1").turnos().isEmpty());
+        verify(chatMessageRepository).findByUsuarioIdAndSessionIdOrderByCriadoEmDescIdDesc(eq(2L), eq("s1"), any());
+    }
+
+    @Test
+    @DisplayName("Deve esquecer as sessões do usuário")
+    void deveEsquecerSessoesDoUsuario() {
+        memoria.janela(1L, "s1");
+        memoria.registrar(1L, "s1",
+                new TurnoConversa(ChatRole.USER, "Oi"),
+                new TurnoConversa(ChatRole.ASSISTANT, "Olá!"));
+
+        memoria.esquecer(1L);
+
+        assertTrue(memoria.janela(1L, "s1").turnos().isEmpty());
+        verify(chatMessageRepository, times(2))
+                .findByUsuarioIdAndSessionIdOrderByCriadoEmDescIdDesc(eq(1L), eq("s1"), any());
+    }
+}
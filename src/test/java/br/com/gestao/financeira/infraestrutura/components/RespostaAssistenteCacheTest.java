@@ -0,0 +1,58 @@
+package br.com.gestao.financeira.infraestrutura.components;
+
+import br.com.gestao.financeira.dominio.modelo.ChaveResposta;
+import br.com.gestao.financeira.dominio.modelo.TransacoesAlteradas;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RespostaAssistenteCache Tests")
+class RespostaAssistenteCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RespostaAssistenteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RespostaAssistenteCache(meterRegistry, 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a resposta e contar o tempo de inferência economizado")
+    void deveReaproveitarRespostaEContarTempoEconomizado() {
+        ChaveResposta chave = new ChaveResposta(1L, "abc");
+        cache.guardar(chave, "R$ 300,00.", Duration.ofSeconds(12));
+
+        assertEquals(Optional.of("R$ 300,00."), cache.buscar(chave));
+        assertEquals(Optional.of("R$ 300,00."), cache.buscar(chave));
+        assertTrue(cache.buscar(new ChaveResposta(1L, "outra")).isEmpty());
+
+        Timer economizada = meterRegistry.get("chat.respostas.inferencia.economizada").timer();
+        assertEquals(2, economizada.count());
+        assertEquals(24, economizada.totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("Deve descartar só as respostas do usuário cujas transações mudaram")
+    void deveDescartarRespostasDoUsuarioAoAlterarTransacoes() {
+        ChaveResposta doUsuario = new ChaveResposta(1L, "abc");
+        ChaveResposta deOutro = new ChaveResposta(2L, "abc");
+        cache.guardar(doUsuario, "R$ 300,00.", Duration.ofSeconds(10));
+        cache.guardar(deOutro, "R$ 50,00.", Duration.ofSeconds(10));
+
+        cache.aoAlterarTransacoes(new TransacoesAlteradas(1L, List.of(), List.of(7L)));
+
+        assertTrue(cache.buscar(doUsuario).isEmpty());
+        assertEquals(Optional.of("R$ 50,00."), cache.buscar(deOutro));
+    }
+}
@@ -3,6 +3,8 @@ package br.com.gestao.financeira.infraestrutura.config;
 import br.com.gestao.financeira.dominio.services.CambioService;
 import br.com.gestao.financeira.dominio.services.TransacaoService;
 import br.com.gestao.financeira.dominio.services.UsuarioService;
+import br.com.gestao.financeira.infraestrutura.components.FilaRelatorios;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -122,6 +124,32 @@ class ExcecaoHandlerTest {
         assertEquals(500, response.getBody().get("status"));
     }
 
+    @Test
+    @DisplayName("Deve relançar a interrupção do relatório com a resposta já confirmada")
+    void deveRelancarInterrupcaoComRespostaConfirmada() {
+        FilaRelatorios.RelatorioInterrompidoException ex = new FilaRelatorios.RelatorioInterrompidoException(
+                "1|pdf", new RuntimeException("Falha no banco"));
+        HttpServletResponse resposta = mock(HttpServletResponse.class);
+        when(resposta.isCommitted()).thenReturn(true);
+
+        assertSame(ex, assertThrows(FilaRelatorios.RelatorioInterrompidoException.class,
+                () -> excecaoHandler.handleRelatorioInterrompido(ex, resposta)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 500 para interrupção do relatório antes do envio")
+    void deveRetornar500ParaInterrupcaoAntesDoEnvio() {
+        FilaRelatorios.RelatorioInterrompidoException ex = new FilaRelatorios.RelatorioInterrompidoException(
+                "1|pdf", new RuntimeException("Falha no banco"));
+        HttpServletResponse resposta = mock(HttpServletResponse.class);
+
+        ResponseEntity<Map<String, Object>> response = excecaoHandler.handleRelatorioInterrompido(ex, resposta);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(500, response.getBody().get("status"));
+    }
+
     @Test
     @DisplayName("Deve retornar 400 para erro de validação")
     void deveRetornar400ParaErroValidacao() {
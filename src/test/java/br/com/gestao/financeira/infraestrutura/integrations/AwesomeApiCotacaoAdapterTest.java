@@ -0,0 +1,94 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AwesomeApiCotacaoAdapter Tests")
+class AwesomeApiCotacaoAdapterTest {
+
+    private static final String URL = "https://economia.awesomeapi.com.br/last/";
+
+    @Mock
+    private ClienteHttp clienteHttp;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private BrasilApiCambioAdapter brasilApiAdapter;
+
+    private AwesomeApiCotacaoAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        when(clienteHttp.getRestTemplate()).thenReturn(restTemplate);
+        adapter = new AwesomeApiCotacaoAdapter(clienteHttp, brasilApiAdapter);
+    }
+
+    @Test
+    @DisplayName("Deve buscar todos os pares em uma única chamada")
+    void deveBuscarParesEmUmaChamada() {
+        when(restTemplate.getForObject(URL + "USD-BRL,EUR-BRL", Map.class)).thenReturn(Map.of(
+                "USDBRL", Map.of("bid", "5.00"),
+                "EURBRL", Map.of("bid", "5.50")));
+
+        List<TaxaCambio> taxas = adapter.obterTaxasEmLote(List.of("USD-BRL", "EUR-BRL"));
+
+        assertEquals(2, taxas.size());
+        assertEquals(new BigDecimal("5.50"), taxas.get(1).getTaxa());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(Map.class));
+    }
+
+    @Test
+    @DisplayName("Deve consultar os pares individualmente quando o lote é recusado")
+    void deveConsultarIndividualmenteQuandoLoteRecusado() {
+        when(restTemplate.getForObject(URL + "USD-BRL,XYZ-BRL", Map.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.getForObject(URL + "USD-BRL", Map.class))
+                .thenReturn(Map.of("USDBRL", Map.of("bid", "5.00")));
+        when(restTemplate.getForObject(URL + "XYZ-BRL", Map.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        List<TaxaCambio> taxas = adapter.obterTaxasEmLote(List.of("USD-BRL", "XYZ-BRL"));
+
+        assertEquals(1, taxas.size());
+        assertEquals("USD", taxas.get(0).getMoedaOrigem());
+    }
+
+    @Test
+    @DisplayName("Deve pedir invertido no lote o par que a API só cota no sentido contrário")
+    void devePedirParInversoNoLote() {
+        when(restTemplate.getForObject(URL + "BRL-ARS", Map.class)).thenReturn(Map.of());
+        when(restTemplate.getForObject(URL + "ARS-BRL", Map.class))
+                .thenReturn(Map.of("ARSBRL", Map.of("bid", "0.005")));
+        assertTrue(adapter.obterTaxaAtual("BRL", "ARS").isPresent());
+
+        when(restTemplate.getForObject(URL + "ARS-BRL,USD-BRL", Map.class)).thenReturn(Map.of(
+                "ARSBRL", Map.of("bid", "0.004"),
+                "USDBRL", Map.of("bid", "5.00")));
+
+        List<TaxaCambio> taxas = adapter.obterTaxasEmLote(List.of("BRL-ARS", "USD-BRL"));
+
+        assertEquals(2, taxas.size());
+        TaxaCambio brlArs = taxas.get(0);
+        assertEquals("BRL", brlArs.getMoedaOrigem());
+        assertEquals("ARS", brlArs.getMoedaDestino());
+        assertEquals(new BigDecimal("250.000000"), brlArs.getTaxa());
+    }
+}
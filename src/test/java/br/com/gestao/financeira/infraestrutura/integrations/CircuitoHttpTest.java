@@ -0,0 +1,148 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CircuitoHttp Tests")
+class CircuitoHttpTest {
+
+    private static final byte[] CORPO = new byte[0];
+
+    @Mock
+    private HttpRequest requisicao;
+
+    @Mock
+    private ClientHttpRequestExecution execucao;
+
+    @Mock
+    private ClientHttpResponse resposta;
+
+    private RelogioAjustavel relogio;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitoHttp circuito;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel(Instant.parse("2024-03-15T10:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        circuito = new CircuitoHttp("teste", 3, Duration.ofSeconds(30), relogio);
+        circuito.monitorar(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve abrir após falhas seguidas e recusar sem chamar o serviço")
+    void deveAbrirAposFalhasSeguidas() throws IOException {
+        when(execucao.execute(any(), any())).thenThrow(new SocketTimeoutException("Read timed out"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(SocketTimeoutException.class, () -> circuito.intercept(requisicao, CORPO, execucao));
+        }
+
+        assertTrue(circuito.isAberto());
+        assertThrows(CircuitoHttp.CircuitoAbertoException.class,
+                () -> circuito.intercept(requisicao, CORPO, execucao));
+        verify(execucao, times(3)).execute(any(), any());
+        assertEquals(1.0, meterRegistry.get("http.cliente.circuito.aberto").tag("cliente", "teste").gauge().value());
+        assertEquals(1.0, meterRegistry.get("http.cliente.circuito.recusadas").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve fechar quando a requisição de teste funcionar após o prazo")
+    void deveFecharAposRequisicaoDeTeste() throws IOException {
+        abrir();
+        when(execucao.execute(any(), any())).thenReturn(resposta);
+        when(resposta.getStatusCode()).thenReturn(HttpStatus.OK);
+
+        relogio.avancar(Duration.ofSeconds(31));
+
+        assertSame(resposta, circuito.intercept(requisicao, CORPO, execucao));
+        assertFalse(circuito.isAberto());
+    }
+
+    @Test
+    @DisplayName("Deve reabrir quando a requisição de teste falhar")
+    void deveReabrirSeRequisicaoDeTesteFalhar() throws IOException {
+        abrir();
+        when(execucao.execute(any(), any())).thenReturn(resposta);
+        when(resposta.getStatusCode()).thenReturn(HttpStatus.SERVICE_UNAVAILABLE);
+
+        relogio.avancar(Duration.ofSeconds(31));
+        circuito.intercept(requisicao, CORPO, execucao);
+
+        assertTrue(circuito.isAberto());
+        assertThrows(CircuitoHttp.CircuitoAbertoException.class,
+                () -> circuito.intercept(requisicao, CORPO, execucao));
+    }
+
+    @Test
+    @DisplayName("Não deve contar respostas 4xx como falha")
+    void naoDeveContarErroDoClienteComoFalha() throws IOException {
+        when(execucao.execute(any(), any())).thenReturn(resposta);
+        when(resposta.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
+
+        for (int i = 0; i < 5; i++) {
+            circuito.intercept(requisicao, CORPO, execucao);
+        }
+
+        assertFalse(circuito.isAberto());
+    }
+
+    private void abrir() throws IOException {
+        when(execucao.execute(any(), any())).thenThrow(new IOException("Connection refused"));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, () -> circuito.intercept(requisicao, CORPO, execucao));
+        }
+        assertTrue(circuito.isAberto());
+        reset(execucao);
+    }
+
+    private static class RelogioAjustavel extends Clock {
+
+        private Instant agora;
+
+        RelogioAjustavel(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration tempo) {
+            agora = agora.plus(tempo);
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
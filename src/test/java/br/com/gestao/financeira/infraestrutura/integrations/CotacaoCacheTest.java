@@ -0,0 +1,89 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.CotacaoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CotacaoCache Tests")
+class CotacaoCacheTest {
+
+    @Mock
+    private CotacaoRepository delegate;
+
+    @Mock
+    private TaxaCambioStore taxaCambioStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CotacaoCache cotacaoCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cotacaoCache = new CotacaoCache(delegate, taxaCambioStore, meterRegistry, Runnable::run,
+                100, Duration.ofMinutes(1), Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Deve consultar o adaptador apenas uma vez por par")
+    void deveConsultarAdaptadorUmaVezPorPar() {
+        when(delegate.obterTaxaAtual("USD", "BRL")).thenReturn(Optional.of(
+                new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), LocalDateTime.now())));
+
+        assertEquals(new BigDecimal("500.00"), cotacaoCache.converterValor(new BigDecimal("100"), "USD", "BRL"));
+        assertEquals(new BigDecimal("500.00"), cotacaoCache.converterValor(new BigDecimal("100"), "usd", "brl"));
+        assertTrue(cotacaoCache.obterTaxaAtual("USD", "BRL").isPresent());
+
+        verify(delegate, times(1)).obterTaxaAtual("USD", "BRL");
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o adaptador para moedas iguais")
+    void naoDeveConsultarAdaptadorParaMoedasIguais() {
+        BigDecimal valor = new BigDecimal("100");
+
+        assertEquals(valor, cotacaoCache.converterValor(valor, "BRL", "BRL"));
+
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Deve usar a taxa do armazenamento local sem consultar o adaptador")
+    void deveUsarTaxaDoArmazenamentoLocal() {
+        when(taxaCambioStore.obter("EUR", "BRL")).thenReturn(Optional.of(
+                new TaxaCambio("EUR", "BRL", new BigDecimal("6.00"), LocalDateTime.now())));
+
+        assertEquals(new BigDecimal("600.00"), cotacaoCache.converterValor(new BigDecimal("100"), "EUR", "BRL"));
+
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Deve devolver só taxa já conhecida e carregar o par desconhecido em segundo plano")
+    void deveDevolverSoTaxaConhecida() {
+        TaxaCambio taxa = new TaxaCambio("GBP", "BRL", new BigDecimal("6.20"), LocalDateTime.now());
+        when(taxaCambioStore.obter("GBP", "BRL")).thenReturn(Optional.empty());
+        when(delegate.obterTaxaAtual("GBP", "BRL")).thenReturn(Optional.of(taxa));
+
+        assertTrue(cotacaoCache.obterTaxaConhecida("GBP", "BRL").isEmpty());
+
+        // O executor do teste roda a carga na hora: o par entra no cache e no store
+        verify(taxaCambioStore).registrar(taxa);
+        assertEquals(taxa, cotacaoCache.obterTaxaConhecida("GBP", "BRL").orElseThrow());
+    }
+}
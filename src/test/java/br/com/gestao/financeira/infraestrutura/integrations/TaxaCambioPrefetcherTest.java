@@ -0,0 +1,77 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.TransacaoRepository;
+import br.com.gestao.financeira.dominio.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaxaCambioPrefetcher Tests")
+class TaxaCambioPrefetcherTest {
+
+    @Mock
+    private AwesomeApiCotacaoAdapter awesomeApiAdapter;
+
+    @Mock
+    private TaxaCambioStore taxaCambioStore;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private TransacaoRepository transacaoRepository;
+
+    private TaxaCambioPrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() {
+        prefetcher = new TaxaCambioPrefetcher(awesomeApiAdapter, taxaCambioStore, usuarioRepository,
+                transacaoRepository, List.of("usd-brl", " "));
+        when(usuarioRepository.findMoedasPadraoDistintas()).thenReturn(List.of("BRL", "EUR"));
+        when(transacaoRepository.findMoedasOriginaisDistintas()).thenReturn(List.of("BRL", "GBP"));
+        when(taxaCambioStore.paresConhecidos()).thenReturn(Set.of("JPY-BRL"));
+    }
+
+    @Test
+    @DisplayName("Deve montar os pares configurados, das moedas em uso e já conhecidos")
+    void deveMontarPares() {
+        assertEquals(Set.of("USD-BRL", "BRL-EUR", "GBP-BRL", "GBP-EUR", "JPY-BRL"), prefetcher.montarPares());
+    }
+
+    @Test
+    @DisplayName("Deve buscar todos os pares em um lote e gravar no store")
+    void deveAtualizarStoreComLote() {
+        List<TaxaCambio> taxas = List.of(new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), LocalDateTime.now()));
+        when(awesomeApiAdapter.obterTaxasEmLote(any())).thenReturn(taxas);
+
+        prefetcher.atualizarTaxas();
+
+        verify(awesomeApiAdapter).obterTaxasEmLote(prefetcher.montarPares());
+        verify(taxaCambioStore).atualizarLote(taxas);
+    }
+
+    @Test
+    @DisplayName("Deve manter as taxas conhecidas quando a API falha")
+    void deveManterTaxasQuandoApiFalha() {
+        when(awesomeApiAdapter.obterTaxasEmLote(any())).thenThrow(new ResourceAccessException("timeout"));
+
+        assertDoesNotThrow(() -> prefetcher.atualizarTaxas());
+
+        verify(taxaCambioStore, never()).atualizarLote(any());
+    }
+}
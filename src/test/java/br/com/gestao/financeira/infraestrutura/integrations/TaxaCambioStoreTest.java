@@ -0,0 +1,79 @@
+package br.com.gestao.financeira.infraestrutura.integrations;
+
+import br.com.gestao.financeira.dominio.entity.TaxaCambioHistorico;
+import br.com.gestao.financeira.dominio.modelo.TaxaCambio;
+import br.com.gestao.financeira.dominio.repository.TaxaCambioHistoricoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaxaCambioStore Tests")
+class TaxaCambioStoreTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 15, 10, 0);
+
+    @Mock
+    private TaxaCambioHistoricoRepository historicoRepository;
+
+    private TaxaCambioStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TaxaCambioStore(historicoRepository, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a taxa registrada e derivar inversa e cruzada pelo grafo")
+    void deveDerivarParesPeloGrafo() {
+        store.registrar(new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), AGORA));
+        store.registrar(new TaxaCambio("EUR", "BRL", new BigDecimal("5.50"), AGORA.minusMinutes(10)));
+
+        assertEquals(new BigDecimal("5.00"), store.obter("usd", "brl", AGORA).orElseThrow().getTaxa());
+        assertEquals(new BigDecimal("0.200000"), store.obter("BRL", "USD", AGORA).orElseThrow().getTaxa());
+        TaxaCambio cruzada = store.obter("EUR", "USD", AGORA).orElseThrow();
+        assertEquals(new BigDecimal("1.100000"), cruzada.getTaxa());
+        assertEquals(AGORA.minusMinutes(10), cruzada.getObtidaEm());
+        assertEquals(Set.of("USD-BRL", "EUR-BRL"), store.paresConhecidos());
+    }
+
+    @Test
+    @DisplayName("Não deve devolver taxas mais antigas que a idade máxima")
+    void naoDeveDevolverTaxaDefasada() {
+        store.registrar(new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), AGORA.minusMinutes(30)));
+        store.registrar(new TaxaCambio("EUR", "BRL", new BigDecimal("5.50"), AGORA.minusHours(2)));
+
+        assertTrue(store.obter("USD", "BRL", AGORA).isPresent());
+        assertTrue(store.obter("EUR", "BRL", AGORA).isEmpty());
+        // Derivada com uma perna defasada também fica de fora
+        assertTrue(store.obter("EUR", "USD", AGORA).isEmpty());
+        assertTrue(store.obter("USD", "BRL", AGORA.plusHours(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote no histórico e recarregá-lo na inicialização")
+    void deveGravarERecarregarHistorico() {
+        store.atualizarLote(List.of(new TaxaCambio("USD", "BRL", new BigDecimal("5.00"), AGORA)));
+        verify(historicoRepository).saveAll(anyList());
+
+        when(historicoRepository.findUltimasPorPar()).thenReturn(List.of(
+                new TaxaCambioHistorico("GBP", "BRL", new BigDecimal("6.20"), AGORA)));
+        TaxaCambioStore reiniciado = new TaxaCambioStore(historicoRepository, Duration.ofHours(1));
+        reiniciado.carregarHistorico();
+
+        assertEquals(new BigDecimal("6.20"), reiniciado.obter("GBP", "BRL", AGORA).orElseThrow().getTaxa());
+    }
+}